@@ -0,0 +1,126 @@
+package com.fireworks.benchmark;
+
+import com.fireworks.cache.ProductSearchIndex;
+import com.fireworks.vo.ProductVO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 商品关键词检索基准：n-gram 倒排索引 vs 全量扫描（等价于 {@code LIKE '%kw%'}）
+ * <p>
+ * 合成 5 万个商品（名称由品类词与修饰词随机组合，附带描述），关键词覆盖高频词、低频词、单字，
+ * {@code filtered} 同时加分类与价格条件。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductSearchBenchmark {
+
+    private static final String[] KINDS = {"烟花", "礼花", "鞭炮", "仙女棒", "孔明灯", "组合烟花", "礼花弹", "喷花", "地转", "旋转烟花"};
+    private static final String[] ADJECTIVES = {"绚丽", "大吉大利", "富贵满堂", "年年有余", "童趣", "金色", "彩色", "高空", "夜光", "Big", "Mini"};
+    private static final String[] DESCRIPTIONS = {
+            "108发大型烟花，燃放时间约60秒，色彩绚丽，适合节日庆祝",
+            "高空绽放，声音洪亮，象征富贵吉祥",
+            "传统红色包装，声音清脆连贯",
+            "儿童安全烟花，火花小，适合小朋友玩耍",
+            "包含烟花、礼花、鞭炮组合套装，适合家庭使用"
+    };
+
+    private static final int PAGE_SIZE = 20;
+    private static final Comparator<ProductVO> BY_CREATED_AT =
+            Comparator.comparing(ProductVO::getCreatedAt).thenComparing(ProductVO::getId);
+
+    @Param({"50000"})
+    public int products;
+
+    @Param({"烟花", "孔明灯", "礼", "大吉大利礼花"})
+    public String keyword;
+
+    private List<ProductVO> catalog;
+    private ProductSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        catalog = new ArrayList<>(products);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < products; i++) {
+            String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + "-" + KINDS[random.nextInt(KINDS.length)]
+                    + (random.nextInt(4) == 0 ? "礼盒装" : "") + " " + i;
+            catalog.add(ProductVO.builder()
+                    .id((long) i + 1)
+                    .name(name)
+                    .description(DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)])
+                    .categoryId((long) random.nextInt(5) + 1)
+                    .price(BigDecimal.valueOf(random.nextInt(500) + 10))
+                    .status("ON_SHELF")
+                    .createdAt(now.minusMinutes(i))
+                    .build());
+        }
+        index = ProductSearchIndex.build(catalog);
+    }
+
+    /** 相关度排序，取第一页 */
+    @Benchmark
+    public List<ProductVO> index() {
+        int[] hits = index.match(keyword, null, null, null, null);
+        return firstPage(index.rankByRelevance(hits, keyword));
+    }
+
+    /** 分类 + 价格筛选，相关度排序，取第一页 */
+    @Benchmark
+    public List<ProductVO> indexFiltered() {
+        int[] hits = index.match(keyword, 3L, null, 50, 200);
+        return firstPage(index.rankByRelevance(hits, keyword));
+    }
+
+    /** 按上架时间倒序，取第一页 */
+    @Benchmark
+    public List<ProductVO> indexSorted() {
+        int[] hits = index.match(keyword, null, null, null, null);
+        return firstPage(index.sortBy(hits, "createdAt", BY_CREATED_AT, false));
+    }
+
+    @Benchmark
+    public List<ProductVO> linearScan() {
+        String needle = keyword.toLowerCase(Locale.ROOT);
+        List<ProductVO> hits = new ArrayList<>();
+        for (ProductVO p : catalog) {
+            if (p.getName().toLowerCase(Locale.ROOT).contains(needle)) {
+                hits.add(p);
+            }
+        }
+        return hits;
+    }
+
+    private static List<ProductVO> firstPage(List<ProductVO> ranked) {
+        return new ArrayList<>(ranked.subList(0, Math.min(PAGE_SIZE, ranked.size())));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ProductSearchIndex build() {
+        return ProductSearchIndex.build(catalog);
+    }
+}
@@ -0,0 +1,69 @@
+package com.fireworks.benchmark;
+
+import com.fireworks.cache.ProductSuggestIndex;
+import com.fireworks.vo.ProductVO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 搜索联想基准：有序键数组 + 二分前缀区间
+ * <p>
+ * 合成 5 万个商品名称，前缀覆盖单个首字母（区间最大）、首字母组合、全拼、汉字。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductSuggestBenchmark {
+
+    private static final String[] KINDS = {"烟花", "礼花", "鞭炮", "仙女棒", "孔明灯", "组合烟花", "礼花弹", "喷花", "地转", "旋转烟花"};
+    private static final String[] ADJECTIVES = {"绚丽", "大吉大利", "富贵满堂", "年年有余", "童趣", "金色", "彩色", "高空", "夜光", "Big", "Mini"};
+
+    @Param({"50000"})
+    public int products;
+
+    @Param({"y", "yh", "yanhua", "烟", "dajidal"})
+    public String prefix;
+
+    private List<ProductVO> catalog;
+    private ProductSuggestIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        catalog = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            String name = KINDS[random.nextInt(KINDS.length)] + ADJECTIVES[random.nextInt(ADJECTIVES.length)]
+                    + (random.nextInt(4) == 0 ? "礼盒装" : "") + " " + i;
+            catalog.add(ProductVO.builder().id((long) i + 1).name(name).build());
+        }
+        index = ProductSuggestIndex.build(catalog);
+    }
+
+    @Benchmark
+    public List<String> suggest() {
+        return index.suggest(prefix, 10);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ProductSuggestIndex build() {
+        return ProductSuggestIndex.build(catalog);
+    }
+}
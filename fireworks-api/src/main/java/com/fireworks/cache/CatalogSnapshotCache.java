@@ -0,0 +1,162 @@
+package com.fireworks.cache;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fireworks.common.Result;
+import com.fireworks.entity.Product;
+import com.fireworks.enums.CacheRegion;
+import com.fireworks.mapper.ProductMapper;
+import com.fireworks.service.CacheVersionService;
+import com.fireworks.service.CategoryService;
+import com.fireworks.service.ProductChangeService;
+import com.fireworks.vo.CatalogSnapshotVO;
+import com.fireworks.vo.ProductListItemVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 公开商品目录快照缓存（预序列化、预压缩）
+ * <p>
+ * 小程序首页一次拉取完整目录（启用的分类 + 全部上架商品列表项 + 增量同步起点序号）。
+ * 快照在商品或分类变更后的首次请求时重新构建：按统一响应格式序列化为 JSON 字节，同时保存 gzip（最高压缩级别）结果与强 ETag，
+ * 之后的请求直接输出字节数组，不再序列化或压缩。
+ * <p>
+ * ETag 取 JSON 内容的摘要，内容相同则各实例一致；gzip 表示使用带 "-gzip" 后缀的 ETag 区分。
+ * 失效方式与 {@link ProductCatalogCache} 相同：监听 {@link CacheRegion#PRODUCT}、{@link CacheRegion#CATEGORY}
+ * 版本变化，{@code app.catalog.cache.max-age-seconds} 作为兜底。
+ */
+@Slf4j
+@Component
+public class CatalogSnapshotCache {
+
+    /** 公开商品状态：上架 */
+    private static final String PUBLIC_PRODUCT_STATUS = "ON_SHELF";
+
+    private final ProductMapper productMapper;
+    private final CategoryService categoryService;
+    private final ProductChangeService productChangeService;
+    private final ObjectMapper objectMapper;
+    private final long maxAgeMillis;
+
+    /** 失效代数：每次失效 +1，构建完成时代数未变才安装快照 */
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    public CatalogSnapshotCache(ProductMapper productMapper,
+                                CategoryService categoryService,
+                                ProductChangeService productChangeService,
+                                ObjectMapper objectMapper,
+                                CacheVersionService cacheVersionService,
+                                @Value("${app.catalog.cache.max-age-seconds:300}") long maxAgeSeconds) {
+        this.productMapper = productMapper;
+        this.categoryService = categoryService;
+        this.productChangeService = productChangeService;
+        this.objectMapper = objectMapper;
+        this.maxAgeMillis = Math.max(1, maxAgeSeconds) * 1000;
+        cacheVersionService.addListener(CacheRegion.PRODUCT, this::evict);
+        cacheVersionService.addListener(CacheRegion.CATEGORY, this::evict);
+    }
+
+    private void evict() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    /**
+     * 获取当前快照（不存在或已过期时构建）
+     *
+     * @return 快照
+     */
+    public Snapshot get() {
+        Snapshot s = snapshot;
+        if (s != null && System.currentTimeMillis() - s.builtAt() < maxAgeMillis) {
+            return s;
+        }
+        synchronized (this) {
+            s = snapshot;
+            if (s != null && System.currentTimeMillis() - s.builtAt() < maxAgeMillis) {
+                return s;
+            }
+            return build();
+        }
+    }
+
+    private Snapshot build() {
+        long start = System.currentTimeMillis();
+        long buildGeneration = generation.get();
+        // 先取变更序号再读商品：之后的变更重复应用是幂等的，反之会遗漏
+        long changeSeq = productChangeService.currentSeq();
+
+        List<ProductListItemVO> products = productMapper.selectList(new LambdaQueryWrapper<Product>()
+                        .select(Product::getId, Product::getName, Product::getPrice, Product::getCategoryId,
+                                Product::getCategory, Product::getImages)
+                        .eq(Product::getStatus, PUBLIC_PRODUCT_STATUS)
+                        .orderByDesc(Product::getCreatedAt)
+                        .orderByDesc(Product::getId))
+                .stream()
+                .map(ProductListItemVO::fromEntity)
+                .collect(Collectors.toList());
+        CatalogSnapshotVO catalog = CatalogSnapshotVO.builder()
+                .categories(categoryService.getActiveCategories())
+                .products(products)
+                .changeSeq(changeSeq)
+                .build();
+
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(Result.success(catalog));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("商品目录快照序列化失败", e);
+        }
+        byte[] gzip = gzip(json);
+        String digest = DigestUtils.md5DigestAsHex(json);
+        Snapshot built = new Snapshot(json, gzip, "\"" + digest + "\"", "\"" + digest + "-gzip\"", start);
+
+        // 构建期间发生过失效：本次结果仍可返回给当前请求，但不缓存
+        if (generation.get() == buildGeneration) {
+            snapshot = built;
+        }
+        log.debug("[目录快照] 构建完成: products={}, json={}B, gzip={}B, cost={}ms",
+                products.size(), json.length, gzip.length, System.currentTimeMillis() - start);
+        return built;
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 不可变目录快照
+     *
+     * @param json     JSON 字节（统一响应格式）
+     * @param gzip     gzip 压缩后的 JSON 字节
+     * @param etag     未压缩表示的强 ETag（含引号）
+     * @param gzipEtag gzip 表示的强 ETag（含引号）
+     * @param builtAt  构建时间（毫秒）
+     */
+    public record Snapshot(byte[] json, byte[] gzip, String etag, String gzipEtag, long builtAt) {
+    }
+}
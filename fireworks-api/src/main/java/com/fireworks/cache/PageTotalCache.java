@@ -0,0 +1,89 @@
+package com.fireworks.cache;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.fireworks.enums.CacheRegion;
+import com.fireworks.enums.PageTotalType;
+import com.fireworks.service.CacheVersionService;
+import com.fireworks.vo.PageVO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 分页总数缓存
+ * <p>
+ * MyBatis-Plus 分页插件每次翻页都会先执行一次 {@code COUNT(*)}。这里按"区域 + 规范化筛选条件"
+ * 缓存总数（默认 30 秒），命中时关闭本次分页的 COUNT；请求也可通过 {@code count=false} 完全跳过统计。
+ * 区域内数据写入（{@link CacheVersionService#bump}）后清空该区域的全部缓存，包括其他实例。
+ */
+@Component
+public class PageTotalCache {
+
+    /** 单个区域最多缓存的筛选条件数（关键词等自由输入可能很多，超出后整体清空） */
+    private static final int MAX_ENTRIES_PER_REGION = 1000;
+
+    private final long ttlMillis;
+    private final Map<CacheRegion, Map<String, CachedTotal>> totals = new EnumMap<>(CacheRegion.class);
+
+    public PageTotalCache(CacheVersionService cacheVersionService,
+                          @Value("${app.page.count-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.ttlMillis = Math.max(0, ttlSeconds) * 1000;
+        for (CacheRegion region : CacheRegion.values()) {
+            Map<String, CachedTotal> regionTotals = new ConcurrentHashMap<>();
+            totals.put(region, regionTotals);
+            cacheVersionService.addListener(region, regionTotals::clear);
+        }
+    }
+
+    /**
+     * 执行分页查询，按需统计或复用缓存的总数
+     *
+     * @param region    数据所属区域（决定失效范围）
+     * @param filterKey 规范化后的筛选条件（不含排序与页码）
+     * @param count     是否需要总数（null 视为需要）
+     * @param page      页码（从1开始）
+     * @param size      每页数量
+     * @param query     分页查询
+     * @param converter 记录转换（可批量加载关联数据）
+     * @param <E>       实体类型
+     * @param <V>       VO 类型
+     * @return 分页响应
+     */
+    public <E, V> PageVO<V> page(CacheRegion region, String filterKey, Boolean count, int page, int size,
+                                 Function<Page<E>, IPage<E>> query, Function<List<E>, List<V>> converter) {
+        Page<E> request = new Page<>(page, size);
+        boolean wantCount = !Boolean.FALSE.equals(count);
+
+        if (!wantCount) {
+            request.setSearchCount(false);
+            IPage<E> result = query.apply(request);
+            return PageVO.of(converter.apply(result.getRecords()), null, page, size, PageTotalType.NONE);
+        }
+
+        Map<String, CachedTotal> regionTotals = totals.get(region);
+        CachedTotal cached = regionTotals.get(filterKey);
+        if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+            request.setSearchCount(false);
+            IPage<E> result = query.apply(request);
+            return PageVO.of(converter.apply(result.getRecords()), cached.total, page, size, PageTotalType.CACHED);
+        }
+
+        IPage<E> result = query.apply(request);
+        if (ttlMillis > 0) {
+            if (regionTotals.size() >= MAX_ENTRIES_PER_REGION) {
+                regionTotals.clear();
+            }
+            regionTotals.put(filterKey, new CachedTotal(result.getTotal(), System.currentTimeMillis() + ttlMillis));
+        }
+        return PageVO.of(converter.apply(result.getRecords()), result.getTotal(), page, size, PageTotalType.EXACT);
+    }
+
+    private record CachedTotal(long total, long expiresAt) {
+    }
+}
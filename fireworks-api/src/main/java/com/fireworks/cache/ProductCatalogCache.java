@@ -0,0 +1,489 @@
+package com.fireworks.cache;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.fireworks.entity.Product;
+import com.fireworks.enums.CacheRegion;
+import com.fireworks.mapper.ProductMapper;
+import com.fireworks.service.CacheVersionService;
+import com.fireworks.util.ProductCursor;
+import com.fireworks.util.ProductSort;
+import com.fireworks.vo.CategoryFacetVO;
+import com.fireworks.vo.CursorPageVO;
+import com.fireworks.vo.PageVO;
+import com.fireworks.vo.PriceBucketFacetVO;
+import com.fireworks.vo.ProductFacetsVO;
+import com.fireworks.vo.ProductVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * 上架商品目录内存缓存
+ * <p>
+ * 上架商品数量少、变更少，小程序端列表与详情直接由内存快照响应，不再访问数据库，
+ * 也避免每次请求重复解析 images JSON 列。
+ * <p>
+ * 快照为不可变对象，包含按 ID、分类ID、分类名称的索引、按价格排序的数组（价格区间用二分查找定位）
+ * 名称/描述的 n-gram 关键词索引（{@link ProductSearchIndex}）、名称/拼音联想索引（{@link ProductSuggestIndex}），
+ * 以及用于筛选计数的列式数据（分类序号、价格）。
+ * 商品写入（新增、修改、删除、提取结果、地址巡检、分类改名）后调用 {@link #invalidate()}，
+ * 下一次读取时重新加载；加载期间发生的失效通过代数比较丢弃旧快照，避免缓存回写过期数据。
+ * 失效同时递增 {@link CacheRegion#PRODUCT} 版本，其他实例轮询到新版本后清除各自的快照；
+ * {@code app.catalog.cache.max-age-seconds} 作为版本轮询不可用时的兜底。
+ * <p>
+ * 注意：快照中的 {@link ProductVO} 被所有请求共享，调用方不得修改。
+ */
+@Slf4j
+@Component
+public class ProductCatalogCache {
+
+    /** 公开商品状态：上架 */
+    private static final String PUBLIC_PRODUCT_STATUS = "ON_SHELF";
+
+    private static final Comparator<ProductVO> BY_PRICE =
+            Comparator.comparing(ProductVO::getPrice, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final ProductMapper productMapper;
+    private final CacheVersionService cacheVersionService;
+    private final boolean enabled;
+    private final long maxAgeMillis;
+
+    /** 失效代数：每次失效 +1，加载完成时代数未变才安装快照 */
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    public ProductCatalogCache(ProductMapper productMapper,
+                               CacheVersionService cacheVersionService,
+                               @Value("${app.catalog.cache.enabled:true}") boolean enabled,
+                               @Value("${app.catalog.cache.max-age-seconds:300}") long maxAgeSeconds) {
+        this.productMapper = productMapper;
+        this.cacheVersionService = cacheVersionService;
+        this.enabled = enabled;
+        this.maxAgeMillis = Math.max(1, maxAgeSeconds) * 1000;
+        cacheVersionService.addListener(CacheRegion.PRODUCT, this::evict);
+    }
+
+    /**
+     * @return 是否启用缓存（关闭时调用方直接查询数据库）
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 使缓存失效，下一次读取时重新加载
+     * <p>
+     * 商品版本号立即递增（在事务中调用时随事务一同提交，其他实例提交后才可见）；
+     * 本实例的快照清除推迟到事务提交后执行，避免并发读取把提交前的旧数据重新装入缓存。
+     */
+    public void invalidate() {
+        cacheVersionService.bump(CacheRegion.PRODUCT);
+    }
+
+    private void evict() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    /**
+     * 按ID获取上架商品
+     *
+     * @param id 商品ID
+     * @return 商品VO，不存在或未上架返回 null
+     */
+    public ProductVO getById(Long id) {
+        return id != null ? current().byId.get(id) : null;
+    }
+
+    /**
+     * 查询上架商品列表（语义与数据库查询一致）
+     *
+     * @param page       页码（从1开始）
+     * @param size       每页数量
+     * @param sort       排序方式，格式："字段名,asc/desc"
+     * @param categoryId 分类ID筛选（可选，优先）
+     * @param category   分类名称筛选（可选，已废弃）
+     * @param minPrice   最低价格（可选）
+     * @param maxPrice   最高价格（可选）
+     * @param keyword    关键词（可选，匹配名称与描述，未指定排序时按相关度排序）
+     * @return 商品分页列表
+     */
+    public PageVO<ProductVO> query(int page, int size, String sort, Long categoryId, String category,
+                                   Integer minPrice, Integer maxPrice, String keyword) {
+        // 有关键词且未指定排序时按相关度排序
+        boolean rankByRelevance = StringUtils.hasText(keyword) && !StringUtils.hasText(sort);
+        List<ProductVO> matched = match(ProductSort.parse(sort), rankByRelevance, categoryId, category, minPrice, maxPrice, keyword);
+
+        long offset = (long) (page - 1) * size;
+        List<ProductVO> items = offset >= matched.size()
+                ? List.of()
+                : matched.subList((int) offset, (int) Math.min(matched.size(), offset + size));
+        return PageVO.of(new ArrayList<>(items), (long) matched.size(), page, size);
+    }
+
+    /**
+     * 搜索联想：按名称、全拼或拼音首字母前缀匹配上架商品名称
+     *
+     * @param prefix 输入前缀
+     * @param limit  最多返回条数
+     * @return 商品名称列表
+     */
+    public List<String> suggest(String prefix, int limit) {
+        return current().suggestIndex.suggest(prefix, limit);
+    }
+
+    /**
+     * 分类与价格区间计数（一次遍历列式快照）
+     * <p>
+     * 有关键词时只遍历关键词命中的商品。每个商品判断一次是否满足分类条件、价格条件：
+     * 满足价格条件的计入所属分类，满足分类条件的计入所属价格区间，二者都满足的计入总数。
+     *
+     * @param keyword      关键词（可选）
+     * @param categoryId   分类ID筛选（可选）
+     * @param minPrice     最低价格（可选）
+     * @param maxPrice     最高价格（可选）
+     * @param priceBuckets 价格区间边界（升序，元），第 i 个区间为 [b<sub>i</sub>, b<sub>i+1</sub>)，最后一个区间无上限
+     * @return 筛选统计
+     */
+    public ProductFacetsVO facets(String keyword, Long categoryId, Integer minPrice, Integer maxPrice, int[] priceBuckets) {
+        Snapshot s = current();
+        int[] docs = StringUtils.hasText(keyword) ? s.searchIndex.match(keyword, null, null, null, null) : null;
+        int n = docs != null ? docs.length : s.all.size();
+
+        int categoryOrdinal = categoryId != null ? s.categoryOrdinals.getOrDefault(categoryId, -2) : -1;
+        long min = minPrice != null ? minPrice * 100L : Long.MIN_VALUE;
+        long max = maxPrice != null ? maxPrice * 100L : Long.MAX_VALUE;
+        boolean priceFiltered = minPrice != null || maxPrice != null;
+        long[] bounds = new long[priceBuckets.length];
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = priceBuckets[i] * 100L;
+        }
+
+        long total = 0;
+        long[] categoryCounts = new long[s.categoryIds.length];
+        long[] bucketCounts = new long[bounds.length];
+        for (int i = 0; i < n; i++) {
+            int doc = docs != null ? docs[i] : i;
+            int ordinal = s.categoryColumn[doc];
+            long price = s.priceColumn[doc];
+            boolean categoryOk = categoryOrdinal == -1 || ordinal == categoryOrdinal;
+            boolean priceOk = !priceFiltered || (price != Snapshot.NO_PRICE && price >= min && price <= max);
+            if (categoryOk && priceOk) {
+                total++;
+            }
+            if (priceOk && ordinal >= 0) {
+                categoryCounts[ordinal]++;
+            }
+            if (categoryOk && price != Snapshot.NO_PRICE) {
+                int bucket = bucketOf(bounds, price);
+                if (bucket >= 0) {
+                    bucketCounts[bucket]++;
+                }
+            }
+        }
+
+        List<CategoryFacetVO> categories = new ArrayList<>(s.categoryIds.length);
+        for (int i = 0; i < s.categoryIds.length; i++) {
+            // 与数据库分组查询一致：只返回有商品的分类
+            if (categoryCounts[i] == 0) {
+                continue;
+            }
+            categories.add(CategoryFacetVO.builder()
+                    .categoryId(s.categoryIds[i])
+                    .categoryName(s.categoryNames[i])
+                    .count(categoryCounts[i])
+                    .build());
+        }
+        List<PriceBucketFacetVO> buckets = new ArrayList<>(bounds.length);
+        for (int i = 0; i < bounds.length; i++) {
+            buckets.add(PriceBucketFacetVO.builder()
+                    .minPrice(priceBuckets[i])
+                    .maxPrice(i + 1 < priceBuckets.length ? priceBuckets[i + 1] : null)
+                    .count(bucketCounts[i])
+                    .build());
+        }
+        return ProductFacetsVO.builder()
+                .total(total)
+                .categories(categories)
+                .priceBuckets(buckets)
+                .build();
+    }
+
+    /**
+     * @return 价格所在区间下标，低于第一个边界返回 -1
+     */
+    private static int bucketOf(long[] bounds, long price) {
+        int bucket = -1;
+        while (bucket + 1 < bounds.length && price >= bounds[bucket + 1]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    /**
+     * 游标分页查询上架商品列表（语义与数据库键集分页一致）
+     *
+     * @param cursor     上一页返回的游标（首页为空）
+     * @param size       每页数量
+     * @param sort       排序方式，格式："字段名,asc/desc"
+     * @param categoryId 分类ID筛选（可选，优先）
+     * @param category   分类名称筛选（可选，已废弃）
+     * @param minPrice   最低价格（可选）
+     * @param maxPrice   最高价格（可选）
+     * @param keyword    关键词（可选，匹配名称与描述）
+     * @return 游标分页列表
+     */
+    public CursorPageVO<ProductVO> scroll(String cursor, int size, String sort, Long categoryId, String category,
+                                          Integer minPrice, Integer maxPrice, String keyword) {
+        ProductSort productSort = ProductSort.parse(sort);
+        // 游标依赖稳定的排序键，不使用相关度排序
+        List<ProductVO> matched = match(productSort, false, categoryId, category, minPrice, maxPrice, keyword);
+
+        int from = 0;
+        if (StringUtils.hasText(cursor)) {
+            from = indexAfter(matched, ProductCursor.decode(cursor, productSort), comparatorOf(productSort));
+        }
+        int to = Math.min(matched.size(), from + size);
+        List<ProductVO> items = new ArrayList<>(matched.subList(from, to));
+        String nextCursor = to < matched.size() ? ProductCursor.after(productSort, items.get(items.size() - 1)) : null;
+        return CursorPageVO.of(items, nextCursor, size);
+    }
+
+    /**
+     * 筛选并排序
+     * <p>
+     * 有关键词时走 n-gram 倒排索引（名称与描述），分类与价格在倒排表上过滤；否则按分类/价格索引取候选集。
+     */
+    private List<ProductVO> match(ProductSort sort, boolean rankByRelevance, Long categoryId, String category,
+                                  Integer minPrice, Integer maxPrice, String keyword) {
+        Snapshot s = current();
+
+        if (StringUtils.hasText(keyword)) {
+            int[] hits = s.searchIndex.match(keyword, categoryId, category, minPrice, maxPrice);
+            if (hits != null) {
+                return rankByRelevance
+                        ? s.searchIndex.rankByRelevance(hits, keyword)
+                        : s.searchIndex.sortBy(hits, sort.field(), comparatorOf(new ProductSort(sort.field(), true)), sort.asc());
+            }
+        }
+
+        // 选择最小的候选集：分类索引 > 价格区间 > 全部
+        List<ProductVO> candidates;
+        if (categoryId != null) {
+            candidates = s.byCategoryId.getOrDefault(categoryId, List.of());
+        } else if (StringUtils.hasText(category)) {
+            candidates = s.byCategoryName.getOrDefault(category, List.of());
+        } else if (minPrice != null || maxPrice != null) {
+            candidates = s.priceRange(minPrice, maxPrice);
+        } else {
+            candidates = s.all;
+        }
+
+        Predicate<ProductVO> filter = p -> true;
+        if (minPrice != null) {
+            BigDecimal min = BigDecimal.valueOf(minPrice);
+            filter = filter.and(p -> p.getPrice() != null && p.getPrice().compareTo(min) >= 0);
+        }
+        if (maxPrice != null) {
+            BigDecimal max = BigDecimal.valueOf(maxPrice);
+            filter = filter.and(p -> p.getPrice() != null && p.getPrice().compareTo(max) <= 0);
+        }
+
+        return candidates.stream()
+                .filter(filter)
+                .sorted(comparatorOf(sort))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 二分查找第一个严格位于游标之后的位置
+     */
+    private static int indexAfter(List<ProductVO> sorted, ProductCursor cursor, Comparator<ProductVO> comparator) {
+        ProductVO probe = new ProductVO();
+        probe.setId(cursor.id());
+        switch (cursor.sort().field()) {
+            case ProductSort.CREATED_AT -> probe.setCreatedAt((LocalDateTime) cursor.value());
+            case ProductSort.UPDATED_AT -> probe.setUpdatedAt((LocalDateTime) cursor.value());
+            case ProductSort.PRICE -> probe.setPrice((BigDecimal) cursor.value());
+            default -> {
+            }
+        }
+        int lo = 0;
+        int hi = sorted.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (comparator.compare(sorted.get(mid), probe) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * 获取当前快照，不存在或已过期时重新加载
+     */
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s != null && System.currentTimeMillis() - s.loadedAt < maxAgeMillis) {
+            return s;
+        }
+        synchronized (this) {
+            s = snapshot;
+            if (s != null && System.currentTimeMillis() - s.loadedAt < maxAgeMillis) {
+                return s;
+            }
+            return load();
+        }
+    }
+
+    private Snapshot load() {
+        long start = System.currentTimeMillis();
+        long loadGeneration = generation.get();
+        List<Product> products = productMapper.selectList(new LambdaQueryWrapper<Product>()
+                .eq(Product::getStatus, PUBLIC_PRODUCT_STATUS));
+        Snapshot loaded = new Snapshot(products.stream().map(ProductVO::fromEntity).collect(Collectors.toList()));
+        // 加载期间发生过失效：本次结果仍可返回给当前请求，但不缓存
+        if (generation.get() == loadGeneration) {
+            snapshot = loaded;
+        }
+        log.debug("[商品缓存] 加载上架商品: count={}, cost={}ms", loaded.all.size(), System.currentTimeMillis() - start);
+        return loaded;
+    }
+
+    /**
+     * 构建排序比较器（与数据库查询支持的排序字段一致，ID 作为同向的稳定次序）
+     */
+    private static Comparator<ProductVO> comparatorOf(ProductSort sort) {
+        Comparator<ProductVO> comparator = switch (sort.field()) {
+            case ProductSort.UPDATED_AT -> Comparator.comparing(ProductVO::getUpdatedAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case ProductSort.CREATED_AT -> Comparator.comparing(ProductVO::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case ProductSort.PRICE -> BY_PRICE;
+            default -> Comparator.comparing(ProductVO::getId);
+        };
+        comparator = comparator.thenComparing(ProductVO::getId);
+        return sort.asc() ? comparator : comparator.reversed();
+    }
+
+    /**
+     * 不可变目录快照
+     */
+    private static final class Snapshot {
+
+        final long loadedAt = System.currentTimeMillis();
+        final List<ProductVO> all;
+        final Map<Long, ProductVO> byId;
+        final Map<Long, List<ProductVO>> byCategoryId;
+        final Map<String, List<ProductVO>> byCategoryName;
+        /** 按价格升序（价格为空的排在最前） */
+        final List<ProductVO> byPrice;
+        /** 名称/描述关键词索引 */
+        final ProductSearchIndex searchIndex;
+        /** 名称/拼音联想索引 */
+        final ProductSuggestIndex suggestIndex;
+
+        /** 价格列中表示无价格的值 */
+        static final long NO_PRICE = Long.MIN_VALUE;
+        /** 出现过的分类ID（按ID升序），下标即分类序号 */
+        final long[] categoryIds;
+        /** 分类序号对应的分类名称 */
+        final String[] categoryNames;
+        /** 分类ID → 分类序号 */
+        final Map<Long, Integer> categoryOrdinals;
+        /** 列式数据（与 {@link #all} 下标一致）：分类序号，无分类为 -1 */
+        final int[] categoryColumn;
+        /** 列式数据（与 {@link #all} 下标一致）：价格（分），无价格为 {@link #NO_PRICE} */
+        final long[] priceColumn;
+
+        Snapshot(List<ProductVO> products) {
+            this.all = Collections.unmodifiableList(products);
+            Map<Long, ProductVO> ids = new HashMap<>(products.size() * 2);
+            Map<Long, List<ProductVO>> categoryIds = new HashMap<>();
+            Map<String, List<ProductVO>> categoryNames = new HashMap<>();
+            for (ProductVO p : products) {
+                ids.put(p.getId(), p);
+                if (p.getCategoryId() != null) {
+                    categoryIds.computeIfAbsent(p.getCategoryId(), k -> new ArrayList<>()).add(p);
+                }
+                if (p.getCategoryName() != null) {
+                    categoryNames.computeIfAbsent(p.getCategoryName(), k -> new ArrayList<>()).add(p);
+                }
+            }
+            this.byId = ids;
+            this.byCategoryId = categoryIds;
+            this.byCategoryName = categoryNames;
+            List<ProductVO> sorted = new ArrayList<>(products);
+            sorted.sort(BY_PRICE);
+            this.byPrice = Collections.unmodifiableList(sorted);
+            this.searchIndex = ProductSearchIndex.build(products);
+            this.suggestIndex = ProductSuggestIndex.build(products);
+
+            this.categoryIds = byCategoryId.keySet().stream().sorted().mapToLong(Long::longValue).toArray();
+            this.categoryNames = new String[this.categoryIds.length];
+            this.categoryOrdinals = new HashMap<>();
+            for (int i = 0; i < this.categoryIds.length; i++) {
+                List<ProductVO> inCategory = byCategoryId.get(this.categoryIds[i]);
+                this.categoryNames[i] = inCategory.get(0).getCategoryName();
+                this.categoryOrdinals.put(this.categoryIds[i], i);
+            }
+            this.categoryColumn = new int[products.size()];
+            this.priceColumn = new long[products.size()];
+            for (int doc = 0; doc < products.size(); doc++) {
+                ProductVO p = products.get(doc);
+                this.categoryColumn[doc] = p.getCategoryId() != null ? this.categoryOrdinals.get(p.getCategoryId()) : -1;
+                // 价格列为 DECIMAL(10,2)，换算为分后精确
+                this.priceColumn[doc] = p.getPrice() != null ? p.getPrice().movePointRight(2).longValue() : NO_PRICE;
+            }
+        }
+
+        /**
+         * 用二分查找截取价格区间内的商品（两端均为闭区间）
+         */
+        List<ProductVO> priceRange(Integer minPrice, Integer maxPrice) {
+            int from = minPrice != null ? lowerBound(BigDecimal.valueOf(minPrice), false) : firstPriced();
+            int to = maxPrice != null ? lowerBound(BigDecimal.valueOf(maxPrice), true) : byPrice.size();
+            return from < to ? byPrice.subList(from, to) : List.of();
+        }
+
+        private int firstPriced() {
+            int i = 0;
+            while (i < byPrice.size() && byPrice.get(i).getPrice() == null) {
+                i++;
+            }
+            return i;
+        }
+
+        /**
+         * @param inclusive false：第一个价格 ≥ price 的位置；true：第一个价格 > price 的位置
+         */
+        private int lowerBound(BigDecimal price, boolean inclusive) {
+            int lo = firstPriced();
+            int hi = byPrice.size();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                int cmp = byPrice.get(mid).getPrice().compareTo(price);
+                if (cmp < 0 || (inclusive && cmp == 0)) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
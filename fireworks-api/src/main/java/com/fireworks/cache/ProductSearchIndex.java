@@ -0,0 +1,382 @@
+package com.fireworks.cache;
+
+import com.fireworks.vo.ProductVO;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 商品名称/描述 n-gram 倒排索引
+ * <p>
+ * 中文没有分词边界，按字切分的一元组（单字）与二元组（相邻两字）作为索引词，
+ * 倒排表为升序的商品序号数组。查询时取关键词的全部二元组（单字关键词取一元组），
+ * 从最短的倒排表开始求交集，分类倒排表参与求交，价格在交集遍历时过滤；
+ * 二元组齐全不代表关键词连续出现（如"大吉大利"可由分散的"大吉""吉大""大利"凑成），
+ * 交集中的商品还需在名称或描述原文（转小写）中包含完整关键词才算命中，与数据库 LIKE 的语义一致；
+ * 排序只对命中序号的基本类型数组进行，结果以只读视图返回，分页时只取用到的元素。
+ * <p>
+ * 索引随 {@link ProductCatalogCache} 的快照一同构建，商品写入使快照失效时一并重建，不单独维护增量。
+ * 构建后只读，可被多个请求线程并发查询。
+ */
+public final class ProductSearchIndex {
+
+    /** 描述参与索引的最大字符数（描述可能很长，只取开头部分控制内存） */
+    private static final int MAX_DESCRIPTION_CHARS = 200;
+
+    /** 相关度排序时参与比较的最大名称长度 */
+    private static final int MAX_RANKED_NAME_LENGTH = 63;
+
+    /** 相关度桶数：3 个等级 × 名称长度 */
+    private static final int RELEVANCE_BUCKETS = 3 * (MAX_RANKED_NAME_LENGTH + 1);
+
+    private static final long NO_PRICE = Long.MIN_VALUE;
+
+    private static final int[] EMPTY = new int[0];
+
+    private final List<ProductVO> docs;
+    /** 名称原文（转小写），用于连续匹配校验与相关度 */
+    private final String[] names;
+    /** 描述原文开头部分（转小写） */
+    private final String[] descriptions;
+    /** 价格（分），无价格为 {@link #NO_PRICE} */
+    private final long[] priceCents;
+    private final Map<String, int[]> postings;
+    private final Map<Long, int[]> categoryIdPostings;
+    private final Map<String, int[]> categoryNamePostings;
+    /** 排序字段 → 全量排名（下标为商品序号），首次使用时计算 */
+    private final Map<String, int[]> ranks = new ConcurrentHashMap<>();
+    /** 排序字段 → 排名对应的商品序号 */
+    private final Map<String, int[]> inverseRanks = new ConcurrentHashMap<>();
+
+    private ProductSearchIndex(List<ProductVO> docs, String[] names, String[] descriptions, long[] priceCents, Map<String, int[]> postings,
+                               Map<Long, int[]> categoryIdPostings, Map<String, int[]> categoryNamePostings) {
+        this.docs = docs;
+        this.names = names;
+        this.descriptions = descriptions;
+        this.priceCents = priceCents;
+        this.postings = postings;
+        this.categoryIdPostings = categoryIdPostings;
+        this.categoryNamePostings = categoryNamePostings;
+    }
+
+    /**
+     * 构建索引
+     *
+     * @param products 商品列表（序号即列表下标）
+     * @return 索引
+     */
+    public static ProductSearchIndex build(List<ProductVO> products) {
+        int n = products.size();
+        String[] names = new String[n];
+        String[] descriptions = new String[n];
+        long[] priceCents = new long[n];
+        Map<String, IntList> terms = new HashMap<>();
+        Map<Long, IntList> categoryIds = new HashMap<>();
+        Map<String, IntList> categoryNames = new HashMap<>();
+
+        Set<String> docTerms = new LinkedHashSet<>();
+        for (int doc = 0; doc < n; doc++) {
+            ProductVO p = products.get(doc);
+            names[doc] = lower(p.getName());
+            String description = p.getDescription();
+            if (description != null && description.length() > MAX_DESCRIPTION_CHARS) {
+                description = description.substring(0, MAX_DESCRIPTION_CHARS);
+            }
+            descriptions[doc] = lower(description);
+            // 价格列为 DECIMAL(10,2)，换算为分后精确，筛选时免去 BigDecimal 运算
+            priceCents[doc] = p.getPrice() != null ? p.getPrice().movePointRight(2).longValue() : NO_PRICE;
+
+            docTerms.clear();
+            collectTerms(normalize(names[doc]), docTerms);
+            collectTerms(normalize(descriptions[doc]), docTerms);
+            // 文档按序号递增处理，追加即保持倒排表有序
+            for (String term : docTerms) {
+                terms.computeIfAbsent(term, k -> new IntList()).add(doc);
+            }
+            if (p.getCategoryId() != null) {
+                categoryIds.computeIfAbsent(p.getCategoryId(), k -> new IntList()).add(doc);
+            }
+            if (p.getCategoryName() != null) {
+                categoryNames.computeIfAbsent(p.getCategoryName(), k -> new IntList()).add(doc);
+            }
+        }
+
+        return new ProductSearchIndex(List.copyOf(products), names, descriptions, priceCents,
+                toArrays(terms), toArrays(categoryIds), toArrays(categoryNames));
+    }
+
+    /**
+     * 关键词匹配
+     * <p>
+     * 先按关键词的二元组（忽略空白与标点）在倒排表中求交集，再校验名称或描述原文包含完整关键词（忽略大小写与首尾空白）。
+     *
+     * @param keyword    关键词
+     * @param categoryId 分类ID筛选（可选，优先）
+     * @param category   分类名称筛选（可选）
+     * @param minPrice   最低价格（可选）
+     * @param maxPrice   最高价格（可选）
+     * @return 命中的商品序号（升序）；关键词无有效字符时返回 null，由调用方按无关键词处理
+     */
+    public int[] match(String keyword, Long categoryId, String category, Integer minPrice, Integer maxPrice) {
+        String normalized = normalize(keyword);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        String query = lower(keyword).trim();
+
+        List<int[]> lists = new ArrayList<>();
+        for (String term : queryTerms(normalized)) {
+            int[] list = postings.get(term);
+            if (list == null) {
+                return EMPTY;
+            }
+            lists.add(list);
+        }
+        if (categoryId != null) {
+            lists.add(categoryIdPostings.getOrDefault(categoryId, EMPTY));
+        } else if (category != null && !category.isEmpty()) {
+            lists.add(categoryNamePostings.getOrDefault(category, EMPTY));
+        }
+        lists.sort(Comparator.comparingInt(a -> a.length));
+
+        long min = minPrice != null ? minPrice * 100L : Long.MIN_VALUE;
+        long max = maxPrice != null ? maxPrice * 100L : Long.MAX_VALUE;
+        boolean priceFiltered = minPrice != null || maxPrice != null;
+
+        int[] shortest = lists.get(0);
+        int[] hits = new int[shortest.length];
+        int count = 0;
+        int[] cursors = new int[lists.size()];
+        candidates:
+        for (int doc : shortest) {
+            for (int i = 1; i < lists.size(); i++) {
+                int[] list = lists.get(i);
+                int pos = advance(list, cursors[i], doc);
+                cursors[i] = pos;
+                if (pos >= list.length) {
+                    break candidates;
+                }
+                if (list[pos] != doc) {
+                    continue candidates;
+                }
+            }
+            if (priceFiltered) {
+                long price = priceCents[doc];
+                if (price == NO_PRICE || price < min || price > max) {
+                    continue;
+                }
+            }
+            if (!names[doc].contains(query) && !descriptions[doc].contains(query)) {
+                continue;
+            }
+            hits[count++] = doc;
+        }
+        return Arrays.copyOf(hits, count);
+    }
+
+    /**
+     * 按相关度排序
+     * <p>
+     * 名称以关键词开头 > 名称包含关键词 > 仅描述包含关键词；
+     * 同级按名称长度升序（超过 {@value #MAX_RANKED_NAME_LENGTH} 按该值计）、再按商品原有顺序。
+     * 桶数固定，用计数排序一次线性完成，命中再多也不做比较排序。
+     *
+     * @param hits    {@link #match} 的结果
+     * @param keyword 关键词
+     * @return 排序后的商品（只读视图，按需取元素）
+     */
+    public List<ProductVO> rankByRelevance(int[] hits, String keyword) {
+        String query = lower(keyword).trim();
+        int[] buckets = new int[hits.length];
+        int[] counts = new int[RELEVANCE_BUCKETS + 1];
+        for (int i = 0; i < hits.length; i++) {
+            int doc = hits[i];
+            int relevance = relevance(doc, query);
+            int bucket = (3 - relevance) * (MAX_RANKED_NAME_LENGTH + 1)
+                    + Math.min(names[doc].length(), MAX_RANKED_NAME_LENGTH);
+            buckets[i] = bucket;
+            counts[bucket + 1]++;
+        }
+        for (int b = 0; b < RELEVANCE_BUCKETS; b++) {
+            counts[b + 1] += counts[b];
+        }
+        // hits 升序遍历，同桶内保持商品原有顺序
+        int[] ordered = new int[hits.length];
+        for (int i = 0; i < hits.length; i++) {
+            ordered[counts[buckets[i]]++] = hits[i];
+        }
+        return view(ordered);
+    }
+
+    /**
+     * 按指定字段排序
+     * <p>
+     * 每个字段的全量排名只在首次使用时计算一次，之后命中集合按排名（基本类型）排序。
+     *
+     * @param hits      {@link #match} 的结果
+     * @param key       排序字段名（排名缓存键）
+     * @param ascending 该字段的升序比较器（需包含稳定的次序，如 ID）
+     * @param asc       是否升序
+     * @return 排序后的商品（只读视图，按需取元素）
+     */
+    public List<ProductVO> sortBy(int[] hits, String key, Comparator<ProductVO> ascending, boolean asc) {
+        int[] rank = ranks.computeIfAbsent(key, k -> computeRanks(ascending));
+        int[] byRank = new int[hits.length];
+        for (int i = 0; i < hits.length; i++) {
+            byRank[i] = rank[hits[i]];
+        }
+        Arrays.sort(byRank);
+        int[] inverse = inverseRanks.computeIfAbsent(key, k -> invert(rank));
+        int[] ordered = new int[hits.length];
+        for (int i = 0; i < byRank.length; i++) {
+            ordered[asc ? i : byRank.length - 1 - i] = inverse[byRank[i]];
+        }
+        return view(ordered);
+    }
+
+    private int[] computeRanks(Comparator<ProductVO> ascending) {
+        Integer[] order = new Integer[docs.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> ascending.compare(docs.get(a), docs.get(b)));
+        int[] rank = new int[order.length];
+        for (int r = 0; r < order.length; r++) {
+            rank[order[r]] = r;
+        }
+        return rank;
+    }
+
+    private static int[] invert(int[] rank) {
+        int[] inverse = new int[rank.length];
+        for (int doc = 0; doc < rank.length; doc++) {
+            inverse[rank[doc]] = doc;
+        }
+        return inverse;
+    }
+
+    private List<ProductVO> view(int[] ordered) {
+        return new AbstractList<>() {
+            @Override
+            public ProductVO get(int index) {
+                return docs.get(ordered[index]);
+            }
+
+            @Override
+            public int size() {
+                return ordered.length;
+            }
+        };
+    }
+
+    /**
+     * @return 索引词数量
+     */
+    public int termCount() {
+        return postings.size();
+    }
+
+    /**
+     * @return 相关度等级 1-3（越大越相关；命中的商品至少描述包含关键词）
+     */
+    private int relevance(int doc, String query) {
+        int nameAt = names[doc].indexOf(query);
+        if (nameAt == 0) {
+            return 3;
+        }
+        return nameAt > 0 ? 2 : 1;
+    }
+
+    /**
+     * 在有序数组中从 from 开始查找第一个 ≥ target 的位置（指数步进 + 二分）
+     */
+    private static int advance(int[] list, int from, int target) {
+        int bound = 1;
+        int lo = from;
+        while (from + bound < list.length && list[from + bound] < target) {
+            lo = from + bound;
+            bound <<= 1;
+        }
+        int hi = Math.min(list.length, from + bound + 1);
+        int pos = Arrays.binarySearch(list, lo, hi, target);
+        return pos >= 0 ? pos : -pos - 1;
+    }
+
+    private static Set<String> queryTerms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (query.length() == 1) {
+            terms.add(query);
+            return terms;
+        }
+        for (int i = 0; i + 1 < query.length(); i++) {
+            terms.add(query.substring(i, i + 2));
+        }
+        return terms;
+    }
+
+    private static void collectTerms(String text, Set<String> out) {
+        for (int i = 0; i < text.length(); i++) {
+            out.add(text.substring(i, i + 1));
+            if (i + 1 < text.length()) {
+                out.add(text.substring(i, i + 2));
+            }
+        }
+    }
+
+    private static String lower(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 规范化文本：转小写，只保留字母、数字与汉字
+     */
+    static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(lower.length());
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static <K> Map<K, int[]> toArrays(Map<K, IntList> lists) {
+        Map<K, int[]> arrays = new HashMap<>(lists.size() * 2);
+        lists.forEach((k, v) -> arrays.put(k, v.toArray()));
+        return arrays;
+    }
+
+    /**
+     * 可增长的 int 数组（避免 List&lt;Integer&gt; 装箱）
+     */
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
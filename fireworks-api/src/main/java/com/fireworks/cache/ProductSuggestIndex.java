@@ -0,0 +1,181 @@
+package com.fireworks.cache;
+
+import com.fireworks.util.PinyinUtil;
+import com.fireworks.vo.ProductVO;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 商品名称联想索引
+ * <p>
+ * 每个不重复的商品名称生成三个前缀匹配键：名称本身、全拼、拼音首字母（如 "烟花" → "烟花"/"yanhua"/"yh"），
+ * 全部键排序后存为有序数组，查询时二分定位前缀区间，在区间内选出前 N 个名称。
+ * 排序：名称直接匹配 > 全拼匹配 > 首字母匹配，同级名称短的在前，再按商品原有顺序。
+ * <p>
+ * 与 {@link ProductSearchIndex} 一样随 {@link ProductCatalogCache} 的快照构建，构建后只读。
+ */
+public final class ProductSuggestIndex {
+
+    /** 匹配方式（越小越优先） */
+    private static final byte KIND_NAME = 0;
+    private static final byte KIND_PINYIN = 1;
+    private static final byte KIND_INITIALS = 2;
+
+    /** 有序的匹配键 */
+    private final String[] keys;
+    /** 匹配键对应的名称下标 */
+    private final int[] nameIndexes;
+    /** 匹配键的匹配方式 */
+    private final byte[] kinds;
+    /** 不重复的商品名称（按商品原有顺序） */
+    private final String[] names;
+
+    private ProductSuggestIndex(String[] keys, int[] nameIndexes, byte[] kinds, String[] names) {
+        this.keys = keys;
+        this.nameIndexes = nameIndexes;
+        this.kinds = kinds;
+        this.names = names;
+    }
+
+    /**
+     * 构建索引
+     *
+     * @param products 商品列表
+     * @return 索引
+     */
+    public static ProductSuggestIndex build(List<ProductVO> products) {
+        Map<String, Integer> distinct = new LinkedHashMap<>();
+        for (ProductVO p : products) {
+            String name = p.getName() != null ? p.getName().trim() : "";
+            if (!name.isEmpty()) {
+                distinct.putIfAbsent(name, distinct.size());
+            }
+        }
+        String[] names = distinct.keySet().toArray(new String[0]);
+
+        List<Entry> entries = new ArrayList<>(names.length * 3);
+        for (int i = 0; i < names.length; i++) {
+            addEntry(entries, ProductSearchIndex.normalize(names[i]), i, KIND_NAME);
+            addEntry(entries, PinyinUtil.toPinyin(names[i]), i, KIND_PINYIN);
+            addEntry(entries, PinyinUtil.toInitials(names[i]), i, KIND_INITIALS);
+        }
+        entries.sort(Comparator.comparing(Entry::key));
+
+        String[] keys = new String[entries.size()];
+        int[] nameIndexes = new int[entries.size()];
+        byte[] kinds = new byte[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            Entry e = entries.get(i);
+            keys[i] = e.key();
+            nameIndexes[i] = e.nameIndex();
+            kinds[i] = e.kind();
+        }
+        return new ProductSuggestIndex(keys, nameIndexes, kinds, names);
+    }
+
+    private static void addEntry(List<Entry> entries, String key, int nameIndex, byte kind) {
+        // 纯英文/数字名称的全拼、首字母与名称相同，只保留优先级最高的一条
+        if (key.isEmpty()) {
+            return;
+        }
+        for (int i = entries.size() - 1; i >= 0 && entries.get(i).nameIndex() == nameIndex; i--) {
+            if (entries.get(i).key().equals(key)) {
+                return;
+            }
+        }
+        entries.add(new Entry(key, nameIndex, kind));
+    }
+
+    /**
+     * 联想查询
+     *
+     * @param prefix 输入前缀（汉字、全拼或拼音首字母，忽略大小写、空白与标点）
+     * @param limit  最多返回条数
+     * @return 商品名称（按匹配优先级排序、不重复）
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String query = ProductSearchIndex.normalize(prefix);
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        int from = lowerBound(query);
+        int to = lowerBound(query + Character.MAX_VALUE);
+        if (from >= to) {
+            return List.of();
+        }
+
+        // 区间内选出排序值最小的 limit 个名称：排序值 = 匹配方式 | 名称长度 | 名称下标
+        long[] top = new long[Math.min(limit, to - from)];
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            int nameIndex = nameIndexes[i];
+            long rank = ((long) kinds[i] << 56) | ((long) Math.min(names[nameIndex].length(), 0xFFFF) << 32) | nameIndex;
+            count = offer(top, count, rank, nameIndex);
+        }
+
+        List<String> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(names[(int) top[i]]);
+        }
+        return result;
+    }
+
+    /**
+     * 插入有序的前 N 数组；同一名称只保留排序值更小的一条
+     *
+     * @return 插入后的元素个数
+     */
+    private static int offer(long[] top, int count, long rank, int nameIndex) {
+        for (int i = 0; i < count; i++) {
+            if ((int) top[i] == nameIndex) {
+                if (rank >= top[i]) {
+                    return count;
+                }
+                System.arraycopy(top, i + 1, top, i, count - i - 1);
+                count--;
+                break;
+            }
+        }
+        if (count == top.length && rank >= top[count - 1]) {
+            return count;
+        }
+        int pos = count == top.length ? count - 1 : count++;
+        while (pos > 0 && top[pos - 1] > rank) {
+            top[pos] = top[pos - 1];
+            pos--;
+        }
+        top[pos] = rank;
+        return count;
+    }
+
+    /**
+     * 第一个不小于 key 的位置（键可重复，不能直接用 {@link java.util.Arrays#binarySearch}）
+     */
+    private int lowerBound(String key) {
+        int lo = 0;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * @return 匹配键数量
+     */
+    public int keyCount() {
+        return keys.length;
+    }
+
+    private record Entry(String key, int nameIndex, byte kind) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.fireworks.config;
+
+import com.fireworks.metrics.ExecutorTaskMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 异步任务线程池配置
+ * <p>
+ * 线程池均记录排队耗时与拒绝次数（见 {@link ExecutorTaskMetrics}），线程数与队列深度由 Actuator 自动绑定。
+ */
+@Configuration
+public class AsyncConfig {
+
+    private final MeterRegistry meterRegistry;
+
+    public AsyncConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean(name = "videoExtractExecutor")
+    public Executor videoExtractExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("video-extract-");
+        executor.setTaskDecorator(ExecutorTaskMetrics.queueWaitDecorator(meterRegistry, "videoExtractExecutor"));
+        executor.setRejectedExecutionHandler(ExecutorTaskMetrics.countingRejections(meterRegistry,
+                "videoExtractExecutor", new ThreadPoolExecutor.AbortPolicy()));
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 视频地址探测线程池
+     * <p>
+     * 线程数即全局探测并发上限；队列满时由调用方线程执行，形成背压。
+     */
+    @Bean(name = "videoProbeExecutor")
+    public Executor videoProbeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("video-probe-");
+        executor.setTaskDecorator(ExecutorTaskMetrics.queueWaitDecorator(meterRegistry, "videoProbeExecutor"));
+        executor.setRejectedExecutionHandler(ExecutorTaskMetrics.countingRejections(meterRegistry,
+                "videoProbeExecutor", new ThreadPoolExecutor.CallerRunsPolicy()));
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 首页聚合接口的并行读取线程池
+     * <p>
+     * 任务都是短查询；队列满时由调用方线程执行，退化为串行读取。
+     */
+    @Bean(name = "homeExecutor")
+    public Executor homeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("home-");
+        executor.setTaskDecorator(ExecutorTaskMetrics.queueWaitDecorator(meterRegistry, "homeExecutor"));
+        executor.setRejectedExecutionHandler(ExecutorTaskMetrics.countingRejections(meterRegistry,
+                "homeExecutor", new ThreadPoolExecutor.CallerRunsPolicy()));
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 后台维护任务线程池（视频巡检、提取重试）
+     * <p>
+     * 定时方法只负责把任务交到这里，不占用 Spring 共享的定时任务线程。
+     * 不排队：各任务自带防重入，线程均忙时本次触发直接丢弃（计入拒绝次数），等下一次触发。
+     */
+    @Bean(name = "maintenanceExecutor")
+    public Executor maintenanceExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("maintenance-");
+        executor.setTaskDecorator(ExecutorTaskMetrics.queueWaitDecorator(meterRegistry, "maintenanceExecutor"));
+        executor.setRejectedExecutionHandler(ExecutorTaskMetrics.countingRejections(meterRegistry,
+                "maintenanceExecutor", new ThreadPoolExecutor.DiscardPolicy()));
+        executor.initialize();
+        return executor;
+    }
+}
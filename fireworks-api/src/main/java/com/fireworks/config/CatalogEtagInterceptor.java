@@ -0,0 +1,97 @@
+package com.fireworks.config;
+
+import com.fireworks.enums.CacheRegion;
+import com.fireworks.service.CacheVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 公开只读接口的条件请求拦截器
+ * <p>
+ * ETag 由缓存区域的当前版本生成（{@link CacheVersionService#currentVersion}，只读内存）：
+ * If-None-Match 命中时直接返回 304，不进入 Controller，也就不会查询数据库；
+ * 未命中时在响应上附加 ETag 与 Cache-Control 后继续处理。
+ * 区域版本尚未读取到时不生成 ETag。
+ * <p>
+ * 版本只覆盖该区域的数据变更，响应还依赖其他数据（如热门搜索统计）的接口不应注册到本拦截器。
+ * 带有指定参数的请求（如关键词搜索，需要进入 Controller 计入热门搜索）不使用 ETag。
+ */
+public class CatalogEtagInterceptor implements HandlerInterceptor {
+
+    private final CacheVersionService cacheVersionService;
+    private final CacheRegion region;
+    private final String cacheControl;
+    private final String[] bypassParameters;
+
+    /**
+     * @param cacheVersionService 缓存版本服务
+     * @param region              响应数据所属的缓存区域
+     * @param maxAgeSeconds       客户端可直接使用缓存的秒数（0 表示每次都需重新验证）
+     * @param bypassParameters    请求带有其中任一非空参数时不使用 ETag
+     */
+    public CatalogEtagInterceptor(CacheVersionService cacheVersionService, CacheRegion region, long maxAgeSeconds,
+                                  String... bypassParameters) {
+        this.cacheVersionService = cacheVersionService;
+        this.region = region;
+        this.bypassParameters = bypassParameters;
+        this.cacheControl = maxAgeSeconds > 0
+                ? CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).mustRevalidate().getHeaderValue()
+                : CacheControl.noCache().getHeaderValue();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String method = request.getMethod();
+        if (!"GET".equalsIgnoreCase(method) && !"HEAD".equalsIgnoreCase(method)) {
+            return true;
+        }
+        for (String name : bypassParameters) {
+            if (StringUtils.hasText(request.getParameter(name))) {
+                return true;
+            }
+        }
+        long version = cacheVersionService.currentVersion(region);
+        if (version < 0) {
+            return true;
+        }
+
+        String etag = "W/\"" + region.name().toLowerCase(Locale.ROOT) + "-" + version + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * If-None-Match 是否命中（弱比较：忽略 W/ 前缀）
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = etag.substring(2);
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if ("*".equals(candidate)) {
+                return true;
+            }
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,30 @@
+package com.fireworks.config;
+
+import com.fireworks.service.VideoExtractService;
+import com.fireworks.service.impl.DisabledVideoExtractServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 视频提取兜底配置
+ * <p>
+ * local / remote 实现均未生效时（mode=off，或精简构建缺少提取引擎）注册关闭状态的实现，
+ * 保证依赖 {@link VideoExtractService} 的服务正常启动。
+ */
+@Slf4j
+@Configuration
+public class VideoExtractConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(VideoExtractService.class)
+    public VideoExtractService disabledVideoExtractService(
+            @Value("${app.video.extract.mode:local}") String mode) {
+        if (!"off".equals(mode)) {
+            log.warn("[视频提取] mode={} 但当前构建未包含提取引擎，视频提取已关闭", mode);
+        }
+        return new DisabledVideoExtractServiceImpl();
+    }
+}
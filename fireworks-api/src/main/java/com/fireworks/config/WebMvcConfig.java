@@ -1,5 +1,7 @@
 package com.fireworks.config;
 
+import com.fireworks.enums.CacheRegion;
+import com.fireworks.service.CacheVersionService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -12,7 +14,24 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    /**
+     * 公开商品接口中不使用商品版本 ETag 的路径：
+     * 热门搜索随统计变化，目录快照自带内容 ETag，增量变更还取决于时间（只返回已稳定的变更）
+     */
+    static final String[] PRODUCT_ETAG_EXCLUDED_PATHS = {
+            "/api/v1/products/public/hot-keywords",
+            "/api/v1/products/public/snapshot",
+            "/api/v1/products/public/changes"
+    };
+
+    /**
+     * 带有这些参数的公开商品请求不使用商品版本 ETag：关键词搜索需要进入 Controller 计入热门搜索，
+     * 304 会跳过统计
+     */
+    static final String[] PRODUCT_ETAG_BYPASS_PARAMETERS = {"keyword"};
+
     private final JwtAuthInterceptor jwtAuthInterceptor;
+    private final CacheVersionService cacheVersionService;
 
     /**
      * 存储类型: local / cloud
@@ -26,8 +45,21 @@ public class WebMvcConfig implements WebMvcConfigurer {
     @Value("${app.storage.local.upload-path:D:/Fireworks/picture/}")
     private String uploadPath;
 
-    public WebMvcConfig(JwtAuthInterceptor jwtAuthInterceptor) {
+    /**
+     * 公开只读接口是否启用版本 ETag（If-None-Match 命中返回 304）
+     */
+    @Value("${app.catalog.etag.enabled:true}")
+    private boolean etagEnabled;
+
+    /**
+     * 公开只读接口 Cache-Control max-age（0 表示每次都需重新验证）
+     */
+    @Value("${app.catalog.etag.max-age-seconds:0}")
+    private long etagMaxAgeSeconds;
+
+    public WebMvcConfig(JwtAuthInterceptor jwtAuthInterceptor, CacheVersionService cacheVersionService) {
         this.jwtAuthInterceptor = jwtAuthInterceptor;
+        this.cacheVersionService = cacheVersionService;
     }
 
     @Override
@@ -48,6 +80,17 @@ public class WebMvcConfig implements WebMvcConfigurer {
                 .excludePathPatterns("/api/v1/products/public/**")
                 // 排除客户端公开接口（分类列表）
                 .excludePathPatterns("/api/v1/categories/active");
+
+        if (etagEnabled) {
+            // 公开商品接口：ETag 取商品区域版本
+            registry.addInterceptor(new CatalogEtagInterceptor(cacheVersionService, CacheRegion.PRODUCT, etagMaxAgeSeconds,
+                            PRODUCT_ETAG_BYPASS_PARAMETERS))
+                    .addPathPatterns("/api/v1/products/public/**")
+                    .excludePathPatterns(PRODUCT_ETAG_EXCLUDED_PATHS);
+            // 公开分类列表：ETag 取分类区域版本
+            registry.addInterceptor(new CatalogEtagInterceptor(cacheVersionService, CacheRegion.CATEGORY, etagMaxAgeSeconds))
+                    .addPathPatterns("/api/v1/categories/active");
+        }
     }
 
     @Override
@@ -31,9 +31,10 @@ public class AgentController {
     @GetMapping
     public Result<PageVO<AgentVO>> list(
             @RequestParam(required = false) Integer page,
-            @RequestParam(required = false) Integer size
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "true") Boolean count
     ) {
-        PageVO<AgentVO> result = agentService.list(page, size);
+        PageVO<AgentVO> result = agentService.list(page, size, count);
         return Result.success(result);
     }
 
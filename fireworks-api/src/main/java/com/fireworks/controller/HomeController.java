@@ -0,0 +1,50 @@
+package com.fireworks.controller;
+
+import com.fireworks.common.Result;
+import com.fireworks.service.HomeService;
+import com.fireworks.vo.HomeVO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+/**
+ * 小程序首页聚合接口（公开）
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/home")
+@RequiredArgsConstructor
+public class HomeController {
+
+    private final HomeService homeService;
+
+    /**
+     * 获取首页数据（启用的分类、热门搜索、商品列表第一页）
+     * <p>
+     * If-None-Match 与当前 ETag 一致时返回 304，不读取任何数据。热门搜索只读取一次，ETag 与返回内容一致。
+     *
+     * @param request 当前请求（条件请求判断）
+     * @return 首页数据
+     */
+    @GetMapping
+    public ResponseEntity<Result<HomeVO>> getHome(WebRequest request) {
+        List<String> hotKeywords = homeService.getHotKeywords();
+        String etag = homeService.currentEtag(hotKeywords);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+        log.debug("获取首页数据");
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        if (etag != null) {
+            builder.eTag(etag);
+        }
+        return builder.body(Result.success(homeService.getHome(hotKeywords)));
+    }
+}
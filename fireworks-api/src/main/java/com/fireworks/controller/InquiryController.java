@@ -42,9 +42,10 @@ public class InquiryController {
     public Result<PageVO<InquiryListVO>> list(
             @RequestParam(defaultValue = "1") Integer page,
             @RequestParam(defaultValue = "20") Integer size,
-            @RequestParam(required = false) String agentCode
+            @RequestParam(required = false) String agentCode,
+            @RequestParam(defaultValue = "true") Boolean count
     ) {
-        return Result.success(inquiryService.list(page, size, agentCode));
+        return Result.success(inquiryService.list(page, size, agentCode, count));
     }
 
     /**
@@ -7,6 +7,7 @@ import com.fireworks.dto.VideoExtractResult;
 import com.fireworks.enums.VideoExtractStatus;
 import com.fireworks.service.ProductService;
 import com.fireworks.service.VideoExtractService;
+import com.fireworks.vo.CursorPageVO;
 import com.fireworks.vo.PageVO;
 import com.fireworks.vo.ProductVO;
 import jakarta.validation.Valid;
@@ -45,6 +46,8 @@ public class ProductController {
      * @param status 商品状态筛选（可选）：ON_SHELF-上架, OFF_SHELF-下架
      * @param page   页码（从1开始，默认1）
      * @param size   每页数量（默认20）
+     * @param count  是否统计总数（默认 true，翻页时可传 false 跳过 COUNT）
+     * @param fields 返回字段（可选）：逗号分隔，例如 name,price,status；缺省返回全部字段
      * @return 分页商品列表
      */
     @GetMapping
@@ -52,13 +55,37 @@ public class ProductController {
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String sort,
             @RequestParam(defaultValue = "1") Integer page,
-            @RequestParam(defaultValue = "20") Integer size) {
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(defaultValue = "true") Boolean count,
+            @RequestParam(required = false) String fields) {
 
-        log.debug("获取商品列表: status={}, sort={}, page={}, size={}", status, sort, page, size);
-        PageVO<ProductVO> pageVO = productService.getProductList(status, sort, page, size);
+        log.debug("获取商品列表: status={}, sort={}, page={}, size={}, count={}, fields={}", status, sort, page, size, count, fields);
+        PageVO<ProductVO> pageVO = productService.getProductList(status, sort, page, size, count, fields);
         return Result.success(pageVO);
     }
 
+    /**
+     * 游标分页获取商品列表（管理端，需要认证）
+     *
+     * @param status 商品状态筛选（可选）
+     * @param sort   排序字段与方向（可选）
+     * @param cursor 上一页返回的 nextCursor（首页不传）
+     * @param size   每页数量（默认20，最大100）
+     * @param fields 返回字段（可选）：逗号分隔；排序字段用于生成游标，始终返回
+     * @return 游标分页商品列表
+     */
+    @GetMapping("/scroll")
+    public Result<CursorPageVO<ProductVO>> scrollProductList(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) String fields) {
+
+        log.debug("游标获取商品列表: status={}, sort={}, cursor={}, size={}, fields={}", status, sort, cursor, size, fields);
+        return Result.success(productService.scrollProductList(status, sort, cursor, size, fields));
+    }
+
     /**
      * 获取商品详情
      *
@@ -110,6 +137,9 @@ public class ProductController {
     @PostMapping("/{id}/extract-video")
     public Result<ProductVO> extractVideo(@PathVariable Long id) {
         log.info("提取商品视频: id={}", id);
+        if (!videoExtractService.isEnabled()) {
+            return Result.error(503, "视频提取未启用");
+        }
 
         // 获取商品信息
         ProductVO product = productService.getProductById(id);
@@ -0,0 +1,321 @@
+package com.fireworks.controller;
+
+import com.fireworks.cache.CatalogSnapshotCache;
+import com.fireworks.common.Result;
+import com.fireworks.dto.BatchProductRequest;
+import com.fireworks.service.ProductChangeService;
+import com.fireworks.service.ProductFacetService;
+import com.fireworks.service.ProductService;
+import com.fireworks.service.SearchKeywordService;
+import com.fireworks.vo.CursorPageVO;
+import com.fireworks.vo.ProductChangesVO;
+import com.fireworks.vo.PageVO;
+import com.fireworks.vo.ProductBatchVO;
+import com.fireworks.vo.ProductFacetsVO;
+import com.fireworks.vo.ProductListItemVO;
+import com.fireworks.vo.ProductVO;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 商品公开接口（客户端）
+ *
+ * <p>仅返回上架商品，供客户端浏览使用</p>
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/products/public")
+@RequiredArgsConstructor
+public class ProductPublicController {
+
+    private final ProductService productService;
+    private final ProductFacetService productFacetService;
+    private final CatalogSnapshotCache catalogSnapshotCache;
+    private final ProductChangeService productChangeService;
+    private final SearchKeywordService searchKeywordService;
+
+    /**
+     * 获取商品列表（公开）
+     *
+     * @param page       页码（从1开始，默认1）
+     * @param size       每页数量（默认20）
+     * @param sort       排序字段与方向（可选）
+     * @param categoryId 分类ID筛选（可选，推荐使用）
+     * @param category   商品分类筛选（可选，已废弃，保留兼容）：GIFT/FIREWORK/FIRECRACKER/COMBO/OTHER
+     * @param minPrice   最低价格筛选（可选）
+     * @param maxPrice   最高价格筛选（可选）
+     * @param keyword    搜索关键词（可选）：模糊匹配商品名称
+     * @param count      是否统计总数（默认 true，翻页时可传 false 跳过 COUNT）
+     * @return 分页商品列表
+     */
+    @GetMapping
+    public Result<PageVO<ProductListItemVO>> getPublicProductList(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "1") Integer page,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Integer minPrice,
+            @RequestParam(required = false) Integer maxPrice,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(defaultValue = "true") Boolean count) {
+        log.debug("获取公开商品列表: categoryId={}, category={}, minPrice={}, maxPrice={}, keyword={}, sort={}, page={}, size={}",
+                categoryId, category, minPrice, maxPrice, keyword, sort, page, size);
+        PageVO<ProductListItemVO> result = productService.getPublicProductList(page, size, sort, categoryId, category, minPrice, maxPrice, keyword, count);
+        // 只统计首页，翻页不重复计入热门搜索
+        if (page == null || page <= 1) {
+            recordSearch(request, keyword, result.getItems());
+        }
+        return Result.success(result);
+    }
+
+    /**
+     * 游标分页获取商品列表（公开，小程序无限滚动）
+     *
+     * @param cursor     上一页返回的 nextCursor（首页不传）
+     * @param size       每页数量（默认20，最大100）
+     * @param sort       排序字段与方向（可选），翻页期间需保持不变
+     * @param categoryId 分类ID筛选（可选）
+     * @param category   商品分类筛选（可选，已废弃）
+     * @param minPrice   最低价格筛选（可选）
+     * @param maxPrice   最高价格筛选（可选）
+     * @param keyword    搜索关键词（可选）
+     * @return 游标分页商品列表
+     */
+    @GetMapping("/scroll")
+    public Result<CursorPageVO<ProductListItemVO>> scrollPublicProductList(
+            HttpServletRequest request,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Integer minPrice,
+            @RequestParam(required = false) Integer maxPrice,
+            @RequestParam(required = false) String keyword) {
+        log.debug("游标获取公开商品列表: categoryId={}, keyword={}, sort={}, cursor={}, size={}",
+                categoryId, keyword, sort, cursor, size);
+        CursorPageVO<ProductListItemVO> result = productService.scrollPublicProductList(cursor, size, sort, categoryId, category, minPrice, maxPrice, keyword);
+        if (!StringUtils.hasText(cursor)) {
+            recordSearch(request, keyword, result.getItems());
+        }
+        return Result.success(result);
+    }
+
+    /**
+     * 计入热门搜索：只统计有结果的搜索，无结果的关键词（拼写错误、刷词）不进入排行
+     */
+    private void recordSearch(HttpServletRequest request, String keyword, List<?> items) {
+        if (!StringUtils.hasText(keyword) || items == null || items.isEmpty()) {
+            return;
+        }
+        searchKeywordService.record(keyword, clientIdOf(request));
+    }
+
+    /**
+     * 客户端标识：只取网关可信的来源
+     * <p>
+     * 微信云托管网关注入的 OpenID（客户端无法伪造）；没有时取连接对端地址，
+     * 不读取客户端可自行设置的 X-Forwarded-For，避免单个调用方冒充任意多个客户端刷词。
+     */
+    private static String clientIdOf(HttpServletRequest request) {
+        String openid = request.getHeader("X-WX-OPENID");
+        if (StringUtils.hasText(openid)) {
+            return openid;
+        }
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * 获取筛选统计（分类标签、价格区间上的商品数）
+     * <p>
+     * 分类计数不受 categoryId 影响、价格区间计数不受价格条件影响，其余条件与列表接口一致。
+     *
+     * @param keyword    搜索关键词（可选）
+     * @param categoryId 分类ID筛选（可选）
+     * @param minPrice   最低价格筛选（可选）
+     * @param maxPrice   最高价格筛选（可选）
+     * @return 筛选统计
+     */
+    @GetMapping("/facets")
+    public Result<ProductFacetsVO> getPublicFacets(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Integer minPrice,
+            @RequestParam(required = false) Integer maxPrice) {
+        log.debug("获取商品筛选统计: keyword={}, categoryId={}, minPrice={}, maxPrice={}", keyword, categoryId, minPrice, maxPrice);
+        return Result.success(productFacetService.getPublicFacets(keyword, categoryId, minPrice, maxPrice));
+    }
+
+    /**
+     * 获取完整商品目录快照（启用的分类 + 全部上架商品列表项）
+     * <p>
+     * 响应体为预先序列化、压缩好的字节：客户端接受 gzip 时返回 gzip 表示，否则返回原始 JSON；
+     * 携带强 ETag，If-None-Match 命中时返回 304。
+     *
+     * @param acceptEncoding 客户端可接受的内容编码
+     * @param ifNoneMatch    客户端缓存的 ETag
+     * @return 目录快照
+     */
+    @GetMapping("/snapshot")
+    public ResponseEntity<byte[]> getCatalogSnapshot(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        CatalogSnapshotCache.Snapshot snapshot = catalogSnapshotCache.get();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? snapshot.gzipEtag() : snapshot.etag();
+
+        if (matchesEtag(ifNoneMatch, snapshot)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(gzip ? snapshot.gzip() : snapshot.json());
+    }
+
+    /**
+     * 获取增量变更（客户端本地目录同步）
+     * <p>
+     * 客户端以目录快照的 changeSeq 作为首次 since，之后使用返回的 nextSince；
+     * hasMore 为 true 时继续拉取。upserts 覆盖本地同ID商品，deletedIds 从本地移除。
+     *
+     * @param since 上次同步到的序号
+     * @param limit 最多读取的变更条数（默认200，最大1000）
+     * @return 增量变更
+     */
+    @GetMapping("/changes")
+    public Result<ProductChangesVO> getChanges(
+            @RequestParam(defaultValue = "0") Long since,
+            @RequestParam(defaultValue = "200") Integer limit) {
+        log.debug("获取商品增量变更: since={}, limit={}", since, limit);
+        return Result.success(productChangeService.getChanges(since, limit));
+    }
+
+    /**
+     * Accept-Encoding 是否包含 gzip（q=0 视为不接受）
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+            if (!"gzip".equals(coding) && !"*".equals(coding)) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim().replace(" ", "");
+                if (param.matches("q=0(\\.0{0,3})?")) {
+                    refused = true;
+                }
+            }
+            if (!refused) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * If-None-Match 是否与快照任一表示的 ETag 匹配（弱比较）
+     */
+    private static boolean matchesEtag(String ifNoneMatch, CatalogSnapshotCache.Snapshot snapshot) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if ("*".equals(candidate) || candidate.equals(snapshot.etag()) || candidate.equals(snapshot.gzipEtag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 获取热门搜索关键词
+     *
+     * @return 热门关键词列表
+     */
+    @GetMapping("/hot-keywords")
+    public Result<List<String>> getHotKeywords() {
+        log.debug("获取热门搜索关键词");
+        return Result.success(productService.getHotKeywords());
+    }
+
+    /**
+     * 搜索联想
+     * <p>
+     * 按商品名称、全拼或拼音首字母前缀匹配，例如 "yh"、"yanhua"、"烟" 均可联想出 "烟花..."。
+     *
+     * @param q     输入前缀
+     * @param limit 最多返回条数（默认10，最大20）
+     * @return 商品名称列表
+     */
+    @GetMapping("/suggest")
+    public Result<List<String>> suggest(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "10") Integer limit) {
+        log.debug("搜索联想: q={}, limit={}", q, limit);
+        return Result.success(productService.suggest(q, limit));
+    }
+
+    /**
+     * 批量获取商品详情（公开，询价单恢复时一次校验全部商品）
+     *
+     * @param request 商品ID列表（最多100个）
+     * @return 上架商品（按请求顺序）与不存在/已下架的商品ID
+     */
+    @PostMapping("/batch")
+    public Result<ProductBatchVO> getPublicProductsByIds(@Valid @RequestBody BatchProductRequest request) {
+        log.debug("批量获取公开商品: count={}", request.getIds().size());
+        return Result.success(productService.getPublicProductsByIds(request.getIds()));
+    }
+
+    /**
+     * 获取商品详情（公开）
+     *
+     * @param id 商品ID
+     * @return 商品详情
+     */
+    @GetMapping("/{id}")
+    public Result<ProductVO> getPublicProductById(@PathVariable Long id) {
+        log.debug("获取公开商品详情: id={}", id);
+        return Result.success(productService.getPublicProductById(id));
+    }
+}
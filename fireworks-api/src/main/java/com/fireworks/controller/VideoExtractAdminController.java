@@ -0,0 +1,36 @@
+package com.fireworks.controller;
+
+import com.fireworks.common.Result;
+import com.fireworks.service.VideoExtractAnalyticsService;
+import com.fireworks.vo.VideoExtractReportVO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 视频提取分析控制器（管理端）
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin/video-extract")
+@RequiredArgsConstructor
+public class VideoExtractAdminController {
+
+    private final VideoExtractAnalyticsService videoExtractAnalyticsService;
+
+    /**
+     * 按目标网址域名与路径形态汇总提取结果，列出值得编写专用 API 提取器的站点
+     *
+     * @param limit 返回的域名数上限（默认50，最大200）
+     * @return 域名分析报告
+     */
+    @GetMapping("/host-report")
+    public Result<VideoExtractReportVO> getHostReport(@RequestParam(defaultValue = "50") Integer limit) {
+        int safeLimit = Math.max(1, Math.min(limit, 200));
+        log.debug("获取视频提取域名分析: limit={}", safeLimit);
+        return Result.success(videoExtractAnalyticsService.getHostReport(safeLimit));
+    }
+}
@@ -0,0 +1,21 @@
+package com.fireworks.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 批量获取商品请求 DTO
+ */
+@Data
+public class BatchProductRequest {
+
+    /**
+     * 商品ID列表（必填，最多100个，重复ID只返回一次）
+     */
+    @NotEmpty(message = "商品ID列表不能为空")
+    @Size(max = 100, message = "一次最多查询100个商品")
+    private List<Long> ids;
+}
@@ -0,0 +1,42 @@
+package com.fireworks.dto;
+
+import com.fireworks.enums.VideoCheckStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 视频地址探测结果
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VideoUrlProbeResult {
+
+    /**
+     * 被探测的视频地址
+     */
+    private String videoUrl;
+
+    /**
+     * 巡检状态
+     */
+    private VideoCheckStatus status;
+
+    /**
+     * HTTP 状态码（连接失败时为 null）
+     */
+    private Integer httpStatus;
+
+    /**
+     * 响应耗时（毫秒）
+     */
+    private Long latencyMs;
+
+    /**
+     * 说明/失败原因
+     */
+    private String message;
+}
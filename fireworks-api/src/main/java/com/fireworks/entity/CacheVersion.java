@@ -0,0 +1,32 @@
+package com.fireworks.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 缓存版本实体类
+ */
+@Data
+@TableName("cache_version")
+public class CacheVersion {
+
+    /**
+     * 缓存区域（{@link com.fireworks.enums.CacheRegion} 名称）
+     */
+    @TableId(type = IdType.INPUT)
+    private String region;
+
+    /**
+     * 版本号
+     */
+    private Long version;
+
+    /**
+     * 更新时间
+     */
+    private LocalDateTime updatedAt;
+}
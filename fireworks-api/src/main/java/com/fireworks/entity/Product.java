@@ -86,6 +86,41 @@ public class Product {
      */
     private String videoExtractTargetUrl;
 
+    /**
+     * 视频提取耗时（毫秒）
+     */
+    private Integer videoExtractCostMs;
+
+    /**
+     * 视频自动重新提取次数（二维码图变更或提取成功时清零）
+     */
+    private Integer videoExtractAttempts;
+
+    /**
+     * 视频最近一次开始提取时间
+     */
+    private LocalDateTime videoExtractAt;
+
+    /**
+     * 视频地址巡检状态: ALIVE-可访问, DEAD-已失效, UNKNOWN-无法判断
+     */
+    private String videoCheckStatus;
+
+    /**
+     * 视频地址巡检HTTP状态码
+     */
+    private Integer videoCheckHttpStatus;
+
+    /**
+     * 视频地址巡检响应耗时（毫秒）
+     */
+    private Integer videoCheckLatencyMs;
+
+    /**
+     * 视频地址最近巡检时间
+     */
+    private LocalDateTime videoCheckedAt;
+
     /**
      * 逻辑删除标记
      */
@@ -0,0 +1,32 @@
+package com.fireworks.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 商品变更日志实体类
+ */
+@Data
+@TableName("product_change_log")
+public class ProductChangeLog {
+
+    /**
+     * 变更序号（自增）
+     */
+    @TableId(type = IdType.AUTO)
+    private Long seq;
+
+    /**
+     * 商品ID
+     */
+    private Long productId;
+
+    /**
+     * 变更时间
+     */
+    private LocalDateTime changedAt;
+}
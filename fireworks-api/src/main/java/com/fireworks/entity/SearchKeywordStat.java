@@ -0,0 +1,32 @@
+package com.fireworks.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 搜索关键词统计实体类
+ */
+@Data
+@TableName("search_keyword_stat")
+public class SearchKeywordStat {
+
+    /**
+     * 搜索关键词（已规范化）
+     */
+    @TableId(type = IdType.INPUT)
+    private String keyword;
+
+    /**
+     * 衰减后的搜索次数（截至 updatedAt）
+     */
+    private Double score;
+
+    /**
+     * 分数更新时间
+     */
+    private LocalDateTime updatedAt;
+}
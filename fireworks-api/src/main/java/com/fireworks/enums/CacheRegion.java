@@ -0,0 +1,27 @@
+package com.fireworks.enums;
+
+/**
+ * 本地缓存区域（对应 cache_version 表的 region）
+ */
+public enum CacheRegion {
+
+    /**
+     * 商品（含上架商品目录）
+     */
+    PRODUCT,
+
+    /**
+     * 分类
+     */
+    CATEGORY,
+
+    /**
+     * 代理商
+     */
+    AGENT,
+
+    /**
+     * 询价（创建时不递增版本，分页总数按 TTL 过期）
+     */
+    INQUIRY
+}
@@ -0,0 +1,22 @@
+package com.fireworks.enums;
+
+/**
+ * 分页总数来源
+ */
+public enum PageTotalType {
+
+    /**
+     * 本次请求实时统计（COUNT 或内存计数）
+     */
+    EXACT,
+
+    /**
+     * 短期缓存的统计结果（TTL 内相同筛选条件复用，写入后失效）
+     */
+    CACHED,
+
+    /**
+     * 请求未要求统计，total 为 null
+     */
+    NONE
+}
@@ -0,0 +1,22 @@
+package com.fireworks.enums;
+
+/**
+ * 视频地址巡检状态
+ */
+public enum VideoCheckStatus {
+
+    /**
+     * 可访问（2xx/3xx）
+     */
+    ALIVE,
+
+    /**
+     * 已失效（404 不存在、410 已删除，或地址格式非法）
+     */
+    DEAD,
+
+    /**
+     * 无法判断（超时、连接失败、5xx、限流、401/403 防盗链等）
+     */
+    UNKNOWN
+}
@@ -0,0 +1,24 @@
+package com.fireworks.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.fireworks.entity.CacheVersion;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+/**
+ * 缓存版本数据访问层
+ */
+@Mapper
+public interface CacheVersionMapper extends BaseMapper<CacheVersion> {
+
+    /**
+     * 区域版本号 +1（区域不存在时插入）
+     *
+     * @param region 缓存区域
+     * @return 影响行数
+     */
+    @Update("INSERT INTO cache_version (region, version) VALUES (#{region}, 1) "
+            + "ON DUPLICATE KEY UPDATE version = version + 1")
+    int bump(@Param("region") String region);
+}
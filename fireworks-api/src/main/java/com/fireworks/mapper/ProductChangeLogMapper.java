@@ -0,0 +1,54 @@
+package com.fireworks.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.fireworks.entity.ProductChangeLog;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+/**
+ * 商品变更日志数据访问层
+ */
+@Mapper
+public interface ProductChangeLogMapper extends BaseMapper<ProductChangeLog> {
+
+    /**
+     * 追加一条商品变更
+     *
+     * @param productId 商品ID
+     * @return 影响行数
+     */
+    @Insert("INSERT INTO product_change_log (product_id) VALUES (#{productId})")
+    int append(@Param("productId") Long productId);
+
+    /**
+     * 为分类下的全部商品追加变更（分类改名时商品的分类名称随之变化）
+     *
+     * @param categoryId 分类ID
+     * @return 影响行数
+     */
+    @Insert("INSERT INTO product_change_log (product_id) "
+            + "SELECT id FROM product WHERE category_id = #{categoryId} AND deleted = 0")
+    int appendByCategoryId(@Param("categoryId") Long categoryId);
+
+    /**
+     * 已稳定的最大变更序号（只统计写入超过 settleSeconds 秒的记录，无记录时为 0）
+     *
+     * @param settleSeconds 稳定等待时间（秒）
+     * @return 变更序号
+     */
+    @Select("SELECT COALESCE(MAX(seq), 0) FROM product_change_log "
+            + "WHERE changed_at <= NOW() - INTERVAL #{settleSeconds} SECOND")
+    long selectMaxSettledSeq(@Param("settleSeconds") int settleSeconds);
+
+    /**
+     * 压缩：删除同一商品已有更大序号记录覆盖的旧记录
+     *
+     * @return 删除行数
+     */
+    @Delete("DELETE l FROM product_change_log l "
+            + "JOIN product_change_log n ON n.product_id = l.product_id AND n.seq > l.seq")
+    int deleteSuperseded();
+}
@@ -0,0 +1,49 @@
+package com.fireworks.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.fireworks.entity.Product;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 商品 Mapper 接口
+ */
+@Mapper
+public interface ProductMapper extends BaseMapper<Product> {
+
+    /**
+     * 根据分类ID批量更新商品的 category 字段（分类名称）
+     * <p>
+     * 当分类名称变更时，需要同步更新所有关联商品的 category 字段，
+     * 以保持数据一致性。
+     *
+     * @param categoryId   分类ID
+     * @param categoryName 新的分类名称
+     * @return 更新的记录数
+     */
+    @Update("UPDATE product SET category = #{categoryName} WHERE category_id = #{categoryId} AND deleted = 0")
+    int updateCategoryNameByCategoryId(@Param("categoryId") Long categoryId, @Param("categoryName") String categoryName);
+
+    /**
+     * 按 (updated_at, id) 游标增量读取视频提取汇总所需字段
+     * <p>
+     * 不经过逻辑删除过滤，已删除商品也会返回（deleted=1），以便从汇总中移除。
+     *
+     * @param afterTime 游标：更新时间
+     * @param afterId   游标：商品ID
+     * @param limit     批大小
+     * @return 商品列表（仅含 id、deleted、提取状态、目标网址、提取耗时、更新时间）
+     */
+    @Select("SELECT id, deleted, video_extract_status, video_extract_target_url, video_extract_cost_ms, updated_at "
+            + "FROM product "
+            + "WHERE updated_at > #{afterTime} OR (updated_at = #{afterTime} AND id > #{afterId}) "
+            + "ORDER BY updated_at, id LIMIT #{limit}")
+    List<Product> selectVideoExtractChangesAfter(@Param("afterTime") LocalDateTime afterTime,
+                                                 @Param("afterId") Long afterId,
+                                                 @Param("limit") int limit);
+}
@@ -0,0 +1,63 @@
+package com.fireworks.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.fireworks.entity.SearchKeywordStat;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+/**
+ * 搜索关键词统计数据访问层
+ * <p>
+ * 分数按半衰期指数衰减：当前分数 = score × 0.5^(距 updated_at 秒数 / 半衰期秒数)。
+ */
+@Mapper
+public interface SearchKeywordStatMapper extends BaseMapper<SearchKeywordStat> {
+
+    /**
+     * 累加搜索次数：原分数先衰减到当前时刻再加上本次次数（关键词不存在时插入）
+     *
+     * @param keyword         关键词
+     * @param count           本窗口得分（不同客户端数）
+     * @param halfLifeSeconds 半衰期（秒）
+     * @return 影响行数
+     */
+    @Insert("INSERT INTO search_keyword_stat (keyword, score, updated_at) VALUES (#{keyword}, #{count}, NOW()) "
+            + "ON DUPLICATE KEY UPDATE "
+            + "score = score * POW(0.5, TIMESTAMPDIFF(SECOND, updated_at, NOW()) / #{halfLifeSeconds}) + VALUES(score), "
+            + "updated_at = NOW()")
+    int accumulate(@Param("keyword") String keyword,
+                   @Param("count") long count,
+                   @Param("halfLifeSeconds") long halfLifeSeconds);
+
+    /**
+     * 按衰减后的分数取热门关键词（低于最低分数的不返回）
+     *
+     * @param halfLifeSeconds 半衰期（秒）
+     * @param minScore        最低分数
+     * @param limit           数量
+     * @return 关键词列表（分数降序）
+     */
+    @Select("SELECT keyword FROM search_keyword_stat "
+            + "WHERE score * POW(0.5, TIMESTAMPDIFF(SECOND, updated_at, NOW()) / #{halfLifeSeconds}) >= #{minScore} "
+            + "ORDER BY score * POW(0.5, TIMESTAMPDIFF(SECOND, updated_at, NOW()) / #{halfLifeSeconds}) DESC "
+            + "LIMIT #{limit}")
+    List<String> selectHot(@Param("halfLifeSeconds") long halfLifeSeconds,
+                           @Param("minScore") double minScore,
+                           @Param("limit") int limit);
+
+    /**
+     * 删除衰减后分数过低的关键词，控制表大小
+     *
+     * @param halfLifeSeconds 半衰期（秒）
+     * @param minScore        最低分数
+     * @return 删除行数
+     */
+    @Delete("DELETE FROM search_keyword_stat "
+            + "WHERE score * POW(0.5, TIMESTAMPDIFF(SECOND, updated_at, NOW()) / #{halfLifeSeconds}) < #{minScore}")
+    int deleteCold(@Param("halfLifeSeconds") long halfLifeSeconds, @Param("minScore") double minScore);
+}
@@ -0,0 +1,87 @@
+package com.fireworks.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 线程池任务级指标
+ * <p>
+ * 线程数、活跃数、队列深度由 Actuator 对 {@code ThreadPoolTaskExecutor} Bean 自动绑定（{@code executor.*}，标签 name=Bean 名）；
+ * 此处补充自动绑定没有的两项：
+ * <ul>
+ *   <li>{@code executor.queue.wait}：任务从提交到开始执行的排队耗时</li>
+ *   <li>{@code executor.rejected}：被拒绝策略处理的任务数（CallerRuns 时即由调用方线程执行的次数）</li>
+ * </ul>
+ * 任务执行期间可通过 {@link #currentTaskSubmittedAtNanos()} 取得提交时刻，用于计算端到端耗时。
+ */
+public final class ExecutorTaskMetrics {
+
+    private static final ThreadLocal<Long> SUBMITTED_AT = new ThreadLocal<>();
+
+    private ExecutorTaskMetrics() {
+    }
+
+    /**
+     * 记录排队耗时的任务装饰器
+     *
+     * @param registry     指标注册表
+     * @param executorName 线程池名称（与 Bean 名一致）
+     * @return 任务装饰器
+     */
+    public static TaskDecorator queueWaitDecorator(MeterRegistry registry, String executorName) {
+        Timer queueWait = Timer.builder("executor.queue.wait")
+                .description("任务提交到开始执行的排队耗时")
+                .tag("name", executorName)
+                .register(registry);
+        return runnable -> {
+            long submittedAt = System.nanoTime();
+            return () -> {
+                queueWait.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                Long outer = SUBMITTED_AT.get();
+                SUBMITTED_AT.set(submittedAt);
+                try {
+                    runnable.run();
+                } finally {
+                    // CallerRuns 时任务在调用方线程执行，需还原调用方自身的值
+                    if (outer != null) {
+                        SUBMITTED_AT.set(outer);
+                    } else {
+                        SUBMITTED_AT.remove();
+                    }
+                }
+            };
+        };
+    }
+
+    /**
+     * 统计拒绝次数的拒绝策略包装
+     *
+     * @param registry     指标注册表
+     * @param executorName 线程池名称
+     * @param delegate     实际拒绝策略
+     * @return 拒绝策略
+     */
+    public static RejectedExecutionHandler countingRejections(MeterRegistry registry, String executorName,
+                                                              RejectedExecutionHandler delegate) {
+        Counter rejected = Counter.builder("executor.rejected")
+                .description("被拒绝策略处理的任务数")
+                .tag("name", executorName)
+                .register(registry);
+        return (runnable, executor) -> {
+            rejected.increment();
+            delegate.rejectedExecution(runnable, executor);
+        };
+    }
+
+    /**
+     * @return 当前线程正在执行的装饰任务的提交时刻（{@link System#nanoTime()}），不在装饰任务中返回 null
+     */
+    public static Long currentTaskSubmittedAtNanos() {
+        return SUBMITTED_AT.get();
+    }
+}
@@ -0,0 +1,48 @@
+package com.fireworks.metrics;
+
+import com.fireworks.enums.VideoExtractStage;
+import com.fireworks.util.ExtractDeadline;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 单次提取的分阶段计时
+ * <p>
+ * 作为 {@link ExtractDeadline.StageListener} 挂到截止时间上，记录每个阶段从进入到下一次切换（或提取结束）的耗时；
+ * 同一阶段多次进入时累加（如多个二维码依次尝试平台 API）。
+ * <p>
+ * 阶段切换发生在提取线程上，{@link #finish()} 也应在提取返回后于同一线程调用。
+ */
+public class StageTimingRecorder implements ExtractDeadline.StageListener {
+
+    private final Map<VideoExtractStage, Long> stageNanos = new EnumMap<>(VideoExtractStage.class);
+
+    private VideoExtractStage current;
+    private long enteredAtNanos;
+
+    @Override
+    public void onStageEnter(VideoExtractStage previous, VideoExtractStage stage) {
+        long now = System.nanoTime();
+        close(now);
+        current = stage;
+        enteredAtNanos = now;
+    }
+
+    /**
+     * 结束计时
+     *
+     * @return 各阶段累计耗时（纳秒），未进入的阶段不出现
+     */
+    public Map<VideoExtractStage, Long> finish() {
+        close(System.nanoTime());
+        current = null;
+        return stageNanos;
+    }
+
+    private void close(long now) {
+        if (current != null) {
+            stageNanos.merge(current, now - enteredAtNanos, Long::sum);
+        }
+    }
+}
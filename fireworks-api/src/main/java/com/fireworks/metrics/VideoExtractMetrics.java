@@ -0,0 +1,128 @@
+package com.fireworks.metrics;
+
+import com.fireworks.dto.VideoExtractResult;
+import com.fireworks.enums.VideoExtractStage;
+import com.fireworks.enums.VideoExtractStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.net.URI;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 视频提取指标
+ * <p>
+ * 指标（通过 {@code /actuator/prometheus} 暴露）：
+ * <ul>
+ *   <li>{@code video.extract.duration}：单次提取总耗时，标签 mode / status / host / timeout_stage</li>
+ *   <li>{@code video.extract.stage}：各阶段耗时，标签 stage / host / status（仅进程内提取可分阶段）</li>
+ *   <li>{@code video.extract.time.to.video}：从商品保存后提交异步任务到写回提取结果的耗时，标签 status</li>
+ * </ul>
+ * host 标签取自二维码图片或目标页面的域名；二维码内容不可控，
+ * 超过 {@code app.video.metrics.max-host-tags} 个不同域名后记为 {@code other}，避免标签基数失控。
+ */
+@Component
+public class VideoExtractMetrics {
+
+    private static final String TAG_NONE = "none";
+    private static final String TAG_OTHER = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxHostTags;
+    private final Set<String> knownHosts = ConcurrentHashMap.newKeySet();
+
+    public VideoExtractMetrics(MeterRegistry meterRegistry,
+                               @Value("${app.video.metrics.max-host-tags:50}") int maxHostTags) {
+        this.meterRegistry = meterRegistry;
+        this.maxHostTags = maxHostTags;
+    }
+
+    /**
+     * 记录一次提取
+     *
+     * @param mode           提取方式（local / remote）
+     * @param qrCodeImageUrl 二维码图片 URL
+     * @param result         提取结果
+     * @param elapsedNanos   总耗时（纳秒）
+     * @param stageNanos     各阶段耗时（纳秒），远程提取时为空
+     */
+    public void recordExtraction(String mode, String qrCodeImageUrl, VideoExtractResult result,
+                                 long elapsedNanos, Map<VideoExtractStage, Long> stageNanos) {
+        String status = statusTag(result != null ? result.getStatus() : null);
+        String imageHost = hostTag(qrCodeImageUrl);
+        String targetHost = result != null && StringUtils.hasText(result.getTargetUrl())
+                ? hostTag(result.getTargetUrl()) : imageHost;
+        VideoExtractStage timeoutStage = result != null ? result.getTimeoutStage() : null;
+
+        Timer.builder("video.extract.duration")
+                .description("视频提取总耗时")
+                .tag("mode", mode)
+                .tag("status", status)
+                .tag("host", targetHost)
+                .tag("timeout_stage", timeoutStage != null ? timeoutStage.name() : TAG_NONE)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        stageNanos.forEach((stage, nanos) -> Timer.builder("video.extract.stage")
+                .description("视频提取分阶段耗时")
+                .tag("stage", stage.name())
+                // 下载与解码阶段归属图片域名，其余阶段归属目标页面域名
+                .tag("host", stage == VideoExtractStage.IMAGE_DOWNLOAD || stage == VideoExtractStage.QR_DECODE
+                        ? imageHost : targetHost)
+                .tag("status", status)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * 记录从异步任务提交到提取结果写回的耗时
+     *
+     * @param status           最终提取状态
+     * @param submittedAtNanos 任务提交时刻（{@link System#nanoTime()}），未知时为 null 不记录
+     */
+    public void recordTimeToVideo(VideoExtractStatus status, Long submittedAtNanos) {
+        if (submittedAtNanos == null) {
+            return;
+        }
+        Timer.builder("video.extract.time.to.video")
+                .description("商品保存后到视频提取结果写回的耗时")
+                .tag("status", statusTag(status))
+                .register(meterRegistry)
+                .record(System.nanoTime() - submittedAtNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String statusTag(VideoExtractStatus status) {
+        return status != null ? status.name() : TAG_NONE;
+    }
+
+    private String hostTag(String url) {
+        if (!StringUtils.hasText(url)) {
+            return TAG_NONE;
+        }
+        String host;
+        try {
+            host = URI.create(url.trim()).getHost();
+        } catch (Exception e) {
+            return TAG_OTHER;
+        }
+        if (!StringUtils.hasText(host)) {
+            return TAG_OTHER;
+        }
+        host = host.toLowerCase(Locale.ROOT);
+        if (knownHosts.contains(host)) {
+            return host;
+        }
+        if (knownHosts.size() >= maxHostTags) {
+            return TAG_OTHER;
+        }
+        knownHosts.add(host);
+        return host;
+    }
+}
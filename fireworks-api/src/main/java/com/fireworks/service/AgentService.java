@@ -10,7 +10,7 @@ import com.fireworks.vo.*;
  */
 public interface AgentService {
 
-    PageVO<AgentVO> list(Integer page, Integer size);
+    PageVO<AgentVO> list(Integer page, Integer size, Boolean count);
 
     AgentVO detail(String code);
 
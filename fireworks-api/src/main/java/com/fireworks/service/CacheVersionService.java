@@ -0,0 +1,39 @@
+package com.fireworks.service;
+
+import com.fireworks.enums.CacheRegion;
+
+/**
+ * 缓存版本服务接口
+ * <p>
+ * 基于 cache_version 表在多实例间传播本地缓存失效，不依赖 Redis。
+ */
+public interface CacheVersionService {
+
+    /**
+     * 区域版本号 +1 并使本实例对应区域的缓存失效
+     * <p>
+     * 在写入数据的事务内调用，与数据变更一同提交；本实例在事务提交后执行失效回调，
+     * 其他实例轮询到新版本后执行。
+     *
+     * @param region 缓存区域
+     */
+    void bump(CacheRegion region);
+
+    /**
+     * 注册区域失效回调（在写入线程的事务提交后或轮询线程中执行）
+     *
+     * @param region   缓存区域
+     * @param listener 版本变化时执行的回调
+     */
+    void addListener(CacheRegion region, Runnable listener);
+
+    /**
+     * 获取本实例已知的区域当前版本（只读内存，不查询数据库）
+     * <p>
+     * 版本在本实例的失效回调执行完成后才前进，因此读到某个版本后，本地缓存返回的数据不会比该版本旧。
+     *
+     * @param region 缓存区域
+     * @return 当前版本；尚未读取到版本或未启用版本表时返回 -1
+     */
+    long currentVersion(CacheRegion region);
+}
@@ -0,0 +1,36 @@
+package com.fireworks.service;
+
+import com.fireworks.vo.HomeVO;
+
+import java.util.List;
+
+/**
+ * 小程序首页聚合服务接口
+ */
+public interface HomeService {
+
+    /**
+     * 获取热门搜索（内存排行）
+     * <p>
+     * 同一请求只读取一次，传给 {@link #currentEtag(List)} 与 {@link #getHome(List)}，保证 ETag 与返回内容一致。
+     *
+     * @return 热门搜索关键词
+     */
+    List<String> getHotKeywords();
+
+    /**
+     * 获取首页数据的 ETag（只读内存，不查询数据库）
+     *
+     * @param hotKeywords 本次请求读取的热门搜索
+     * @return 弱 ETag；分类或商品版本尚未读取到时返回 null
+     */
+    String currentEtag(List<String> hotKeywords);
+
+    /**
+     * 获取首页数据（分类、热门搜索、商品第一页）
+     *
+     * @param hotKeywords 本次请求读取的热门搜索
+     * @return 首页数据
+     */
+    HomeVO getHome(List<String> hotKeywords);
+}
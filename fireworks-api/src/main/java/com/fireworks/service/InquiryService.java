@@ -14,7 +14,7 @@ public interface InquiryService {
 
     InquiryCreateVO create(CreateInquiryRequest request, String openid);
 
-    PageVO<InquiryListVO> list(Integer page, Integer size, String agentCode);
+    PageVO<InquiryListVO> list(Integer page, Integer size, String agentCode, Boolean count);
 
     InquiryDetailVO detail(Long id);
 
@@ -0,0 +1,39 @@
+package com.fireworks.service;
+
+import com.fireworks.vo.ProductChangesVO;
+
+/**
+ * 商品变更日志服务接口（客户端增量同步）
+ */
+public interface ProductChangeService {
+
+    /**
+     * 记录商品变更（在商品写入的事务内调用）
+     *
+     * @param productId 商品ID
+     */
+    void record(Long productId);
+
+    /**
+     * 记录分类下全部商品的变更（分类改名时在同一事务内调用）
+     *
+     * @param categoryId 分类ID
+     */
+    void recordByCategory(Long categoryId);
+
+    /**
+     * @return 当前已稳定的最大变更序号（在读取全量数据之前取值，作为客户端增量同步起点）
+     */
+    long currentSeq();
+
+    /**
+     * 获取某个序号之后的变更
+     * <p>
+     * 同一商品多次变更只返回一次，按商品当前状态归入更新或删除。
+     *
+     * @param since 上次同步到的序号（首次为 0）
+     * @param limit 最多读取的变更条数
+     * @return 增量变更
+     */
+    ProductChangesVO getChanges(Long since, Integer limit);
+}
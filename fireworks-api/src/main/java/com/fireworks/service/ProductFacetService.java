@@ -0,0 +1,24 @@
+package com.fireworks.service;
+
+import com.fireworks.vo.ProductFacetsVO;
+
+/**
+ * 商品筛选统计服务接口
+ */
+public interface ProductFacetService {
+
+    /**
+     * 统计上架商品在各分类、各价格区间上的数量（客户端公开接口）
+     * <p>
+     * 分类计数忽略分类条件、价格区间计数忽略价格条件，其余条件照常生效，
+     * 便于客户端在当前筛选下展示切换到其他分类/价格区间后的结果数。
+     * 分类只返回商品数大于 0 的，价格区间按配置全部返回。
+     *
+     * @param keyword    搜索关键词（可选）
+     * @param categoryId 分类ID筛选（可选）
+     * @param minPrice   最低价格（可选）
+     * @param maxPrice   最高价格（可选）
+     * @return 筛选统计
+     */
+    ProductFacetsVO getPublicFacets(String keyword, Long categoryId, Integer minPrice, Integer maxPrice);
+}
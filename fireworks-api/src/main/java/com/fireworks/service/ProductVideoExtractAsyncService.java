@@ -0,0 +1,35 @@
+package com.fireworks.service;
+
+/**
+ * 商品视频异步提取任务
+ */
+public interface ProductVideoExtractAsyncService {
+
+    /**
+     * 解析二维码图片并更新商品的视频提取信息
+     *
+     * @param productId       商品ID
+     * @param qrCodeImageUrl  二维码图片URL
+     * @param resetVideoUrl   是否强制重置 videoUrl（非成功也写入null）
+     */
+    void extractAndUpdate(Long productId, String qrCodeImageUrl, boolean resetVideoUrl);
+
+    /**
+     * 执行已认领（QUEUED）商品的提取：开始时把 QUEUED 条件更新为 RUNNING，
+     * 状态已不是 QUEUED（被复位、被其他任务开始或商品已重新提取）时不执行
+     *
+     * @param productId      商品ID
+     * @param qrCodeImageUrl 二维码图片URL
+     */
+    void extractQueued(Long productId, String qrCodeImageUrl);
+
+    /**
+     * 异步校验已提取视频地址的可访问性，并将校验结论追加到提取说明
+     *
+     * @param productId      商品ID
+     * @param videoUrl       已保存的视频地址
+     * @param extractMessage 提取说明（校验结论追加在其后）
+     */
+    void validateVideoUrl(Long productId, String videoUrl, String extractMessage);
+}
+
@@ -0,0 +1,27 @@
+package com.fireworks.service;
+
+import java.util.List;
+
+/**
+ * 搜索关键词统计服务接口
+ * <p>
+ * 记录小程序端有搜索结果的商品搜索关键词，按时间衰减的得分（各统计窗口内的不同客户端数之和）生成热门搜索排行。
+ */
+public interface SearchKeywordService {
+
+    /**
+     * 记录一次搜索（请求线程调用，只做内存计数；调用方只对有结果的搜索调用）
+     *
+     * @param keyword  搜索关键词（空白或过长时忽略）
+     * @param clientId 客户端标识（网关注入的 OpenID 或连接对端地址），同一统计窗口内同一客户端重复搜索只计一次
+     */
+    void record(String keyword, String clientId);
+
+    /**
+     * 获取热门关键词（统计数据不足时以默认关键词补齐）
+     *
+     * @param limit 数量
+     * @return 热门关键词列表
+     */
+    List<String> getHotKeywords(int limit);
+}
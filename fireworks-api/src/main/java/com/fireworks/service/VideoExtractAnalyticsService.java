@@ -0,0 +1,28 @@
+package com.fireworks.service;
+
+import com.fireworks.vo.VideoExtractReportVO;
+
+import java.util.Map;
+
+/**
+ * 视频提取分析服务接口
+ * <p>
+ * 按目标网址的域名与路径形态汇总提取结果，找出值得编写专用 API 提取器的站点。
+ */
+public interface VideoExtractAnalyticsService {
+
+    /**
+     * 获取域名分析报告
+     *
+     * @param limit 返回的域名数上限
+     * @return 分析报告
+     */
+    VideoExtractReportVO getHostReport(int limit);
+
+    /**
+     * 各目标域名的提取成功率（拉普拉斯平滑：(成功+1)/(总数+2)，样本少的域名趋近 0.5）
+     *
+     * @return 域名（小写）到成功率的映射
+     */
+    Map<String, Double> getHostSuccessRates();
+}
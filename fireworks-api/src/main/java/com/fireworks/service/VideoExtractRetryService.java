@@ -0,0 +1,23 @@
+package com.fireworks.service;
+
+/**
+ * 视频提取定时重试服务接口
+ * <p>
+ * 未解决（NEED_DYNAMIC_RENDER / FAILED）的商品按优先级自动重新提取，卡在 RUNNING / QUEUED 的商品自动复位。
+ */
+public interface VideoExtractRetryService {
+
+    /**
+     * 复位开始提取后长时间停留在 RUNNING、或认领后长时间未开始（QUEUED）的商品（实例重启或线程异常中断导致）
+     *
+     * @return 复位的商品数
+     */
+    int resetStuckRunning();
+
+    /**
+     * 按优先级为未解决的商品提交重新提取，受每小时提取预算限制
+     *
+     * @return 本轮提交的商品数
+     */
+    int retryUnresolved();
+}
@@ -0,0 +1,46 @@
+package com.fireworks.service;
+
+import com.fireworks.dto.VideoExtractResult;
+import com.fireworks.util.ExtractDeadline;
+
+/**
+ * 视频提取服务接口
+ * 用于从二维码图片中解析URL并提取视频链接
+ * <p>
+ * 由 {@code app.video.extract.mode} 选择实现：
+ * <ul>
+ *   <li>{@code local}：提取引擎随 API 进程加载（需包含 fireworks-extract 模块）</li>
+ *   <li>{@code remote}：调用独立部署的提取服务</li>
+ *   <li>{@code off}：关闭提取</li>
+ * </ul>
+ */
+public interface VideoExtractService {
+
+    /**
+     * 是否启用了视频提取；关闭时调用方应跳过提取，避免把已有结果覆盖为不支持
+     *
+     * @return 是否启用
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * 从二维码图片提取视频信息（包含状态、目标网址等）
+     *
+     * @param qrCodeImageUrl 二维码图片URL
+     * @return 提取结果
+     */
+    VideoExtractResult extractVideoFromQrCodeImage(String qrCodeImageUrl);
+
+    /**
+     * 在给定截止时间内从二维码图片提取视频信息
+     * <p>
+     * 各阶段只使用剩余预算；预算耗尽时返回 FAILED，并在 {@code timeoutStage} 中标明耗尽所在阶段。
+     *
+     * @param qrCodeImageUrl 二维码图片URL
+     * @param deadline       端到端截止时间
+     * @return 提取结果
+     */
+    VideoExtractResult extractVideoFromQrCodeImage(String qrCodeImageUrl, ExtractDeadline deadline);
+}
@@ -0,0 +1,30 @@
+package com.fireworks.service;
+
+import com.fireworks.dto.VideoUrlProbeResult;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 视频地址探测服务接口
+ * 用于检查已提取的视频直链是否仍可访问
+ */
+public interface VideoUrlProbeService {
+
+    /**
+     * 异步探测视频地址（受全局并发与单域名并发限制）
+     *
+     * @param videoUrl 视频地址
+     * @return 探测结果（不会异常完成）
+     */
+    CompletableFuture<VideoUrlProbeResult> probe(String videoUrl);
+
+    /**
+     * 带缓存的异步探测
+     * <p>
+     * 同一地址在缓存有效期内复用上次结果；探测进行中的地址复用同一个 Future，不会重复发请求。
+     *
+     * @param videoUrl 视频地址
+     * @return 探测结果（不会异常完成）
+     */
+    CompletableFuture<VideoUrlProbeResult> probeCached(String videoUrl);
+}
@@ -0,0 +1,12 @@
+package com.fireworks.service;
+
+/**
+ * 视频地址定时巡检服务接口
+ */
+public interface VideoUrlRevalidateService {
+
+    /**
+     * 巡检所有已有视频地址的商品，记录状态与耗时，失效链接自动重新提取
+     */
+    void revalidateAll();
+}
@@ -2,17 +2,18 @@ package com.fireworks.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
-import com.baomidou.mybatisplus.core.metadata.IPage;
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.fireworks.cache.PageTotalCache;
 import com.fireworks.dto.BindAgentRequest;
 import com.fireworks.dto.CreateAgentRequest;
 import com.fireworks.dto.UpdateAgentRequest;
 import com.fireworks.entity.Agent;
 import com.fireworks.entity.Inquiry;
+import com.fireworks.enums.CacheRegion;
 import com.fireworks.exception.BusinessException;
 import com.fireworks.mapper.AgentMapper;
 import com.fireworks.mapper.InquiryMapper;
 import com.fireworks.service.AgentService;
+import com.fireworks.service.CacheVersionService;
 import com.fireworks.service.FileStorageService;
 import com.fireworks.service.WechatCloudService;
 import com.fireworks.util.RandomCodeUtil;
@@ -49,18 +50,20 @@ public class AgentServiceImpl implements AgentService {
     private final InquiryMapper inquiryMapper;
     private final FileStorageService fileStorageService;
     private final WechatCloudService wechatCloudService;
+    private final CacheVersionService cacheVersionService;
+    private final PageTotalCache pageTotalCache;
 
     @Override
-    public PageVO<AgentVO> list(Integer page, Integer size) {
+    public PageVO<AgentVO> list(Integer page, Integer size, Boolean count) {
         int pageNum = page != null && page > 0 ? page : 1;
         int pageSize = size != null && size > 0 ? size : 50;
 
         LambdaQueryWrapper<Agent> query = new LambdaQueryWrapper<>();
         query.orderByDesc(Agent::getCreatedAt);
 
-        IPage<Agent> result = agentMapper.selectPage(new Page<>(pageNum, pageSize), query);
-        List<AgentVO> items = result.getRecords().stream().map(AgentVO::fromEntity).toList();
-        return PageVO.of(items, result.getTotal(), pageNum, pageSize);
+        return pageTotalCache.<Agent, AgentVO>page(CacheRegion.AGENT, "all", count, pageNum, pageSize,
+                p -> agentMapper.selectPage(p, query),
+                records -> records.stream().map(AgentVO::fromEntity).toList());
     }
 
     @Override
@@ -93,6 +96,7 @@ public class AgentServiceImpl implements AgentService {
         if (inserted <= 0) {
             throw new BusinessException(500, "创建代理商失败");
         }
+        cacheVersionService.bump(CacheRegion.AGENT);
         return AgentVO.fromEntity(agent);
     }
 
@@ -135,6 +139,7 @@ public class AgentServiceImpl implements AgentService {
             if (updated <= 0) {
                 throw new BusinessException(500, "更新失败");
             }
+            cacheVersionService.bump(CacheRegion.AGENT);
         }
 
         return AgentVO.fromEntity(findByCode(code).orElseThrow());
@@ -156,6 +161,7 @@ public class AgentServiceImpl implements AgentService {
         LambdaUpdateWrapper<Agent> update = new LambdaUpdateWrapper<>();
         update.eq(Agent::getId, agent.getId()).set(Agent::getQrcodeUrl, url);
         agentMapper.update(null, update);
+        cacheVersionService.bump(CacheRegion.AGENT);
 
         return url;
     }
@@ -177,6 +183,7 @@ public class AgentServiceImpl implements AgentService {
                     .set(Agent::getBindCodeExpiresAt, expiresAt);
             try {
                 agentMapper.update(null, update);
+                cacheVersionService.bump(CacheRegion.AGENT);
                 String bindQrcodeUrl = null;
                 try {
                     String scene = "b=" + bindCode;
@@ -240,6 +247,7 @@ public class AgentServiceImpl implements AgentService {
                 .set(Agent::getBindCode, null)
                 .set(Agent::getBindCodeExpiresAt, null);
         agentMapper.update(null, update);
+        cacheVersionService.bump(CacheRegion.AGENT);
 
         return AgentBindResultVO.builder()
                 .agentCode(agent.getCode())
@@ -257,6 +265,7 @@ public class AgentServiceImpl implements AgentService {
                 .set(Agent::getBindCode, null)
                 .set(Agent::getBindCodeExpiresAt, null);
         agentMapper.update(null, update);
+        cacheVersionService.bump(CacheRegion.AGENT);
     }
 
     @Override
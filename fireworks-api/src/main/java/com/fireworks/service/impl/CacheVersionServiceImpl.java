@@ -0,0 +1,207 @@
+package com.fireworks.service.impl;
+
+import com.fireworks.entity.CacheVersion;
+import com.fireworks.enums.CacheRegion;
+import com.fireworks.mapper.CacheVersionMapper;
+import com.fireworks.service.CacheVersionService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 缓存版本服务实现
+ * <p>
+ * 每个实例定时读取 cache_version 全表（每个区域一行），与上一次读取的版本比较，
+ * 只对版本变化的区域执行失效回调。首次读取仅记录基线，不触发回调（启动时本地缓存为空）。
+ * <p>
+ * 写入实例在事务提交后立即执行本地回调，不等待轮询；之后轮询到自己提交的版本变化时会再执行一次，
+ * 导致一次多余的缓存重建，缓存数据量小，可接受。
+ * <p>
+ * 当前版本（{@link #currentVersion}）在失效回调执行后才前进：写入实例取自版本号 +1 后在同一事务内读到的值，
+ * 其他实例取自轮询结果。未启用版本表时版本始终未知（-1）：本实例无法得知其他实例的写入，
+ * 任何本地版本都可能让 ETag 或按版本缓存的数据长期停留在旧值。
+ * <p>
+ * 轮询使用独立的单线程调度器，不占用 Spring 共享的定时任务线程，避免被巡检等长任务阻塞而延迟跨实例失效。
+ */
+@Slf4j
+@Service
+public class CacheVersionServiceImpl implements CacheVersionService {
+
+    private final CacheVersionMapper cacheVersionMapper;
+    private final boolean enabled;
+    /** 轮询间隔（毫秒） */
+    private final long pollIntervalMs;
+
+    /** 轮询线程（未启用版本表时不创建） */
+    private ScheduledExecutorService poller;
+
+    private final Map<CacheRegion, List<Runnable>> listeners = new EnumMap<>(CacheRegion.class);
+
+    /** 本实例已知的当前版本（-1 表示尚未读取） */
+    private final Map<CacheRegion, AtomicLong> currentVersions = new EnumMap<>(CacheRegion.class);
+
+    /** 上一次轮询到的版本（仅轮询线程访问） */
+    private final Map<CacheRegion, Long> knownVersions = new EnumMap<>(CacheRegion.class);
+    private boolean baselineLoaded;
+    private boolean lastPollFailed;
+
+    public CacheVersionServiceImpl(CacheVersionMapper cacheVersionMapper,
+                                   @Value("${app.cache.version.enabled:true}") boolean enabled,
+                                   @Value("${app.cache.version.poll-interval-ms:2000}") long pollIntervalMs) {
+        this.cacheVersionMapper = cacheVersionMapper;
+        this.enabled = enabled;
+        this.pollIntervalMs = Math.max(100, pollIntervalMs);
+        for (CacheRegion region : CacheRegion.values()) {
+            listeners.put(region, new CopyOnWriteArrayList<>());
+            currentVersions.put(region, new AtomicLong(-1));
+        }
+    }
+
+    @PostConstruct
+    void startPolling() {
+        if (!enabled) {
+            return;
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cache-version-poll");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::pollSafely, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stopPolling() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+
+    @Override
+    public void bump(CacheRegion region) {
+        long bumped = -1;
+        if (enabled) {
+            try {
+                cacheVersionMapper.bump(region.name());
+                // 本事务已锁定该行，读到的就是本次写入的版本
+                CacheVersion row = cacheVersionMapper.selectById(region.name());
+                if (row != null && row.getVersion() != null) {
+                    bumped = row.getVersion();
+                }
+            } catch (Exception e) {
+                // 不影响业务写入；其他实例由缓存的兜底过期时间收敛
+                log.warn("[缓存版本] 更新失败: region={}, error={}", region, e.getMessage());
+            }
+        }
+        long version = bumped;
+
+        // 本实例：事务提交后再失效，避免并发读取把提交前的旧数据重新装入缓存
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    notifyListeners(region);
+                    advance(region, version);
+                }
+            });
+            return;
+        }
+        notifyListeners(region);
+        advance(region, version);
+    }
+
+    @Override
+    public void addListener(CacheRegion region, Runnable listener) {
+        listeners.get(region).add(listener);
+    }
+
+    @Override
+    public long currentVersion(CacheRegion region) {
+        return currentVersions.get(region).get();
+    }
+
+    /**
+     * 版本前进（只增不减）；未启用版本表时保持未知
+     */
+    private void advance(CacheRegion region, long version) {
+        if (enabled && version >= 0) {
+            currentVersions.get(region).accumulateAndGet(version, Math::max);
+        }
+    }
+
+    /**
+     * 轮询一次；异常不向外抛出（scheduleWithFixedDelay 遇到异常会停止后续调度）
+     */
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (Exception e) {
+            log.warn("[缓存版本] 轮询异常", e);
+        }
+    }
+
+    /**
+     * 轮询版本号（默认每 2 秒，由 {@link #startPolling} 调度）
+     */
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        List<CacheVersion> rows;
+        try {
+            rows = cacheVersionMapper.selectList(null);
+        } catch (Exception e) {
+            if (!lastPollFailed) {
+                log.warn("[缓存版本] 读取失败，暂停跨实例失效: {}", e.getMessage());
+            }
+            lastPollFailed = true;
+            return;
+        }
+        lastPollFailed = false;
+
+        for (CacheVersion row : rows) {
+            CacheRegion region = regionOf(row.getRegion());
+            if (region == null || row.getVersion() == null) {
+                continue;
+            }
+            Long previous = knownVersions.put(region, row.getVersion());
+            if (baselineLoaded && !row.getVersion().equals(previous)) {
+                log.debug("[缓存版本] 区域版本变化: region={}, {} -> {}", region, previous, row.getVersion());
+                notifyListeners(region);
+            }
+            advance(region, row.getVersion());
+        }
+        baselineLoaded = true;
+    }
+
+    private void notifyListeners(CacheRegion region) {
+        for (Runnable listener : listeners.get(region)) {
+            try {
+                listener.run();
+            } catch (Exception e) {
+                log.warn("[缓存版本] 失效回调异常: region={}", region, e);
+            }
+        }
+    }
+
+    private static CacheRegion regionOf(String name) {
+        try {
+            return CacheRegion.valueOf(name);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
+    }
+}
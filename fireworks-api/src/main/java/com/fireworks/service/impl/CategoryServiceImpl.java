@@ -2,12 +2,16 @@ package com.fireworks.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.fireworks.exception.BusinessException;
+import com.fireworks.cache.ProductCatalogCache;
+import com.fireworks.enums.CacheRegion;
 import com.fireworks.dto.CreateCategoryRequest;
 import com.fireworks.dto.UpdateCategoryRequest;
 import com.fireworks.entity.Category;
 import com.fireworks.mapper.CategoryMapper;
 import com.fireworks.mapper.ProductMapper;
+import com.fireworks.service.CacheVersionService;
 import com.fireworks.service.CategoryService;
+import com.fireworks.service.ProductChangeService;
 import com.fireworks.vo.CategoryVO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +31,9 @@ public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryMapper categoryMapper;
     private final ProductMapper productMapper;
+    private final ProductCatalogCache productCatalogCache;
+    private final CacheVersionService cacheVersionService;
+    private final ProductChangeService productChangeService;
 
     @Override
     public List<CategoryVO> getAllCategories() {
@@ -77,6 +84,7 @@ public class CategoryServiceImpl implements CategoryService {
         category.setName(name);
         category.setStatus("ACTIVE");
         categoryMapper.insert(category);
+        cacheVersionService.bump(CacheRegion.CATEGORY);
 
         log.info("Created category: id={}, name={}", category.getId(), category.getName());
         return CategoryVO.fromEntity(category);
@@ -115,10 +123,13 @@ public class CategoryServiceImpl implements CategoryService {
         }
 
         categoryMapper.updateById(category);
+        cacheVersionService.bump(CacheRegion.CATEGORY);
 
         // 分类名称变更时，同步更新该分类下所有商品的 category 字段
         if (nameChanged) {
             int updatedCount = productMapper.updateCategoryNameByCategoryId(id, name);
+            productChangeService.recordByCategory(id);
+            productCatalogCache.invalidate();
             log.info("Updated category: id={}, name={}, synced {} products", id, name, updatedCount);
         } else {
             log.info("Updated category: id={}, name={}", id, name);
@@ -142,6 +153,7 @@ public class CategoryServiceImpl implements CategoryService {
         }
 
         categoryMapper.deleteById(id);
+        cacheVersionService.bump(CacheRegion.CATEGORY);
         log.info("Deleted category: id={}, name={}", id, category.getName());
     }
 
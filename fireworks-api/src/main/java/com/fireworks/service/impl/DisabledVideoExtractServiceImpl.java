@@ -0,0 +1,32 @@
+package com.fireworks.service.impl;
+
+import com.fireworks.dto.VideoExtractResult;
+import com.fireworks.enums.VideoExtractStatus;
+import com.fireworks.service.VideoExtractService;
+import com.fireworks.util.ExtractDeadline;
+
+/**
+ * 关闭状态的视频提取实现
+ * <p>
+ * {@code app.video.extract.mode=off}，或精简构建下未包含提取引擎时使用（由 VideoExtractConfig 注册）。
+ */
+public class DisabledVideoExtractServiceImpl implements VideoExtractService {
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public VideoExtractResult extractVideoFromQrCodeImage(String qrCodeImageUrl) {
+        return VideoExtractResult.builder()
+                .status(VideoExtractStatus.UNSUPPORTED)
+                .message("视频提取未启用")
+                .build();
+    }
+
+    @Override
+    public VideoExtractResult extractVideoFromQrCodeImage(String qrCodeImageUrl, ExtractDeadline deadline) {
+        return extractVideoFromQrCodeImage(qrCodeImageUrl);
+    }
+}
@@ -0,0 +1,124 @@
+package com.fireworks.service.impl;
+
+import com.fireworks.enums.CacheRegion;
+import com.fireworks.service.CacheVersionService;
+import com.fireworks.service.CategoryService;
+import com.fireworks.service.HomeService;
+import com.fireworks.service.ProductService;
+import com.fireworks.vo.CategoryVO;
+import com.fireworks.vo.HomeVO;
+import com.fireworks.vo.PageVO;
+import com.fireworks.vo.ProductListItemVO;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 小程序首页聚合服务实现
+ * <p>
+ * 一次请求返回分类、热门搜索与商品第一页，替代小程序分别调用三个接口：
+ * <ul>
+ *   <li>分类、商品第一页按所属缓存区域的版本（{@link CacheVersionService#currentVersion}）分别缓存，
+ *       版本未变时直接复用；需要重新读取的部分在 {@code homeExecutor} 中并行执行</li>
+ *   <li>热门搜索本身就是内存排行，每次请求读取一次，同时用于 ETag 与返回内容</li>
+ * </ul>
+ * ETag 由分类版本、商品版本与热门搜索内容组成，三部分任一变化即变化，计算时不查询数据库。
+ */
+@Service
+public class HomeServiceImpl implements HomeService {
+
+    private final CategoryService categoryService;
+    private final ProductService productService;
+    private final CacheVersionService cacheVersionService;
+    private final Executor homeExecutor;
+    private final int productSize;
+
+    private volatile Section<List<CategoryVO>> categories;
+    private volatile Section<PageVO<ProductListItemVO>> products;
+
+    public HomeServiceImpl(CategoryService categoryService,
+                           ProductService productService,
+                           CacheVersionService cacheVersionService,
+                           @Qualifier("homeExecutor") Executor homeExecutor,
+                           @Value("${app.home.product-size:20}") int productSize) {
+        this.categoryService = categoryService;
+        this.productService = productService;
+        this.cacheVersionService = cacheVersionService;
+        this.homeExecutor = homeExecutor;
+        this.productSize = Math.max(1, productSize);
+    }
+
+    @Override
+    public List<String> getHotKeywords() {
+        return productService.getHotKeywords();
+    }
+
+    @Override
+    public String currentEtag(List<String> hotKeywords) {
+        long categoryVersion = cacheVersionService.currentVersion(CacheRegion.CATEGORY);
+        long productVersion = cacheVersionService.currentVersion(CacheRegion.PRODUCT);
+        if (categoryVersion < 0 || productVersion < 0) {
+            return null;
+        }
+        return "W/\"home-" + categoryVersion + "-" + productVersion + "-"
+                + Integer.toHexString(hotKeywords.hashCode()) + "\"";
+    }
+
+    @Override
+    public HomeVO getHome(List<String> hotKeywords) {
+        // 先取版本再读数据：读到的数据不旧于所记录的版本
+        CompletableFuture<List<CategoryVO>> categoriesFuture = section(categories,
+                cacheVersionService.currentVersion(CacheRegion.CATEGORY),
+                categoryService::getActiveCategories, s -> categories = s);
+        CompletableFuture<PageVO<ProductListItemVO>> productsFuture = section(products,
+                cacheVersionService.currentVersion(CacheRegion.PRODUCT),
+                () -> productService.getPublicProductList(1, productSize, null, null, null, null, null, null, true),
+                s -> products = s);
+
+        return HomeVO.builder()
+                .categories(join(categoriesFuture))
+                .hotKeywords(hotKeywords)
+                .products(join(productsFuture))
+                .build();
+    }
+
+    /**
+     * 版本未变时复用缓存，否则在线程池中重新读取（版本未知时不缓存）
+     */
+    private <T> CompletableFuture<T> section(Section<T> cached, long version, Supplier<T> loader,
+                                             Consumer<Section<T>> store) {
+        if (cached != null && version >= 0 && cached.version() == version) {
+            return CompletableFuture.completedFuture(cached.value());
+        }
+        return CompletableFuture.supplyAsync(loader, homeExecutor).thenApply(value -> {
+            if (version >= 0) {
+                store.accept(new Section<>(version, value));
+            }
+            return value;
+        });
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 按版本缓存的首页数据片段
+     */
+    private record Section<T>(long version, T value) {
+    }
+}
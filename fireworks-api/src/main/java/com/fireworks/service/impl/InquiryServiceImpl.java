@@ -1,13 +1,13 @@
 package com.fireworks.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
-import com.baomidou.mybatisplus.core.metadata.IPage;
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.fireworks.cache.PageTotalCache;
 import com.fireworks.dto.CreateInquiryRequest;
 import com.fireworks.entity.Agent;
 import com.fireworks.entity.Inquiry;
 import com.fireworks.entity.InquiryItem;
 import com.fireworks.entity.Product;
+import com.fireworks.enums.CacheRegion;
 import com.fireworks.exception.BusinessException;
 import com.fireworks.mapper.AgentMapper;
 import com.fireworks.mapper.InquiryItemMapper;
@@ -28,6 +28,9 @@ import java.util.stream.Collectors;
 
 /**
  * 询价服务实现
+ * <p>
+ * 创建询价是公开端的高频写入，不递增 {@link CacheRegion#INQUIRY} 版本（版本行的行锁会让所有询价的事务串行提交），
+ * 后台列表总数由 {@link PageTotalCache} 按 TTL 过期刷新。
  */
 @Slf4j
 @Service
@@ -40,6 +43,7 @@ public class InquiryServiceImpl implements InquiryService {
     private final InquiryItemMapper inquiryItemMapper;
     private final ProductMapper productMapper;
     private final AgentMapper agentMapper;
+    private final PageTotalCache pageTotalCache;
 
     @Override
     @Transactional
@@ -100,7 +104,7 @@ public class InquiryServiceImpl implements InquiryService {
     }
 
     @Override
-    public PageVO<InquiryListVO> list(Integer page, Integer size, String agentCode) {
+    public PageVO<InquiryListVO> list(Integer page, Integer size, String agentCode, Boolean count) {
         int pageNum = page != null && page > 0 ? page : 1;
         int pageSize = size != null && size > 0 ? size : 20;
 
@@ -110,17 +114,24 @@ public class InquiryServiceImpl implements InquiryService {
         }
         query.orderByDesc(Inquiry::getCreatedAt);
 
-        IPage<Inquiry> result = inquiryMapper.selectPage(new Page<>(pageNum, pageSize), query);
-        List<Inquiry> records = result.getRecords();
+        String filterKey = "agentCode=" + (StringUtils.hasText(agentCode) ? agentCode.trim() : "");
+        return pageTotalCache.page(CacheRegion.INQUIRY, filterKey, count, pageNum, pageSize,
+                p -> inquiryMapper.selectPage(p, query), this::toListItems);
+    }
+
+    /**
+     * 转换询价列表项（批量加载商品数量与代理商名称）
+     */
+    private List<InquiryListVO> toListItems(List<Inquiry> records) {
         if (records.isEmpty()) {
-            return PageVO.of(List.of(), result.getTotal(), pageNum, pageSize);
+            return List.of();
         }
 
         List<Long> inquiryIds = records.stream().map(Inquiry::getId).toList();
         Map<Long, Integer> productCountMap = loadProductCountMap(inquiryIds);
         Map<String, String> agentNameMap = loadAgentNameMap(records);
 
-        List<InquiryListVO> items = records.stream().map(i -> InquiryListVO.builder()
+        return records.stream().map(i -> InquiryListVO.builder()
                 .id(i.getId())
                 .phone(MaskUtil.maskPhone(i.getPhone()))
                 .wechat(i.getWechat())
@@ -130,8 +141,6 @@ public class InquiryServiceImpl implements InquiryService {
                 .agentName(i.getAgentCode() != null ? agentNameMap.get(i.getAgentCode()) : null)
                 .createdAt(i.getCreatedAt())
                 .build()).toList();
-
-        return PageVO.of(items, result.getTotal(), pageNum, pageSize);
     }
 
     @Override
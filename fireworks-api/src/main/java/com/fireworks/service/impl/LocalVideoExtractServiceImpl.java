@@ -0,0 +1,57 @@
+package com.fireworks.service.impl;
+
+import com.fireworks.dto.VideoExtractResult;
+import com.fireworks.extract.VideoExtractor;
+import com.fireworks.metrics.StageTimingRecorder;
+import com.fireworks.metrics.VideoExtractMetrics;
+import com.fireworks.service.VideoExtractService;
+import com.fireworks.util.ExtractDeadline;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * 进程内视频提取实现（默认）
+ * <p>
+ * 提取引擎随 API 进程加载：{@link VideoExtractor} 由 fireworks-extract 模块的自动配置注册
+ * （HtmlUnit 渲染阶段按 {@code app.video.render.mode} 在进程内执行或交给渲染子进程池），
+ * 此处只依赖引擎接口并记录指标。精简构建（{@code -Dslim}）不包含该模块，此实现自动失效。
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.video.extract", name = "mode", havingValue = "local", matchIfMissing = true)
+@ConditionalOnClass(name = "com.fireworks.extract.VideoExtractEngine")
+public class LocalVideoExtractServiceImpl implements VideoExtractService {
+
+    private final VideoExtractor videoExtractor;
+    private final VideoExtractMetrics videoExtractMetrics;
+
+    /** 单次提取的端到端总预算（毫秒） */
+    private final long extractBudgetMs;
+
+    public LocalVideoExtractServiceImpl(
+            VideoExtractor videoExtractor,
+            VideoExtractMetrics videoExtractMetrics,
+            @Value("${app.video.extract.budget-ms:45000}") long extractBudgetMs) {
+        this.videoExtractor = videoExtractor;
+        this.videoExtractMetrics = videoExtractMetrics;
+        this.extractBudgetMs = extractBudgetMs;
+    }
+
+    @Override
+    public VideoExtractResult extractVideoFromQrCodeImage(String qrCodeImageUrl) {
+        return extractVideoFromQrCodeImage(qrCodeImageUrl, ExtractDeadline.after(extractBudgetMs));
+    }
+
+    /**
+     * 在给定截止时间内提取，并按阶段记录耗时指标
+     */
+    @Override
+    public VideoExtractResult extractVideoFromQrCodeImage(String qrCodeImageUrl, ExtractDeadline deadline) {
+        StageTimingRecorder stages = new StageTimingRecorder();
+        long start = System.nanoTime();
+        VideoExtractResult result = videoExtractor.extract(qrCodeImageUrl, deadline.withStageListener(stages));
+        videoExtractMetrics.recordExtraction("local", qrCodeImageUrl, result, System.nanoTime() - start, stages.finish());
+        return result;
+    }
+}
@@ -0,0 +1,165 @@
+package com.fireworks.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.fireworks.cache.ProductCatalogCache;
+import com.fireworks.entity.Product;
+import com.fireworks.entity.ProductChangeLog;
+import com.fireworks.mapper.ProductChangeLogMapper;
+import com.fireworks.mapper.ProductMapper;
+import com.fireworks.service.ProductChangeService;
+import com.fireworks.vo.ProductChangesVO;
+import com.fireworks.vo.ProductListItemVO;
+import com.fireworks.vo.ProductVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 商品变更日志服务实现
+ * <p>
+ * 日志只记录被影响的商品ID，读取时按商品当前状态判定：上架为更新（返回列表项），
+ * 不存在、已删除或已下架为删除。因此日志不必区分操作类型，同一商品的旧记录也可以随时删除，
+ * 定时压缩只保留每个商品最新的一条，表的行数不超过商品总数，任意序号之后的增量结果不受影响。
+ * <p>
+ * 自增序号在插入时分配、提交顺序可能不同：较小序号的事务晚提交时，客户端可能已越过该序号。
+ * 因此只返回写入超过 {@code app.catalog.changes.settle-seconds} 秒（默认 5 秒）的记录，
+ * 同步起点序号也按同一规则取值，商品写入事务的耗时需小于该时间。
+ */
+@Slf4j
+@Service
+public class ProductChangeServiceImpl implements ProductChangeService {
+
+    /** 公开商品状态：上架 */
+    private static final String PUBLIC_PRODUCT_STATUS = "ON_SHELF";
+
+    private static final int DEFAULT_LIMIT = 200;
+    private static final int MAX_LIMIT = 1000;
+
+    private final ProductChangeLogMapper productChangeLogMapper;
+    private final ProductMapper productMapper;
+    private final ProductCatalogCache productCatalogCache;
+    private final int settleSeconds;
+    private final boolean compactEnabled;
+
+    public ProductChangeServiceImpl(ProductChangeLogMapper productChangeLogMapper,
+                                    ProductMapper productMapper,
+                                    ProductCatalogCache productCatalogCache,
+                                    @Value("${app.catalog.changes.settle-seconds:5}") int settleSeconds,
+                                    @Value("${app.catalog.changes.compact-enabled:true}") boolean compactEnabled) {
+        this.productChangeLogMapper = productChangeLogMapper;
+        this.productMapper = productMapper;
+        this.productCatalogCache = productCatalogCache;
+        this.settleSeconds = Math.max(0, settleSeconds);
+        this.compactEnabled = compactEnabled;
+    }
+
+    @Override
+    public void record(Long productId) {
+        if (productId != null) {
+            productChangeLogMapper.append(productId);
+        }
+    }
+
+    @Override
+    public void recordByCategory(Long categoryId) {
+        if (categoryId != null) {
+            productChangeLogMapper.appendByCategoryId(categoryId);
+        }
+    }
+
+    @Override
+    public long currentSeq() {
+        return productChangeLogMapper.selectMaxSettledSeq(settleSeconds);
+    }
+
+    @Override
+    public ProductChangesVO getChanges(Long since, Integer limit) {
+        long after = since != null && since > 0 ? since : 0;
+        int size = limit == null || limit < 1 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+
+        List<ProductChangeLog> rows = productChangeLogMapper.selectList(new LambdaQueryWrapper<ProductChangeLog>()
+                .select(ProductChangeLog::getSeq, ProductChangeLog::getProductId)
+                .gt(ProductChangeLog::getSeq, after)
+                .apply("changed_at <= NOW() - INTERVAL {0} SECOND", settleSeconds)
+                .orderByAsc(ProductChangeLog::getSeq)
+                .last("LIMIT " + (size + 1)));
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+        long nextSince = rows.isEmpty() ? after : rows.get(rows.size() - 1).getSeq();
+
+        Set<Long> productIds = new LinkedHashSet<>();
+        for (ProductChangeLog row : rows) {
+            productIds.add(row.getProductId());
+        }
+        Map<Long, ProductListItemVO> onShelf = loadOnShelf(productIds);
+
+        List<ProductListItemVO> upserts = new ArrayList<>(onShelf.size());
+        List<Long> deletedIds = new ArrayList<>();
+        for (Long productId : productIds) {
+            ProductListItemVO item = onShelf.get(productId);
+            if (item != null) {
+                upserts.add(item);
+            } else {
+                deletedIds.add(productId);
+            }
+        }
+        return ProductChangesVO.builder()
+                .upserts(upserts)
+                .deletedIds(deletedIds)
+                .nextSince(nextSince)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * 读取商品当前的上架状态（启用缓存时由内存目录响应）
+     */
+    private Map<Long, ProductListItemVO> loadOnShelf(Set<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        if (productCatalogCache.isEnabled()) {
+            return productIds.stream()
+                    .map(productCatalogCache::getById)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toMap(ProductVO::getId, ProductListItemVO::fromVO));
+        }
+        return productMapper.selectList(new LambdaQueryWrapper<Product>()
+                        .select(Product::getId, Product::getName, Product::getPrice, Product::getCategoryId,
+                                Product::getCategory, Product::getImages)
+                        .in(Product::getId, productIds)
+                        .eq(Product::getStatus, PUBLIC_PRODUCT_STATUS))
+                .stream()
+                .map(ProductListItemVO::fromEntity)
+                .collect(Collectors.toMap(ProductListItemVO::getId, Function.identity()));
+    }
+
+    /**
+     * 定时压缩变更日志（默认每小时）
+     */
+    @Scheduled(fixedDelayString = "${app.catalog.changes.compact-interval-ms:3600000}",
+            initialDelayString = "${app.catalog.changes.compact-initial-delay-ms:60000}")
+    public void compact() {
+        if (!compactEnabled) {
+            return;
+        }
+        try {
+            int deleted = productChangeLogMapper.deleteSuperseded();
+            log.debug("[商品变更] 压缩日志: deleted={}", deleted);
+        } catch (Exception e) {
+            log.warn("[商品变更] 压缩失败: {}", e.getMessage());
+        }
+    }
+}
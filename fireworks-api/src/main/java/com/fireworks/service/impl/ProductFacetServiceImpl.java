@@ -0,0 +1,137 @@
+package com.fireworks.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.fireworks.cache.ProductCatalogCache;
+import com.fireworks.entity.Product;
+import com.fireworks.mapper.ProductMapper;
+import com.fireworks.service.ProductFacetService;
+import com.fireworks.vo.CategoryFacetVO;
+import com.fireworks.vo.PriceBucketFacetVO;
+import com.fireworks.vo.ProductFacetsVO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 商品筛选统计服务实现
+ * <p>
+ * 启用商品缓存时在内存快照上一次遍历完成计数；否则按分类、价格区间各执行一次分组查询，
+ * 不按分类/区间逐个 COUNT。
+ */
+@Service
+public class ProductFacetServiceImpl implements ProductFacetService {
+
+    /** 公开商品状态：上架 */
+    private static final String PUBLIC_PRODUCT_STATUS = "ON_SHELF";
+
+    private final ProductCatalogCache productCatalogCache;
+    private final ProductMapper productMapper;
+
+    /** 价格区间边界（升序、去重，元） */
+    private final int[] priceBuckets;
+
+    public ProductFacetServiceImpl(ProductCatalogCache productCatalogCache,
+                                   ProductMapper productMapper,
+                                   @Value("${app.catalog.facets.price-buckets:0,50,100,200,500}") int[] priceBuckets) {
+        this.productCatalogCache = productCatalogCache;
+        this.productMapper = productMapper;
+        this.priceBuckets = Arrays.stream(priceBuckets).filter(b -> b >= 0).sorted().distinct().toArray();
+        if (this.priceBuckets.length == 0) {
+            throw new IllegalArgumentException("app.catalog.facets.price-buckets 至少需要一个非负边界");
+        }
+    }
+
+    @Override
+    public ProductFacetsVO getPublicFacets(String keyword, Long categoryId, Integer minPrice, Integer maxPrice) {
+        if (productCatalogCache.isEnabled()) {
+            return productCatalogCache.facets(keyword, categoryId, minPrice, maxPrice, priceBuckets);
+        }
+
+        // 分类计数：不加分类条件
+        QueryWrapper<Product> byCategory = baseQuery(keyword);
+        applyPrice(byCategory, minPrice, maxPrice);
+        byCategory.select("category_id AS categoryId", "MAX(category) AS categoryName", "COUNT(*) AS cnt")
+                .groupBy("category_id")
+                .orderByAsc("category_id");
+        List<CategoryFacetVO> categories = new ArrayList<>();
+        long total = 0;
+        for (Map<String, Object> row : productMapper.selectMaps(byCategory)) {
+            Number id = (Number) row.get("categoryId");
+            long count = ((Number) row.get("cnt")).longValue();
+            if (categoryId == null || (id != null && categoryId == id.longValue())) {
+                total += count;
+            }
+            // 无分类的商品只计入总数
+            if (id != null) {
+                categories.add(CategoryFacetVO.builder()
+                        .categoryId(id.longValue())
+                        .categoryName((String) row.get("categoryName"))
+                        .count(count)
+                        .build());
+            }
+        }
+
+        // 价格区间计数：不加价格条件；区间号由边界常量生成的 CASE 表达式计算
+        QueryWrapper<Product> byPrice = baseQuery(keyword);
+        if (categoryId != null) {
+            byPrice.eq("category_id", categoryId);
+        }
+        byPrice.select(bucketExpression() + " AS bucket", "COUNT(*) AS cnt")
+                .groupBy("bucket");
+        long[] bucketCounts = new long[priceBuckets.length];
+        for (Map<String, Object> row : productMapper.selectMaps(byPrice)) {
+            int bucket = ((Number) row.get("bucket")).intValue();
+            if (bucket >= 0) {
+                bucketCounts[bucket] = ((Number) row.get("cnt")).longValue();
+            }
+        }
+        List<PriceBucketFacetVO> buckets = new ArrayList<>(priceBuckets.length);
+        for (int i = 0; i < priceBuckets.length; i++) {
+            buckets.add(PriceBucketFacetVO.builder()
+                    .minPrice(priceBuckets[i])
+                    .maxPrice(i + 1 < priceBuckets.length ? priceBuckets[i + 1] : null)
+                    .count(bucketCounts[i])
+                    .build());
+        }
+
+        return ProductFacetsVO.builder()
+                .total(total)
+                .categories(categories)
+                .priceBuckets(buckets)
+                .build();
+    }
+
+    private static QueryWrapper<Product> baseQuery(String keyword) {
+        QueryWrapper<Product> wrapper = new QueryWrapper<>();
+        wrapper.eq("status", PUBLIC_PRODUCT_STATUS);
+        if (StringUtils.hasText(keyword)) {
+            wrapper.like("name", keyword);
+        }
+        return wrapper;
+    }
+
+    private static void applyPrice(QueryWrapper<Product> wrapper, Integer minPrice, Integer maxPrice) {
+        if (minPrice != null) {
+            wrapper.ge("price", minPrice);
+        }
+        if (maxPrice != null) {
+            wrapper.le("price", maxPrice);
+        }
+    }
+
+    /**
+     * 价格区间号表达式，例如 CASE WHEN price &lt; 0 THEN -1 WHEN price &lt; 50 THEN 0 ... ELSE n-1 END
+     */
+    private String bucketExpression() {
+        StringBuilder sql = new StringBuilder("CASE WHEN price < ").append(priceBuckets[0]).append(" THEN -1");
+        for (int i = 1; i < priceBuckets.length; i++) {
+            sql.append(" WHEN price < ").append(priceBuckets[i]).append(" THEN ").append(i - 1);
+        }
+        return sql.append(" ELSE ").append(priceBuckets.length - 1).append(" END").toString();
+    }
+}
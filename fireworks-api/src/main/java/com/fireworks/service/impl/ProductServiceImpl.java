@@ -2,18 +2,29 @@ package com.fireworks.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
-import com.baomidou.mybatisplus.core.metadata.IPage;
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.fireworks.cache.PageTotalCache;
+import com.fireworks.cache.ProductCatalogCache;
 import com.fireworks.dto.CreateProductRequest;
 import com.fireworks.dto.UpdateProductRequest;
 import com.fireworks.entity.Category;
 import com.fireworks.entity.Product;
+import com.fireworks.enums.CacheRegion;
+import com.fireworks.enums.VideoExtractStatus;
 import com.fireworks.exception.BusinessException;
 import com.fireworks.mapper.CategoryMapper;
 import com.fireworks.mapper.ProductMapper;
+import com.fireworks.service.ProductChangeService;
 import com.fireworks.service.ProductVideoExtractAsyncService;
 import com.fireworks.service.ProductService;
+import com.fireworks.service.SearchKeywordService;
+import com.fireworks.util.ProductCursor;
+import com.fireworks.util.ProductFields;
+import com.fireworks.util.ProductSort;
+import com.fireworks.vo.CursorPageVO;
 import com.fireworks.vo.PageVO;
+import com.fireworks.vo.ProductBatchVO;
+import com.fireworks.vo.ProductListItemVO;
 import com.fireworks.vo.ProductVO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,8 +35,13 @@ import org.springframework.transaction.support.TransactionSynchronizationManager
 import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -51,11 +67,26 @@ public class ProductServiceImpl implements ProductService {
     private final ProductMapper productMapper;
     private final CategoryMapper categoryMapper;
     private final ProductVideoExtractAsyncService productVideoExtractAsyncService;
+    private final ProductCatalogCache productCatalogCache;
+    private final PageTotalCache pageTotalCache;
+    private final SearchKeywordService searchKeywordService;
+    private final ProductChangeService productChangeService;
 
     /** 公开商品状态：上架 */
     private static final String PUBLIC_PRODUCT_STATUS = "ON_SHELF";
+
+    /** 公开列表查询的列（对应 {@link ProductListItemVO}，不含描述、视频等大字段） */
+    private static final Set<String> LIST_ITEM_PROPERTIES = Set.of("name", "price", "categoryId", "category", "images");
+
     /** 默认商品状态：上架 */
     private static final String DEFAULT_STATUS = "ON_SHELF";
+    /** 游标分页每页最大数量 */
+    private static final int MAX_SCROLL_SIZE = 100;
+    /** 搜索联想默认/最大条数 */
+    private static final int DEFAULT_SUGGEST_LIMIT = 10;
+    private static final int MAX_SUGGEST_LIMIT = 20;
+    /** 热门搜索关键词条数 */
+    private static final int HOT_KEYWORD_LIMIT = 10;
 
     /**
      * 创建商品
@@ -113,6 +144,8 @@ public class ProductServiceImpl implements ProductService {
         }
 
         log.info("商品创建成功: id={}, name={}", product.getId(), product.getName());
+        productChangeService.record(product.getId());
+        productCatalogCache.invalidate();
 
         // 事务提交后异步触发视频提取（resetVideoUrl=false：新建商品无需重置）
         runAfterCommit(() -> productVideoExtractAsyncService.extractAndUpdate(product.getId(), qrcodeImage, false));
@@ -184,6 +217,10 @@ public class ProductServiceImpl implements ProductService {
         product.setDescription(request.getDescription() != null ? request.getDescription().trim() : product.getDescription());
         product.setStatus(request.getStatus() != null ? request.getStatus() : product.getStatus());
         product.setImages(new ArrayList<>(images));
+        if (qrcodeChanged) {
+            // 新二维码图重新计算自动重试次数
+            product.setVideoExtractAttempts(0);
+        }
 
         // Update to database
         int result = productMapper.updateById(product);
@@ -192,6 +229,8 @@ public class ProductServiceImpl implements ProductService {
         }
 
         log.info("商品更新成功: id={}, name={}", product.getId(), product.getName());
+        productChangeService.record(product.getId());
+        productCatalogCache.invalidate();
 
         // 仅当二维码图变更时才重新触发视频提取（resetVideoUrl=true：更新时需重置旧视频URL）
         if (qrcodeChanged) {
@@ -232,10 +271,12 @@ public class ProductServiceImpl implements ProductService {
      * @param sort   排序方式，格式："字段名,asc/desc"（可选，默认按创建时间倒序）
      * @param page   页码（从1开始）
      * @param size   每页数量
+     * @param count  是否统计总数（false 跳过 COUNT；相同筛选条件的总数短期缓存）
+     * @param fields 返回字段（可选，逗号分隔的 VO 字段名；只查询所选列）
      * @return 商品分页列表
      */
     @Override
-    public PageVO<ProductVO> getProductList(String status, String sort, Integer page, Integer size) {
+    public PageVO<ProductVO> getProductList(String status, String sort, Integer page, Integer size, Boolean count, String fields) {
         // 参数校验和默认值
         if (page == null || page < 1) {
             page = 1;
@@ -244,8 +285,11 @@ public class ProductServiceImpl implements ProductService {
             size = 20;
         }
 
+        Set<String> properties = ProductFields.parse(fields);
+
         // 构建查询条件
         LambdaQueryWrapper<Product> queryWrapper = new LambdaQueryWrapper<>();
+        applyFields(queryWrapper, properties, null);
 
         // 状态筛选
         if (StringUtils.hasText(status)) {
@@ -255,29 +299,21 @@ public class ProductServiceImpl implements ProductService {
         // 排序（默认按创建时间倒序）
         applySort(queryWrapper, sort);
 
-        // 分页查询
-        IPage<Product> productPage = productMapper.selectPage(
-                new Page<>(page, size),
-                queryWrapper
-        );
-
-        // 转换为VO
-        List<Product> products = productPage.getRecords();
-
-        List<ProductVO> productVOList = products.stream()
-                .map(ProductVO::fromEntity)
-                .collect(Collectors.toList());
+        // 分页查询（总数按筛选条件缓存）
+        PageVO<ProductVO> result = pageTotalCache.page(CacheRegion.PRODUCT,
+                "status=" + (StringUtils.hasText(status) ? status : ""), count, page, size,
+                p -> productMapper.selectPage(p, queryWrapper), ProductServiceImpl::toVOList);
 
-        log.debug("查询商品列表: status={}, page={}, size={}, total={}",
-                status, page, size, productPage.getTotal());
+        log.debug("查询商品列表: status={}, page={}, size={}, total={}, totalType={}",
+                status, page, size, result.getTotal(), result.getTotalType());
 
-        return PageVO.of(productVOList, productPage.getTotal(), page, size);
+        return result;
     }
 
     /**
      * 获取公开商品列表（小程序端）
      * <p>
-     * 仅返回状态为"上架"的商品，支持多维度筛选：
+     * 仅返回状态为"上架"的商品（启用缓存时由内存目录响应），支持多维度筛选：
      * <ul>
      *   <li>分类ID筛选（推荐使用）</li>
      *   <li>分类筛选（已废弃，保留兼容）</li>
@@ -293,18 +329,26 @@ public class ProductServiceImpl implements ProductService {
      * @param minPrice   最低价格（可选）
      * @param maxPrice   最高价格（可选）
      * @param keyword    搜索关键词（可选）
+     * @param count      是否统计总数（仅数据库查询时生效；内存目录总数始终为实时计数）
      * @return 商品分页列表
      */
     @Override
-    public PageVO<ProductVO> getPublicProductList(Integer page, Integer size, String sort, Long categoryId, String category, Integer minPrice, Integer maxPrice, String keyword) {
+    public PageVO<ProductListItemVO> getPublicProductList(Integer page, Integer size, String sort, Long categoryId, String category, Integer minPrice, Integer maxPrice, String keyword, Boolean count) {
         if (page == null || page < 1) {
             page = 1;
         }
         if (size == null || size < 1) {
             size = 20;
         }
+        // 上架商品目录由内存缓存直接响应
+        if (productCatalogCache.isEnabled()) {
+            PageVO<ProductVO> cached = productCatalogCache.query(page, size, sort, categoryId, category, minPrice, maxPrice, keyword);
+            return PageVO.of(cached.getItems().stream().map(ProductListItemVO::fromVO).collect(Collectors.toList()),
+                    cached.getTotal(), cached.getPage(), cached.getSize(), cached.getTotalType());
+        }
 
         LambdaQueryWrapper<Product> queryWrapper = new LambdaQueryWrapper<>();
+        applyFields(queryWrapper, LIST_ITEM_PROPERTIES, null);
         queryWrapper.eq(Product::getStatus, PUBLIC_PRODUCT_STATUS);
 
         // 分类ID筛选（优先使用 categoryId）
@@ -330,28 +374,151 @@ public class ProductServiceImpl implements ProductService {
 
         applySort(queryWrapper, sort);
 
-        IPage<Product> productPage = productMapper.selectPage(new Page<>(page, size), queryWrapper);
+        // 关键词按库表排序规则不区分大小写，统一小写作为缓存键
+        String filterKey = "public|categoryId=" + (categoryId != null ? categoryId : "")
+                + "|category=" + (categoryId == null && StringUtils.hasText(category) ? category : "")
+                + "|minPrice=" + (minPrice != null ? minPrice : "")
+                + "|maxPrice=" + (maxPrice != null ? maxPrice : "")
+                + "|keyword=" + (StringUtils.hasText(keyword) ? keyword.toLowerCase(Locale.ROOT) : "");
+        PageVO<ProductListItemVO> result = pageTotalCache.page(CacheRegion.PRODUCT, filterKey, count, page, size,
+                p -> productMapper.selectPage(p, queryWrapper), ProductServiceImpl::toListItemList);
+
+        log.debug("查询公开商品列表: categoryId={}, category={}, minPrice={}, maxPrice={}, keyword={}, page={}, size={}, total={}, totalType={}",
+                categoryId, category, minPrice, maxPrice, keyword, page, size, result.getTotal(), result.getTotalType());
+        return result;
+    }
 
-        List<ProductVO> productVOList = productPage.getRecords().stream()
+    private static List<ProductVO> toVOList(List<Product> products) {
+        return products.stream()
                 .map(ProductVO::fromEntity)
                 .collect(Collectors.toList());
+    }
 
-        log.debug("查询公开商品列表: categoryId={}, category={}, minPrice={}, maxPrice={}, keyword={}, page={}, size={}, total={}",
-                categoryId, category, minPrice, maxPrice, keyword, page, size, productPage.getTotal());
-        return PageVO.of(productVOList, productPage.getTotal(), page, size);
+    private static List<ProductListItemVO> toListItemList(List<Product> products) {
+        return products.stream()
+                .map(ProductListItemVO::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 游标分页获取商品列表（管理端）
+     * <p>
+     * 按排序键与ID键集分页，不执行 COUNT，翻页深度不影响查询耗时。
+     *
+     * @param status 商品状态筛选（可选）
+     * @param sort   排序方式，格式："字段名,asc/desc"（可选，默认按创建时间倒序）
+     * @param cursor 上一页返回的游标（首页为空）
+     * @param size   每页数量（最大100）
+     * @param fields 返回字段（可选，逗号分隔的 VO 字段名；排序字段用于生成游标，始终返回）
+     * @return 游标分页列表
+     */
+    @Override
+    public CursorPageVO<ProductVO> scrollProductList(String status, String sort, String cursor, Integer size, String fields) {
+        int pageSize = normalizeScrollSize(size);
+        ProductSort productSort = ProductSort.parse(sort);
+        Set<String> properties = ProductFields.parse(fields);
+
+        LambdaQueryWrapper<Product> queryWrapper = new LambdaQueryWrapper<>();
+        applyFields(queryWrapper, properties, productSort);
+        if (StringUtils.hasText(status)) {
+            queryWrapper.eq(Product::getStatus, status);
+        }
+        applyKeyset(queryWrapper, productSort, cursor, pageSize);
+
+        return toCursorPage(productMapper.selectList(queryWrapper), productSort, pageSize, Function.identity());
+    }
+
+    /**
+     * 游标分页获取公开商品列表（小程序端无限滚动）
+     * <p>
+     * 筛选条件与 {@link #getPublicProductList} 一致；启用缓存时由内存目录响应，否则按键集分页查询数据库。
+     *
+     * @param cursor     上一页返回的游标（首页为空）
+     * @param size       每页数量（最大100）
+     * @param sort       排序方式
+     * @param categoryId 分类ID筛选（可选）
+     * @param category   分类筛选（可选，已废弃）
+     * @param minPrice   最低价格（可选）
+     * @param maxPrice   最高价格（可选）
+     * @param keyword    搜索关键词（可选）
+     * @return 游标分页列表
+     */
+    @Override
+    public CursorPageVO<ProductListItemVO> scrollPublicProductList(String cursor, Integer size, String sort, Long categoryId, String category, Integer minPrice, Integer maxPrice, String keyword) {
+        int pageSize = normalizeScrollSize(size);
+
+        if (productCatalogCache.isEnabled()) {
+            CursorPageVO<ProductVO> cached = productCatalogCache.scroll(cursor, pageSize, sort, categoryId, category, minPrice, maxPrice, keyword);
+            return CursorPageVO.of(cached.getItems().stream().map(ProductListItemVO::fromVO).collect(Collectors.toList()),
+                    cached.getNextCursor(), cached.getSize());
+        }
+
+        ProductSort productSort = ProductSort.parse(sort);
+        LambdaQueryWrapper<Product> queryWrapper = new LambdaQueryWrapper<>();
+        applyFields(queryWrapper, LIST_ITEM_PROPERTIES, productSort);
+        queryWrapper.eq(Product::getStatus, PUBLIC_PRODUCT_STATUS);
+        if (categoryId != null) {
+            queryWrapper.eq(Product::getCategoryId, categoryId);
+        } else if (StringUtils.hasText(category)) {
+            queryWrapper.eq(Product::getCategory, category);
+        }
+        if (minPrice != null) {
+            queryWrapper.ge(Product::getPrice, minPrice);
+        }
+        if (maxPrice != null) {
+            queryWrapper.le(Product::getPrice, maxPrice);
+        }
+        if (StringUtils.hasText(keyword)) {
+            queryWrapper.like(Product::getName, keyword);
+        }
+        applyKeyset(queryWrapper, productSort, cursor, pageSize);
+
+        return toCursorPage(productMapper.selectList(queryWrapper), productSort, pageSize, ProductListItemVO::fromVO);
     }
 
     /**
      * 获取热门搜索关键词
      * <p>
-     * 当前为静态配置，后续可扩展为基于搜索统计动态获取。
+     * 按小程序端搜索次数（时间衰减）排行，统计数据不足时以默认关键词补齐。
      *
      * @return 热门关键词列表
      */
     @Override
     public List<String> getHotKeywords() {
-        // 静态配置热门关键词（后续可扩展为基于搜索统计动态获取）
-        return java.util.Arrays.asList("烟花", "礼花", "鞭炮", "仙女棒", "孔明灯", "烟火", "礼品装");
+        return searchKeywordService.getHotKeywords(HOT_KEYWORD_LIMIT);
+    }
+
+    /**
+     * 搜索联想
+     * <p>
+     * 启用商品缓存时由内存联想索引响应（支持拼音），否则退化为数据库名称前缀匹配（不支持拼音）。
+     *
+     * @param prefix 输入前缀
+     * @param limit  最多返回条数（1-20，默认10）
+     * @return 商品名称列表
+     */
+    @Override
+    public List<String> suggest(String prefix, Integer limit) {
+        if (!StringUtils.hasText(prefix)) {
+            return List.of();
+        }
+        int max = limit == null || limit < 1 ? DEFAULT_SUGGEST_LIMIT : Math.min(limit, MAX_SUGGEST_LIMIT);
+
+        if (productCatalogCache.isEnabled()) {
+            return productCatalogCache.suggest(prefix, max);
+        }
+
+        return productMapper.selectList(new LambdaQueryWrapper<Product>()
+                        .select(Product::getName)
+                        .eq(Product::getStatus, PUBLIC_PRODUCT_STATUS)
+                        .likeRight(Product::getName, prefix.trim())
+                        .orderByDesc(Product::getCreatedAt)
+                        .last("LIMIT " + max * 2))
+                .stream()
+                .map(Product::getName)
+                .distinct()
+                .limit(max)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -364,23 +531,93 @@ public class ProductServiceImpl implements ProductService {
      * @param sort         排序参数，格式："字段名,asc/desc"
      */
     private static void applySort(LambdaQueryWrapper<Product> queryWrapper, String sort) {
-        if (!StringUtils.hasText(sort)) {
-            queryWrapper.orderByDesc(Product::getCreatedAt);
-            return;
+        ProductSort productSort = ProductSort.parse(sort);
+        queryWrapper.orderBy(true, productSort.asc(), sortColumn(productSort));
+    }
+
+    /**
+     * 应用键集分页条件与排序到查询构建器
+     * <p>
+     * 排序键相同的记录以 ID 同向排序，游标条件为
+     * {@code (key > v) OR (key = v AND id > lastId)}（降序时为小于），并多取一条用于判断是否还有下一页。
+     *
+     * @param queryWrapper 查询构建器
+     * @param sort         排序
+     * @param cursor       上一页游标（首页为空）
+     * @param size         每页数量
+     */
+    private static void applyKeyset(LambdaQueryWrapper<Product> queryWrapper, ProductSort sort, String cursor, int size) {
+        SFunction<Product, ?> column = sortColumn(sort);
+        boolean byId = ProductSort.ID.equals(sort.field());
+        if (StringUtils.hasText(cursor)) {
+            ProductCursor after = ProductCursor.decode(cursor, sort);
+            if (byId) {
+                queryWrapper.gt(sort.asc(), Product::getId, after.id())
+                        .lt(!sort.asc(), Product::getId, after.id());
+            } else {
+                Object value = after.value();
+                queryWrapper.and(w -> w
+                        .gt(sort.asc(), column, value)
+                        .lt(!sort.asc(), column, value)
+                        .or(x -> x.eq(column, value)
+                                .gt(sort.asc(), Product::getId, after.id())
+                                .lt(!sort.asc(), Product::getId, after.id())));
+            }
         }
+        queryWrapper.orderBy(true, sort.asc(), column)
+                .orderBy(!byId, sort.asc(), Product::getId)
+                .last("LIMIT " + (size + 1));
+    }
+
+    /**
+     * 排序字段对应的列
+     */
+    private static SFunction<Product, ?> sortColumn(ProductSort sort) {
+        return switch (sort.field()) {
+            case ProductSort.UPDATED_AT -> Product::getUpdatedAt;
+            case ProductSort.PRICE -> Product::getPrice;
+            case ProductSort.ID -> Product::getId;
+            default -> Product::getCreatedAt;
+        };
+    }
 
-        String[] parts = sort.split(",", 2);
-        String field = parts[0].trim();
-        String direction = parts.length > 1 ? parts[1].trim().toLowerCase(Locale.ROOT) : "asc";
-        boolean asc = !"desc".equals(direction);
+    /**
+     * 将多取一条的查询结果转换为游标分页响应
+     */
+    private static <T> CursorPageVO<T> toCursorPage(List<Product> records, ProductSort sort, int size,
+                                                    Function<ProductVO, T> converter) {
+        boolean hasMore = records.size() > size;
+        List<ProductVO> items = records.stream()
+                .limit(size)
+                .map(ProductVO::fromEntity)
+                .collect(Collectors.toList());
+        String nextCursor = hasMore ? ProductCursor.after(sort, items.get(items.size() - 1)) : null;
+        return CursorPageVO.of(items.stream().map(converter).collect(Collectors.toList()), nextCursor, size);
+    }
+
+    /**
+     * 限定查询列
+     * <p>
+     * 主键始终查询；游标分页时同时查询排序字段（生成游标需要）。
+     *
+     * @param queryWrapper 查询构建器
+     * @param properties   需要查询的实体属性名（null 表示全部列）
+     * @param sort         游标分页的排序（非游标分页传 null）
+     */
+    private static void applyFields(LambdaQueryWrapper<Product> queryWrapper, Set<String> properties, ProductSort sort) {
+        if (properties == null) {
+            return;
+        }
+        String sortProperty = sort != null ? sort.field() : null;
+        queryWrapper.select(Product.class,
+                field -> properties.contains(field.getProperty()) || field.getProperty().equals(sortProperty));
+    }
 
-        switch (field) {
-            case "updatedAt" -> queryWrapper.orderBy(true, asc, Product::getUpdatedAt);
-            case "createdAt" -> queryWrapper.orderBy(true, asc, Product::getCreatedAt);
-            case "price" -> queryWrapper.orderBy(true, asc, Product::getPrice);
-            case "id" -> queryWrapper.orderBy(true, asc, Product::getId);
-            default -> queryWrapper.orderByDesc(Product::getCreatedAt);
+    private static int normalizeScrollSize(Integer size) {
+        if (size == null || size < 1) {
+            return 20;
         }
+        return Math.min(size, MAX_SCROLL_SIZE);
     }
 
     /**
@@ -407,7 +644,7 @@ public class ProductServiceImpl implements ProductService {
     /**
      * 根据ID获取公开商品详情（小程序端）
      * <p>
-     * 仅返回状态为"上架"的商品，用于小程序端商品详情展示。
+     * 仅返回状态为"上架"的商品，用于小程序端商品详情展示（启用缓存时由内存目录响应）。
      *
      * @param id 商品ID
      * @return 商品VO
@@ -419,6 +656,14 @@ public class ProductServiceImpl implements ProductService {
             throw new BusinessException(400, "商品ID不能为空");
         }
 
+        if (productCatalogCache.isEnabled()) {
+            ProductVO cached = productCatalogCache.getById(id);
+            if (cached == null) {
+                throw new BusinessException(404, "商品不存在");
+            }
+            return cached;
+        }
+
         Product product = productMapper.selectById(id);
         if (product == null || !PUBLIC_PRODUCT_STATUS.equals(product.getStatus())) {
             throw new BusinessException(404, "商品不存在");
@@ -427,6 +672,59 @@ public class ProductServiceImpl implements ProductService {
         return ProductVO.fromEntity(product);
     }
 
+    /**
+     * 批量获取公开商品详情（小程序端询价单恢复）
+     * <p>
+     * 启用缓存时逐个从内存目录读取，否则一次 selectBatchIds 查询；
+     * 不存在、已删除或未上架的ID归入 missingIds，不抛出异常。
+     *
+     * @param ids 商品ID列表（重复ID只返回一次）
+     * @return 上架商品（按请求顺序）与不可用的商品ID
+     */
+    @Override
+    public ProductBatchVO getPublicProductsByIds(List<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>();
+        if (ids != null) {
+            for (Long id : ids) {
+                if (id != null) {
+                    distinctIds.add(id);
+                }
+            }
+        }
+
+        Map<Long, ProductVO> found = new HashMap<>(distinctIds.size() * 2);
+        if (productCatalogCache.isEnabled()) {
+            for (Long id : distinctIds) {
+                ProductVO cached = productCatalogCache.getById(id);
+                if (cached != null) {
+                    found.put(id, cached);
+                }
+            }
+        } else if (!distinctIds.isEmpty()) {
+            for (Product product : productMapper.selectBatchIds(distinctIds)) {
+                if (PUBLIC_PRODUCT_STATUS.equals(product.getStatus())) {
+                    found.put(product.getId(), ProductVO.fromEntity(product));
+                }
+            }
+        }
+
+        List<ProductVO> products = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            ProductVO product = found.get(id);
+            if (product != null) {
+                products.add(product);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        log.debug("批量获取公开商品: requested={}, found={}, missing={}", distinctIds.size(), products.size(), missingIds);
+        return ProductBatchVO.builder()
+                .products(products)
+                .missingIds(missingIds)
+                .build();
+    }
+
     /**
      * 删除商品（逻辑删除）
      *
@@ -449,6 +747,8 @@ public class ProductServiceImpl implements ProductService {
         int result = productMapper.deleteById(id);
         if (result > 0) {
             log.info("商品删除成功: id={}, name={}", id, product.getName());
+            productChangeService.record(id);
+            productCatalogCache.invalidate();
         } else {
             throw new BusinessException(500, "删除失败");
         }
@@ -492,6 +792,13 @@ public class ProductServiceImpl implements ProductService {
         }
 
         log.info("商品视频提取信息更新成功: id={}, status={}, targetUrl={}, videoUrl={}", id, status, targetUrl, videoUrl);
+        productChangeService.record(id);
+        productCatalogCache.invalidate();
+
+        // 提取成功后异步校验视频地址（不阻塞本次请求）
+        if (VideoExtractStatus.SUCCESS.name().equals(status) && StringUtils.hasText(videoUrl)) {
+            runAfterCommit(() -> productVideoExtractAsyncService.validateVideoUrl(id, videoUrl, message));
+        }
 
         return ProductVO.fromEntity(productMapper.selectById(id));
     }
@@ -0,0 +1,282 @@
+package com.fireworks.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.fireworks.entity.Product;
+import com.fireworks.mapper.ProductMapper;
+import com.fireworks.cache.ProductCatalogCache;
+import com.fireworks.dto.VideoExtractResult;
+import com.fireworks.dto.VideoUrlProbeResult;
+import com.fireworks.enums.VideoExtractStatus;
+import com.fireworks.metrics.ExecutorTaskMetrics;
+import com.fireworks.metrics.VideoExtractMetrics;
+import com.fireworks.service.ProductVideoExtractAsyncService;
+import com.fireworks.service.VideoExtractService;
+import com.fireworks.service.VideoUrlProbeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+
+/**
+ * 商品视频异步提取服务实现
+ * <p>
+ * 负责异步执行视频提取任务，避免阻塞商品保存流程。
+ * <p>
+ * 核心职责：
+ * <ul>
+ *   <li>接收商品ID和二维码图片URL</li>
+ *   <li>调用 {@link VideoExtractService} 执行实际提取</li>
+ *   <li>将提取结果更新到商品记录</li>
+ *   <li>提取成功后异步校验视频地址，校验结论追加到提取说明</li>
+ *   <li>记录从任务提交（商品保存后）到结果写回的耗时指标</li>
+ * </ul>
+ * <p>
+ * 使用独立线程池 {@code videoExtractExecutor} 执行，防止并发过高拖垮实例。
+ *
+ * @see VideoExtractService 视频提取核心服务
+ * @see ProductServiceImpl#createProduct 创建商品时触发
+ * @see ProductServiceImpl#updateProduct 更新商品时触发（仅二维码图变更）
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductVideoExtractAsyncServiceImpl implements ProductVideoExtractAsyncService {
+
+    private final ProductMapper productMapper;
+    private final VideoExtractService videoExtractService;
+    private final VideoUrlProbeService videoUrlProbeService;
+    private final VideoExtractMetrics videoExtractMetrics;
+    private final ProductCatalogCache productCatalogCache;
+
+    /** 提取说明字段长度上限（与 video_extract_message 列一致） */
+    private static final int MESSAGE_MAX_LENGTH = 500;
+
+    /**
+     * 异步提取视频并更新商品信息
+     * <p>
+     * 执行流程：
+     * <ol>
+     *   <li>提取关闭（{@code app.video.extract.mode=off} 或精简构建）时直接返回</li>
+     *   <li>校验参数，缺少二维码图片则标记为 SKIPPED</li>
+     *   <li>更新状态为 RUNNING，表示开始解析</li>
+     *   <li>调用 {@link VideoExtractService#extractVideoFromQrCodeImage} 执行提取</li>
+     *   <li>根据提取结果更新商品的视频URL和状态信息</li>
+     * </ol>
+     * <p>
+     * 任何异常都会被捕获并记录，不会抛出到调用方，确保静默失败。
+     *
+     * @param productId       商品ID
+     * @param qrCodeImageUrl  二维码图片URL（商品的第3张图片）
+     * @param resetVideoUrl   是否重置视频URL（更新商品时为true，新建时为false）
+     */
+    @Async("videoExtractExecutor")
+    @Override
+    public void extractAndUpdate(Long productId, String qrCodeImageUrl, boolean resetVideoUrl) {
+        if (productId == null) {
+            return;
+        }
+        if (!videoExtractService.isEnabled()) {
+            // 提取关闭时保留原有提取结果，不覆盖为不支持
+            return;
+        }
+
+        if (!StringUtils.hasText(qrCodeImageUrl)) {
+            updateExtractInfo(productId, null, VideoExtractStatus.SKIPPED, "缺少二维码图片", null, resetVideoUrl, null);
+            return;
+        }
+
+        updateExtractInfo(productId, null, VideoExtractStatus.RUNNING, "开始解析", null, resetVideoUrl, null);
+        extract(productId, qrCodeImageUrl, resetVideoUrl);
+    }
+
+    /**
+     * 执行已认领商品的提取
+     * <p>
+     * 认领时只标记 QUEUED，在线程池队列中等待的时间不计入 RUNNING，卡住检测只针对真正开始的任务；
+     * 开始时的条件更新保证同一次认领最多执行一次，复位后重新认领的任务与旧任务也不会同时执行。
+     *
+     * @param productId      商品ID
+     * @param qrCodeImageUrl 二维码图片URL
+     */
+    @Async("videoExtractExecutor")
+    @Override
+    public void extractQueued(Long productId, String qrCodeImageUrl) {
+        if (productId == null || !StringUtils.hasText(qrCodeImageUrl)) {
+            return;
+        }
+        LambdaUpdateWrapper<Product> start = new LambdaUpdateWrapper<>();
+        start.eq(Product::getId, productId)
+                .eq(Product::getVideoExtractStatus, VideoExtractStatus.QUEUED.name())
+                .set(Product::getVideoExtractStatus, VideoExtractStatus.RUNNING.name())
+                .set(Product::getVideoExtractMessage, "开始解析")
+                .set(Product::getVideoExtractAt, LocalDateTime.now());
+        if (productMapper.update(null, start) != 1) {
+            log.info("[视频提取] 认领已失效，跳过: productId={}", productId);
+            return;
+        }
+        productCatalogCache.invalidate();
+        extract(productId, qrCodeImageUrl, false);
+    }
+
+    /**
+     * 执行提取并写回结果（商品已标记为 RUNNING）
+     */
+    private void extract(Long productId, String qrCodeImageUrl, boolean resetVideoUrl) {
+        VideoExtractStatus finalStatus = VideoExtractStatus.FAILED;
+        long start = System.currentTimeMillis();
+        try {
+            VideoExtractResult result = videoExtractService.extractVideoFromQrCodeImage(qrCodeImageUrl);
+            finalStatus = applyResult(productId, result, resetVideoUrl, (int) (System.currentTimeMillis() - start));
+        } catch (Exception e) {
+            log.error("[视频提取] 异步解析异常: productId={}", productId, e);
+            updateExtractInfo(productId, null, VideoExtractStatus.FAILED, "异步解析异常", null, resetVideoUrl,
+                    (int) (System.currentTimeMillis() - start));
+        } finally {
+            videoExtractMetrics.recordTimeToVideo(finalStatus, ExecutorTaskMetrics.currentTaskSubmittedAtNanos());
+        }
+    }
+
+    /**
+     * 应用提取结果到商品
+     * <p>
+     * 根据提取结果的状态决定是否更新视频URL：
+     * <ul>
+     *   <li>SUCCESS：更新 videoUrl 为提取到的视频地址</li>
+     *   <li>其他状态：videoUrl 置为 null（或保留原值，取决于 resetVideoUrl）</li>
+     * </ul>
+     *
+     * @param productId     商品ID
+     * @param result        视频提取结果
+     * @param resetVideoUrl 是否重置视频URL
+     * @param costMs        提取耗时（毫秒）
+     * @return 写回的提取状态
+     */
+    private VideoExtractStatus applyResult(Long productId, VideoExtractResult result, boolean resetVideoUrl, int costMs) {
+        if (result == null || result.getStatus() == null) {
+            updateExtractInfo(productId, null, VideoExtractStatus.FAILED, "提取结果为空", null, resetVideoUrl, costMs);
+            return VideoExtractStatus.FAILED;
+        }
+
+        String videoUrl = result.getStatus() == VideoExtractStatus.SUCCESS ? result.getVideoUrl() : null;
+        updateExtractInfo(productId, videoUrl, result.getStatus(), result.getMessage(), result.getTargetUrl(),
+                resetVideoUrl, costMs);
+
+        if (StringUtils.hasText(videoUrl)) {
+            validateVideoUrl(productId, videoUrl, result.getMessage());
+        }
+        return result.getStatus();
+    }
+
+    /**
+     * 异步校验视频地址并回写校验结论
+     * <p>
+     * 探测在 {@code videoProbeExecutor} 中执行且带结果缓存，不占用提取线程，
+     * 也不会对同一地址重复发起请求。校验失败不改变提取状态，仅追加说明并记录巡检字段。
+     *
+     * @param productId      商品ID
+     * @param videoUrl       已保存的视频地址
+     * @param extractMessage 提取说明
+     */
+    @Override
+    public void validateVideoUrl(Long productId, String videoUrl, String extractMessage) {
+        if (productId == null || !StringUtils.hasText(videoUrl)) {
+            return;
+        }
+        videoUrlProbeService.probeCached(videoUrl).whenComplete((probe, e) -> {
+            if (e != null || probe == null) {
+                log.warn("[视频提取] 视频地址校验异常: productId={}", productId, e);
+                return;
+            }
+            applyValidation(productId, videoUrl, extractMessage, probe);
+        });
+    }
+
+    /**
+     * 回写视频地址校验结论
+     * <p>
+     * 以 videoUrl 作为条件，避免覆盖校验期间被重新提取的新地址；显式保留 updated_at。
+     *
+     * @param productId      商品ID
+     * @param videoUrl       被校验的视频地址
+     * @param extractMessage 提取说明
+     * @param probe          探测结果
+     */
+    private void applyValidation(Long productId, String videoUrl, String extractMessage, VideoUrlProbeResult probe) {
+        String verdict = switch (probe.getStatus()) {
+            case ALIVE -> "可访问";
+            case DEAD -> "疑似失效";
+            default -> "无法判断";
+        };
+        String detail = probe.getHttpStatus() != null ? "HTTP " + probe.getHttpStatus() : probe.getMessage();
+        String message = (StringUtils.hasText(extractMessage) ? extractMessage : "") + "（地址校验: " + verdict
+                + (StringUtils.hasText(detail) ? ", " + detail : "") + "）";
+        if (message.length() > MESSAGE_MAX_LENGTH) {
+            message = message.substring(0, MESSAGE_MAX_LENGTH);
+        }
+
+        LambdaUpdateWrapper<Product> update = new LambdaUpdateWrapper<>();
+        update.eq(Product::getId, productId)
+                .eq(Product::getVideoUrl, videoUrl)
+                .set(Product::getVideoExtractMessage, message)
+                .set(Product::getVideoCheckStatus, probe.getStatus().name())
+                .set(Product::getVideoCheckHttpStatus, probe.getHttpStatus())
+                .set(Product::getVideoCheckLatencyMs, probe.getLatencyMs() != null ? probe.getLatencyMs().intValue() : null)
+                .set(Product::getVideoCheckedAt, LocalDateTime.now())
+                .setSql("updated_at = updated_at");
+        if (productMapper.update(null, update) > 0) {
+            productCatalogCache.invalidate();
+        }
+    }
+
+    /**
+     * 更新商品的视频提取信息到数据库
+     * <p>
+     * 使用 MyBatis-Plus 的 LambdaUpdateWrapper 进行条件更新：
+     * <ul>
+     *   <li>videoExtractStatus：提取状态枚举的名称</li>
+     *   <li>videoExtractMessage：状态描述信息</li>
+     *   <li>videoExtractTargetUrl：目标网址（用于后续分析）</li>
+     *   <li>videoUrl：仅在 SUCCESS 状态或 resetVideoUrl=true 时更新</li>
+     *   <li>videoExtractCostMs：仅在有提取耗时（提取已执行）时更新</li>
+     *   <li>videoExtractAt：开始提取（RUNNING）时记录，用于检测卡住的任务与重试排序</li>
+     *   <li>videoExtractAttempts：提取成功时清零</li>
+     * </ul>
+     *
+     * @param productId     商品ID
+     * @param videoUrl      视频URL（成功时有值）
+     * @param status        提取状态枚举
+     * @param message       状态描述
+     * @param targetUrl     目标网址
+     * @param resetVideoUrl 是否强制更新 videoUrl 字段
+     * @param costMs        提取耗时（毫秒），未执行提取时为 null
+     */
+    private void updateExtractInfo(
+            Long productId,
+            String videoUrl,
+            VideoExtractStatus status,
+            String message,
+            String targetUrl,
+            boolean resetVideoUrl,
+            Integer costMs
+    ) {
+        LambdaUpdateWrapper<Product> update = new LambdaUpdateWrapper<>();
+        update.eq(Product::getId, productId)
+                .set(Product::getVideoExtractStatus, status != null ? status.name() : null)
+                .set(Product::getVideoExtractMessage, message)
+                .set(Product::getVideoExtractTargetUrl, targetUrl)
+                .set(costMs != null, Product::getVideoExtractCostMs, costMs)
+                .set(status == VideoExtractStatus.RUNNING, Product::getVideoExtractAt, LocalDateTime.now())
+                .set(status == VideoExtractStatus.SUCCESS, Product::getVideoExtractAttempts, 0)
+                .set(status == VideoExtractStatus.SUCCESS || resetVideoUrl, Product::getVideoUrl, videoUrl);
+
+        int rows = productMapper.update(null, update);
+        if (rows <= 0) {
+            log.warn("[视频提取] 更新失败: productId={}, status={}", productId, status);
+            return;
+        }
+        productCatalogCache.invalidate();
+    }
+}
@@ -0,0 +1,110 @@
+package com.fireworks.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fireworks.dto.VideoExtractResult;
+import com.fireworks.enums.VideoExtractStatus;
+import com.fireworks.extract.ExtractRequest;
+import com.fireworks.metrics.VideoExtractMetrics;
+import com.fireworks.service.VideoExtractService;
+import com.fireworks.util.ExtractDeadline;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 远程视频提取实现
+ * <p>
+ * 调用独立部署的提取服务（fireworks-extract 的 {@code ExtractServerMain}），
+ * API 实例无需加载 HtmlUnit/ZXing。剩余预算随请求传给提取服务，HTTP 超时在此基础上加宽限时间。
+ * <p>
+ * 阶段耗时发生在提取服务进程内，此处只记录含网络往返的总耗时指标。
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "app.video.extract", name = "mode", havingValue = "remote")
+public class RemoteVideoExtractServiceImpl implements VideoExtractService {
+
+    /** 连接超时（毫秒） */
+    private static final int CONNECT_TIMEOUT_MS = 3000;
+    /** 在剩余预算之外的响应宽限时间（毫秒） */
+    private static final long RESPONSE_GRACE_MS = 2000;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(CONNECT_TIMEOUT_MS))
+            .build();
+
+    private final ObjectMapper objectMapper;
+    private final VideoExtractMetrics videoExtractMetrics;
+    private final URI extractUri;
+    private final long extractBudgetMs;
+
+    public RemoteVideoExtractServiceImpl(
+            ObjectMapper objectMapper,
+            VideoExtractMetrics videoExtractMetrics,
+            @Value("${app.video.extract.remote.url}") String remoteUrl,
+            @Value("${app.video.extract.budget-ms:45000}") long extractBudgetMs) {
+        this.objectMapper = objectMapper;
+        this.videoExtractMetrics = videoExtractMetrics;
+        this.extractUri = URI.create(remoteUrl.replaceAll("/+$", "") + "/extract");
+        this.extractBudgetMs = extractBudgetMs;
+        log.info("[视频提取] 使用远程提取服务: {}", extractUri);
+    }
+
+    @Override
+    public VideoExtractResult extractVideoFromQrCodeImage(String qrCodeImageUrl) {
+        return extractVideoFromQrCodeImage(qrCodeImageUrl, ExtractDeadline.after(extractBudgetMs));
+    }
+
+    @Override
+    public VideoExtractResult extractVideoFromQrCodeImage(String qrCodeImageUrl, ExtractDeadline deadline) {
+        long start = System.nanoTime();
+        VideoExtractResult result = callRemote(qrCodeImageUrl, deadline);
+        videoExtractMetrics.recordExtraction("remote", qrCodeImageUrl, result, System.nanoTime() - start, Map.of());
+        return result;
+    }
+
+    private VideoExtractResult callRemote(String qrCodeImageUrl, ExtractDeadline deadline) {
+        long budgetMs = deadline.remainingMs();
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(ExtractRequest.builder()
+                    .qrCodeImageUrl(qrCodeImageUrl)
+                    .budgetMs(budgetMs)
+                    .build());
+            HttpRequest request = HttpRequest.newBuilder(extractUri)
+                    .timeout(Duration.ofMillis(budgetMs + RESPONSE_GRACE_MS))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+            HttpResponse<byte[]> resp = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (resp.statusCode() != 200) {
+                return failed("提取服务返回 HTTP " + resp.statusCode());
+            }
+            return objectMapper.readValue(resp.body(), VideoExtractResult.class);
+        } catch (HttpTimeoutException e) {
+            log.warn("[视频提取] 远程提取超时: {}", qrCodeImageUrl);
+            return failed("提取服务调用超时");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failed("提取服务调用被中断");
+        } catch (Exception e) {
+            log.warn("[视频提取] 远程提取失败: {}", qrCodeImageUrl, e);
+            return failed("提取服务不可用");
+        }
+    }
+
+    private static VideoExtractResult failed(String message) {
+        return VideoExtractResult.builder()
+                .status(VideoExtractStatus.FAILED)
+                .message(message)
+                .build();
+    }
+}
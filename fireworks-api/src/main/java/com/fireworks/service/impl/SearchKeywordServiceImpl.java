@@ -0,0 +1,216 @@
+package com.fireworks.service.impl;
+
+import com.fireworks.mapper.SearchKeywordStatMapper;
+import com.fireworks.service.SearchKeywordService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 搜索关键词统计服务实现
+ * <p>
+ * 请求线程只在当前窗口（{@link ConcurrentHashMap}）中把客户端标识的哈希写入关键词的固定大小位图
+ * （{@link ClientSketch}，线性计数估算不同客户端数）：关键词已存在时无锁、无分配，同一窗口内同一客户端重复搜索只计一次；
+ * 单个窗口的不同关键词数有上限，超出后新关键词不再计入。
+ * <p>
+ * 定时任务（默认每分钟）换出当前窗口，把每个关键词本窗口的不同客户端数（估算）作为得分，
+ * 取得分最高的前 N 个关键词合并写入 search_keyword_stat，
+ * 合并时原分数先按半衰期衰减再累加，随后删除衰减后分数过低的行，并从表中读取最新排行缓存在内存；
+ * 各实例都读同一张表，因此热门排行在多实例间一致。换出窗口的瞬间并发的少量计数可能丢失，不影响排行。
+ */
+@Slf4j
+@Service
+public class SearchKeywordServiceImpl implements SearchKeywordService {
+
+    /** 默认热门关键词（未启用统计或统计数据不足时补齐） */
+    private static final List<String> DEFAULT_KEYWORDS = List.of("烟花", "礼花", "鞭炮", "仙女棒", "孔明灯", "烟火", "礼品装");
+
+    /** 关键词最大长度（超出视为无效输入，不计入） */
+    private static final int MAX_KEYWORD_LENGTH = 20;
+
+    /** 排行缓存条数（调用方取前 N 条） */
+    private static final int CACHED_HOT_SIZE = 50;
+
+    /** 衰减后低于此分数的关键词被删除 */
+    private static final double MIN_SCORE = 0.5;
+
+
+    private final SearchKeywordStatMapper searchKeywordStatMapper;
+    private final boolean enabled;
+    private final long halfLifeSeconds;
+    private final int maxTracked;
+    private final int maxFlush;
+    /**
+     * 进入热门排行所需的最低得分：得分为各窗口不同客户端数之和按半衰期衰减，
+     * 同一客户端在不同窗口的搜索分别计入，因此不等同于不同客户端总数
+     */
+    private final double minScore;
+
+    /** 当前计数窗口：关键词 → 搜索过的客户端位图 */
+    private volatile Map<String, ClientSketch> window = new ConcurrentHashMap<>();
+
+    /** 最近一次从数据库读取的排行 */
+    private volatile List<String> hotKeywords = List.of();
+
+    public SearchKeywordServiceImpl(SearchKeywordStatMapper searchKeywordStatMapper,
+                                    @Value("${app.search.hot-keywords.enabled:true}") boolean enabled,
+                                    @Value("${app.search.hot-keywords.half-life-hours:24}") long halfLifeHours,
+                                    @Value("${app.search.hot-keywords.max-tracked:10000}") int maxTracked,
+                                    @Value("${app.search.hot-keywords.max-flush:200}") int maxFlush,
+                                    @Value("${app.search.hot-keywords.min-score:3}") double minScore) {
+        this.searchKeywordStatMapper = searchKeywordStatMapper;
+        this.enabled = enabled;
+        this.halfLifeSeconds = Math.max(1, halfLifeHours) * 3600;
+        this.maxTracked = Math.max(1, maxTracked);
+        this.maxFlush = Math.max(1, maxFlush);
+        this.minScore = Math.max(MIN_SCORE, minScore);
+    }
+
+    @Override
+    public void record(String keyword, String clientId) {
+        if (!enabled) {
+            return;
+        }
+        String key = normalize(keyword);
+        if (key == null) {
+            return;
+        }
+        Map<String, ClientSketch> counts = window;
+        ClientSketch clients = counts.get(key);
+        if (clients == null) {
+            if (counts.size() >= maxTracked) {
+                return;
+            }
+            clients = counts.computeIfAbsent(key, k -> new ClientSketch());
+        }
+        clients.add(clientId);
+    }
+
+    @Override
+    public List<String> getHotKeywords(int limit) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String keyword : hotKeywords) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(keyword);
+        }
+        for (String keyword : DEFAULT_KEYWORDS) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(keyword);
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * 定时合并窗口计数并刷新排行（默认每分钟）
+     */
+    @Scheduled(fixedDelayString = "${app.search.hot-keywords.flush-interval-ms:60000}",
+            initialDelayString = "${app.search.hot-keywords.initial-delay-ms:10000}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        Map<String, ClientSketch> counts = window;
+        window = new ConcurrentHashMap<>();
+
+        List<Map.Entry<String, Long>> top = counts.entrySet().stream()
+                .map(e -> Map.entry(e.getKey(), e.getValue().estimate()))
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(maxFlush)
+                .toList();
+        try {
+            for (Map.Entry<String, Long> e : top) {
+                searchKeywordStatMapper.accumulate(e.getKey(), e.getValue(), halfLifeSeconds);
+            }
+            int deleted = searchKeywordStatMapper.deleteCold(halfLifeSeconds, MIN_SCORE);
+            hotKeywords = List.copyOf(searchKeywordStatMapper.selectHot(halfLifeSeconds, minScore, CACHED_HOT_SIZE));
+            log.debug("[热门搜索] 合并窗口: keywords={}, written={}, deleted={}", counts.size(), top.size(), deleted);
+        } catch (Exception e) {
+            // 本窗口计数丢弃；排行保留上一次结果
+            log.warn("[热门搜索] 合并失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 规范化关键词：去除首尾空白、英文转小写（无需变化时不产生新字符串）
+     *
+     * @return 规范化后的关键词，空白或过长时返回 null
+     */
+    private static String normalize(String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+        String key = keyword.trim().toLowerCase(Locale.ROOT);
+        if (key.isEmpty() || key.length() > MAX_KEYWORD_LENGTH) {
+            return null;
+        }
+        return key;
+    }
+
+    /**
+     * 单个关键词在一个窗口内的不同客户端计数（线性计数）
+     * <p>
+     * 固定 512 位位图：客户端标识的 64 位哈希决定置位的位置，按未置位比例估算不同客户端数；
+     * 几百以内误差很小，超出位图容量时估算值封顶，不影响排行。置位用 CAS，已置位时只读不写。
+     */
+    static final class ClientSketch {
+
+        private static final int BITS = 512;
+
+        private final AtomicLongArray words = new AtomicLongArray(BITS / 64);
+
+        void add(String clientId) {
+            int bit = (int) (hash(clientId) >>> 55);
+            int index = bit >>> 6;
+            long mask = 1L << (bit & 63);
+            long current = words.get(index);
+            while ((current & mask) == 0 && !words.compareAndSet(index, current, current | mask)) {
+                current = words.get(index);
+            }
+        }
+
+        long estimate() {
+            int zeros = 0;
+            for (int i = 0; i < words.length(); i++) {
+                zeros += Long.bitCount(~words.get(i));
+            }
+            if (zeros == BITS) {
+                return 0;
+            }
+            if (zeros == 0) {
+                zeros = 1;
+            }
+            return Math.max(1, Math.round(BITS * Math.log((double) BITS / zeros)));
+        }
+
+        /**
+         * FNV-1a 64 位哈希再做一次混合（高位用于取位置）
+         */
+        private static long hash(String value) {
+            long h = 0xcbf29ce484222325L;
+            if (value != null) {
+                for (int i = 0; i < value.length(); i++) {
+                    h ^= value.charAt(i);
+                    h *= 0x100000001b3L;
+                }
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
@@ -0,0 +1,418 @@
+package com.fireworks.service.impl;
+
+import com.fireworks.entity.Product;
+import com.fireworks.enums.VideoExtractStatus;
+import com.fireworks.mapper.ProductMapper;
+import com.fireworks.service.VideoExtractAnalyticsService;
+import com.fireworks.vo.VideoExtractHostStatVO;
+import com.fireworks.vo.VideoExtractPathStatVO;
+import com.fireworks.vo.VideoExtractReportVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 视频提取分析服务实现
+ * <p>
+ * 增量汇总：内存中按商品ID保存每个商品的提取概要（域名、路径形态、查询参数、状态、耗时），
+ * 每次生成报告前只按 (updated_at, id) 游标读取上次之后变更的商品，不重复全表扫描。
+ * 游标每次回退 {@value #RESCAN_OVERLAP_SECONDS} 秒，补上同一秒内晚提交的更新；按商品ID覆盖，重复读取无副作用。
+ * <p>
+ * 报告在内存概要上聚合，商品规模下开销可忽略。实例重启后首次请求会做一次全量加载。
+ */
+@Slf4j
+@Service
+public class VideoExtractAnalyticsServiceImpl implements VideoExtractAnalyticsService {
+
+    /** 游标回退秒数（updated_at 为秒级精度） */
+    private static final long RESCAN_OVERLAP_SECONDS = 60;
+
+    /** 初始游标 */
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    /** 判定为专用提取器候选的最少未解决商品数 */
+    private static final int MIN_CANDIDATE_UNRESOLVED = 2;
+
+    /** 主路径形态占未解决商品的最低比例 */
+    private static final double DOMINANT_PATH_RATIO = 0.6;
+
+    /** 每个参数最多记录的不同取值数（只需判断是否变化） */
+    private static final int MAX_TRACKED_VALUES = 2;
+
+    /** 纯数字路径段 */
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("\\d+");
+
+    /** 长 ID 路径段：16 位以上、含数字的字母数字串（UUID、哈希等） */
+    private static final Pattern LONG_ID_SEGMENT = Pattern.compile("(?=.*\\d)[A-Za-z0-9_-]{16,}");
+
+    private final ProductMapper productMapper;
+    private final int batchSize;
+
+    /** 商品ID -> 提取概要 */
+    private final Map<Long, ExtractEntry> entries = new ConcurrentHashMap<>();
+
+    private LocalDateTime cursorTime = EPOCH;
+    private long cursorId = 0;
+
+    public VideoExtractAnalyticsServiceImpl(
+            ProductMapper productMapper,
+            @Value("${app.video.analytics.batch-size:500}") int batchSize) {
+        this.productMapper = productMapper;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public VideoExtractReportVO getHostReport(int limit) {
+        LocalDateTime asOf = refresh();
+
+        Map<String, List<ExtractEntry>> byHost = new HashMap<>();
+        for (ExtractEntry entry : entries.values()) {
+            byHost.computeIfAbsent(entry.host, h -> new ArrayList<>()).add(entry);
+        }
+
+        List<VideoExtractHostStatVO> hosts = new ArrayList<>();
+        int unresolvedProducts = 0;
+        for (Map.Entry<String, List<ExtractEntry>> e : byHost.entrySet()) {
+            VideoExtractHostStatVO stat = buildHostStat(e.getKey(), e.getValue());
+            unresolvedProducts += stat.getUnresolved();
+            hosts.add(stat);
+        }
+        hosts.sort(Comparator.comparing(VideoExtractHostStatVO::getUnresolved)
+                .thenComparing(VideoExtractHostStatVO::getUnresolvedCostMs)
+                .thenComparing(VideoExtractHostStatVO::getTotal)
+                .reversed());
+
+        return VideoExtractReportVO.builder()
+                .dataAsOf(asOf)
+                .totalProducts(entries.size())
+                .unresolvedProducts(unresolvedProducts)
+                .hosts(hosts.size() > limit ? new ArrayList<>(hosts.subList(0, limit)) : hosts)
+                .build();
+    }
+
+    @Override
+    public Map<String, Double> getHostSuccessRates() {
+        refresh();
+        Map<String, int[]> counts = new HashMap<>();
+        for (ExtractEntry entry : entries.values()) {
+            int[] c = counts.computeIfAbsent(entry.host, h -> new int[2]);
+            c[1]++;
+            if (VideoExtractStatus.SUCCESS.name().equals(entry.status)) {
+                c[0]++;
+            }
+        }
+        Map<String, Double> rates = new HashMap<>(counts.size());
+        counts.forEach((host, c) -> rates.put(host, (c[0] + 1.0) / (c[1] + 2.0)));
+        return rates;
+    }
+
+    /**
+     * 增量读取上次游标之后变更的商品并更新内存概要
+     *
+     * @return 已汇总到的最新更新时间
+     */
+    private synchronized LocalDateTime refresh() {
+        LocalDateTime afterTime = cursorTime.equals(EPOCH) ? EPOCH : cursorTime.minusSeconds(RESCAN_OVERLAP_SECONDS);
+        long afterId = 0;
+        int scanned = 0;
+
+        while (true) {
+            List<Product> batch = productMapper.selectVideoExtractChangesAfter(afterTime, afterId, batchSize);
+            for (Product product : batch) {
+                apply(product);
+            }
+            scanned += batch.size();
+            if (batch.isEmpty()) {
+                break;
+            }
+            Product last = batch.get(batch.size() - 1);
+            afterTime = last.getUpdatedAt();
+            afterId = last.getId();
+            if (afterTime.isAfter(cursorTime) || (afterTime.equals(cursorTime) && afterId > cursorId)) {
+                cursorTime = afterTime;
+                cursorId = afterId;
+            }
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+
+        log.debug("[提取分析] 增量汇总: scanned={}, tracked={}, cursor={}", scanned, entries.size(), cursorTime);
+        return cursorTime.equals(EPOCH) ? null : cursorTime;
+    }
+
+    /**
+     * 用最新的商品记录覆盖其提取概要；已删除、无目标网址或提取未结束的商品移出汇总
+     *
+     * @param product 商品（仅含汇总所需字段）
+     */
+    private void apply(Product product) {
+        String status = product.getVideoExtractStatus();
+        boolean tracked = (product.getDeleted() == null || product.getDeleted() == 0)
+                && StringUtils.hasText(product.getVideoExtractTargetUrl())
+                && StringUtils.hasText(status)
+                && !VideoExtractStatus.RUNNING.name().equals(status)
+                && !VideoExtractStatus.QUEUED.name().equals(status);
+        ExtractEntry entry = tracked ? ExtractEntry.parse(product) : null;
+        if (entry == null) {
+            entries.remove(product.getId());
+        } else {
+            entries.put(product.getId(), entry);
+        }
+    }
+
+    /**
+     * 构建单个域名的统计与建议
+     *
+     * @param host    域名
+     * @param members 该域名下的商品概要
+     * @return 域名统计
+     */
+    private VideoExtractHostStatVO buildHostStat(String host, List<ExtractEntry> members) {
+        Map<String, List<ExtractEntry>> byPath = new HashMap<>();
+        for (ExtractEntry entry : members) {
+            byPath.computeIfAbsent(entry.pathShape, p -> new ArrayList<>()).add(entry);
+        }
+
+        List<VideoExtractPathStatVO> paths = new ArrayList<>();
+        for (Map.Entry<String, List<ExtractEntry>> e : byPath.entrySet()) {
+            paths.add(buildPathStat(e.getKey(), e.getValue()));
+        }
+        paths.sort(Comparator.comparing(VideoExtractPathStatVO::getTotal).reversed());
+
+        int unresolved = 0;
+        long unresolvedCostMs = 0;
+        Map<String, Integer> unresolvedByPath = new HashMap<>();
+        for (ExtractEntry entry : members) {
+            if (entry.isUnresolved()) {
+                unresolved++;
+                unresolvedCostMs += entry.costMs != null ? entry.costMs : 0;
+                unresolvedByPath.merge(entry.pathShape, 1, Integer::sum);
+            }
+        }
+
+        // 未解决商品集中在同一路径形态、且该路径有随商品变化的参数时，专用提取器可以直接按参数调用数据接口
+        VideoExtractPathStatVO dominant = null;
+        if (unresolved > 0) {
+            String dominantShape = unresolvedByPath.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .orElse(null);
+            int dominantCount = unresolvedByPath.getOrDefault(dominantShape, 0);
+            if (dominantCount >= unresolved * DOMINANT_PATH_RATIO) {
+                dominant = paths.stream().filter(p -> p.getPathShape().equals(dominantShape)).findFirst().orElse(null);
+            }
+        }
+        boolean candidate = unresolved >= MIN_CANDIDATE_UNRESOLVED && dominant != null
+                && !dominant.getVaryingParams().isEmpty();
+        String suggestion = null;
+        if (candidate) {
+            suggestion = String.format("%d 个未解决商品集中在 %s，按参数 %s 编写专用 API 提取器",
+                    unresolved, dominant.getPathShape(), String.join("/", dominant.getVaryingParams()));
+        } else if (unresolved >= MIN_CANDIDATE_UNRESOLVED && dominant != null) {
+            suggestion = String.format("未解决商品集中在 %s，但网址无变化参数，需要先分析页面如何定位商品", dominant.getPathShape());
+        }
+
+        return VideoExtractHostStatVO.builder()
+                .host(host)
+                .total(members.size())
+                .statusCounts(countStatuses(members))
+                .unresolved(unresolved)
+                .avgCostMs(averageCost(members))
+                .unresolvedCostMs(unresolvedCostMs)
+                .apiExtractorCandidate(candidate)
+                .suggestion(suggestion)
+                .paths(paths)
+                .build();
+    }
+
+    /**
+     * 构建单个路径形态的统计，区分取值变化与固定的查询参数
+     *
+     * @param pathShape 路径形态
+     * @param members   该路径形态下的商品概要
+     * @return 路径形态统计
+     */
+    private VideoExtractPathStatVO buildPathStat(String pathShape, List<ExtractEntry> members) {
+        Map<String, Set<String>> valuesByKey = new HashMap<>();
+        Map<String, Integer> keyFrequency = new HashMap<>();
+        for (ExtractEntry entry : members) {
+            entry.params.forEach((key, value) -> {
+                keyFrequency.merge(key, 1, Integer::sum);
+                Set<String> values = valuesByKey.computeIfAbsent(key, k -> new HashSet<>());
+                if (values.size() < MAX_TRACKED_VALUES) {
+                    values.add(value);
+                }
+            });
+        }
+
+        List<String> keys = new ArrayList<>(keyFrequency.keySet());
+        keys.sort(Comparator.comparing((String k) -> keyFrequency.get(k)).reversed().thenComparing(k -> k));
+        List<String> varying = new ArrayList<>();
+        List<String> constant = new ArrayList<>();
+        for (String key : keys) {
+            // 只出现在一个商品中的参数无法判断是否变化，按固定处理
+            if (valuesByKey.get(key).size() > 1) {
+                varying.add(key);
+            } else {
+                constant.add(key);
+            }
+        }
+
+        return VideoExtractPathStatVO.builder()
+                .pathShape(pathShape)
+                .total(members.size())
+                .statusCounts(countStatuses(members))
+                .avgCostMs(averageCost(members))
+                .varyingParams(varying)
+                .constantParams(constant)
+                .sampleUrl(members.get(0).url)
+                .build();
+    }
+
+    private static Map<String, Integer> countStatuses(List<ExtractEntry> members) {
+        Map<String, Integer> counts = new TreeMap<>();
+        for (ExtractEntry entry : members) {
+            counts.merge(entry.status, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private static Long averageCost(List<ExtractEntry> members) {
+        long sum = 0;
+        int count = 0;
+        for (ExtractEntry entry : members) {
+            if (entry.costMs != null) {
+                sum += entry.costMs;
+                count++;
+            }
+        }
+        return count == 0 ? null : sum / count;
+    }
+
+    /**
+     * 单个商品的提取概要
+     */
+    private static final class ExtractEntry {
+        private final String host;
+        private final String pathShape;
+        private final Map<String, String> params;
+        private final String status;
+        private final Integer costMs;
+        private final String url;
+
+        private ExtractEntry(String host, String pathShape, Map<String, String> params,
+                             String status, Integer costMs, String url) {
+            this.host = host;
+            this.pathShape = pathShape;
+            this.params = params;
+            this.status = status;
+            this.costMs = costMs;
+            this.url = url;
+        }
+
+        boolean isUnresolved() {
+            return VideoExtractStatus.NEED_DYNAMIC_RENDER.name().equals(status)
+                    || VideoExtractStatus.FAILED.name().equals(status);
+        }
+
+        /**
+         * 解析目标网址：域名、路径形态（含 hash 路由）以及 query 与 hash 路由中的参数
+         *
+         * @param product 商品
+         * @return 提取概要，网址无法解析时返回 null
+         */
+        static ExtractEntry parse(Product product) {
+            String url = product.getVideoExtractTargetUrl().trim();
+            URI uri;
+            try {
+                uri = URI.create(url);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+            if (!StringUtils.hasText(uri.getHost())) {
+                return null;
+            }
+
+            Map<String, String> params = new LinkedHashMap<>();
+            parseQuery(uri.getRawQuery(), params);
+            StringBuilder shape = new StringBuilder(normalizePath(uri.getRawPath()));
+
+            // hash 路由（如 #/pages/goodsdetail?store_id=1&id=2）视为路径的一部分
+            String fragment = uri.getRawFragment();
+            if (StringUtils.hasText(fragment) && (fragment.startsWith("/") || fragment.startsWith("!/"))) {
+                int q = fragment.indexOf('?');
+                String route = q >= 0 ? fragment.substring(0, q) : fragment;
+                shape.append('#').append(normalizePath(route.startsWith("!") ? route.substring(1) : route));
+                if (q >= 0) {
+                    parseQuery(fragment.substring(q + 1), params);
+                }
+            }
+
+            return new ExtractEntry(uri.getHost().toLowerCase(Locale.ROOT), shape.toString(), params,
+                    product.getVideoExtractStatus(), product.getVideoExtractCostMs(), url);
+        }
+
+        private static String normalizePath(String path) {
+            if (!StringUtils.hasText(path) || "/".equals(path)) {
+                return "/";
+            }
+            StringBuilder sb = new StringBuilder();
+            for (String segment : path.split("/")) {
+                if (segment.isEmpty()) {
+                    continue;
+                }
+                sb.append('/');
+                if (NUMERIC_SEGMENT.matcher(segment).matches()) {
+                    sb.append("{n}");
+                } else if (LONG_ID_SEGMENT.matcher(segment).matches()) {
+                    sb.append("{id}");
+                } else {
+                    sb.append(segment.toLowerCase(Locale.ROOT));
+                }
+            }
+            return sb.length() == 0 ? "/" : sb.toString();
+        }
+
+        private static void parseQuery(String query, Map<String, String> params) {
+            if (!StringUtils.hasText(query)) {
+                return;
+            }
+            for (String pair : query.split("&")) {
+                if (pair.isEmpty()) {
+                    continue;
+                }
+                int eq = pair.indexOf('=');
+                String key = eq >= 0 ? pair.substring(0, eq) : pair;
+                String value = eq >= 0 ? pair.substring(eq + 1) : "";
+                try {
+                    key = URLDecoder.decode(key, StandardCharsets.UTF_8);
+                    value = URLDecoder.decode(value, StandardCharsets.UTF_8);
+                } catch (IllegalArgumentException ignored) {
+                    // 保留原始编码
+                }
+                if (!key.isEmpty()) {
+                    params.putIfAbsent(key.toLowerCase(Locale.ROOT), value);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.fireworks.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.fireworks.cache.ProductCatalogCache;
+import com.fireworks.entity.Product;
+import com.fireworks.enums.VideoExtractStatus;
+import com.fireworks.mapper.ProductMapper;
+import com.fireworks.service.ProductVideoExtractAsyncService;
+import com.fireworks.service.VideoExtractAnalyticsService;
+import com.fireworks.service.VideoExtractRetryService;
+import com.fireworks.service.VideoExtractService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 视频提取定时重试服务实现
+ * <p>
+ * 每轮执行：
+ * <ol>
+ *   <li>复位卡住的任务：RUNNING 且开始提取（video_extract_at）早于阈值、或 QUEUED 且认领早于排队阈值的商品改为 FAILED，进入重试候选</li>
+ *   <li>选取候选：NEED_DYNAMIC_RENDER / FAILED、未达重试上限、已过退避期（{@code 基础退避 × 2^重试次数}）</li>
+ *   <li>按优先级排序：等待时长（老化，保证低优先级商品最终也会轮到）+ 上架加分 + 目标域名历史成功率 − 已重试次数</li>
+ *   <li>在每小时提取预算内逐个认领（条件更新为 QUEUED，重试次数 +1），认领成功才提交异步提取</li>
+ * </ol>
+ * 认领只标记 QUEUED，提取线程真正开始时才条件更新为 RUNNING 并重新记录开始时间，
+ * 在线程池队列中等待的任务不会被当作卡住的 RUNNING 复位后再次认领。
+ * 预算与认领都以数据库为准，多实例部署时共享：预算按最近一小时内开始的提取数计算（含编辑商品等触发的提取），
+ * 认领只在状态仍为 NEED_DYNAMIC_RENDER / FAILED 时成功，同一商品不会被多个实例重复提交。
+ * 提取线程池已满时撤销本次认领，本轮提前结束，剩余候选留到下一轮。
+ *
+ * @see VideoExtractAnalyticsService#getHostSuccessRates() 域名成功率
+ */
+@Slf4j
+@Service
+public class VideoExtractRetryServiceImpl implements VideoExtractRetryService {
+
+    /** 商品图片中二维码图的位置（第3张） */
+    private static final int QRCODE_IMAGE_INDEX = 2;
+
+    /** 每等待一小时增加的优先级分 */
+    private static final double AGING_SCORE_PER_HOUR = 1.0;
+    /** 上架商品加分（相当于多等待一天） */
+    private static final double ON_SHELF_SCORE = 24.0;
+    /** 域名成功率权重（成功率 1.0 时相当于多等待一天） */
+    private static final double HOST_SUCCESS_SCORE = 24.0;
+    /** 每次已重试扣分 */
+    private static final double ATTEMPT_PENALTY_SCORE = 6.0;
+    /** 无历史数据的域名默认成功率 */
+    private static final double DEFAULT_HOST_SUCCESS_RATE = 0.5;
+    /** 退避上限 */
+    private static final Duration MAX_BACKOFF = Duration.ofDays(7);
+
+    private final ProductMapper productMapper;
+    private final ProductVideoExtractAsyncService productVideoExtractAsyncService;
+    private final VideoExtractService videoExtractService;
+    private final VideoExtractAnalyticsService videoExtractAnalyticsService;
+    private final ProductCatalogCache productCatalogCache;
+    /** 每轮重试的执行线程池（成功率统计与候选扫描不占用共享的定时任务线程） */
+    private final Executor maintenanceExecutor;
+
+    private final boolean enabled;
+    /** 每小时最多开始的提取数（全局预算） */
+    private final int maxExtractsPerHour;
+    /** 自动重试次数上限 */
+    private final int maxAttempts;
+    /** 基础退避时间 */
+    private final Duration baseBackoff;
+    /** RUNNING 超过此时长视为卡住 */
+    private final Duration stuckRunningAfter;
+    /** QUEUED 超过此时长视为任务已丢失（实例重启时队列中的任务） */
+    private final Duration stuckQueuedAfter;
+    /** 每轮最多读取的候选数 */
+    private final int scanLimit;
+
+    /** 防止上一轮未结束时重复执行 */
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public VideoExtractRetryServiceImpl(
+            ProductMapper productMapper,
+            ProductVideoExtractAsyncService productVideoExtractAsyncService,
+            VideoExtractService videoExtractService,
+            VideoExtractAnalyticsService videoExtractAnalyticsService,
+            ProductCatalogCache productCatalogCache,
+            @Qualifier("maintenanceExecutor") Executor maintenanceExecutor,
+            @Value("${app.video.retry.enabled:true}") boolean enabled,
+            @Value("${app.video.retry.max-extracts-per-hour:20}") int maxExtractsPerHour,
+            @Value("${app.video.retry.max-attempts:5}") int maxAttempts,
+            @Value("${app.video.retry.base-backoff-minutes:30}") long baseBackoffMinutes,
+            @Value("${app.video.retry.stuck-running-minutes:10}") long stuckRunningMinutes,
+            @Value("${app.video.retry.stuck-queued-minutes:120}") long stuckQueuedMinutes,
+            @Value("${app.video.retry.scan-limit:500}") int scanLimit) {
+        this.productMapper = productMapper;
+        this.productVideoExtractAsyncService = productVideoExtractAsyncService;
+        this.videoExtractService = videoExtractService;
+        this.videoExtractAnalyticsService = videoExtractAnalyticsService;
+        this.productCatalogCache = productCatalogCache;
+        this.maintenanceExecutor = maintenanceExecutor;
+        this.enabled = enabled;
+        this.maxExtractsPerHour = Math.max(0, maxExtractsPerHour);
+        this.maxAttempts = Math.max(0, maxAttempts);
+        this.baseBackoff = Duration.ofMinutes(Math.max(1, baseBackoffMinutes));
+        this.stuckRunningAfter = Duration.ofMinutes(Math.max(1, stuckRunningMinutes));
+        this.stuckQueuedAfter = Duration.ofMinutes(Math.max(1, stuckQueuedMinutes));
+        this.scanLimit = Math.max(1, scanLimit);
+    }
+
+    /**
+     * 定时触发（默认每 10 分钟，启动 2 分钟后首次执行），在 {@code maintenanceExecutor} 中执行
+     */
+    @Scheduled(fixedDelayString = "${app.video.retry.interval-ms:600000}",
+            initialDelayString = "${app.video.retry.initial-delay-ms:120000}")
+    public void scheduledRetry() {
+        if (!enabled || !videoExtractService.isEnabled()) {
+            return;
+        }
+        maintenanceExecutor.execute(this::runRound);
+    }
+
+    private void runRound() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            resetStuckRunning();
+            retryUnresolved();
+        } catch (Exception e) {
+            log.error("[视频重试] 执行异常", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public int resetStuckRunning() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime runningThreshold = now.minus(stuckRunningAfter);
+        // 按开始提取时间判断；升级前开始、没有开始时间的任务按 updated_at 判断
+        LambdaUpdateWrapper<Product> running = new LambdaUpdateWrapper<>();
+        running.eq(Product::getVideoExtractStatus, VideoExtractStatus.RUNNING.name())
+                .and(w -> w.lt(Product::getVideoExtractAt, runningThreshold)
+                        .or(n -> n.isNull(Product::getVideoExtractAt).lt(Product::getUpdatedAt, runningThreshold)))
+                .set(Product::getVideoExtractStatus, VideoExtractStatus.FAILED.name())
+                .set(Product::getVideoExtractMessage,
+                        "提取中断（超过 " + stuckRunningAfter.toMinutes() + " 分钟未完成），等待自动重试");
+        int rows = productMapper.update(null, running);
+
+        // 排队中的任务开始时会条件更新为 RUNNING，复位后即使旧任务开始执行也不会与重新认领的任务重复提取
+        LambdaUpdateWrapper<Product> queued = new LambdaUpdateWrapper<>();
+        queued.eq(Product::getVideoExtractStatus, VideoExtractStatus.QUEUED.name())
+                .lt(Product::getVideoExtractAt, now.minus(stuckQueuedAfter))
+                .set(Product::getVideoExtractStatus, VideoExtractStatus.FAILED.name())
+                .set(Product::getVideoExtractMessage,
+                        "排队超过 " + stuckQueuedAfter.toMinutes() + " 分钟未开始，等待自动重试");
+        rows += productMapper.update(null, queued);
+        if (rows > 0) {
+            log.warn("[视频重试] 复位卡住的提取任务: count={}", rows);
+            productCatalogCache.invalidate();
+        }
+        return rows;
+    }
+
+    @Override
+    public int retryUnresolved() {
+        int permits = availablePermits();
+        if (permits <= 0 || maxAttempts <= 0) {
+            return 0;
+        }
+
+        // 从未开始过提取的排在前面（MySQL 升序时 NULL 在前）
+        List<Product> candidates = productMapper.selectList(new LambdaQueryWrapper<Product>()
+                .select(Product::getId, Product::getStatus, Product::getImages, Product::getVideoExtractStatus,
+                        Product::getVideoExtractMessage, Product::getVideoExtractTargetUrl,
+                        Product::getVideoExtractAttempts, Product::getVideoExtractAt, Product::getUpdatedAt)
+                .in(Product::getVideoExtractStatus,
+                        VideoExtractStatus.NEED_DYNAMIC_RENDER.name(), VideoExtractStatus.FAILED.name())
+                .lt(Product::getVideoExtractAttempts, maxAttempts)
+                .orderByAsc(Product::getVideoExtractAt)
+                .last("LIMIT " + scanLimit));
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Double> hostSuccessRates = videoExtractAnalyticsService.getHostSuccessRates();
+        List<ScoredProduct> eligible = new ArrayList<>();
+        for (Product product : candidates) {
+            if (qrCodeImageOf(product) == null || !backoffElapsed(product, now)) {
+                continue;
+            }
+            eligible.add(new ScoredProduct(product, score(product, now, hostSuccessRates)));
+        }
+        eligible.sort(Comparator.comparingDouble(ScoredProduct::score).reversed());
+
+        int submitted = 0;
+        int lost = 0;
+        for (ScoredProduct candidate : eligible) {
+            if (submitted >= permits) {
+                break;
+            }
+            Product product = candidate.product();
+            if (!claim(product)) {
+                // 已被其他实例认领，或读取后状态已变化
+                lost++;
+                continue;
+            }
+            try {
+                productVideoExtractAsyncService.extractQueued(product.getId(), qrCodeImageOf(product));
+            } catch (TaskRejectedException e) {
+                release(product);
+                log.warn("[视频重试] 提取线程池已满，剩余候选留到下一轮");
+                break;
+            }
+            submitted++;
+        }
+
+        log.info("[视频重试] 本轮完成: candidates={}, eligible={}, submitted={}, claimedElsewhere={}, budgetLeft={}",
+                candidates.size(), eligible.size(), submitted, lost, permits - submitted);
+        return submitted;
+    }
+
+    /**
+     * 认领商品：仅当状态仍为 NEED_DYNAMIC_RENDER / FAILED 时改为 QUEUED，记录认领时间（计入每小时预算）并累加重试次数
+     *
+     * @param product 商品
+     * @return 是否认领成功（影响行数为 1）
+     */
+    private boolean claim(Product product) {
+        LambdaUpdateWrapper<Product> update = new LambdaUpdateWrapper<>();
+        update.eq(Product::getId, product.getId())
+                .in(Product::getVideoExtractStatus,
+                        VideoExtractStatus.NEED_DYNAMIC_RENDER.name(), VideoExtractStatus.FAILED.name())
+                .set(Product::getVideoExtractStatus, VideoExtractStatus.QUEUED.name())
+                .set(Product::getVideoExtractMessage, "等待自动重新提取")
+                .setSql("video_extract_at = NOW()")
+                .setSql("video_extract_attempts = video_extract_attempts + 1");
+        return productMapper.update(null, update) == 1;
+    }
+
+    /**
+     * 撤销认领（提交被拒绝时）：恢复认领前的状态、说明、开始时间与重试次数
+     */
+    private void release(Product product) {
+        LambdaUpdateWrapper<Product> update = new LambdaUpdateWrapper<>();
+        update.eq(Product::getId, product.getId())
+                .eq(Product::getVideoExtractStatus, VideoExtractStatus.QUEUED.name())
+                .set(Product::getVideoExtractStatus, product.getVideoExtractStatus())
+                .set(Product::getVideoExtractMessage, product.getVideoExtractMessage())
+                .set(Product::getVideoExtractAt, product.getVideoExtractAt())
+                .setSql("video_extract_attempts = GREATEST(video_extract_attempts - 1, 0)");
+        productMapper.update(null, update);
+    }
+
+    /**
+     * 优先级分：等待越久越高；上架、目标域名成功率高的优先；已多次失败的靠后
+     */
+    private double score(Product product, LocalDateTime now, Map<String, Double> hostSuccessRates) {
+        double waitedHours = Duration.between(lastAttemptAt(product), now).toMinutes() / 60.0;
+        double hostRate = hostSuccessRates.getOrDefault(hostOf(product.getVideoExtractTargetUrl()),
+                DEFAULT_HOST_SUCCESS_RATE);
+        int attempts = product.getVideoExtractAttempts() != null ? product.getVideoExtractAttempts() : 0;
+        return waitedHours * AGING_SCORE_PER_HOUR
+                + ("ON_SHELF".equals(product.getStatus()) ? ON_SHELF_SCORE : 0)
+                + hostRate * HOST_SUCCESS_SCORE
+                - attempts * ATTEMPT_PENALTY_SCORE;
+    }
+
+    /**
+     * 是否已过退避期：基础退避 × 2^已重试次数，上限 7 天
+     */
+    private boolean backoffElapsed(Product product, LocalDateTime now) {
+        int attempts = product.getVideoExtractAttempts() != null ? product.getVideoExtractAttempts() : 0;
+        Duration backoff = baseBackoff.multipliedBy(1L << Math.min(attempts, 16));
+        if (backoff.compareTo(MAX_BACKOFF) > 0) {
+            backoff = MAX_BACKOFF;
+        }
+        return !lastAttemptAt(product).plus(backoff).isAfter(now);
+    }
+
+    private static LocalDateTime lastAttemptAt(Product product) {
+        if (product.getVideoExtractAt() != null) {
+            return product.getVideoExtractAt();
+        }
+        return product.getUpdatedAt() != null ? product.getUpdatedAt() : LocalDateTime.now();
+    }
+
+    private static String qrCodeImageOf(Product product) {
+        List<String> images = product.getImages();
+        if (images == null || images.size() <= QRCODE_IMAGE_INDEX || !StringUtils.hasText(images.get(QRCODE_IMAGE_INDEX))) {
+            return null;
+        }
+        return images.get(QRCODE_IMAGE_INDEX);
+    }
+
+    private static String hostOf(String url) {
+        if (!StringUtils.hasText(url)) {
+            return null;
+        }
+        try {
+            String host = URI.create(url.trim()).getHost();
+            return host != null ? host.toLowerCase(Locale.ROOT) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return 最近一小时内剩余的提取额度（按数据库中最近一小时开始的提取数计算，所有实例共享）
+     */
+    private int availablePermits() {
+        if (maxExtractsPerHour <= 0) {
+            return 0;
+        }
+        long started = productMapper.selectCount(new LambdaQueryWrapper<Product>()
+                .apply("video_extract_at > NOW() - INTERVAL 1 HOUR"));
+        return (int) Math.max(0, maxExtractsPerHour - started);
+    }
+
+    private record ScoredProduct(Product product, double score) {
+    }
+}
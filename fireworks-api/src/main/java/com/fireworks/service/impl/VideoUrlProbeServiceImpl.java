@@ -0,0 +1,283 @@
+package com.fireworks.service.impl;
+
+import com.fireworks.dto.VideoUrlProbeResult;
+import com.fireworks.enums.VideoCheckStatus;
+import com.fireworks.service.VideoUrlProbeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 视频地址探测服务实现
+ * <p>
+ * 使用 {@code Range: bytes=0-0} 的 GET 请求探测视频直链（比 HEAD 兼容性更好，且只传输 1 字节）。
+ * <p>
+ * 并发控制：
+ * <ul>
+ *   <li>全局并发：由 {@code videoProbeExecutor} 线程池大小限定</li>
+ *   <li>单域名并发：每个域名一个信号量，避免对同一 CDN 突发请求被限流</li>
+ * </ul>
+ * <p>
+ * 状态判定：2xx/3xx 为 ALIVE；404/410 为 DEAD；其他情况为 UNKNOWN
+ * （401/403 多为 CDN 防盗链或 Referer 校验，播放器带上正确请求头时仍可播放，不能说明链接失效）。
+ * <p>
+ * 校验缓存：URL → 探测结果（含进行中的 Future），按 TTL 过期；UNKNOWN 结果使用更短的 TTL，
+ * 以便暂时性故障恢复后能尽快重新判定。
+ */
+@Slf4j
+@Service
+public class VideoUrlProbeServiceImpl implements VideoUrlProbeService {
+
+    /** 探测请求超时时间（毫秒） */
+    private static final int PROBE_TIMEOUT_MS = 5000;
+    /** 等待单域名并发许可的最长时间（毫秒） */
+    private static final int HOST_PERMIT_WAIT_MS = 30000;
+    /** 缓存最大条目数，超出后先清理过期项，仍超出则整体清空 */
+    private static final int CACHE_MAX_ENTRIES = 2000;
+    /** UNKNOWN 结果的缓存时间（毫秒） */
+    private static final long UNKNOWN_RESULT_TTL_MS = 60_000L;
+    /** HTTP 请求 User-Agent */
+    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36";
+
+    /** 共享的 HTTP 客户端实例（线程安全、支持重定向） */
+    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(Duration.ofMillis(PROBE_TIMEOUT_MS))
+            .build();
+
+    private final Executor videoProbeExecutor;
+
+    /** 单域名最大并发探测数 */
+    private final int perHostConcurrency;
+
+    /** 探测结果缓存有效期（毫秒） */
+    private final long cacheTtlMs;
+
+    /** 域名 → 并发许可 */
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    /** 视频地址 → 探测结果缓存 */
+    private final Map<String, CachedProbe> probeCache = new ConcurrentHashMap<>();
+
+    public VideoUrlProbeServiceImpl(
+            @Qualifier("videoProbeExecutor") Executor videoProbeExecutor,
+            @Value("${app.video.probe.per-host-concurrency:2}") int perHostConcurrency,
+            @Value("${app.video.probe.cache-ttl-minutes:30}") long cacheTtlMinutes) {
+        this.videoProbeExecutor = videoProbeExecutor;
+        this.perHostConcurrency = Math.max(1, perHostConcurrency);
+        this.cacheTtlMs = TimeUnit.MINUTES.toMillis(Math.max(1, cacheTtlMinutes));
+    }
+
+    @Override
+    public CompletableFuture<VideoUrlProbeResult> probe(String videoUrl) {
+        if (!StringUtils.hasText(videoUrl)) {
+            return CompletableFuture.completedFuture(VideoUrlProbeResult.builder()
+                    .videoUrl(videoUrl)
+                    .status(VideoCheckStatus.UNKNOWN)
+                    .message("视频地址为空")
+                    .build());
+        }
+        // 主动探测的结果同样刷新缓存
+        return cacheProbe(videoUrl.trim(), System.currentTimeMillis(), true).future;
+    }
+
+    @Override
+    public CompletableFuture<VideoUrlProbeResult> probeCached(String videoUrl) {
+        if (!StringUtils.hasText(videoUrl)) {
+            return probe(videoUrl);
+        }
+        String url = videoUrl.trim();
+        long now = System.currentTimeMillis();
+
+        CachedProbe cached = probeCache.get(url);
+        if (cached != null && !cached.isExpired(now, cacheTtlMs)) {
+            return cached.future;
+        }
+
+        return cacheProbe(url, now, false).future;
+    }
+
+    /**
+     * 提交探测并写入缓存（写入前按上限清理）
+     *
+     * @param url     视频地址（已去除首尾空白）
+     * @param now     当前时间戳（毫秒）
+     * @param refresh 是否忽略未过期的缓存重新探测
+     * @return 缓存中的探测（未刷新且已有未过期的探测时为已有探测）
+     */
+    private CachedProbe cacheProbe(String url, long now, boolean refresh) {
+        if (probeCache.size() >= CACHE_MAX_ENTRIES) {
+            evictExpired(now);
+        }
+        return probeCache.compute(url, (k, existing) ->
+                !refresh && existing != null && !existing.isExpired(now, cacheTtlMs)
+                        ? existing
+                        : new CachedProbe(CompletableFuture.supplyAsync(() -> probeWithHostLimit(k), videoProbeExecutor)));
+    }
+
+    /**
+     * 清理过期缓存；仍超出上限时整体清空（探测结果可随时重建）
+     *
+     * @param now 当前时间戳（毫秒）
+     */
+    private void evictExpired(long now) {
+        probeCache.entrySet().removeIf(e -> e.getValue().isExpired(now, cacheTtlMs));
+        if (probeCache.size() >= CACHE_MAX_ENTRIES) {
+            probeCache.clear();
+        }
+    }
+
+    /**
+     * 在单域名并发许可内执行探测
+     *
+     * @param videoUrl 视频地址
+     * @return 探测结果
+     */
+    private VideoUrlProbeResult probeWithHostLimit(String videoUrl) {
+        String host;
+        try {
+            host = URI.create(videoUrl).getHost();
+        } catch (Exception e) {
+            host = null;
+        }
+        if (!StringUtils.hasText(host)) {
+            return VideoUrlProbeResult.builder()
+                    .videoUrl(videoUrl)
+                    .status(VideoCheckStatus.DEAD)
+                    .message("视频地址格式非法")
+                    .build();
+        }
+
+        Semaphore permit = hostPermits.computeIfAbsent(host.toLowerCase(Locale.ROOT),
+                h -> new Semaphore(perHostConcurrency));
+        boolean acquired = false;
+        try {
+            acquired = permit.tryAcquire(HOST_PERMIT_WAIT_MS, TimeUnit.MILLISECONDS);
+            if (!acquired) {
+                return VideoUrlProbeResult.builder()
+                        .videoUrl(videoUrl)
+                        .status(VideoCheckStatus.UNKNOWN)
+                        .message("等待域名并发许可超时")
+                        .build();
+            }
+            return doProbe(videoUrl);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return VideoUrlProbeResult.builder()
+                    .videoUrl(videoUrl)
+                    .status(VideoCheckStatus.UNKNOWN)
+                    .message("探测被中断")
+                    .build();
+        } finally {
+            if (acquired) {
+                permit.release();
+            }
+        }
+    }
+
+    /**
+     * 发送 Range 请求探测视频地址
+     *
+     * @param videoUrl 视频地址
+     * @return 探测结果
+     */
+    private VideoUrlProbeResult doProbe(String videoUrl) {
+        long start = System.nanoTime();
+        try {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(videoUrl))
+                    .timeout(Duration.ofMillis(PROBE_TIMEOUT_MS))
+                    .header("User-Agent", USER_AGENT)
+                    .header("Range", "bytes=0-0")
+                    .GET()
+                    .build();
+            HttpResponse<Void> resp = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.discarding());
+            int status = resp.statusCode();
+            return VideoUrlProbeResult.builder()
+                    .videoUrl(videoUrl)
+                    .status(classify(status))
+                    .httpStatus(status)
+                    .latencyMs(elapsedMs(start))
+                    .message("HTTP " + status)
+                    .build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return VideoUrlProbeResult.builder()
+                    .videoUrl(videoUrl)
+                    .status(VideoCheckStatus.UNKNOWN)
+                    .latencyMs(elapsedMs(start))
+                    .message("探测被中断")
+                    .build();
+        } catch (Exception e) {
+            log.debug("视频地址探测失败: {}", videoUrl, e);
+            return VideoUrlProbeResult.builder()
+                    .videoUrl(videoUrl)
+                    .status(VideoCheckStatus.UNKNOWN)
+                    .latencyMs(elapsedMs(start))
+                    .message("探测异常: " + e.getClass().getSimpleName())
+                    .build();
+        }
+    }
+
+    /**
+     * 根据 HTTP 状态码判定巡检状态
+     *
+     * @param status HTTP 状态码
+     * @return 巡检状态
+     */
+    private static VideoCheckStatus classify(int status) {
+        if (status >= 200 && status < 400) {
+            return VideoCheckStatus.ALIVE;
+        }
+        // 只有资源不存在才判定失效；401/403 防盗链、405 不支持该方法、429 限流等不能说明链接失效
+        if (status == 404 || status == 410) {
+            return VideoCheckStatus.DEAD;
+        }
+        return VideoCheckStatus.UNKNOWN;
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 探测结果缓存项
+     * <p>
+     * 过期时间从探测完成时开始计算；进行中的探测永不过期，保证同一地址只发一次请求。
+     */
+    private static final class CachedProbe {
+        private final CompletableFuture<VideoUrlProbeResult> future;
+        private volatile long completedAt;
+
+        CachedProbe(CompletableFuture<VideoUrlProbeResult> future) {
+            this.future = future;
+            future.whenComplete((r, e) -> completedAt = System.currentTimeMillis());
+        }
+
+        boolean isExpired(long now, long ttlMs) {
+            if (!future.isDone() || completedAt == 0L) {
+                return false;
+            }
+            VideoUrlProbeResult result = future.getNow(null);
+            long ttl = result != null && result.getStatus() == VideoCheckStatus.UNKNOWN
+                    ? Math.min(ttlMs, UNKNOWN_RESULT_TTL_MS)
+                    : ttlMs;
+            return now - completedAt > ttl;
+        }
+    }
+}
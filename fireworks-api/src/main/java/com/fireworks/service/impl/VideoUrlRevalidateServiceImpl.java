@@ -0,0 +1,220 @@
+package com.fireworks.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.fireworks.cache.ProductCatalogCache;
+import com.fireworks.dto.VideoUrlProbeResult;
+import com.fireworks.entity.Product;
+import com.fireworks.enums.VideoCheckStatus;
+import com.fireworks.mapper.ProductMapper;
+import com.fireworks.service.ProductVideoExtractAsyncService;
+import com.fireworks.service.VideoUrlProbeService;
+import com.fireworks.service.VideoUrlRevalidateService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 视频地址定时巡检服务实现
+ * <p>
+ * 提取到的视频直链大多指向第三方 CDN，签名过期或文件迁移后会失效，
+ * 此前只能等客户反馈播放失败才发现。本服务定时巡检所有商品的视频地址：
+ * <ol>
+ *   <li>按主键 keyset 分页扫描有视频地址的商品（避免深分页 OFFSET）</li>
+ *   <li>每批并行探测（全局/单域名并发受 {@link VideoUrlProbeService} 限制）</li>
+ *   <li>记录巡检状态、HTTP 状态码、耗时与巡检时间（整轮结束后统一失效一次商品缓存，不逐条失效）</li>
+ *   <li>明确失效（DEAD）的链接自动提交重新提取</li>
+ * </ol>
+ *
+ * @see VideoUrlProbeService 视频地址探测
+ * @see ProductVideoExtractAsyncService 失效链接重新提取
+ */
+@Slf4j
+@Service
+public class VideoUrlRevalidateServiceImpl implements VideoUrlRevalidateService {
+
+    /** 商品图片中二维码图的位置（第3张） */
+    private static final int QRCODE_IMAGE_INDEX = 2;
+
+    private final ProductMapper productMapper;
+    private final VideoUrlProbeService videoUrlProbeService;
+    private final ProductVideoExtractAsyncService productVideoExtractAsyncService;
+    private final ProductCatalogCache productCatalogCache;
+    /** 巡检执行线程池（一轮巡检可能持续数分钟，不占用共享的定时任务线程） */
+    private final Executor maintenanceExecutor;
+
+    /** 是否启用定时巡检 */
+    private final boolean enabled;
+    /** 每批扫描的商品数量 */
+    private final int batchSize;
+    /** 单次巡检最多提交的重新提取任务数（避免挤占提取线程池） */
+    private final int maxReExtractPerRun;
+
+    /** 防止上一轮未结束时重复执行 */
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public VideoUrlRevalidateServiceImpl(
+            ProductMapper productMapper,
+            VideoUrlProbeService videoUrlProbeService,
+            ProductVideoExtractAsyncService productVideoExtractAsyncService,
+            ProductCatalogCache productCatalogCache,
+            @Qualifier("maintenanceExecutor") Executor maintenanceExecutor,
+            @Value("${app.video.revalidate.enabled:true}") boolean enabled,
+            @Value("${app.video.revalidate.batch-size:100}") int batchSize,
+            @Value("${app.video.revalidate.max-re-extract-per-run:50}") int maxReExtractPerRun) {
+        this.productMapper = productMapper;
+        this.videoUrlProbeService = videoUrlProbeService;
+        this.productVideoExtractAsyncService = productVideoExtractAsyncService;
+        this.productCatalogCache = productCatalogCache;
+        this.maintenanceExecutor = maintenanceExecutor;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxReExtractPerRun = Math.max(0, maxReExtractPerRun);
+    }
+
+    /**
+     * 定时触发巡检（默认每天凌晨 3:30），在 {@code maintenanceExecutor} 中执行
+     */
+    @Scheduled(cron = "${app.video.revalidate.cron:0 30 3 * * *}")
+    public void scheduledRevalidate() {
+        if (!enabled) {
+            return;
+        }
+        maintenanceExecutor.execute(this::revalidateAll);
+    }
+
+    @Override
+    public void revalidateAll() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("[视频巡检] 上一轮巡检仍在执行，跳过");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        int checked = 0;
+        int alive = 0;
+        int dead = 0;
+        int unknown = 0;
+        int reExtracted = 0;
+        int recorded = 0;
+
+        try {
+            long lastId = 0L;
+            while (true) {
+                List<Product> batch = productMapper.selectList(new LambdaQueryWrapper<Product>()
+                        .select(Product::getId, Product::getVideoUrl, Product::getImages)
+                        .isNotNull(Product::getVideoUrl)
+                        .ne(Product::getVideoUrl, "")
+                        .gt(Product::getId, lastId)
+                        .orderByAsc(Product::getId)
+                        .last("LIMIT " + batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                lastId = batch.get(batch.size() - 1).getId();
+
+                // 整批并行探测，等待本批完成后再取下一批（天然背压）
+                List<CompletableFuture<VideoUrlProbeResult>> futures = new ArrayList<>(batch.size());
+                for (Product product : batch) {
+                    futures.add(videoUrlProbeService.probe(product.getVideoUrl()));
+                }
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+                for (int i = 0; i < batch.size(); i++) {
+                    Product product = batch.get(i);
+                    VideoUrlProbeResult result = futures.get(i).join();
+                    if (recordResult(product, result)) {
+                        recorded++;
+                    }
+                    checked++;
+
+                    switch (result.getStatus()) {
+                        case ALIVE -> alive++;
+                        case DEAD -> {
+                            dead++;
+                            if (reExtracted < maxReExtractPerRun && submitReExtract(product)) {
+                                reExtracted++;
+                            }
+                        }
+                        default -> unknown++;
+                    }
+                }
+
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("[视频巡检] 巡检异常", e);
+        } finally {
+            // 逐条失效会让每个实例重建 N 次目录缓存，改为整轮一次
+            if (recorded > 0) {
+                productCatalogCache.invalidate();
+            }
+            running.set(false);
+        }
+
+        log.info("[视频巡检] 完成: checked={}, alive={}, dead={}, unknown={}, reExtracted={}, cost={}ms",
+                checked, alive, dead, unknown, reExtracted, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 记录巡检结果
+     * <p>
+     * 以 videoUrl 作为条件，避免覆盖巡检期间已被重新提取的新地址；
+     * 显式保留 updated_at，巡检不视为商品内容变更。
+     *
+     * @param product 商品（仅含 id / videoUrl / images）
+     * @param result  探测结果
+     * @return 是否写入（巡检期间地址已变化时不写入）
+     */
+    private boolean recordResult(Product product, VideoUrlProbeResult result) {
+        LambdaUpdateWrapper<Product> update = new LambdaUpdateWrapper<>();
+        update.eq(Product::getId, product.getId())
+                .eq(Product::getVideoUrl, product.getVideoUrl())
+                .set(Product::getVideoCheckStatus, result.getStatus().name())
+                .set(Product::getVideoCheckHttpStatus, result.getHttpStatus())
+                .set(Product::getVideoCheckLatencyMs, result.getLatencyMs() != null ? result.getLatencyMs().intValue() : null)
+                .set(Product::getVideoCheckedAt, LocalDateTime.now())
+                .setSql("updated_at = updated_at");
+        boolean updated = productMapper.update(null, update) > 0;
+
+        if (result.getStatus() == VideoCheckStatus.DEAD) {
+            log.warn("[视频巡检] 视频地址失效: productId={}, videoUrl={}, reason={}",
+                    product.getId(), product.getVideoUrl(), result.getMessage());
+        }
+        return updated;
+    }
+
+    /**
+     * 为失效链接提交重新提取任务
+     * <p>
+     * 不重置视频地址：只有提取成功才替换，提取失败或需要动态渲染时保留原地址（探测也可能误判）。
+     *
+     * @param product 商品
+     * @return 是否成功提交
+     */
+    private boolean submitReExtract(Product product) {
+        List<String> images = product.getImages();
+        if (images == null || images.size() <= QRCODE_IMAGE_INDEX) {
+            return false;
+        }
+        try {
+            productVideoExtractAsyncService.extractAndUpdate(product.getId(), images.get(QRCODE_IMAGE_INDEX), false);
+            return true;
+        } catch (TaskRejectedException e) {
+            log.warn("[视频巡检] 提取线程池已满，跳过重新提取: productId={}", product.getId());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.fireworks.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 汉字转拼音工具
+ * <p>
+ * 读音表来自 {@code classpath:pinyin/pinyin.txt}（CJK 基本区，多音字取常用读音），
+ * 首次使用时加载为按码位下标的数组，转换只做数组查找。
+ * 输出不带声调、不分隔，字母与数字转为小写原样保留，其余字符（空白、标点等）忽略。
+ */
+public class PinyinUtil {
+
+    private static final String RESOURCE = "pinyin/pinyin.txt";
+
+    private static final char CJK_START = '\u4E00';
+    private static final char CJK_END = '\u9FFF';
+
+    private PinyinUtil() {
+    }
+
+    /**
+     * 全拼，例如 "烟花 Big" → "yanhuabig"
+     */
+    public static String toPinyin(String text) {
+        return convert(text, false);
+    }
+
+    /**
+     * 拼音首字母，例如 "烟花 Big" → "yhbig"
+     */
+    public static String toInitials(String text) {
+        return convert(text, true);
+    }
+
+    private static String convert(String text, boolean initials) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length() * (initials ? 1 : 4));
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            String syllable = Table.syllableOf(c);
+            if (syllable != null) {
+                if (initials) {
+                    sb.append(syllable.charAt(0));
+                } else {
+                    sb.append(syllable);
+                }
+            } else if (Character.isLetterOrDigit(c) && c < CJK_START) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 读音表（类加载时构建，按需初始化）
+     */
+    private static final class Table {
+
+        /** 音节列表，下标 + 1 为 {@link #INDEX} 中的值 */
+        private static final String[] SYLLABLES;
+        /** 码位 - {@link #CJK_START} → 音节下标 + 1，0 表示未收录 */
+        private static final short[] INDEX = new short[CJK_END - CJK_START + 1];
+
+        static {
+            List<String> syllables = new ArrayList<>();
+            try (InputStream in = PinyinUtil.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+                if (in == null) {
+                    throw new IllegalStateException("拼音表不存在: " + RESOURCE);
+                }
+                BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                    int space = line.indexOf(' ');
+                    syllables.add(line.substring(0, space).toLowerCase(Locale.ROOT));
+                    short value = (short) syllables.size();
+                    for (int i = space + 1; i < line.length(); i++) {
+                        char c = line.charAt(i);
+                        if (c >= CJK_START && c <= CJK_END) {
+                            INDEX[c - CJK_START] = value;
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("加载拼音表失败: " + RESOURCE, e);
+            }
+            SYLLABLES = syllables.toArray(new String[0]);
+        }
+
+        static String syllableOf(char c) {
+            if (c < CJK_START || c > CJK_END) {
+                return null;
+            }
+            int value = INDEX[c - CJK_START];
+            return value > 0 ? SYLLABLES[value - 1] : null;
+        }
+    }
+}
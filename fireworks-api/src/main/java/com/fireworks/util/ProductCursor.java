@@ -0,0 +1,93 @@
+package com.fireworks.util;
+
+import com.fireworks.exception.BusinessException;
+import com.fireworks.vo.ProductVO;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 商品列表游标（键集分页）
+ * <p>
+ * 记录上一页最后一条的排序键与ID，下一页从严格位于其后的记录开始，不需要 OFFSET 与 COUNT。
+ * 对客户端不透明：内容为 "排序字段,方向,ID,排序值" 的 Base64URL 编码，
+ * 游标与请求的排序不一致时视为无效。
+ *
+ * @param sort  生成游标时的排序
+ * @param id    上一页最后一条的ID
+ * @param value 上一页最后一条的排序值（LocalDateTime / BigDecimal / Long）
+ */
+public record ProductCursor(ProductSort sort, Long id, Object value) {
+
+    /**
+     * 编码游标
+     *
+     * @param sort  排序
+     * @param id    最后一条的ID
+     * @param value 最后一条的排序值
+     * @return 游标字符串
+     */
+    public static String encode(ProductSort sort, Long id, Object value) {
+        String raw = sort.field() + "," + (sort.asc() ? "asc" : "desc") + "," + id + "," + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 以本页最后一条商品生成下一页游标
+     *
+     * @param sort 排序
+     * @param last 本页最后一条
+     * @return 游标字符串
+     */
+    public static String after(ProductSort sort, ProductVO last) {
+        return encode(sort, last.getId(), sortValue(sort, last));
+    }
+
+    /**
+     * 取商品在指定排序下的排序值
+     *
+     * @param sort    排序
+     * @param product 商品
+     * @return 排序值
+     */
+    public static Object sortValue(ProductSort sort, ProductVO product) {
+        return switch (sort.field()) {
+            case ProductSort.CREATED_AT -> product.getCreatedAt();
+            case ProductSort.UPDATED_AT -> product.getUpdatedAt();
+            case ProductSort.PRICE -> product.getPrice();
+            default -> product.getId();
+        };
+    }
+
+    /**
+     * 解码游标
+     *
+     * @param cursor 游标字符串
+     * @param sort   本次请求的排序
+     * @return 游标
+     * @throws BusinessException 游标格式错误或与排序不一致时抛出
+     */
+    public static ProductCursor decode(String cursor, ProductSort sort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(",", 4);
+            if (parts.length != 4
+                    || !sort.field().equals(parts[0])
+                    || sort.asc() != "asc".equals(parts[1])) {
+                throw new BusinessException(400, "分页游标无效或与排序不一致");
+            }
+            Long id = Long.valueOf(parts[2]);
+            Object value = switch (sort.field()) {
+                case ProductSort.CREATED_AT, ProductSort.UPDATED_AT -> LocalDateTime.parse(parts[3]);
+                case ProductSort.PRICE -> new BigDecimal(parts[3]);
+                default -> id;
+            };
+            return new ProductCursor(sort, id, value);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException(400, "分页游标无效或与排序不一致");
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.fireworks.util;
+
+import com.fireworks.exception.BusinessException;
+import org.springframework.util.StringUtils;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 商品列表字段选择参数（管理端 fields=）
+ * <p>
+ * 格式：逗号分隔的 {@code ProductVO} 字段名，例如 "name,price,status"；
+ * 缺省时返回全部字段。ID 始终返回，未选择的字段不查询、不输出。
+ */
+public final class ProductFields {
+
+    /** VO 字段名 → 实体属性名 */
+    private static final Map<String, String> PROPERTIES = Map.ofEntries(
+            Map.entry("id", "id"),
+            Map.entry("name", "name"),
+            Map.entry("price", "price"),
+            Map.entry("categoryId", "categoryId"),
+            Map.entry("categoryName", "category"),
+            Map.entry("description", "description"),
+            Map.entry("stock", "stock"),
+            Map.entry("status", "status"),
+            Map.entry("images", "images"),
+            Map.entry("videoUrl", "videoUrl"),
+            Map.entry("videoExtractStatus", "videoExtractStatus"),
+            Map.entry("videoExtractMessage", "videoExtractMessage"),
+            Map.entry("videoExtractTargetUrl", "videoExtractTargetUrl"),
+            Map.entry("videoCheckStatus", "videoCheckStatus"),
+            Map.entry("videoCheckedAt", "videoCheckedAt"),
+            Map.entry("createdAt", "createdAt"),
+            Map.entry("updatedAt", "updatedAt"));
+
+    private ProductFields() {
+    }
+
+    /**
+     * 解析字段选择参数
+     *
+     * @param fields 逗号分隔的字段名
+     * @return 需要查询的实体属性名（不含主键）；缺省时返回 null 表示全部字段
+     * @throws BusinessException 包含不支持的字段时抛出
+     */
+    public static Set<String> parse(String fields) {
+        if (!StringUtils.hasText(fields)) {
+            return null;
+        }
+        Set<String> properties = new HashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            String property = PROPERTIES.get(name);
+            if (property == null) {
+                throw new BusinessException(400, "不支持的字段: " + name);
+            }
+            properties.add(property);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,47 @@
+package com.fireworks.util;
+
+import org.springframework.util.StringUtils;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 商品列表排序参数
+ * <p>
+ * 格式："字段名,asc/desc"，支持 updatedAt、createdAt、price、id；
+ * 缺省或字段不支持时按创建时间倒序。
+ *
+ * @param field 排序字段
+ * @param asc   是否升序
+ */
+public record ProductSort(String field, boolean asc) {
+
+    public static final String CREATED_AT = "createdAt";
+    public static final String UPDATED_AT = "updatedAt";
+    public static final String PRICE = "price";
+    public static final String ID = "id";
+
+    private static final Set<String> FIELDS = Set.of(CREATED_AT, UPDATED_AT, PRICE, ID);
+
+    /** 默认排序：创建时间倒序 */
+    public static final ProductSort DEFAULT = new ProductSort(CREATED_AT, false);
+
+    /**
+     * 解析排序参数
+     *
+     * @param sort 排序参数，格式："字段名,asc/desc"（方向缺省为 asc）
+     * @return 排序参数
+     */
+    public static ProductSort parse(String sort) {
+        if (!StringUtils.hasText(sort)) {
+            return DEFAULT;
+        }
+        String[] parts = sort.split(",", 2);
+        String field = parts[0].trim();
+        if (!FIELDS.contains(field)) {
+            return DEFAULT;
+        }
+        String direction = parts.length > 1 ? parts[1].trim().toLowerCase(Locale.ROOT) : "asc";
+        return new ProductSort(field, !"desc".equals(direction));
+    }
+}
@@ -0,0 +1,33 @@
+package com.fireworks.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 公开商品目录快照 VO（启用的分类 + 全部上架商品列表项）
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogSnapshotVO {
+
+    /**
+     * 启用的分类（按ID升序）
+     */
+    private List<CategoryVO> categories;
+
+    /**
+     * 上架商品（按创建时间倒序）
+     */
+    private List<ProductListItemVO> products;
+
+    /**
+     * 快照对应的商品变更序号（之后以此作为 since 拉取增量变更）
+     */
+    private Long changeSeq;
+}
@@ -0,0 +1,45 @@
+package com.fireworks.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 游标分页响应 VO（无限滚动，不返回总数）
+ *
+ * @param <T> 数据类型
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageVO<T> {
+
+    /**
+     * 数据列表
+     */
+    private List<T> items;
+
+    /**
+     * 下一页游标（没有更多数据时为 null）
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有更多数据
+     */
+    private Boolean hasMore;
+
+    /**
+     * 每页数量
+     */
+    private Integer size;
+
+    /**
+     * 构建游标分页响应
+     */
+    public static <T> CursorPageVO<T> of(List<T> items, String nextCursor, Integer size) {
+        return new CursorPageVO<>(items, nextCursor, nextCursor != null, size);
+    }
+}
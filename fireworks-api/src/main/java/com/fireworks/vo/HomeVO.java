@@ -0,0 +1,33 @@
+package com.fireworks.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 小程序首页聚合 VO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HomeVO {
+
+    /**
+     * 启用的分类
+     */
+    private List<CategoryVO> categories;
+
+    /**
+     * 热门搜索关键词
+     */
+    private List<String> hotKeywords;
+
+    /**
+     * 商品列表第一页（默认排序）
+     */
+    private PageVO<ProductListItemVO> products;
+}
@@ -1,5 +1,6 @@
 package com.fireworks.vo;
 
+import com.fireworks.enums.PageTotalType;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -37,9 +38,21 @@ public class PageVO<T> {
     private Integer size;
 
     /**
-     * 构建分页响应
+     * 总数来源：EXACT-实时统计, CACHED-短期缓存, NONE-未统计（total 为 null）
+     */
+    private PageTotalType totalType;
+
+    /**
+     * 构建分页响应（总数为实时统计）
      */
     public static <T> PageVO<T> of(List<T> items, Long total, Integer page, Integer size) {
-        return new PageVO<>(items, total, page, size);
+        return new PageVO<>(items, total, page, size, PageTotalType.EXACT);
+    }
+
+    /**
+     * 构建分页响应
+     */
+    public static <T> PageVO<T> of(List<T> items, Long total, Integer page, Integer size, PageTotalType totalType) {
+        return new PageVO<>(items, total, page, size, totalType);
     }
 }
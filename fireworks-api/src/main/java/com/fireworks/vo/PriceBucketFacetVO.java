@@ -0,0 +1,31 @@
+package com.fireworks.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 价格区间筛选统计 VO（左闭右开：minPrice ≤ 价格 < maxPrice）
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceBucketFacetVO {
+
+    /**
+     * 区间下限（含）
+     */
+    private Integer minPrice;
+
+    /**
+     * 区间上限（不含），最后一个区间为 null 表示无上限
+     */
+    private Integer maxPrice;
+
+    /**
+     * 商品数
+     */
+    private Long count;
+}
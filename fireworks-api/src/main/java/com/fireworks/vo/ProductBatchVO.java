@@ -0,0 +1,28 @@
+package com.fireworks.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量获取商品响应 VO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchVO {
+
+    /**
+     * 上架商品（按请求ID顺序）
+     */
+    private List<ProductVO> products;
+
+    /**
+     * 不存在、已删除或已下架的商品ID
+     */
+    private List<Long> missingIds;
+}
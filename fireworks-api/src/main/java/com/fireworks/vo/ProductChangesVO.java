@@ -0,0 +1,38 @@
+package com.fireworks.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 商品增量变更 VO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangesVO {
+
+    /**
+     * 新增或更新的上架商品（按变更顺序）
+     */
+    private List<ProductListItemVO> upserts;
+
+    /**
+     * 已删除或已下架的商品ID
+     */
+    private List<Long> deletedIds;
+
+    /**
+     * 下次请求使用的 since（本批最后一条变更的序号）
+     */
+    private Long nextSince;
+
+    /**
+     * 是否还有更多变更（为 true 时应立即以 nextSince 继续拉取）
+     */
+    private Boolean hasMore;
+}
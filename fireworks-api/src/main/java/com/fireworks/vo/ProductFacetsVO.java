@@ -0,0 +1,33 @@
+package com.fireworks.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 商品筛选统计 VO（分类标签、价格区间上的商品数）
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFacetsVO {
+
+    /**
+     * 符合全部筛选条件的上架商品数
+     */
+    private Long total;
+
+    /**
+     * 各分类商品数（不计分类条件，其余条件生效）
+     */
+    private List<CategoryFacetVO> categories;
+
+    /**
+     * 各价格区间商品数（不计价格条件，其余条件生效）
+     */
+    private List<PriceBucketFacetVO> priceBuckets;
+}
@@ -0,0 +1,90 @@
+package com.fireworks.vo;
+
+import com.fireworks.entity.Product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 商品列表项 VO（小程序列表）
+ * <p>
+ * 只包含列表展示所需字段，详情字段（描述、视频等）通过详情接口获取。
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductListItemVO {
+
+    /**
+     * 商品ID
+     */
+    private Long id;
+
+    /**
+     * 商品名称
+     */
+    private String name;
+
+    /**
+     * 商品价格
+     */
+    private BigDecimal price;
+
+    /**
+     * 分类ID
+     */
+    private Long categoryId;
+
+    /**
+     * 分类名称
+     */
+    private String categoryName;
+
+    /**
+     * 封面图（商品图片列表的第一张）
+     */
+    private String coverImage;
+
+    /**
+     * 从实体转换为列表项
+     */
+    public static ProductListItemVO fromEntity(Product product) {
+        if (product == null) {
+            return null;
+        }
+        return ProductListItemVO.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .price(product.getPrice())
+                .categoryId(product.getCategoryId())
+                .categoryName(product.getCategory())
+                .coverImage(firstImage(product.getImages()))
+                .build();
+    }
+
+    /**
+     * 从完整商品 VO 转换为列表项
+     */
+    public static ProductListItemVO fromVO(ProductVO product) {
+        if (product == null) {
+            return null;
+        }
+        return ProductListItemVO.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .price(product.getPrice())
+                .categoryId(product.getCategoryId())
+                .categoryName(product.getCategoryName())
+                .coverImage(firstImage(product.getImages()))
+                .build();
+    }
+
+    private static String firstImage(List<String> images) {
+        return images == null || images.isEmpty() ? null : images.get(0);
+    }
+}
@@ -84,6 +84,16 @@ public class ProductVO {
      */
     private String videoExtractTargetUrl;
 
+    /**
+     * 视频地址巡检状态: ALIVE-可访问, DEAD-已失效, UNKNOWN-无法判断
+     */
+    private String videoCheckStatus;
+
+    /**
+     * 视频地址最近巡检时间
+     */
+    private LocalDateTime videoCheckedAt;
+
     /**
      * 创建时间
      */
@@ -117,6 +127,8 @@ public class ProductVO {
                 .videoExtractStatus(product.getVideoExtractStatus())
                 .videoExtractMessage(product.getVideoExtractMessage())
                 .videoExtractTargetUrl(product.getVideoExtractTargetUrl())
+                .videoCheckStatus(product.getVideoCheckStatus())
+                .videoCheckedAt(product.getVideoCheckedAt())
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
                 .build();
@@ -0,0 +1,64 @@
+package com.fireworks.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 视频提取域名统计 VO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VideoExtractHostStatVO {
+
+    /**
+     * 目标网址域名
+     */
+    private String host;
+
+    /**
+     * 商品数
+     */
+    private Integer total;
+
+    /**
+     * 各提取状态的商品数
+     */
+    private Map<String, Integer> statusCounts;
+
+    /**
+     * 未解决数（NEED_DYNAMIC_RENDER + FAILED）
+     */
+    private Integer unresolved;
+
+    /**
+     * 平均提取耗时（毫秒），无耗时记录时为 null
+     */
+    private Long avgCostMs;
+
+    /**
+     * 未解决商品的累计提取耗时（毫秒），即专用提取器可节省的渲染时间
+     */
+    private Long unresolvedCostMs;
+
+    /**
+     * 是否建议编写专用 API 提取器
+     */
+    private Boolean apiExtractorCandidate;
+
+    /**
+     * 建议说明
+     */
+    private String suggestion;
+
+    /**
+     * 路径形态统计（按商品数降序）
+     */
+    private List<VideoExtractPathStatVO> paths;
+}
@@ -0,0 +1,56 @@
+package com.fireworks.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 视频提取路径形态统计 VO
+ * <p>
+ * 同一域名下按路径形态（数字、长 ID 段归一为占位符，含 hash 路由）分组。
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VideoExtractPathStatVO {
+
+    /**
+     * 路径形态，如 {@code /wxmall/default3/#/pages/goodsdetail}、{@code /goods/{n}}
+     */
+    private String pathShape;
+
+    /**
+     * 商品数
+     */
+    private Integer total;
+
+    /**
+     * 各提取状态的商品数
+     */
+    private Map<String, Integer> statusCounts;
+
+    /**
+     * 平均提取耗时（毫秒），无耗时记录时为 null
+     */
+    private Long avgCostMs;
+
+    /**
+     * 取值随商品变化的查询参数（按出现次数降序），通常即专用提取器需要读取的 ID 参数
+     */
+    private List<String> varyingParams;
+
+    /**
+     * 取值固定的查询参数
+     */
+    private List<String> constantParams;
+
+    /**
+     * 示例网址
+     */
+    private String sampleUrl;
+}
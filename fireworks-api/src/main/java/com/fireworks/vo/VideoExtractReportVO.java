@@ -0,0 +1,39 @@
+package com.fireworks.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 视频提取域名分析报告 VO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VideoExtractReportVO {
+
+    /**
+     * 汇总数据截至的商品更新时间
+     */
+    private LocalDateTime dataAsOf;
+
+    /**
+     * 参与统计的商品数（有目标网址的商品）
+     */
+    private Integer totalProducts;
+
+    /**
+     * 未解决商品数（NEED_DYNAMIC_RENDER + FAILED）
+     */
+    private Integer unresolvedProducts;
+
+    /**
+     * 域名统计，按专用提取器收益降序（未解决数、未解决累计耗时）
+     */
+    private List<VideoExtractHostStatVO> hosts;
+}
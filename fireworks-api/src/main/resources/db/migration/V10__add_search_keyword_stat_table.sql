@@ -0,0 +1,11 @@
+-- ==========================================
+-- V10: 添加搜索关键词统计表
+-- 各实例在内存中累计小程序端搜索关键词次数，定时合并写入本表；
+-- 分数按半衰期指数衰减（写入与读取时按 updated_at 计算），所有实例读取同一排行
+-- ==========================================
+
+CREATE TABLE `search_keyword_stat` (
+    `keyword` VARCHAR(64) NOT NULL PRIMARY KEY COMMENT '搜索关键词（已规范化）',
+    `score` DOUBLE NOT NULL DEFAULT 0 COMMENT '衰减后的搜索次数（截至 updated_at）',
+    `updated_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '分数更新时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='搜索关键词统计表';
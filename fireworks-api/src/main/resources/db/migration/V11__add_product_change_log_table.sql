@@ -0,0 +1,13 @@
+-- ==========================================
+-- V11: 添加商品变更日志表（增量同步）
+-- 商品新增、修改、删除及分类改名时，在同一事务内追加被影响的商品ID；
+-- 客户端按 seq 拉取某个序号之后的变更，商品当前状态在读取时确定（上架为更新，否则为删除）。
+-- 定时压缩只删除同一商品已有更新记录覆盖的旧记录，不影响任何序号之后的增量结果
+-- ==========================================
+
+CREATE TABLE `product_change_log` (
+    `seq` BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY COMMENT '变更序号',
+    `product_id` BIGINT NOT NULL COMMENT '商品ID',
+    `changed_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '变更时间',
+    INDEX `idx_product_seq` (`product_id`, `seq`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='商品变更日志表';
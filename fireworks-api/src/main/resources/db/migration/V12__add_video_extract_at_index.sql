@@ -0,0 +1,7 @@
+-- ==========================================
+-- V12: 添加视频提取开始时间索引
+-- 自动重试的每小时预算按最近一小时内开始的提取数统计（所有实例共享），按时间范围计数走索引
+-- ==========================================
+
+ALTER TABLE `product`
+    ADD INDEX `idx_video_extract_at` (`video_extract_at`);
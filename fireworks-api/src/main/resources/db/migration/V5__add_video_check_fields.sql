@@ -0,0 +1,10 @@
+-- ==========================================
+-- V5: 添加视频地址巡检字段
+-- 用于记录定时巡检视频直链的可访问性与响应耗时，失效链接自动重新提取
+-- ==========================================
+
+ALTER TABLE `product`
+    ADD COLUMN `video_check_status` VARCHAR(16) NULL COMMENT '视频地址巡检状态: ALIVE/DEAD/UNKNOWN' AFTER `video_extract_target_url`,
+    ADD COLUMN `video_check_http_status` INT NULL COMMENT '视频地址巡检HTTP状态码' AFTER `video_check_status`,
+    ADD COLUMN `video_check_latency_ms` INT NULL COMMENT '视频地址巡检响应耗时(毫秒)' AFTER `video_check_http_status`,
+    ADD COLUMN `video_checked_at` DATETIME NULL COMMENT '视频地址最近巡检时间' AFTER `video_check_latency_ms`;
@@ -0,0 +1,9 @@
+-- ==========================================
+-- V6: 添加视频提取耗时字段
+-- 用于按域名/路径汇总提取结果与平均耗时，评估哪些站点值得编写专用 API 提取器；
+-- updated_at 索引供汇总任务按更新时间增量扫描
+-- ==========================================
+
+ALTER TABLE `product`
+    ADD COLUMN `video_extract_cost_ms` INT NULL COMMENT '视频提取耗时(毫秒)' AFTER `video_extract_target_url`,
+    ADD INDEX `idx_updated_at` (`updated_at`, `id`);
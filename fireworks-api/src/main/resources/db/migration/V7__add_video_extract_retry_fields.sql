@@ -0,0 +1,10 @@
+-- ==========================================
+-- V7: 添加视频提取重试字段
+-- 未解决（NEED_DYNAMIC_RENDER/FAILED）的商品由定时任务按优先级自动重试：
+-- attempts 记录自动重试次数（用于退避与上限），extract_at 记录最近一次开始提取的时间
+-- ==========================================
+
+ALTER TABLE `product`
+    ADD COLUMN `video_extract_attempts` INT NOT NULL DEFAULT 0 COMMENT '视频自动重新提取次数' AFTER `video_extract_cost_ms`,
+    ADD COLUMN `video_extract_at` DATETIME NULL COMMENT '视频最近一次开始提取时间' AFTER `video_extract_attempts`,
+    ADD INDEX `idx_video_extract_status` (`video_extract_status`);
@@ -0,0 +1,16 @@
+-- ==========================================
+-- V8: 添加缓存版本表
+-- 云托管多实例部署时各实例持有本地缓存：商品/分类/代理商写入时在同一事务内将对应区域版本 +1，
+-- 各实例定时轮询版本号，发现变化后只清除受影响区域的本地缓存
+-- ==========================================
+
+CREATE TABLE `cache_version` (
+    `region` VARCHAR(32) NOT NULL PRIMARY KEY COMMENT '缓存区域: PRODUCT/CATEGORY/AGENT',
+    `version` BIGINT NOT NULL DEFAULT 0 COMMENT '版本号（数据写入时 +1）',
+    `updated_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='缓存版本表';
+
+INSERT INTO `cache_version` (`region`, `version`) VALUES
+('PRODUCT', 0),
+('CATEGORY', 0),
+('AGENT', 0);
@@ -0,0 +1,8 @@
+-- ==========================================
+-- V9: 添加商品列表键集分页索引
+-- 游标分页按 (排序键, id) 定位下一页：上架商品按创建时间/价格排序可直接走索引，不再需要 OFFSET 扫描
+-- ==========================================
+
+ALTER TABLE `product`
+    ADD INDEX `idx_status_created_at` (`status`, `created_at`, `id`),
+    ADD INDEX `idx_status_price` (`status`, `price`, `id`);
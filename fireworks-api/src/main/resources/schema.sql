@@ -41,13 +41,25 @@ CREATE TABLE `product` (
     `video_extract_status` VARCHAR(32) NULL COMMENT '视频提取状态',
     `video_extract_message` VARCHAR(500) NULL COMMENT '视频提取说明/失败原因',
     `video_extract_target_url` VARCHAR(1000) NULL COMMENT '视频提取目标网址(H5/二维码URL)',
+    `video_extract_cost_ms` INT NULL COMMENT '视频提取耗时(毫秒)',
+    `video_extract_attempts` INT NOT NULL DEFAULT 0 COMMENT '视频自动重新提取次数',
+    `video_extract_at` DATETIME NULL COMMENT '视频最近一次开始提取时间',
+    `video_check_status` VARCHAR(16) NULL COMMENT '视频地址巡检状态: ALIVE/DEAD/UNKNOWN',
+    `video_check_http_status` INT NULL COMMENT '视频地址巡检HTTP状态码',
+    `video_check_latency_ms` INT NULL COMMENT '视频地址巡检响应耗时(毫秒)',
+    `video_checked_at` DATETIME NULL COMMENT '视频地址最近巡检时间',
     `deleted` TINYINT NOT NULL DEFAULT 0 COMMENT '逻辑删除: 0-未删除, 1-已删除',
     `created_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     `updated_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     INDEX `idx_category` (`category`),
     INDEX `idx_status` (`status`),
     INDEX `idx_deleted` (`deleted`),
-    INDEX `idx_created_at` (`created_at` DESC)
+    INDEX `idx_created_at` (`created_at` DESC),
+    INDEX `idx_updated_at` (`updated_at`, `id`),
+    INDEX `idx_video_extract_status` (`video_extract_status`),
+    INDEX `idx_video_extract_at` (`video_extract_at`),
+    INDEX `idx_status_created_at` (`status`, `created_at`, `id`),
+    INDEX `idx_status_price` (`status`, `price`, `id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='商品表';
 
 -- ==========================================
@@ -102,7 +114,38 @@ CREATE TABLE `inquiry_item` (
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='询价商品关联表';
 
 -- ==========================================
--- 6. 初始数据
+-- 6. 缓存版本表（多实例本地缓存失效）
+-- ==========================================
+DROP TABLE IF EXISTS `cache_version`;
+CREATE TABLE `cache_version` (
+    `region` VARCHAR(32) NOT NULL PRIMARY KEY COMMENT '缓存区域: PRODUCT/CATEGORY/AGENT/INQUIRY',
+    `version` BIGINT NOT NULL DEFAULT 0 COMMENT '版本号（数据写入时 +1）',
+    `updated_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='缓存版本表';
+
+-- ==========================================
+-- 7. 搜索关键词统计表（热门搜索）
+-- ==========================================
+DROP TABLE IF EXISTS `search_keyword_stat`;
+CREATE TABLE `search_keyword_stat` (
+    `keyword` VARCHAR(64) NOT NULL PRIMARY KEY COMMENT '搜索关键词（已规范化）',
+    `score` DOUBLE NOT NULL DEFAULT 0 COMMENT '衰减后的搜索次数（截至 updated_at）',
+    `updated_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '分数更新时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='搜索关键词统计表';
+
+-- ==========================================
+-- 8. 商品变更日志表（增量同步）
+-- ==========================================
+DROP TABLE IF EXISTS `product_change_log`;
+CREATE TABLE `product_change_log` (
+    `seq` BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY COMMENT '变更序号',
+    `product_id` BIGINT NOT NULL COMMENT '商品ID',
+    `changed_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '变更时间',
+    INDEX `idx_product_seq` (`product_id`, `seq`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='商品变更日志表';
+
+-- ==========================================
+-- 9. 初始数据
 -- ==========================================
 
 -- 默认管理员账号 (用户名: admin, 密码: admin123)
@@ -122,3 +165,10 @@ INSERT INTO `product` (`name`, `price`, `category`, `description`, `stock`, `sta
 INSERT INTO `agent` (`code`, `name`, `phone`, `status`) VALUES
 ('A001', '旅行社张总', '13800138001', 'ACTIVE'),
 ('A002', '民宿李老板', '13800138002', 'ACTIVE');
+
+-- 缓存版本初始值
+INSERT INTO `cache_version` (`region`, `version`) VALUES
+('PRODUCT', 0),
+('CATEGORY', 0),
+('AGENT', 0),
+('INQUIRY', 0);
@@ -0,0 +1,121 @@
+package com.fireworks.cache;
+
+import com.fireworks.vo.ProductVO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 商品 n-gram 倒排索引单元测试
+ */
+class ProductSearchIndexTest {
+
+    private static ProductVO product(long id, String name, String description, String price, long categoryId) {
+        return ProductVO.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .price(price != null ? new BigDecimal(price) : null)
+                .categoryId(categoryId)
+                .categoryName("分类" + categoryId)
+                .build();
+    }
+
+    /**
+     * 命中商品的 ID（按 ID 升序）
+     */
+    private static List<Long> ids(ProductSearchIndex index, int[] hits) {
+        List<Long> ids = new ArrayList<>();
+        for (ProductVO p : index.sortBy(hits, "id", Comparator.comparing(ProductVO::getId), true)) {
+            ids.add(p.getId());
+        }
+        return ids;
+    }
+
+    private static List<Long> rankedIds(ProductSearchIndex index, String keyword) {
+        List<Long> ids = new ArrayList<>();
+        for (ProductVO p : index.rankByRelevance(index.match(keyword, null, null, null, null), keyword)) {
+            ids.add(p.getId());
+        }
+        return ids;
+    }
+
+    @Test
+    @DisplayName("关键词连续出现 - 命中名称或描述")
+    void contiguousKeyword_Matches() {
+        ProductSearchIndex index = ProductSearchIndex.build(List.of(
+                product(1, "大吉大利礼花", null, "10.00", 1),
+                product(2, "礼品装", "寓意大吉大利", "20.00", 1),
+                product(3, "加特林", null, "30.00", 1)));
+
+        assertEquals(List.of(1L, 2L), ids(index, index.match("大吉大利", null, null, null, null)));
+    }
+
+    @Test
+    @DisplayName("二元组齐全但不连续 - 不命中")
+    void scatteredBigrams_NotMatched() {
+        ProductSearchIndex index = ProductSearchIndex.build(List.of(
+                // 含"大吉""吉大""大利"，但没有连续的"大吉大利"
+                product(1, "大吉吉大大利", null, "10.00", 1),
+                // 含"le""ed"，但没有"led"
+                product(2, "Castle Red", null, "10.00", 1),
+                product(3, "LED 冷光烟花", null, "10.00", 1)));
+
+        assertEquals(0, index.match("大吉大利", null, null, null, null).length);
+        assertEquals(List.of(3L), ids(index, index.match("led", null, null, null, null)));
+    }
+
+    @Test
+    @DisplayName("忽略大小写与首尾空白，原文中间的空格不被忽略")
+    void caseAndWhitespace() {
+        ProductSearchIndex index = ProductSearchIndex.build(List.of(
+                product(1, "LED 冷光", null, "10.00", 1),
+                product(2, "LED冷光", null, "10.00", 1)));
+
+        assertEquals(List.of(1L, 2L), ids(index, index.match("  Led ", null, null, null, null)));
+        assertEquals(List.of(2L), ids(index, index.match("led冷光", null, null, null, null)));
+    }
+
+    @Test
+    @DisplayName("无有效字符的关键词 - 返回 null，按无关键词处理")
+    void blankKeyword_ReturnsNull() {
+        ProductSearchIndex index = ProductSearchIndex.build(List.of(product(1, "烟花", null, "10.00", 1)));
+
+        assertNull(index.match("  ", null, null, null, null));
+        assertNull(index.match("!!", null, null, null, null));
+    }
+
+    @Test
+    @DisplayName("相关度 - 名称开头 > 名称包含 > 仅描述包含，同级名称短的在前")
+    void relevanceRanking() {
+        ProductSearchIndex index = ProductSearchIndex.build(List.of(
+                product(1, "礼品装", "内含烟花若干", "10.00", 1),
+                product(2, "超级烟花组合", null, "10.00", 1),
+                product(3, "烟花大礼包", null, "10.00", 1),
+                product(4, "烟花", null, "10.00", 1),
+                product(5, "夜空烟花", null, "10.00", 1)));
+
+        assertEquals(List.of(4L, 3L, 5L, 2L, 1L), rankedIds(index, "烟花"));
+    }
+
+    @Test
+    @DisplayName("分类与价格筛选 - 与关键词同时生效")
+    void categoryAndPriceFilters() {
+        ProductSearchIndex index = ProductSearchIndex.build(List.of(
+                product(1, "烟花A", null, "9.99", 1),
+                product(2, "烟花B", null, "50.00", 1),
+                product(3, "烟花C", null, "50.00", 2),
+                product(4, "烟花D", null, null, 1)));
+
+        assertEquals(List.of(1L, 2L, 4L), ids(index, index.match("烟花", 1L, null, null, null)));
+        assertEquals(List.of(3L), ids(index, index.match("烟花", null, "分类2", null, null)));
+        assertEquals(List.of(2L, 3L), ids(index, index.match("烟花", null, null, 10, 50)));
+        assertEquals(List.of(1L), ids(index, index.match("烟花", 1L, null, null, 10)));
+    }
+}
@@ -0,0 +1,78 @@
+package com.fireworks.cache;
+
+import com.fireworks.vo.ProductVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 商品名称联想索引单元测试
+ */
+class ProductSuggestIndexTest {
+
+    private ProductSuggestIndex index;
+
+    private static ProductVO product(long id, String name) {
+        return ProductVO.builder().id(id).name(name).build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = ProductSuggestIndex.build(List.of(
+                product(1, "烟花"),
+                product(2, "烟花大礼包"),
+                product(3, "夜空烟花"),
+                product(4, "银河"),
+                product(5, "Yh-100 礼花"),
+                // 重名商品只联想一次
+                product(6, "烟花"),
+                product(7, "鞭炮"),
+                product(8, "  ")));
+    }
+
+    @Test
+    @DisplayName("拼音首字母 - 名称直接匹配优先，同级名称短的在前")
+    void initials() {
+        assertEquals(List.of("Yh-100 礼花", "烟花", "银河", "烟花大礼包"), index.suggest("yh", 10));
+        assertEquals(List.of("Yh-100 礼花", "烟花", "银河", "烟花大礼包"), index.suggest(" YH ", 10));
+        assertEquals(List.of("鞭炮"), index.suggest("bp", 10));
+    }
+
+    @Test
+    @DisplayName("全拼 - 完整与部分音节都按前缀匹配")
+    void fullPinyin() {
+        assertEquals(List.of("烟花", "烟花大礼包"), index.suggest("yanhua", 10));
+        assertEquals(List.of("烟花", "烟花大礼包"), index.suggest("yanh", 10));
+        assertEquals(List.of("夜空烟花"), index.suggest("yekong", 10));
+    }
+
+    @Test
+    @DisplayName("汉字前缀 - 只匹配名称开头，重名只返回一次")
+    void chinesePrefix() {
+        assertEquals(List.of("烟花", "烟花大礼包"), index.suggest("烟花", 10));
+        assertEquals(List.of("烟花", "烟花大礼包"), index.suggest("烟", 10));
+        assertEquals(List.of("夜空烟花"), index.suggest("夜空", 10));
+    }
+
+    @Test
+    @DisplayName("前 N 条 - 按匹配方式、名称长度、商品顺序截取")
+    void topN() {
+        assertEquals(List.of("Yh-100 礼花", "烟花", "银河", "夜空烟花", "烟花大礼包"), index.suggest("y", 10));
+        assertEquals(List.of("Yh-100 礼花", "烟花", "银河"), index.suggest("y", 3));
+        assertEquals(List.of("Yh-100 礼花"), index.suggest("y", 1));
+    }
+
+    @Test
+    @DisplayName("空前缀、无有效字符、无匹配或条数为 0 - 返回空列表")
+    void emptyResults() {
+        assertEquals(List.of(), index.suggest("", 10));
+        assertEquals(List.of(), index.suggest(null, 10));
+        assertEquals(List.of(), index.suggest(" ！", 10));
+        assertEquals(List.of(), index.suggest("zz", 10));
+        assertEquals(List.of(), index.suggest("yh", 0));
+    }
+}
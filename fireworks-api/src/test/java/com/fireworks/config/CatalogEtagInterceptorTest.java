@@ -0,0 +1,248 @@
+package com.fireworks.config;
+
+import com.fireworks.cache.CatalogSnapshotCache;
+import com.fireworks.controller.CategoryController;
+import com.fireworks.controller.ProductPublicController;
+import com.fireworks.entity.CacheVersion;
+import com.fireworks.enums.CacheRegion;
+import com.fireworks.mapper.CacheVersionMapper;
+import com.fireworks.service.CategoryService;
+import com.fireworks.service.ProductChangeService;
+import com.fireworks.service.ProductFacetService;
+import com.fireworks.service.ProductService;
+import com.fireworks.service.SearchKeywordService;
+import com.fireworks.service.impl.CacheVersionServiceImpl;
+import com.fireworks.vo.PageVO;
+import com.fireworks.vo.ProductChangesVO;
+import com.fireworks.vo.ProductListItemVO;
+import com.fireworks.vo.ProductVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 公开接口条件请求单元测试
+ * <p>
+ * 缓存版本服务使用真实实现（版本表 Mapper 为 Mock），业务服务均为 Mock：
+ * 304 路径上业务服务与版本表都没有任何调用，即不执行 SQL。
+ */
+@ExtendWith(MockitoExtension.class)
+class CatalogEtagInterceptorTest {
+
+    @Mock
+    private CacheVersionMapper cacheVersionMapper;
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private ProductFacetService productFacetService;
+
+    @Mock
+    private CatalogSnapshotCache catalogSnapshotCache;
+
+    @Mock
+    private ProductChangeService productChangeService;
+
+    @Mock
+    private SearchKeywordService searchKeywordService;
+
+    @Mock
+    private CategoryService categoryService;
+
+    private CacheVersionServiceImpl cacheVersionService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        setUp(true);
+    }
+
+    private void setUp(boolean versionTableEnabled) {
+        cacheVersionService = new CacheVersionServiceImpl(cacheVersionMapper, versionTableEnabled, 2000);
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new ProductPublicController(productService, productFacetService, catalogSnapshotCache,
+                                productChangeService, searchKeywordService),
+                        new CategoryController(categoryService))
+                // 与 WebMvcConfig 相同的路径与排除项
+                .addInterceptors(new MappedInterceptor(new String[]{"/api/v1/products/public/**"},
+                        WebMvcConfig.PRODUCT_ETAG_EXCLUDED_PATHS,
+                        new CatalogEtagInterceptor(cacheVersionService, CacheRegion.PRODUCT, 0,
+                                WebMvcConfig.PRODUCT_ETAG_BYPASS_PARAMETERS)))
+                .addMappedInterceptors(new String[]{"/api/v1/categories/active"},
+                        new CatalogEtagInterceptor(cacheVersionService, CacheRegion.CATEGORY, 0))
+                .build();
+    }
+
+    /**
+     * 模拟轮询读到版本表
+     */
+    private void pollVersions(long productVersion, long categoryVersion) {
+        when(cacheVersionMapper.selectList(null)).thenReturn(List.of(
+                version(CacheRegion.PRODUCT, productVersion),
+                version(CacheRegion.CATEGORY, categoryVersion)));
+        cacheVersionService.poll();
+        clearInvocations(cacheVersionMapper);
+    }
+
+    private static CacheVersion version(CacheRegion region, long version) {
+        CacheVersion row = new CacheVersion();
+        row.setRegion(region.name());
+        row.setVersion(version);
+        return row;
+    }
+
+    @Test
+    @DisplayName("首次请求 - 返回数据与版本 ETag")
+    void firstRequest_ReturnsBodyWithEtag() throws Exception {
+        pollVersions(3, 5);
+        when(productService.getPublicProductById(1L)).thenReturn(
+                ProductVO.builder().id(1L).name("烟花").price(new BigDecimal("9.90")).build());
+
+        mockMvc.perform(get("/api/v1/products/public/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"product-3\""))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(jsonPath("$.data.name").value("烟花"));
+
+        verify(productService).getPublicProductById(1L);
+    }
+
+    @Test
+    @DisplayName("If-None-Match 命中 - 返回 304 且不执行 SQL")
+    void matchingEtag_NotModifiedWithoutQuery() throws Exception {
+        pollVersions(3, 5);
+
+        mockMvc.perform(get("/api/v1/products/public/1").header("If-None-Match", "W/\"product-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/\"product-3\""))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/v1/products/public")
+                        .param("categoryId", "2")
+                        .header("If-None-Match", "\"product-3\""))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/v1/products/public/facets").header("If-None-Match", "W/\"product-3\""))
+                .andExpect(status().isNotModified());
+
+        verifyNoInteractions(productService, productFacetService, catalogSnapshotCache, productChangeService,
+                cacheVersionMapper);
+    }
+
+    @Test
+    @DisplayName("分类列表 If-None-Match 命中 - 返回 304 且不执行 SQL")
+    void activeCategories_NotModifiedWithoutQuery() throws Exception {
+        pollVersions(3, 5);
+
+        mockMvc.perform(get("/api/v1/categories/active").header("If-None-Match", "W/\"category-5\""))
+                .andExpect(status().isNotModified());
+
+        verifyNoInteractions(categoryService, cacheVersionMapper);
+    }
+
+    @Test
+    @DisplayName("版本变化后 - 旧 ETag 不再命中")
+    void versionChanged_StaleEtagReturnsBody() throws Exception {
+        pollVersions(3, 5);
+        pollVersions(4, 5);
+
+        mockMvc.perform(get("/api/v1/products/public/facets").header("If-None-Match", "W/\"product-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"product-4\""));
+        // 分类版本未变，仍命中
+        mockMvc.perform(get("/api/v1/categories/active").header("If-None-Match", "W/\"category-5\""))
+                .andExpect(status().isNotModified());
+
+        verify(productFacetService).getPublicFacets(null, null, null, null);
+        verifyNoInteractions(categoryService);
+    }
+
+    @Test
+    @DisplayName("增量变更 - 不使用商品版本 ETag（结果还取决于时间）")
+    void changes_NotCoveredByVersionEtag() throws Exception {
+        pollVersions(3, 5);
+        when(productChangeService.getChanges(7L, 200)).thenReturn(ProductChangesVO.builder()
+                .upserts(List.of()).deletedIds(List.of(9L)).nextSince(8L).hasMore(false).build());
+
+        // 写入后 5 秒内轮询得到空结果的客户端，之后以同一 since 请求必须拿到稳定后的变更，而不是 304
+        mockMvc.perform(get("/api/v1/products/public/changes")
+                        .param("since", "7")
+                        .header("If-None-Match", "W/\"product-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(jsonPath("$.data.deletedIds[0]").value(9));
+
+        verify(productChangeService).getChanges(7L, 200);
+    }
+
+    @Test
+    @DisplayName("本实例写入 - 提交后版本前进")
+    void localBump_AdvancesVersion() throws Exception {
+        pollVersions(3, 5);
+        when(cacheVersionMapper.selectById(CacheRegion.PRODUCT.name())).thenReturn(version(CacheRegion.PRODUCT, 4));
+
+        cacheVersionService.bump(CacheRegion.PRODUCT);
+
+        mockMvc.perform(get("/api/v1/products/public/1").header("If-None-Match", "W/\"product-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"product-4\""));
+    }
+
+    @Test
+    @DisplayName("尚未读取到版本 - 不生成 ETag")
+    void versionUnknown_NoEtag() throws Exception {
+        mockMvc.perform(get("/api/v1/products/public/1").header("If-None-Match", "*"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+
+        verify(productService).getPublicProductById(1L);
+    }
+
+    @Test
+    @DisplayName("未启用版本表 - 本实例写入后也不生成 ETag（无法感知其他实例的写入）")
+    void versionTableDisabled_NoEtag() throws Exception {
+        setUp(false);
+        cacheVersionService.bump(CacheRegion.PRODUCT);
+
+        mockMvc.perform(get("/api/v1/products/public/1").header("If-None-Match", "*"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+        mockMvc.perform(get("/api/v1/categories/active").header("If-None-Match", "*"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+
+        assertEquals(-1, cacheVersionService.currentVersion(CacheRegion.PRODUCT));
+        verify(productService).getPublicProductById(1L);
+        verifyNoInteractions(cacheVersionMapper);
+    }
+
+    @Test
+    @DisplayName("关键词搜索 - 不使用 ETag，进入 Controller 计入热门搜索")
+    void keywordSearch_BypassesEtagAndRecordsSearch() throws Exception {
+        pollVersions(3, 5);
+        when(productService.getPublicProductList(1, 20, null, null, null, null, null, "烟花", true))
+                .thenReturn(PageVO.of(List.of(ProductListItemVO.builder().id(1L).name("烟花").build()), 1L, 1, 20));
+
+        mockMvc.perform(get("/api/v1/products/public")
+                        .param("keyword", "烟花")
+                        .header("If-None-Match", "W/\"product-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+
+        verify(searchKeywordService).record(eq("烟花"), any());
+    }
+}
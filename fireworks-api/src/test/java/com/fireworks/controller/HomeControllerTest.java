@@ -0,0 +1,139 @@
+package com.fireworks.controller;
+
+import com.fireworks.entity.CacheVersion;
+import com.fireworks.enums.CacheRegion;
+import com.fireworks.mapper.CacheVersionMapper;
+import com.fireworks.service.CategoryService;
+import com.fireworks.service.ProductService;
+import com.fireworks.service.impl.CacheVersionServiceImpl;
+import com.fireworks.service.impl.HomeServiceImpl;
+import com.fireworks.vo.CategoryVO;
+import com.fireworks.vo.PageVO;
+import com.fireworks.vo.ProductListItemVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 首页聚合接口条件请求单元测试
+ * <p>
+ * 首页服务与缓存版本服务使用真实实现（版本表 Mapper 为 Mock），分类与商品服务为 Mock。
+ */
+@ExtendWith(MockitoExtension.class)
+class HomeControllerTest {
+
+    private static final List<String> HOT_KEYWORDS = List.of("烟花", "礼花");
+
+    private static final String ETAG = "W/\"home-5-3-" + Integer.toHexString(HOT_KEYWORDS.hashCode()) + "\"";
+
+    @Mock
+    private CacheVersionMapper cacheVersionMapper;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private ProductService productService;
+
+    private CacheVersionServiceImpl cacheVersionService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        cacheVersionService = new CacheVersionServiceImpl(cacheVersionMapper, true, 2000);
+        HomeServiceImpl homeService = new HomeServiceImpl(categoryService, productService, cacheVersionService,
+                Runnable::run, 20);
+        mockMvc = MockMvcBuilders.standaloneSetup(new HomeController(homeService)).build();
+    }
+
+    /**
+     * 模拟轮询读到版本表
+     */
+    private void pollVersions(long productVersion, long categoryVersion) {
+        when(cacheVersionMapper.selectList(null)).thenReturn(List.of(
+                version(CacheRegion.PRODUCT, productVersion),
+                version(CacheRegion.CATEGORY, categoryVersion)));
+        cacheVersionService.poll();
+        clearInvocations(cacheVersionMapper);
+    }
+
+    private static CacheVersion version(CacheRegion region, long version) {
+        CacheVersion row = new CacheVersion();
+        row.setRegion(region.name());
+        row.setVersion(version);
+        return row;
+    }
+
+    @Test
+    @DisplayName("首次请求 - 返回首页数据与 ETag，热门搜索只读取一次")
+    void firstRequest_ReturnsBodyWithEtag() throws Exception {
+        pollVersions(3, 5);
+        when(productService.getHotKeywords()).thenReturn(HOT_KEYWORDS);
+        when(categoryService.getActiveCategories()).thenReturn(List.of(CategoryVO.builder().id(1L).name("礼花").build()));
+        when(productService.getPublicProductList(1, 20, null, null, null, null, null, null, true))
+                .thenReturn(PageVO.of(List.of(ProductListItemVO.builder().id(1L).name("烟花").build()), 1L, 1, 20));
+
+        mockMvc.perform(get("/api/v1/home"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ETAG))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(jsonPath("$.data.hotKeywords[0]").value("烟花"))
+                .andExpect(jsonPath("$.data.categories[0].name").value("礼花"))
+                .andExpect(jsonPath("$.data.products.items[0].name").value("烟花"));
+
+        verify(productService, times(1)).getHotKeywords();
+    }
+
+    @Test
+    @DisplayName("If-None-Match 命中 - 返回 304 且不读取分类与商品")
+    void matchingEtag_NotModifiedWithoutQuery() throws Exception {
+        pollVersions(3, 5);
+        when(productService.getHotKeywords()).thenReturn(HOT_KEYWORDS);
+
+        mockMvc.perform(get("/api/v1/home").header("If-None-Match", ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", ETAG))
+                .andExpect(content().string(""));
+
+        verify(productService, times(1)).getHotKeywords();
+        verifyNoMoreInteractions(productService);
+        verifyNoInteractions(categoryService, cacheVersionMapper);
+    }
+
+    @Test
+    @DisplayName("热门搜索变化 - 旧 ETag 不再命中")
+    void hotKeywordsChanged_StaleEtagReturnsBody() throws Exception {
+        pollVersions(3, 5);
+        List<String> changed = List.of("鞭炮");
+        when(productService.getHotKeywords()).thenReturn(changed);
+
+        mockMvc.perform(get("/api/v1/home").header("If-None-Match", ETAG))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"home-5-3-" + Integer.toHexString(changed.hashCode()) + "\""))
+                .andExpect(jsonPath("$.data.hotKeywords[0]").value("鞭炮"));
+    }
+
+    @Test
+    @DisplayName("尚未读取到版本 - 不生成 ETag")
+    void versionUnknown_NoEtag() throws Exception {
+        when(productService.getHotKeywords()).thenReturn(HOT_KEYWORDS);
+
+        mockMvc.perform(get("/api/v1/home").header("If-None-Match", "*"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+
+        verify(categoryService).getActiveCategories();
+    }
+}
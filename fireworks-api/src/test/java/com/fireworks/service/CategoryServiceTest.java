@@ -1,10 +1,12 @@
 package com.fireworks.service;
 
+import com.fireworks.cache.ProductCatalogCache;
 import com.fireworks.dto.CreateCategoryRequest;
 import com.fireworks.dto.UpdateCategoryRequest;
 import com.fireworks.entity.Category;
 import com.fireworks.exception.BusinessException;
 import com.fireworks.mapper.CategoryMapper;
+import com.fireworks.mapper.ProductMapper;
 import com.fireworks.service.impl.CategoryServiceImpl;
 import com.fireworks.vo.CategoryVO;
 import org.junit.jupiter.api.BeforeEach;
@@ -33,6 +35,18 @@ class CategoryServiceTest {
     @Mock
     private CategoryMapper categoryMapper;
 
+    @Mock
+    private ProductMapper productMapper;
+
+    @Mock
+    private ProductCatalogCache productCatalogCache;
+
+    @Mock
+    private CacheVersionService cacheVersionService;
+
+    @Mock
+    private ProductChangeService productChangeService;
+
     @InjectMocks
     private CategoryServiceImpl categoryService;
 
@@ -0,0 +1,167 @@
+package com.fireworks.service;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.fireworks.cache.ProductCatalogCache;
+import com.fireworks.entity.Product;
+import com.fireworks.entity.ProductChangeLog;
+import com.fireworks.mapper.ProductChangeLogMapper;
+import com.fireworks.mapper.ProductMapper;
+import com.fireworks.service.impl.ProductChangeServiceImpl;
+import com.fireworks.vo.ProductChangesVO;
+import com.fireworks.vo.ProductListItemVO;
+import com.fireworks.vo.ProductVO;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 商品变更日志服务单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+class ProductChangeServiceTest {
+
+    private static final int SETTLE_SECONDS = 5;
+
+    @Mock
+    private ProductChangeLogMapper productChangeLogMapper;
+
+    @Mock
+    private ProductMapper productMapper;
+
+    @Mock
+    private ProductCatalogCache productCatalogCache;
+
+    private ProductChangeServiceImpl productChangeService;
+
+    @BeforeAll
+    static void initTableInfo() {
+        // Lambda 条件解析列名需要实体元数据（正常由 Mapper 扫描时注册）
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(new MybatisConfiguration(), "");
+        TableInfoHelper.initTableInfo(assistant, ProductChangeLog.class);
+        TableInfoHelper.initTableInfo(assistant, Product.class);
+    }
+
+    @BeforeEach
+    void setUp() {
+        productChangeService = new ProductChangeServiceImpl(productChangeLogMapper, productMapper, productCatalogCache,
+                SETTLE_SECONDS, true);
+    }
+
+    private static ProductChangeLog change(long seq, long productId) {
+        ProductChangeLog row = new ProductChangeLog();
+        row.setSeq(seq);
+        row.setProductId(productId);
+        return row;
+    }
+
+    private static Product onShelf(long id, String name) {
+        Product p = new Product();
+        p.setId(id);
+        p.setName(name);
+        p.setStatus("ON_SHELF");
+        return p;
+    }
+
+    @SuppressWarnings("unchecked")
+    private LambdaQueryWrapper<ProductChangeLog> changeQuery() {
+        ArgumentCaptor<LambdaQueryWrapper<ProductChangeLog>> captor = ArgumentCaptor.forClass(LambdaQueryWrapper.class);
+        verify(productChangeLogMapper).selectList(captor.capture());
+        return captor.getValue();
+    }
+
+    private static List<Long> ids(List<ProductListItemVO> items) {
+        List<Long> ids = new ArrayList<>();
+        items.forEach(i -> ids.add(i.getId()));
+        return ids;
+    }
+
+    @Test
+    @DisplayName("稳定期 - 只读取写入超过 settle-seconds 的记录，同步起点按同一规则取值")
+    void settleCutoff() {
+        when(productChangeLogMapper.selectList(any())).thenReturn(List.of());
+        when(productChangeLogMapper.selectMaxSettledSeq(SETTLE_SECONDS)).thenReturn(12L);
+
+        productChangeService.getChanges(7L, 200);
+
+        LambdaQueryWrapper<ProductChangeLog> query = changeQuery();
+        assertEquals("(seq > ? AND changed_at <= NOW() - INTERVAL ? SECOND) ORDER BY seq ASC LIMIT 201",
+                query.getSqlSegment().replaceAll("#\\{[^}]+}", "?"));
+        assertTrue(query.getParamNameValuePairs().values().containsAll(List.of(7L, SETTLE_SECONDS)));
+        assertEquals(12L, productChangeService.currentSeq());
+    }
+
+    @Test
+    @DisplayName("超出条数 - hasMore 为 true，nextSince 为本次返回的最后一条序号")
+    void hasMore_NextSinceIsLastReturnedSeq() {
+        // 多取的一条（seq=10）不返回
+        when(productChangeLogMapper.selectList(any())).thenReturn(List.of(change(8, 1), change(9, 2), change(10, 3)));
+        when(productMapper.selectList(any())).thenReturn(List.of(onShelf(1, "烟花"), onShelf(2, "礼花")));
+
+        ProductChangesVO result = productChangeService.getChanges(7L, 2);
+
+        assertTrue(result.getHasMore());
+        assertEquals(9L, result.getNextSince());
+        assertEquals(List.of(1L, 2L), ids(result.getUpserts()));
+        assertEquals(List.of(), result.getDeletedIds());
+        assertTrue(changeQuery().getSqlSegment().endsWith("LIMIT 3"));
+    }
+
+    @Test
+    @DisplayName("没有新变更 - nextSince 保持不变，不查询商品")
+    void noChanges_NextSinceUnchanged() {
+        when(productChangeLogMapper.selectList(any())).thenReturn(List.of());
+
+        ProductChangesVO result = productChangeService.getChanges(7L, null);
+
+        assertFalse(result.getHasMore());
+        assertEquals(7L, result.getNextSince());
+        assertTrue(result.getUpserts().isEmpty());
+        assertTrue(result.getDeletedIds().isEmpty());
+        verifyNoInteractions(productMapper);
+    }
+
+    @Test
+    @DisplayName("已下架或已删除 - 归入 deletedIds，同一商品多次变更只返回一次")
+    void offShelf_ReturnedAsDeleted() {
+        when(productChangeLogMapper.selectList(any())).thenReturn(
+                List.of(change(8, 1), change(9, 2), change(10, 1), change(11, 3)));
+        // 只有商品 1 仍上架；2 已下架、3 已删除，均不在上架查询结果中
+        when(productMapper.selectList(any())).thenReturn(List.of(onShelf(1, "烟花")));
+
+        ProductChangesVO result = productChangeService.getChanges(0L, 200);
+
+        assertEquals(List.of(1L), ids(result.getUpserts()));
+        assertEquals(List.of(2L, 3L), result.getDeletedIds());
+        assertEquals(11L, result.getNextSince());
+        assertFalse(result.getHasMore());
+    }
+
+    @Test
+    @DisplayName("启用商品缓存 - 按内存目录判定上架，不查询数据库")
+    void catalogCache_UsedForCurrentState() {
+        when(productChangeLogMapper.selectList(any())).thenReturn(List.of(change(8, 1), change(9, 2)));
+        when(productCatalogCache.isEnabled()).thenReturn(true);
+        when(productCatalogCache.getById(1L)).thenReturn(ProductVO.builder().id(1L).name("烟花").build());
+        when(productCatalogCache.getById(2L)).thenReturn(null);
+
+        ProductChangesVO result = productChangeService.getChanges(7L, 200);
+
+        assertEquals(List.of(1L), ids(result.getUpserts()));
+        assertEquals(List.of(2L), result.getDeletedIds());
+        verifyNoInteractions(productMapper);
+    }
+}
@@ -0,0 +1,205 @@
+package com.fireworks.service;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.fireworks.cache.PageTotalCache;
+import com.fireworks.cache.ProductCatalogCache;
+import com.fireworks.entity.Product;
+import com.fireworks.mapper.CategoryMapper;
+import com.fireworks.mapper.ProductMapper;
+import com.fireworks.service.impl.ProductServiceImpl;
+import com.fireworks.util.ProductCursor;
+import com.fireworks.util.ProductSort;
+import com.fireworks.vo.CursorPageVO;
+import com.fireworks.vo.ProductVO;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 商品键集分页单元测试
+ * <p>
+ * 捕获管理端游标分页生成的查询条件，按 SQL 语义在内存中逐页执行，验证排序键相同（并列）时不重不漏。
+ */
+@ExtendWith(MockitoExtension.class)
+class ProductKeysetTest {
+
+    private static final Pattern PARAM = Pattern.compile("#\\{ew\\.paramNameValuePairs\\.(\\w+)}");
+
+    @Mock
+    private ProductMapper productMapper;
+
+    @Mock
+    private CategoryMapper categoryMapper;
+
+    @Mock
+    private ProductVideoExtractAsyncService productVideoExtractAsyncService;
+
+    @Mock
+    private ProductCatalogCache productCatalogCache;
+
+    @Mock
+    private PageTotalCache pageTotalCache;
+
+    @Mock
+    private SearchKeywordService searchKeywordService;
+
+    @Mock
+    private ProductChangeService productChangeService;
+
+    @InjectMocks
+    private ProductServiceImpl productService;
+
+    @BeforeAll
+    static void initTableInfo() {
+        // Lambda 条件解析列名需要实体元数据（正常由 Mapper 扫描时注册）
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), Product.class);
+    }
+
+    private static Product product(long id, String price) {
+        Product p = new Product();
+        p.setId(id);
+        p.setPrice(new BigDecimal(price));
+        return p;
+    }
+
+    /**
+     * 捕获一次游标分页的查询条件
+     */
+    private LambdaQueryWrapper<Product> captureQuery(String sort, String cursor, int size) {
+        when(productMapper.selectList(any())).thenReturn(List.of());
+        productService.scrollProductList(null, sort, cursor, size, null);
+        return lastQuery();
+    }
+
+    @SuppressWarnings("unchecked")
+    private LambdaQueryWrapper<Product> lastQuery() {
+        ArgumentCaptor<LambdaQueryWrapper<Product>> captor = ArgumentCaptor.forClass(LambdaQueryWrapper.class);
+        verify(productMapper).selectList(captor.capture());
+        return captor.getValue();
+    }
+
+    /**
+     * 参数占位替换为 ? 后的条件
+     */
+    private static String sql(LambdaQueryWrapper<Product> query) {
+        return query.getSqlSegment().replaceAll("#\\{[^}]+}", "?");
+    }
+
+    /**
+     * 条件中的参数值（按出现顺序）
+     */
+    private static List<Object> params(LambdaQueryWrapper<Product> query) {
+        Map<String, Object> values = query.getParamNameValuePairs();
+        List<Object> params = new ArrayList<>();
+        Matcher m = PARAM.matcher(query.getSqlSegment());
+        while (m.find()) {
+            params.add(values.get(m.group(1)));
+        }
+        return params;
+    }
+
+    /**
+     * 按价格键集条件 {@code (price > v) OR (price = v AND id > last)}（降序为小于）在内存中取下一页
+     */
+    private static List<Product> page(List<Product> all, boolean asc, ProductCursor after, int size) {
+        Comparator<Product> order = Comparator.comparing(Product::getPrice).thenComparing(Product::getId);
+        if (!asc) {
+            order = order.reversed();
+        }
+        Predicate<Product> keyset = p -> true;
+        if (after != null) {
+            BigDecimal v = (BigDecimal) after.value();
+            keyset = p -> {
+                int byKey = p.getPrice().compareTo(v);
+                int byId = p.getId().compareTo(after.id());
+                return asc ? byKey > 0 || (byKey == 0 && byId > 0) : byKey < 0 || (byKey == 0 && byId < 0);
+            };
+        }
+        return all.stream().filter(keyset).sorted(order).limit(size + 1L).toList();
+    }
+
+    @Test
+    @DisplayName("键集条件 - 升序为 (key > v) OR (key = v AND id > last)，按排序键与ID同向排序")
+    void keysetCondition_Ascending() {
+        String cursor = ProductCursor.encode(new ProductSort(ProductSort.PRICE, true), 7L, new BigDecimal("19.90"));
+
+        LambdaQueryWrapper<Product> query = captureQuery("price,asc", cursor, 20);
+
+        // 多取一条用于判断是否还有下一页
+        assertEquals("((price > ? OR (price = ? AND id > ?))) ORDER BY price ASC,id ASC LIMIT 21", sql(query));
+        assertEquals(List.of(new BigDecimal("19.90"), new BigDecimal("19.90"), 7L), params(query));
+    }
+
+    @Test
+    @DisplayName("键集条件 - 降序为 (key < v) OR (key = v AND id < last)")
+    void keysetCondition_Descending() {
+        String cursor = ProductCursor.encode(new ProductSort(ProductSort.PRICE, false), 7L, new BigDecimal("19.90"));
+
+        LambdaQueryWrapper<Product> query = captureQuery("price,desc", cursor, 20);
+
+        assertEquals("((price < ? OR (price = ? AND id < ?))) ORDER BY price DESC,id DESC LIMIT 21", sql(query));
+        assertEquals(List.of(new BigDecimal("19.90"), new BigDecimal("19.90"), 7L), params(query));
+    }
+
+    @Test
+    @DisplayName("按ID排序 - 只比较ID")
+    void keysetCondition_ById() {
+        String cursor = ProductCursor.encode(new ProductSort(ProductSort.ID, false), 42L, 42L);
+
+        LambdaQueryWrapper<Product> query = captureQuery("id,desc", cursor, 20);
+
+        assertEquals("(id < ?) ORDER BY id DESC LIMIT 21", sql(query));
+        assertEquals(List.of(42L), params(query));
+    }
+
+    @Test
+    @DisplayName("价格并列跨页 - 升序与降序逐页翻完不重不漏")
+    void tiesAcrossPages_NoDuplicatesOrGaps() {
+        // 5 个并列的 10.00 横跨页边界
+        List<Product> all = List.of(product(1, "5.00"), product(2, "10.00"), product(3, "10.00"), product(4, "10.00"),
+                product(5, "10.00"), product(6, "10.00"), product(7, "20.00"));
+
+        for (boolean asc : new boolean[]{true, false}) {
+            ProductSort sort = new ProductSort(ProductSort.PRICE, asc);
+            List<Long> seen = new ArrayList<>();
+            String cursor = null;
+            do {
+                ProductCursor after = cursor != null ? ProductCursor.decode(cursor, sort) : null;
+                clearInvocations(productMapper);
+                when(productMapper.selectList(any())).thenReturn(page(all, asc, after, 2));
+
+                CursorPageVO<ProductVO> result = productService.scrollProductList(null,
+                        asc ? "price,asc" : "price,desc", cursor, 2, null);
+
+                // 生成的条件与内存模拟使用同一边界
+                if (after != null) {
+                    assertEquals(List.of(after.value(), after.value(), after.id()), params(lastQuery()));
+                }
+                result.getItems().forEach(p -> seen.add(p.getId()));
+                cursor = result.getNextCursor();
+            } while (cursor != null);
+
+            assertEquals(asc ? List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L) : List.of(7L, 6L, 5L, 4L, 3L, 2L, 1L), seen);
+        }
+    }
+}
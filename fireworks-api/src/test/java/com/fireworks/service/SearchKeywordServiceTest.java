@@ -0,0 +1,74 @@
+package com.fireworks.service;
+
+import com.fireworks.mapper.SearchKeywordStatMapper;
+import com.fireworks.service.impl.SearchKeywordServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 搜索关键词统计服务单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+class SearchKeywordServiceTest {
+
+    private static final long HALF_LIFE_SECONDS = 24 * 3600L;
+
+    @Mock
+    private SearchKeywordStatMapper searchKeywordStatMapper;
+
+    private SearchKeywordServiceImpl searchKeywordService;
+
+    @BeforeEach
+    void setUp() {
+        searchKeywordService = new SearchKeywordServiceImpl(searchKeywordStatMapper, true, 24, 10000, 200, 3);
+        lenient().when(searchKeywordStatMapper.selectHot(anyLong(), anyDouble(), anyInt())).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("同一客户端重复搜索 - 一个窗口内只计一次")
+    void sameClient_CountedOncePerWindow() {
+        for (int i = 0; i < 50; i++) {
+            searchKeywordService.record("烟花", "openid-1");
+        }
+        searchKeywordService.record(" 烟花 ", "openid-2");
+
+        searchKeywordService.flush();
+
+        verify(searchKeywordStatMapper).accumulate("烟花", 2L, HALF_LIFE_SECONDS);
+    }
+
+    @Test
+    @DisplayName("不同客户端 - 估算的不同客户端数接近实际值")
+    void distinctClients_EstimatedWithinError() {
+        for (int i = 0; i < 200; i++) {
+            searchKeywordService.record("礼花", "openid-" + i);
+        }
+
+        searchKeywordService.flush();
+
+        verify(searchKeywordStatMapper).accumulate(eq("礼花"),
+                longThat(count -> count >= 180 && count <= 220), eq(HALF_LIFE_SECONDS));
+    }
+
+    @Test
+    @DisplayName("热门排行 - 按配置的最低得分读取")
+    void hotKeywords_UseMinScore() {
+        searchKeywordService.record("鞭炮", "openid-1");
+        when(searchKeywordStatMapper.selectHot(HALF_LIFE_SECONDS, 3.0, 50)).thenReturn(List.of("鞭炮"));
+
+        searchKeywordService.flush();
+
+        assertEquals("鞭炮", searchKeywordService.getHotKeywords(3).get(0));
+        assertEquals(3, searchKeywordService.getHotKeywords(3).size());
+    }
+}
@@ -0,0 +1,36 @@
+package com.fireworks.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 汉字转拼音工具单元测试
+ */
+class PinyinUtilTest {
+
+    @Test
+    @DisplayName("全拼 - 不带声调、不分隔，字母数字转小写保留，空白与标点忽略")
+    void toPinyin() {
+        assertEquals("yanhua", PinyinUtil.toPinyin("烟花"));
+        assertEquals("yanhuabig", PinyinUtil.toPinyin("烟花 Big"));
+        assertEquals("lengguangyanhua100", PinyinUtil.toPinyin("冷光·烟花（100）"));
+    }
+
+    @Test
+    @DisplayName("首字母 - 每个汉字取读音首字母")
+    void toInitials() {
+        assertEquals("yh", PinyinUtil.toInitials("烟花"));
+        assertEquals("yhbig", PinyinUtil.toInitials("烟花 Big"));
+        assertEquals("jtl36f", PinyinUtil.toInitials("加特林36发"));
+    }
+
+    @Test
+    @DisplayName("空文本 - 返回空串")
+    void emptyText() {
+        assertEquals("", PinyinUtil.toPinyin(null));
+        assertEquals("", PinyinUtil.toInitials(""));
+        assertEquals("", PinyinUtil.toPinyin(" ！"));
+    }
+}
@@ -0,0 +1,81 @@
+package com.fireworks.util;
+
+import com.fireworks.exception.BusinessException;
+import com.fireworks.vo.ProductVO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 商品列表游标单元测试
+ */
+class ProductCursorTest {
+
+    private static final ProductSort CREATED_DESC = new ProductSort(ProductSort.CREATED_AT, false);
+    private static final ProductSort PRICE_ASC = new ProductSort(ProductSort.PRICE, true);
+    private static final ProductSort ID_DESC = new ProductSort(ProductSort.ID, false);
+
+    @Test
+    @DisplayName("编码后解码 - 还原排序、ID 与排序值")
+    void encodeDecode_RoundTrip() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 28, 20, 30, 15, 123_000_000);
+
+        ProductCursor byTime = ProductCursor.decode(ProductCursor.encode(CREATED_DESC, 42L, createdAt), CREATED_DESC);
+        assertEquals(new ProductCursor(CREATED_DESC, 42L, createdAt), byTime);
+
+        ProductCursor byPrice = ProductCursor.decode(ProductCursor.encode(PRICE_ASC, 7L, new BigDecimal("19.90")), PRICE_ASC);
+        assertEquals(7L, byPrice.id());
+        assertEquals(new BigDecimal("19.90"), byPrice.value());
+
+        ProductCursor byId = ProductCursor.decode(ProductCursor.encode(ID_DESC, 99L, 99L), ID_DESC);
+        assertEquals(99L, byId.id());
+        assertEquals(99L, byId.value());
+    }
+
+    @Test
+    @DisplayName("以本页最后一条生成游标 - 取该排序下的排序值")
+    void after_UsesSortValueOfLastItem() {
+        ProductVO last = ProductVO.builder().id(5L).price(new BigDecimal("8.80"))
+                .createdAt(LocalDateTime.of(2025, 2, 1, 8, 0)).build();
+
+        assertEquals(new ProductCursor(PRICE_ASC, 5L, new BigDecimal("8.80")),
+                ProductCursor.decode(ProductCursor.after(PRICE_ASC, last), PRICE_ASC));
+        assertEquals(new ProductCursor(CREATED_DESC, 5L, LocalDateTime.of(2025, 2, 1, 8, 0)),
+                ProductCursor.decode(ProductCursor.after(CREATED_DESC, last), CREATED_DESC));
+    }
+
+    @Test
+    @DisplayName("游标与请求的排序字段或方向不一致 - 400")
+    void mismatchedSort_Rejected() {
+        String cursor = ProductCursor.encode(PRICE_ASC, 7L, new BigDecimal("19.90"));
+
+        BusinessException otherField = assertThrows(BusinessException.class,
+                () -> ProductCursor.decode(cursor, CREATED_DESC));
+        assertEquals(400, otherField.getCode());
+
+        BusinessException otherDirection = assertThrows(BusinessException.class,
+                () -> ProductCursor.decode(cursor, new ProductSort(ProductSort.PRICE, false)));
+        assertEquals(400, otherDirection.getCode());
+    }
+
+    @Test
+    @DisplayName("游标格式错误 - 400")
+    void malformedCursor_Rejected() {
+        String notBase64 = "not base64!";
+        String badValue = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("createdAt,desc,1,yesterday".getBytes(StandardCharsets.UTF_8));
+        String missingParts = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("createdAt,desc".getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : new String[]{notBase64, badValue, missingParts}) {
+            BusinessException e = assertThrows(BusinessException.class, () -> ProductCursor.decode(cursor, CREATED_DESC));
+            assertEquals(400, e.getCode());
+        }
+    }
+}
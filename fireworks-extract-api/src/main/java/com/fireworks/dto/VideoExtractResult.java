@@ -1,5 +1,6 @@
 package com.fireworks.dto;
 
+import com.fireworks.enums.VideoExtractStage;
 import com.fireworks.enums.VideoExtractStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -34,4 +35,9 @@ public class VideoExtractResult {
      * 目标网址（H5/二维码URL），用于后续补充规则
      */
     private String targetUrl;
+
+    /**
+     * 超时所在阶段（仅在提取总预算耗尽时有值）
+     */
+    private VideoExtractStage timeoutStage;
 }
@@ -0,0 +1,32 @@
+package com.fireworks.enums;
+
+/**
+ * 视频提取阶段（用于超时归因）
+ */
+public enum VideoExtractStage {
+
+    /**
+     * 下载二维码图片
+     */
+    IMAGE_DOWNLOAD,
+
+    /**
+     * 二维码解码（ZXing）
+     */
+    QR_DECODE,
+
+    /**
+     * 已知平台数据接口（fwmall、虎城等）
+     */
+    PLATFORM_API,
+
+    /**
+     * HtmlUnit 渲染目标页面
+     */
+    HTMLUNIT_RENDER,
+
+    /**
+     * HtmlUnit 跟随 JS 跳转页面
+     */
+    FOLLOW_UP_PAGE
+}
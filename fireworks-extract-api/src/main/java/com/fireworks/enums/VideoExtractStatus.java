@@ -10,6 +10,11 @@ public enum VideoExtractStatus {
      */
     SKIPPED,
 
+    /**
+     * 排队中（已被自动重试认领，等待提取线程开始执行）
+     */
+    QUEUED,
+
     /**
      * 提取中
      */
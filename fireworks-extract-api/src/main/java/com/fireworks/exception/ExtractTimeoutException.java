@@ -0,0 +1,20 @@
+package com.fireworks.exception;
+
+import com.fireworks.enums.VideoExtractStage;
+import lombok.Getter;
+
+/**
+ * 视频提取超时异常
+ * <p>
+ * 提取总预算耗尽时由 {@link com.fireworks.util.ExtractDeadline} 抛出，携带耗尽时所处的阶段。
+ */
+@Getter
+public class ExtractTimeoutException extends RuntimeException {
+
+    private final VideoExtractStage stage;
+
+    public ExtractTimeoutException(VideoExtractStage stage) {
+        super("视频提取超时: " + stage);
+        this.stage = stage;
+    }
+}
@@ -0,0 +1,26 @@
+package com.fireworks.extract;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 远程提取请求（API 服务 → 独立提取服务 {@code POST /extract}）
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExtractRequest {
+
+    /**
+     * 二维码图片URL
+     */
+    private String qrCodeImageUrl;
+
+    /**
+     * 剩余提取预算（毫秒），提取服务据此重建截止时间
+     */
+    private long budgetMs;
+}
@@ -0,0 +1,24 @@
+package com.fireworks.extract;
+
+import com.fireworks.dto.VideoExtractResult;
+import com.fireworks.util.ExtractDeadline;
+
+/**
+ * 视频提取引擎接口
+ * <p>
+ * API 服务与提取引擎之间的唯一边界：引擎可以随 API 进程一起加载（local），
+ * 也可以作为独立部署通过 HTTP 调用（remote），API 侧只依赖本模块。
+ */
+public interface VideoExtractor {
+
+    /**
+     * 在给定截止时间内从二维码图片提取视频信息
+     * <p>
+     * 任何异常都不抛出；预算耗尽时返回 FAILED，并在 {@code timeoutStage} 中标明耗尽所在阶段。
+     *
+     * @param qrCodeImageUrl 二维码图片URL
+     * @param deadline       端到端截止时间
+     * @return 提取结果
+     */
+    VideoExtractResult extract(String qrCodeImageUrl, ExtractDeadline deadline);
+}
@@ -0,0 +1,151 @@
+package com.fireworks.util;
+
+import com.fireworks.enums.VideoExtractStage;
+import com.fireworks.exception.ExtractTimeoutException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 视频提取端到端截止时间
+ * <p>
+ * 一次提取从下载图片到 HtmlUnit 跟随页面共用同一个总预算，
+ * 每个阶段只能使用 {@code min(阶段上限, 剩余预算)}，避免各阶段固定超时叠加后远超预期。
+ * <p>
+ * 同时记录当前所处阶段，预算耗尽时可据此判断是哪个阶段用完了时间。
+ * <p>
+ * 线程安全：截止时间不可变，当前阶段使用 volatile 保证可见性。
+ */
+public final class ExtractDeadline {
+
+    /** 剩余预算低于此值视为已耗尽（毫秒），不足以完成任何一次网络往返 */
+    private static final long MIN_STAGE_BUDGET_MS = 50;
+
+    private final long deadlineNanos;
+    private final long budgetMs;
+    private final StageListener stageListener;
+    private volatile VideoExtractStage currentStage;
+
+    private ExtractDeadline(long budgetMs, StageListener stageListener) {
+        this(budgetMs, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMs), stageListener);
+    }
+
+    private ExtractDeadline(long budgetMs, long deadlineNanos, StageListener stageListener) {
+        this.budgetMs = budgetMs;
+        this.deadlineNanos = deadlineNanos;
+        this.stageListener = stageListener;
+    }
+
+    /**
+     * 创建从当前时刻开始计算的截止时间
+     *
+     * @param budgetMs 总预算（毫秒）
+     * @return 截止时间
+     */
+    public static ExtractDeadline after(long budgetMs) {
+        return new ExtractDeadline(Math.max(0, budgetMs), null);
+    }
+
+    /**
+     * 创建带阶段监听的截止时间（用于按阶段统计耗时与内存分配）
+     *
+     * @param budgetMs      总预算（毫秒）
+     * @param stageListener 阶段切换监听，在切换阶段的线程上同步回调
+     * @return 截止时间
+     */
+    public static ExtractDeadline after(long budgetMs, StageListener stageListener) {
+        return new ExtractDeadline(Math.max(0, budgetMs), stageListener);
+    }
+
+    /**
+     * 以同一截止时刻创建带阶段监听的副本（调用方传入的截止时间上追加指标采集等监听）
+     *
+     * @param listener 阶段切换监听，替换原有监听
+     * @return 截止时刻相同的新截止时间
+     */
+    public ExtractDeadline withStageListener(StageListener listener) {
+        ExtractDeadline copy = new ExtractDeadline(budgetMs, deadlineNanos, listener);
+        copy.currentStage = currentStage;
+        return copy;
+    }
+
+    /**
+     * @return 总预算（毫秒）
+     */
+    public long getBudgetMs() {
+        return budgetMs;
+    }
+
+    /**
+     * @return 剩余预算（毫秒），已超时返回 0
+     */
+    public long remainingMs() {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+    }
+
+    /**
+     * @return 剩余预算是否已不足以执行任何阶段
+     */
+    public boolean isExpired() {
+        return remainingMs() <= MIN_STAGE_BUDGET_MS;
+    }
+
+    /**
+     * 进入某个阶段并获取该阶段可用的超时时间
+     *
+     * @param stage      阶段
+     * @param stageCapMs 阶段自身的超时上限（毫秒）
+     * @return {@code min(stageCapMs, 剩余预算)}
+     * @throws ExtractTimeoutException 剩余预算已耗尽
+     */
+    public int timeoutFor(VideoExtractStage stage, int stageCapMs) {
+        enter(stage);
+        long remaining = remainingMs();
+        if (remaining <= MIN_STAGE_BUDGET_MS) {
+            throw new ExtractTimeoutException(stage);
+        }
+        return (int) Math.min(stageCapMs, remaining);
+    }
+
+    /**
+     * 进入某个阶段（无需超时参数的阶段，如 CPU 密集的解码）
+     *
+     * @param stage 阶段
+     * @throws ExtractTimeoutException 剩余预算已耗尽
+     */
+    public void check(VideoExtractStage stage) {
+        enter(stage);
+        if (isExpired()) {
+            throw new ExtractTimeoutException(stage);
+        }
+    }
+
+    /**
+     * @return 最近进入的阶段（预算耗尽时即为耗尽所在阶段）
+     */
+    public VideoExtractStage getCurrentStage() {
+        return currentStage;
+    }
+
+    private void enter(VideoExtractStage stage) {
+        VideoExtractStage previous = this.currentStage;
+        this.currentStage = stage;
+        if (stageListener != null && previous != stage) {
+            stageListener.onStageEnter(previous, stage);
+        }
+    }
+
+    /**
+     * 阶段切换监听
+     */
+    @FunctionalInterface
+    public interface StageListener {
+
+        /**
+         * 进入新阶段（同一阶段重复进入不回调）
+         *
+         * @param previous 上一阶段（首次进入时为 null）
+         * @param current  新阶段
+         */
+        void onStageEnter(VideoExtractStage previous, VideoExtractStage current);
+    }
+}
@@ -0,0 +1,99 @@
+package com.fireworks.benchmark;
+
+import com.fireworks.util.QrCodeImageUtils;
+import com.fireworks.util.QrCodeImageUtils.BinarizerType;
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.client.j2se.MatrixToImageWriter;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 二维码解码基准：不同图片尺寸 × 二值化策略
+ * <p>
+ * 输入为白底海报上的单个二维码（模拟商品图），{@code fullPipeline} 含候选图构建（小图放大）。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QrDecodeBenchmark {
+
+    private static final String QR_CONTENT = "https://v2.fwmall.com.cn/h5/#/pages/goods/detail?store_id=12&id=34567";
+
+    /** 海报边长（像素），二维码占其 40% */
+    @Param({"240", "480", "960"})
+    public int posterSize;
+
+    @Param({"HYBRID", "GLOBAL_HISTOGRAM", "HYBRID_THEN_GLOBAL"})
+    public String binarizers;
+
+    private BufferedImage poster;
+    private Map<DecodeHintType, Object> hints;
+    private List<BinarizerType> binarizerOrder;
+
+    @Setup
+    public void setUp() throws WriterException {
+        int qrSize = posterSize * 2 / 5;
+        BitMatrix matrix = new QRCodeWriter().encode(QR_CONTENT, BarcodeFormat.QR_CODE, qrSize, qrSize,
+                Map.of(EncodeHintType.MARGIN, 1));
+        BufferedImage qr = MatrixToImageWriter.toBufferedImage(matrix);
+
+        poster = new BufferedImage(posterSize, posterSize, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = poster.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, posterSize, posterSize);
+            g.setColor(new Color(200, 40, 40));
+            g.fillRect(0, 0, posterSize, posterSize / 3);
+            g.drawImage(qr, posterSize - qrSize - posterSize / 20, posterSize - qrSize - posterSize / 20, null);
+        } finally {
+            g.dispose();
+        }
+
+        hints = QrCodeImageUtils.defaultDecodeHints();
+        binarizerOrder = switch (binarizers) {
+            case "HYBRID" -> List.of(BinarizerType.HYBRID);
+            case "GLOBAL_HISTOGRAM" -> List.of(BinarizerType.GLOBAL_HISTOGRAM);
+            default -> List.of(BinarizerType.HYBRID, BinarizerType.GLOBAL_HISTOGRAM);
+        };
+    }
+
+    @Benchmark
+    public List<String> decodeOriginal() {
+        return QrCodeImageUtils.tryDecodeAllQrCodes(poster, hints, binarizerOrder);
+    }
+
+    @Benchmark
+    public List<String> fullPipeline() {
+        for (BufferedImage candidate : QrCodeImageUtils.buildDecodeCandidates(poster)) {
+            List<String> decoded = QrCodeImageUtils.tryDecodeAllQrCodes(candidate, hints, binarizerOrder);
+            if (!decoded.isEmpty()) {
+                return decoded;
+            }
+        }
+        return List.of();
+    }
+}
@@ -0,0 +1,50 @@
+package com.fireworks.benchmark;
+
+import com.fireworks.util.VideoUrlTextUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 查询参数提取基准
+ * <p>
+ * {@code extractQueryParamRecompile} 为按次编译正则的旧实现，作为缓存版本的对照。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueryParamBenchmark {
+
+    @Param({
+            "https://v2.fwmall.com.cn/h5/#/pages/goods/detail?store_id=12&id=34567",
+            "https://htglhy.huchengfireworks.com/h5/goods?from=qr&utm_source=poster&spm=a.b.c&id=889"
+    })
+    public String url;
+
+    @Benchmark
+    public String extractQueryParam() {
+        return VideoUrlTextUtils.extractQueryParam(url, "id");
+    }
+
+    @Benchmark
+    public String extractQueryParamRecompile() {
+        Pattern pattern = Pattern.compile(String.format("(^|[?&])%s=([^&#]+)", Pattern.quote("id")),
+                Pattern.CASE_INSENSITIVE);
+        Matcher matcher = pattern.matcher(url);
+        return matcher.find() ? matcher.group(2) : null;
+    }
+}
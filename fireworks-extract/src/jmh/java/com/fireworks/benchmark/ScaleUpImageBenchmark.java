@@ -0,0 +1,59 @@
+package com.fireworks.benchmark;
+
+import com.fireworks.util.QrCodeImageUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 小图放大基准（最近邻插值）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScaleUpImageBenchmark {
+
+    @Param({"200", "300", "600"})
+    public int size;
+
+    @Param({"2", "3"})
+    public int factor;
+
+    /** TYPE_INT_RGB 为常见解码结果；TYPE_3BYTE_BGR 对应 ImageIO 读出的 JPEG */
+    @Param({"TYPE_INT_RGB", "TYPE_3BYTE_BGR"})
+    public String imageType;
+
+    private BufferedImage source;
+
+    @Setup
+    public void setUp() {
+        int type = "TYPE_3BYTE_BGR".equals(imageType) ? BufferedImage.TYPE_3BYTE_BGR : BufferedImage.TYPE_INT_RGB;
+        source = new BufferedImage(size, size, type);
+        Random random = new Random(42);
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                source.setRGB(x, y, random.nextBoolean() ? 0xFFFFFF : 0x000000);
+            }
+        }
+    }
+
+    @Benchmark
+    public BufferedImage scaleUp() {
+        return QrCodeImageUtils.scaleUpImage(source, factor);
+    }
+}
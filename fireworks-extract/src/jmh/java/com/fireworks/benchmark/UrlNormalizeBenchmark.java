@@ -0,0 +1,55 @@
+package com.fireworks.benchmark;
+
+import com.fireworks.util.VideoUrlTextUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * URL 候选清洗与规范化基准
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UrlNormalizeBenchmark {
+
+    private static final String BASE_URL = "https://m.example-fireworks.com/goods/detail?id=123";
+
+    @Param({"ESCAPED_JSON", "PROTOCOL_RELATIVE", "RELATIVE", "ABSOLUTE"})
+    public String candidateKind;
+
+    private String candidate;
+
+    @Setup
+    public void setUp() {
+        candidate = switch (candidateKind) {
+            case "ESCAPED_JSON" -> "https:\\/\\/cdn.example.com\\/v\\/a1b2c3.mp4?x=1\\u0026y=2";
+            case "PROTOCOL_RELATIVE" -> "//cdn.example.com/v/a1b2c3.mp4";
+            case "RELATIVE" -> "../v/a1b2c3.mp4?t=1";
+            default -> "https://cdn.example.com/v/a1b2c3.mp4";
+        };
+    }
+
+    @Benchmark
+    public String unescapeUrlCandidate() {
+        return VideoUrlTextUtils.unescapeUrlCandidate(candidate);
+    }
+
+    @Benchmark
+    public String unescapeAndNormalize() {
+        return VideoUrlTextUtils.normalizeUrl(VideoUrlTextUtils.unescapeUrlCandidate(candidate), BASE_URL);
+    }
+}
@@ -0,0 +1,72 @@
+package com.fireworks.benchmark;
+
+import com.fireworks.util.VideoUrlTextUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 视频 URL 文本匹配基准：大体积 HTML/JS 中的视频地址与跳转地址提取
+ * <p>
+ * {@code videoPosition}：视频地址位于文本开头、末尾或不存在（最坏情况，所有正则扫描全文）。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VideoUrlTextBenchmark {
+
+    private static final String BASE_URL = "https://m.example-fireworks.com/goods/detail?id=123";
+    private static final String VIDEO_SNIPPET =
+            "<script>var DATA = {\"title\":\"礼花弹\",\"video\":\"https:\\/\\/cdn.example.com\\/v\\/a1b2c3.mp4?t=1\"};</script>";
+
+    @Param({"16", "256", "1024"})
+    public int sizeKb;
+
+    @Param({"HEAD", "TAIL", "NONE"})
+    public String videoPosition;
+
+    private String html;
+
+    @Setup
+    public void setUp() {
+        StringBuilder filler = new StringBuilder(sizeKb * 1024 + 512);
+        int i = 0;
+        while (filler.length() < sizeKb * 1024) {
+            filler.append("<div class=\"item\" data-id=\"").append(i).append("\">")
+                    .append("<img src=\"/static/img/p").append(i).append(".jpg\" alt=\"商品图\"/>")
+                    .append("<a href=\"/goods/detail?id=").append(i).append("\">详情</a></div>\n")
+                    .append("<script>window.__STATE__.list.push({\"id\":").append(i)
+                    .append(",\"cover\":\"https:\\/\\/cdn.example.com\\/c\\/").append(i).append(".jpg\"});</script>\n");
+            i++;
+        }
+        html = switch (videoPosition) {
+            case "HEAD" -> VIDEO_SNIPPET + filler;
+            case "TAIL" -> filler + VIDEO_SNIPPET;
+            default -> filler.toString();
+        };
+    }
+
+    @Benchmark
+    public String extractVideoFromText() {
+        return VideoUrlTextUtils.extractVideoFromText(html, BASE_URL);
+    }
+
+    @Benchmark
+    public List<String> extractFollowUpPageUrls() {
+        return VideoUrlTextUtils.extractFollowUpPageUrls(html, BASE_URL);
+    }
+}
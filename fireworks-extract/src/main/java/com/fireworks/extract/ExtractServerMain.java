@@ -0,0 +1,137 @@
+package com.fireworks.extract;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fireworks.dto.VideoExtractResult;
+import com.fireworks.enums.VideoExtractStatus;
+import com.fireworks.render.HtmlUnitRenderer;
+import com.fireworks.render.PageRenderer;
+import com.fireworks.render.RenderWorkerPool;
+import com.fireworks.util.ExtractDeadline;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 独立提取服务入口
+ * <p>
+ * 将提取引擎作为单独部署运行（不启动 Spring 容器），API 服务以 {@code app.video.extract.mode=remote} 调用：
+ * <ul>
+ *   <li>{@code POST /extract}：请求体 {@link ExtractRequest}，响应体 {@link VideoExtractResult}</li>
+ *   <li>{@code GET /health}：健康检查</li>
+ * </ul>
+ * 配置通过系统属性传入（均有默认值）：
+ * {@code extract.port}、{@code extract.threads}、{@code extract.max-budget-ms}、
+ * {@code extract.render.mode}（in-process / worker）、{@code extract.render.pool-size}、
+ * {@code extract.render.worker-xmx}、{@code extract.render.max-renders-per-worker}、
+ * {@code extract.render.watchdog-grace-ms}。
+ */
+public final class ExtractServerMain {
+
+    /** 日志配置（须在第一次获取 Logger 之前设置） */
+    private static final String LOGBACK_CONFIG = "logback-extract-server.xml";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private ExtractServerMain() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (System.getProperty("logback.configurationFile") == null) {
+            System.setProperty("logback.configurationFile", LOGBACK_CONFIG);
+        }
+        Logger log = LoggerFactory.getLogger(ExtractServerMain.class);
+
+        int port = Integer.getInteger("extract.port", 8090);
+        int threads = Integer.getInteger("extract.threads", 4);
+        long maxBudgetMs = Long.getLong("extract.max-budget-ms", 45000L);
+        String renderMode = System.getProperty("extract.render.mode", "worker");
+
+        PageRenderer renderer = "worker".equals(renderMode)
+                ? new RenderWorkerPool(
+                        Integer.getInteger("extract.render.pool-size", 2),
+                        System.getProperty("extract.render.worker-xmx", "256m"),
+                        Integer.getInteger("extract.render.max-renders-per-worker", 50),
+                        Long.getLong("extract.render.watchdog-grace-ms", 3000L))
+                : new HtmlUnitRenderer();
+        VideoExtractor extractor = new VideoExtractEngine(renderer);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(executor);
+        server.createContext("/health", exchange -> writeText(exchange, 200, "UP"));
+        server.createContext("/extract", exchange -> handleExtract(exchange, extractor, maxBudgetMs, log));
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(1);
+            executor.shutdownNow();
+            if (renderer instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }, "extract-server-shutdown"));
+
+        server.start();
+        log.info("[提取服务] 已启动: port={}, threads={}, renderMode={}", port, threads, renderMode);
+    }
+
+    /**
+     * 处理提取请求；引擎本身不抛异常，这里只处理请求格式错误
+     */
+    private static void handleExtract(HttpExchange exchange, VideoExtractor extractor, long maxBudgetMs, Logger log)
+            throws IOException {
+        if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+            writeText(exchange, 405, "Method Not Allowed");
+            return;
+        }
+
+        ExtractRequest request;
+        try (InputStream body = exchange.getRequestBody()) {
+            request = OBJECT_MAPPER.readValue(body, ExtractRequest.class);
+        } catch (Exception e) {
+            writeText(exchange, 400, "Bad Request");
+            return;
+        }
+
+        long budgetMs = request.getBudgetMs() > 0 ? Math.min(request.getBudgetMs(), maxBudgetMs) : maxBudgetMs;
+        VideoExtractResult result;
+        try {
+            result = extractor.extract(request.getQrCodeImageUrl(), ExtractDeadline.after(budgetMs));
+        } catch (Exception e) {
+            log.error("[提取服务] 提取异常: {}", request.getQrCodeImageUrl(), e);
+            result = VideoExtractResult.builder()
+                    .status(VideoExtractStatus.FAILED)
+                    .message("提取服务异常")
+                    .build();
+        }
+
+        byte[] json = OBJECT_MAPPER.writeValueAsBytes(result);
+        exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(200, json.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(json);
+        }
+    }
+
+    private static void writeText(HttpExchange exchange, int status, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain;charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,658 @@
+package com.fireworks.extract;
+
+import com.fireworks.dto.VideoExtractResult;
+import com.fireworks.enums.VideoExtractStage;
+import com.fireworks.enums.VideoExtractStatus;
+import com.fireworks.exception.ExtractTimeoutException;
+import com.fireworks.extract.http.ExtractHttpResponse;
+import com.fireworks.extract.http.ExtractHttpTransport;
+import com.fireworks.extract.http.JdkHttpTransport;
+import com.fireworks.render.PageRenderer;
+import com.fireworks.util.ExtractDeadline;
+import com.fireworks.util.QrCodeImageUtils;
+import com.fireworks.util.VideoUrlTextUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.StringUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.util.*;
+
+/**
+ * 视频提取引擎
+ * <p>
+ * 核心功能：从二维码图片中提取视频播放地址。不依赖 Spring 容器，可随 API 进程加载，
+ * 也可由 {@link ExtractServerMain} 作为独立提取服务运行。
+ * <p>
+ * 设计原则：
+ * <ul>
+ *   <li>通用优先：使用正则表达式匹配，一套代码覆盖大多数场景</li>
+ *   <li>多二维码支持：一张图片可能包含多个二维码（公众号码+视频码），遍历尝试</li>
+ *   <li>分层提取：直链 → 已知平台API → HtmlUnit渲染提取</li>
+ *   <li>静默失败：任何异常都不抛出，返回失败状态供调用方处理</li>
+ *   <li>端到端预算：所有阶段共享一个 {@link ExtractDeadline}，每个阶段只使用剩余预算</li>
+ * </ul>
+ * <p>
+ * 提取策略（按优先级）：
+ * <ol>
+ *   <li>直链检测：二维码内容本身就是 .mp4/.m3u8 URL</li>
+ *   <li>已知平台API：针对 fwmall、虎城等 SPA 站点直接调用数据接口</li>
+ *   <li>HtmlUnit渲染：执行 JS 后从 DOM 或网络响应中提取视频URL（由 {@link PageRenderer} 在进程内或渲染子进程中执行）</li>
+ *   <li>兜底标记：渲染后仍失败则标记 NEED_DYNAMIC_RENDER，记录目标网址</li>
+ * </ol>
+ *
+ */
+@Slf4j
+public class VideoExtractEngine implements VideoExtractor {
+
+    // ==================== 超时配置 ====================
+    // 以下均为单阶段上限，实际超时取 min(阶段上限, 剩余总预算)
+    /** 图片下载超时时间（毫秒） */
+    private static final int IMAGE_DOWNLOAD_TIMEOUT_MS = 10000;
+    /** HTTP 请求超时时间（毫秒） */
+    private static final int HTTP_TIMEOUT_MS = 10000;
+    /** JSON 解析器 */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /** HtmlUnit 渲染（进程内或渲染子进程池） */
+    private final PageRenderer pageRenderer;
+
+    /** 图片下载与平台 API 的 HTTP 传输（可替换为录制/回放实现） */
+    private final ExtractHttpTransport httpTransport;
+
+    public VideoExtractEngine(PageRenderer pageRenderer) {
+        this(pageRenderer, new JdkHttpTransport());
+    }
+
+    public VideoExtractEngine(PageRenderer pageRenderer, ExtractHttpTransport httpTransport) {
+        this.pageRenderer = pageRenderer;
+        this.httpTransport = httpTransport;
+    }
+
+    // ==================== 已知平台 API 模板 ====================
+    /** 虎城烟花视频 API 地址模板 */
+    private static final String HUCHENG_VIDEO_API_TEMPLATE =
+            "https://htglhy.huchengfireworks.com/addons/shopro/goods.goods/video_list?id=%s";
+
+    /** fwmall 视频 API 地址模板（H5 为 SPA，需直接调用数据接口） */
+    private static final String FWMALL_VIDEO_API_TEMPLATE =
+            "https://v2.fwmall.com.cn/api/wxmall/goods/goodsDetail?productId=%s";
+
+    // ==================== 核心方法 ====================
+
+    /**
+     * 从图片 URL 中解析所有二维码内容
+     * <p>
+     * 处理流程：
+     * <ol>
+     *   <li>下载图片</li>
+     *   <li>构建解码候选图（原图 + 放大图）</li>
+     *   <li>使用 ZXing 的多二维码识别器解码</li>
+     *   <li>尝试多种二值化策略（HybridBinarizer / GlobalHistogramBinarizer）</li>
+     * </ol>
+     *
+     * @param imageUrl 图片 URL
+     * @param deadline 端到端截止时间
+     * @return 解析出的二维码内容列表（可能为空）
+     * @throws ExtractTimeoutException 总预算耗尽
+     */
+    private List<String> parseAllQrCodes(String imageUrl, ExtractDeadline deadline) {
+        if (!StringUtils.hasText(imageUrl)) {
+            return List.of();
+        }
+
+        try {
+            byte[] imageBytes = httpTransport.get(imageUrl,
+                    deadline.timeoutFor(VideoExtractStage.IMAGE_DOWNLOAD, IMAGE_DOWNLOAD_TIMEOUT_MS)).getBody();
+
+            if (imageBytes == null || imageBytes.length == 0) {
+                log.warn("下载二维码图片为空: {}", imageUrl);
+                return List.of();
+            }
+
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(imageBytes));
+            if (image == null) {
+                log.warn("无法读取二维码图片: {}", imageUrl);
+                return List.of();
+            }
+
+            Map<DecodeHintType, Object> hints = QrCodeImageUtils.defaultDecodeHints();
+
+            deadline.check(VideoExtractStage.QR_DECODE);
+            List<BufferedImage> candidates = QrCodeImageUtils.buildDecodeCandidates(image);
+            for (BufferedImage candidateImage : candidates) {
+                deadline.check(VideoExtractStage.QR_DECODE);
+                List<String> decoded = QrCodeImageUtils.tryDecodeAllQrCodes(candidateImage, hints);
+                if (!decoded.isEmpty()) {
+                    return decoded;
+                }
+            }
+
+            throw NotFoundException.getNotFoundInstance();
+
+        } catch (NotFoundException e) {
+            log.warn("图片中未找到二维码: {}", imageUrl);
+            return List.of();
+        } catch (ExtractTimeoutException e) {
+            throw e;
+        } catch (Exception e) {
+            if (deadline.isExpired()) {
+                throw new ExtractTimeoutException(deadline.getCurrentStage());
+            }
+            log.error("解析二维码失败: {}", imageUrl, e);
+            return List.of();
+        }
+    }
+
+    /**
+     * 【对外接口】从二维码图片中提取视频 URL
+     * <p>
+     * 这是服务的主入口方法，完整流程：
+     * <ol>
+     *   <li>解析图片中的所有二维码</li>
+     *   <li>过滤出 HTTP/HTTPS URL</li>
+     *   <li>优先尝试非微信域名的 URL（避免公众号关注码干扰）</li>
+     *   <li>遍历每个 URL 尝试提取视频，成功即返回</li>
+     *   <li>所有尝试失败则返回最佳失败结果（便于后续分析）</li>
+     * </ol>
+     *
+     * 所有阶段共享同一截止时间；预算耗尽时返回 FAILED 并标明耗尽所在阶段。
+     *
+     * @param qrCodeImageUrl 二维码图片 URL
+     * @param deadline       端到端截止时间
+     * @return 提取结果（包含状态、视频URL、目标网址、描述信息）
+     */
+    @Override
+    public VideoExtractResult extract(String qrCodeImageUrl, ExtractDeadline deadline) {
+        try {
+            return doExtractVideoFromQrCodeImage(qrCodeImageUrl, deadline);
+        } catch (ExtractTimeoutException e) {
+            return timeoutResult(e.getStage(), deadline, null);
+        }
+    }
+
+    private VideoExtractResult doExtractVideoFromQrCodeImage(String qrCodeImageUrl, ExtractDeadline deadline) {
+        if (!StringUtils.hasText(qrCodeImageUrl)) {
+            return VideoExtractResult.builder()
+                    .status(VideoExtractStatus.SKIPPED)
+                    .message("缺少二维码图片")
+                    .build();
+        }
+
+        List<String> qrContents = parseAllQrCodes(qrCodeImageUrl, deadline);
+        if (qrContents.isEmpty()) {
+            return VideoExtractResult.builder()
+                    .status(VideoExtractStatus.FAILED)
+                    .message("未识别到二维码")
+                    .build();
+        }
+
+        List<String> urls = new ArrayList<>();
+        for (String content : qrContents) {
+            if (!StringUtils.hasText(content)) {
+                continue;
+            }
+            String trimmed = content.trim();
+            if (isHttpUrl(trimmed)) {
+                urls.add(trimmed);
+            }
+        }
+
+        if (urls.isEmpty()) {
+            return VideoExtractResult.builder()
+                    .status(VideoExtractStatus.UNSUPPORTED)
+                    .message("二维码内容不是可访问的URL")
+                    .build();
+        }
+
+        urls = urls.stream().distinct().toList();
+
+        // 避免公众号关注码等干扰：优先尝试非 weixin 域名
+        List<String> ordered = new ArrayList<>(urls);
+        ordered.sort(Comparator.comparing(VideoExtractEngine::isWeixinUrl));
+
+        VideoExtractResult best = null;
+        for (String url : ordered) {
+            VideoExtractResult attempt;
+            try {
+                attempt = tryExtractVideoFromPageUrl(url, deadline);
+            } catch (ExtractTimeoutException e) {
+                return timeoutResult(e.getStage(), deadline, best != null ? best.getTargetUrl() : url);
+            }
+            if (attempt == null) {
+                continue;
+            }
+            if (attempt.getStatus() == VideoExtractStatus.SUCCESS) {
+                return attempt;
+            }
+            best = pickBetter(best, attempt);
+            if (deadline.isExpired()) {
+                // 阶段内部吞掉了超时异常（如 HTTP 超时被当作普通失败），在此统一归因
+                return timeoutResult(deadline.getCurrentStage(), deadline, best.getTargetUrl());
+            }
+        }
+
+        return best != null ? best : VideoExtractResult.builder()
+                .status(VideoExtractStatus.FAILED)
+                .message("所有二维码均未提取到视频")
+                .targetUrl(ordered.get(0))
+                .build();
+    }
+
+    /**
+     * 构建超时结果
+     *
+     * @param stage     预算耗尽所在阶段
+     * @param deadline  截止时间
+     * @param targetUrl 目标网址（可为 null）
+     * @return 超时提取结果
+     */
+    private static VideoExtractResult timeoutResult(VideoExtractStage stage, ExtractDeadline deadline, String targetUrl) {
+        log.warn("视频提取超时: stage={}, budget={}ms, targetUrl={}", stage, deadline.getBudgetMs(), targetUrl);
+        return VideoExtractResult.builder()
+                .status(VideoExtractStatus.FAILED)
+                .targetUrl(targetUrl)
+                .timeoutStage(stage)
+                .message("提取超时（" + deadline.getBudgetMs() + "ms 预算耗尽于 " + stage + " 阶段）")
+                .build();
+    }
+
+    /**
+     * 从目标 URL 提取视频（单个 URL 的完整提取流程）
+     * <p>
+     * 按优先级尝试：
+     * <ol>
+     *   <li>直链检测：URL 本身就是 .mp4/.m3u8</li>
+     *   <li>已知平台 API：fwmall、虎城等 SPA 站点</li>
+     *   <li>HtmlUnit 渲染：执行 JS 后从页面/网络响应中提取</li>
+     * </ol>
+     *
+     * @param pageUrl  目标页面 URL
+     * @param deadline 端到端截止时间
+     * @return 提取结果
+     * @throws ExtractTimeoutException 总预算耗尽
+     */
+    private VideoExtractResult tryExtractVideoFromPageUrl(String pageUrl, ExtractDeadline deadline) {
+        if (!StringUtils.hasText(pageUrl)) {
+            return VideoExtractResult.builder()
+                    .status(VideoExtractStatus.FAILED)
+                    .message("目标网址为空")
+                    .build();
+        }
+
+        String url = pageUrl.trim();
+
+        // 1) 二维码直链
+        if (VideoUrlTextUtils.DIRECT_VIDEO_URL_PATTERN.matcher(url).matches()) {
+            return VideoExtractResult.builder()
+                    .status(VideoExtractStatus.SUCCESS)
+                    .videoUrl(url)
+                    .targetUrl(url)
+                    .message("二维码为视频直链")
+                    .build();
+        }
+
+        // 2) 已知平台API（SPA/动态加载专用）
+        VideoExtractResult known = tryExtractFromKnownPlatforms(url, deadline);
+        if (known != null) {
+            return known;
+        }
+
+        // 3) 静态抓取 + 正则提取
+        return tryExtractFromHtml(url, deadline);
+    }
+
+    /**
+     * 尝试从已知平台的数据接口提取视频
+     * <p>
+     * 针对 SPA 站点，直接调用其数据 API 比渲染 JS 更高效可靠。
+     * 目前支持：
+     * <ul>
+     *   <li>fwmall：烟花商城，API 返回商品详情含 video_url</li>
+     *   <li>虎城烟花：后台管理系统，API 返回视频列表</li>
+     * </ul>
+     *
+     * @param pageUrl  目标页面 URL
+     * @param deadline 端到端截止时间
+     * @return 提取结果；若非已知平台则返回 null，交由后续策略处理
+     */
+    private VideoExtractResult tryExtractFromKnownPlatforms(String pageUrl, ExtractDeadline deadline) {
+        // fwmall: https://v2.fwmall.com.cn/wxmall/default3/#/pages/goodsdetail?store_id=560&id=73886
+        if (pageUrl.contains("fwmall.com.cn") && pageUrl.contains("goodsdetail")) {
+            String id = VideoUrlTextUtils.extractQueryParam(pageUrl, "id");
+            if (StringUtils.hasText(id)) {
+                String apiUrl = String.format(FWMALL_VIDEO_API_TEMPLATE, id);
+                VideoExtractResult result = tryExtractVideoFromFwmallApi(apiUrl, pageUrl, deadline);
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+
+        // hucheng: 已有稳定API
+        if (pageUrl.contains("huchengfireworks.com")) {
+            String id = VideoUrlTextUtils.extractQueryParam(pageUrl, "id");
+            if (StringUtils.hasText(id)) {
+                String apiUrl = String.format(HUCHENG_VIDEO_API_TEMPLATE, id);
+                VideoExtractResult result = tryExtractVideoFromHuchengApi(apiUrl, pageUrl, deadline);
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * 从 fwmall 烟花商城 API 提取视频 URL
+     * <p>
+     * API 响应格式：
+     * <pre>{@code
+     * {
+     *   "status": 1,
+     *   "data": {
+     *     "info": {
+     *       "video_url_com": "https://...",  // 压缩版视频（优先）
+     *       "video_url": "https://..."       // 原始视频
+     *     }
+     *   }
+     * }
+     * }</pre>
+     *
+     * @param apiUrl    fwmall 商品详情 API 地址
+     * @param targetUrl 原始页面 URL（用于结果记录）
+     * @param deadline  端到端截止时间
+     * @return 提取结果
+     * @throws ExtractTimeoutException 总预算耗尽
+     */
+    private VideoExtractResult tryExtractVideoFromFwmallApi(String apiUrl, String targetUrl, ExtractDeadline deadline) {
+        int timeoutMs = deadline.timeoutFor(VideoExtractStage.PLATFORM_API, HTTP_TIMEOUT_MS);
+        try {
+            ExtractHttpResponse resp = httpTransport.get(apiUrl, timeoutMs);
+            int status = resp.getStatus();
+            if (status < 200 || status >= 300) {
+                return VideoExtractResult.builder()
+                        .status(VideoExtractStatus.NEED_DYNAMIC_RENDER)
+                        .targetUrl(targetUrl)
+                        .message("fwmall API请求失败: HTTP " + status)
+                        .build();
+            }
+
+            JsonNode json = OBJECT_MAPPER.readTree(resp.bodyAsString());
+            if (json.path("status").asInt(0) != 1) {
+                return VideoExtractResult.builder()
+                        .status(VideoExtractStatus.NEED_DYNAMIC_RENDER)
+                        .targetUrl(targetUrl)
+                        .message("fwmall API返回异常")
+                        .build();
+            }
+
+            JsonNode info = json.path("data").path("info");
+            String videoUrl = textOrNull(info.get("video_url_com"));
+            if (!StringUtils.hasText(videoUrl)) {
+                videoUrl = textOrNull(info.get("video_url"));
+            }
+
+            if (!StringUtils.hasText(videoUrl)) {
+                return VideoExtractResult.builder()
+                        .status(VideoExtractStatus.NEED_DYNAMIC_RENDER)
+                        .targetUrl(targetUrl)
+                        .message("fwmall API未返回视频字段")
+                        .build();
+            }
+
+            String normalized = VideoUrlTextUtils.normalizeUrl(videoUrl, targetUrl);
+            return VideoExtractResult.builder()
+                    .status(VideoExtractStatus.SUCCESS)
+                    .videoUrl(normalized)
+                    .targetUrl(targetUrl)
+                    .message("fwmall API提取成功")
+                    .build();
+
+        } catch (Exception e) {
+            log.warn("fwmall API提取失败: apiUrl={}, targetUrl={}", apiUrl, targetUrl, e);
+            return VideoExtractResult.builder()
+                    .status(VideoExtractStatus.NEED_DYNAMIC_RENDER)
+                    .targetUrl(targetUrl)
+                    .message("fwmall API提取失败")
+                    .build();
+        }
+    }
+
+    /**
+     * 从虎城烟花 API 提取视频 URL
+     * <p>
+     * API 响应格式：
+     * <pre>{@code
+     * {
+     *   "code": 1,
+     *   "data": {
+     *     "list": [
+     *       { "video_url": "https://...", "url": "https://..." }
+     *     ]
+     *   }
+     * }
+     * }</pre>
+     *
+     * @param apiUrl    虎城视频列表 API 地址
+     * @param targetUrl 原始页面 URL（用于结果记录）
+     * @param deadline  端到端截止时间
+     * @return 提取结果
+     * @throws ExtractTimeoutException 总预算耗尽
+     */
+    private VideoExtractResult tryExtractVideoFromHuchengApi(String apiUrl, String targetUrl, ExtractDeadline deadline) {
+        int timeoutMs = deadline.timeoutFor(VideoExtractStage.PLATFORM_API, HTTP_TIMEOUT_MS);
+        try {
+            ExtractHttpResponse resp = httpTransport.get(apiUrl, timeoutMs);
+            int status = resp.getStatus();
+            if (status < 200 || status >= 300) {
+                return VideoExtractResult.builder()
+                        .status(VideoExtractStatus.FAILED)
+                        .targetUrl(targetUrl)
+                        .message("虎城API请求失败: HTTP " + status)
+                        .build();
+            }
+
+            JsonNode json = OBJECT_MAPPER.readTree(resp.bodyAsString());
+            if (json.path("code").asInt(-1) != 1) {
+                return VideoExtractResult.builder()
+                        .status(VideoExtractStatus.FAILED)
+                        .targetUrl(targetUrl)
+                        .message("虎城API返回错误: " + json.path("msg").asText(""))
+                        .build();
+            }
+
+            JsonNode list = json.path("data").path("list");
+            if (!list.isArray() || list.isEmpty()) {
+                return VideoExtractResult.builder()
+                        .status(VideoExtractStatus.FAILED)
+                        .targetUrl(targetUrl)
+                        .message("虎城视频列表为空")
+                        .build();
+            }
+
+            JsonNode firstVideo = list.get(0);
+            String videoUrl = textOrNull(firstVideo.get("video_url"));
+            if (!StringUtils.hasText(videoUrl)) {
+                videoUrl = textOrNull(firstVideo.get("url"));
+            }
+
+            if (!StringUtils.hasText(videoUrl)) {
+                return VideoExtractResult.builder()
+                        .status(VideoExtractStatus.FAILED)
+                        .targetUrl(targetUrl)
+                        .message("虎城API未返回视频字段")
+                        .build();
+            }
+
+            String normalized = VideoUrlTextUtils.normalizeUrl(videoUrl, targetUrl);
+            return VideoExtractResult.builder()
+                    .status(VideoExtractStatus.SUCCESS)
+                    .videoUrl(normalized)
+                    .targetUrl(targetUrl)
+                    .message("虎城API提取成功")
+                    .build();
+
+        } catch (Exception e) {
+            log.warn("虎城API提取失败: apiUrl={}, targetUrl={}", apiUrl, targetUrl, e);
+            return VideoExtractResult.builder()
+                    .status(VideoExtractStatus.FAILED)
+                    .targetUrl(targetUrl)
+                    .message("虎城API提取失败")
+                    .build();
+        }
+    }
+
+    /**
+     * 从 HTML 页面提取视频（入口方法）
+     * <p>
+     * 当前实现直接委托给 {@link PageRenderer} 渲染，未来可扩展为：
+     * <ol>
+     *   <li>先尝试静态 HTTP 抓取 + 正则</li>
+     *   <li>检测 SPA 壳页面后再调用 HtmlUnit</li>
+     * </ol>
+     *
+     * @param pageUrl  目标页面 URL
+     * @param deadline 端到端截止时间
+     * @return 提取结果
+     */
+    private VideoExtractResult tryExtractFromHtml(String pageUrl, ExtractDeadline deadline) {
+        return pageRenderer.render(pageUrl, deadline);
+    }
+
+    /**
+     * 安全地从 JSON 节点获取文本值
+     *
+     * @param node JSON 节点
+     * @return 文本值，若为 null 或空则返回 null
+     */
+    private static String textOrNull(JsonNode node) {
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        String text = node.asText(null);
+        return StringUtils.hasText(text) ? text : null;
+    }
+
+    /**
+     * 判断内容是否为 HTTP/HTTPS URL
+     *
+     * @param content 待检查的内容
+     * @return true 如果是 HTTP/HTTPS URL
+     */
+    private static boolean isHttpUrl(String content) {
+        return content != null && (content.startsWith("http://") || content.startsWith("https://"));
+    }
+
+    /**
+     * 判断 URL 是否为微信域名
+     * <p>
+     * 用于在多二维码场景下优先处理非微信 URL，避免公众号关注码干扰。
+     *
+     * @param url 待检查的 URL
+     * @return true 如果是微信域名
+     */
+    private static boolean isWeixinUrl(String url) {
+        if (!StringUtils.hasText(url)) {
+            return false;
+        }
+        String lower = url.toLowerCase(Locale.ROOT);
+        return lower.contains("weixin.qq.com") || lower.contains("mp.weixin.qq.com");
+    }
+
+    /**
+     * 从两个提取结果中选择更优的一个
+     * <p>
+     * 优先级规则：
+     * <ol>
+     *   <li>NEED_DYNAMIC_RENDER 优于其他失败状态（便于后续补规则）</li>
+     *   <li>FAILED 优于 UNSUPPORTED（有更多诊断信息）</li>
+     * </ol>
+     *
+     * @param current   当前最佳结果
+     * @param candidate 候选结果
+     * @return 更优的结果
+     */
+    private static VideoExtractResult pickBetter(VideoExtractResult current, VideoExtractResult candidate) {
+        if (candidate == null) {
+            return current;
+        }
+        if (current == null) {
+            return candidate;
+        }
+
+        // 优先返回 NEED_DYNAMIC_RENDER，便于后续补规则/云渲染兜底
+        if (current.getStatus() != VideoExtractStatus.NEED_DYNAMIC_RENDER
+                && candidate.getStatus() == VideoExtractStatus.NEED_DYNAMIC_RENDER) {
+            return candidate;
+        }
+
+        // 其次返回 FAILED（带targetUrl）
+        if (current.getStatus() == VideoExtractStatus.UNSUPPORTED
+                && candidate.getStatus() == VideoExtractStatus.FAILED) {
+            return candidate;
+        }
+
+        return current;
+    }
+
+    /**
+     * 判断 HTML 是否为 SPA 壳页面
+     * <p>
+     * 特征检测：
+     * <ul>
+     *   <li>存在 {@code id="app"} 或 {@code id="root"} 的容器元素</li>
+     *   <li>包含多个 {@code <script>} 标签</li>
+     *   <li>不包含直接的视频标签或视频 URL</li>
+     * </ul>
+     * <p>
+     * 注意：此方法当前未被调用，保留用于未来优化静态抓取策略。
+     *
+     * @param html HTML 文本
+     * @return true 如果是 SPA 壳页面
+     */
+    private static boolean looksLikeSpaShell(String html) {
+        if (!StringUtils.hasText(html)) {
+            return false;
+        }
+        String lower = html.toLowerCase(Locale.ROOT);
+
+        boolean hasAppRoot = lower.contains("id=app") || lower.contains("id=\"app\"")
+                || lower.contains("id=root") || lower.contains("id=\"root\"");
+        if (!hasAppRoot) {
+            return false;
+        }
+
+        int scriptCount = countOccurrences(lower, "<script");
+        boolean hasVideoHints = lower.contains(".mp4") || lower.contains(".m3u8")
+                || lower.contains("<video") || lower.contains("<source");
+
+        return scriptCount >= 2 && !hasVideoHints;
+    }
+
+    /**
+     * 计算子字符串出现次数
+     *
+     * @param text   文本
+     * @param needle 要查找的子字符串
+     * @return 出现次数
+     */
+    private static int countOccurrences(String text, String needle) {
+        if (!StringUtils.hasText(text) || !StringUtils.hasText(needle)) {
+            return 0;
+        }
+        int count = 0;
+        int idx = 0;
+        while ((idx = text.indexOf(needle, idx)) != -1) {
+            count++;
+            idx += needle.length();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,51 @@
+package com.fireworks.extract.autoconfigure;
+
+import com.fireworks.extract.VideoExtractEngine;
+import com.fireworks.extract.VideoExtractor;
+import com.fireworks.render.HtmlUnitRenderer;
+import com.fireworks.render.PageRenderer;
+import com.fireworks.render.RenderWorkerPool;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * 进程内提取引擎自动配置
+ * <p>
+ * 随本模块 jar 提供（{@code META-INF/spring/...AutoConfiguration.imports}）：API 服务只依赖
+ * fireworks-extract-api 中的 {@link VideoExtractor} 接口，包含本模块时由此注册引擎，
+ * 精简构建（{@code -Dslim}）不含本模块，API 侧无需引用任何引擎类。
+ * <p>
+ * 渲染器按 {@code app.video.render.mode} 选择，随容器关闭释放。默认 {@code worker}（渲染子进程池）：
+ * HtmlUnit 的堆占用、失控脚本与线程留在子进程中，由看门狗超时终止、定期回收，不影响 API 进程；
+ * 代价是每个子进程一个 JVM（{@code worker-xmx}，默认 256m × {@code pool-size} 2）。
+ * 内存受限且渲染量很小时可改为 {@code in-process}。
+ */
+@Slf4j
+@AutoConfiguration
+@ConditionalOnProperty(prefix = "app.video.extract", name = "mode", havingValue = "local", matchIfMissing = true)
+public class VideoExtractEngineAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public PageRenderer pageRenderer(
+            @Value("${app.video.render.mode:worker}") String renderMode,
+            @Value("${app.video.render.pool-size:2}") int poolSize,
+            @Value("${app.video.render.worker-xmx:256m}") String workerXmx,
+            @Value("${app.video.render.max-renders-per-worker:50}") int maxRendersPerWorker,
+            @Value("${app.video.render.watchdog-grace-ms:3000}") long watchdogGraceMs) {
+        log.info("[视频提取] 使用进程内提取引擎: renderMode={}", renderMode);
+        return "worker".equals(renderMode)
+                ? new RenderWorkerPool(poolSize, workerXmx, maxRendersPerWorker, watchdogGraceMs)
+                : new HtmlUnitRenderer();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public VideoExtractor videoExtractor(PageRenderer pageRenderer) {
+        return new VideoExtractEngine(pageRenderer);
+    }
+}
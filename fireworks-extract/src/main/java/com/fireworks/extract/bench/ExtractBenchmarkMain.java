@@ -0,0 +1,233 @@
+package com.fireworks.extract.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fireworks.dto.VideoExtractResult;
+import com.fireworks.enums.VideoExtractStage;
+import com.fireworks.extract.VideoExtractEngine;
+import com.fireworks.extract.fixture.ExchangeArchive;
+import com.fireworks.extract.fixture.RecordingHttpTransport;
+import com.fireworks.extract.fixture.RecordingWebConnection;
+import com.fireworks.extract.fixture.ReplayHttpTransport;
+import com.fireworks.extract.fixture.ReplayWebConnection;
+import com.fireworks.extract.http.ExtractHttpTransport;
+import com.fireworks.extract.http.JdkHttpTransport;
+import com.fireworks.render.HtmlUnitRenderer;
+import com.fireworks.util.ExtractDeadline;
+import org.htmlunit.WebConnection;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 视频提取离线基准测试
+ * <p>
+ * 用法：{@code ExtractBenchmarkMain <record|replay> <档案目录> <语料文件> [报告JSON路径]}
+ * <ul>
+ *   <li>语料文件：每行一个二维码图片 URL（{@code #} 开头为注释）</li>
+ *   <li>record：访问真实网络，把图片下载、平台 API 以及 HtmlUnit 的全部子请求写入档案目录</li>
+ *   <li>replay：完全离线，从档案回放所有交互，可在 CI 或隔离环境运行</li>
+ * </ul>
+ * 系统属性：{@code bench.iterations}（默认 3）、{@code bench.warmup}（默认 1，仅 replay）、
+ * {@code bench.budget-ms}（默认 45000）、{@code bench.simulate-latency}（回放时按录制耗时等待，默认 false）。
+ * <p>
+ * 输出每个阶段的耗时分布（p50/p95/平均）、平均响应字节数与平均内存分配量（提取线程与跟随页面线程之和）。
+ * 渲染固定在进程内执行，以便统计分配量并接入回放连接。
+ */
+public final class ExtractBenchmarkMain {
+
+    private ExtractBenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3 || !("record".equals(args[0]) || "replay".equals(args[0]))) {
+            System.err.println("用法: ExtractBenchmarkMain <record|replay> <archiveDir> <corpusFile> [reportJson]");
+            System.exit(2);
+            return;
+        }
+        boolean record = "record".equals(args[0]);
+        ExchangeArchive archive = ExchangeArchive.open(Path.of(args[1]));
+        List<String> corpus = readCorpus(Path.of(args[2]));
+        Path reportPath = args.length > 3 ? Path.of(args[3]) : null;
+
+        int iterations = record ? 1 : Integer.getInteger("bench.iterations", 3);
+        int warmup = record ? 0 : Integer.getInteger("bench.warmup", 1);
+        long budgetMs = Long.getLong("bench.budget-ms", 45000L);
+        boolean simulateLatency = Boolean.getBoolean("bench.simulate-latency");
+
+        // 交互监听转发给当前这次提取的统计器
+        AtomicReference<StageStatsCollector> currentCollector = new AtomicReference<>();
+        com.fireworks.extract.fixture.ExchangeListener forward = exchange -> {
+            StageStatsCollector c = currentCollector.get();
+            if (c != null) {
+                c.onExchange(exchange);
+            }
+        };
+
+        AtomicLong replayMisses = new AtomicLong();
+        ExtractHttpTransport transport;
+        HtmlUnitRenderer renderer;
+        if (record) {
+            transport = new RecordingHttpTransport(new JdkHttpTransport(), archive, forward);
+            renderer = new HtmlUnitRenderer(conn -> new RecordingWebConnection(conn, archive, forward));
+        } else {
+            transport = new ReplayHttpTransport(archive, forward, simulateLatency);
+            renderer = new HtmlUnitRenderer(conn -> {
+                closeQuietly(conn);
+                return new ReplayWebConnection(archive, forward, replayMisses);
+            });
+        }
+        VideoExtractEngine engine = new VideoExtractEngine(renderer, transport);
+
+        Map<VideoExtractStage, StageAggregate> aggregates = new EnumMap<>(VideoExtractStage.class);
+        List<Long> totalMillis = new ArrayList<>();
+        Map<String, Integer> statusCounts = new TreeMap<>();
+
+        for (int round = 0; round < warmup + iterations; round++) {
+            boolean measured = round >= warmup;
+            for (String imageUrl : corpus) {
+                StageStatsCollector collector = new StageStatsCollector(renderer::followUpThreadIds);
+                currentCollector.set(collector);
+                long start = System.nanoTime();
+                VideoExtractResult result = engine.extract(imageUrl, ExtractDeadline.after(budgetMs, collector));
+                long elapsed = System.nanoTime() - start;
+                Map<VideoExtractStage, StageStatsCollector.StageSample> samples = collector.finish();
+                currentCollector.set(null);
+
+                if (!measured) {
+                    continue;
+                }
+                totalMillis.add(TimeUnit.NANOSECONDS.toMillis(elapsed));
+                statusCounts.merge(String.valueOf(result.getStatus()), 1, Integer::sum);
+                samples.forEach((stage, sample) -> aggregates.computeIfAbsent(stage, s -> new StageAggregate()).add(sample));
+                if (record) {
+                    System.out.printf("[record] %s -> %s %s%n", imageUrl, result.getStatus(),
+                            result.getVideoUrl() != null ? result.getVideoUrl() : result.getMessage());
+                }
+            }
+        }
+
+        renderer.close();
+
+        Map<String, Object> report = buildReport(args[0], corpus.size(), iterations, totalMillis, statusCounts,
+                aggregates, archive.size(), replayMisses.get());
+        printReport(System.out, report);
+        if (reportPath != null) {
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportPath.toFile(), report);
+        }
+    }
+
+    private static List<String> readCorpus(Path file) throws IOException {
+        List<String> urls = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                urls.add(trimmed);
+            }
+        }
+        return urls;
+    }
+
+    private static Map<String, Object> buildReport(String mode, int corpusSize, int iterations, List<Long> totalMillis,
+                                                   Map<String, Integer> statusCounts,
+                                                   Map<VideoExtractStage, StageAggregate> aggregates,
+                                                   long archiveSize, long replayMisses) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("mode", mode);
+        report.put("corpusSize", corpusSize);
+        report.put("iterations", iterations);
+        report.put("archiveExchanges", archiveSize);
+        report.put("replayMisses", replayMisses);
+        report.put("statusCounts", statusCounts);
+        report.put("total", StageAggregate.latencySummary(totalMillis));
+
+        Map<String, Object> stages = new LinkedHashMap<>();
+        aggregates.forEach((stage, agg) -> stages.put(stage.name(), agg.toReport()));
+        report.put("stages", stages);
+        return report;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printReport(PrintStream out, Map<String, Object> report) {
+        out.printf("%n模式=%s 语料=%s 轮次=%s 档案交互数=%s 回放未命中=%s%n",
+                report.get("mode"), report.get("corpusSize"), report.get("iterations"),
+                report.get("archiveExchanges"), report.get("replayMisses"));
+        out.printf("状态分布: %s%n", report.get("statusCounts"));
+        out.printf("单次提取总耗时(ms): %s%n%n", report.get("total"));
+        out.printf("%-16s %6s %9s %9s %9s %11s %13s%n", "stage", "runs", "p50(ms)", "p95(ms)", "avg(ms)", "avg KB", "avg alloc KB");
+        Map<String, Object> stages = (Map<String, Object>) report.get("stages");
+        stages.forEach((stage, value) -> {
+            Map<String, Object> s = (Map<String, Object>) value;
+            Map<String, Object> latency = (Map<String, Object>) s.get("latencyMs");
+            out.printf("%-16s %6s %9s %9s %9s %11.1f %13.1f%n", stage, s.get("runs"),
+                    latency.get("p50"), latency.get("p95"), latency.get("avg"),
+                    (Double) s.get("avgBytes") / 1024, (Double) s.get("avgAllocatedBytes") / 1024);
+        });
+    }
+
+    private static void closeQuietly(WebConnection connection) {
+        try {
+            connection.close();
+        } catch (Exception ignored) {
+        }
+    }
+
+    /**
+     * 单个阶段的多次提取汇总
+     */
+    private static final class StageAggregate {
+        private final List<Long> millis = new ArrayList<>();
+        private long bytes;
+        private long allocatedBytes;
+        private long exchanges;
+
+        void add(StageStatsCollector.StageSample sample) {
+            millis.add(TimeUnit.NANOSECONDS.toMillis(sample.nanos));
+            bytes += sample.bytes;
+            allocatedBytes += sample.allocatedBytes;
+            exchanges += sample.exchanges;
+        }
+
+        Map<String, Object> toReport() {
+            int runs = millis.size();
+            Map<String, Object> r = new LinkedHashMap<>();
+            r.put("runs", runs);
+            r.put("latencyMs", latencySummary(millis));
+            r.put("avgBytes", runs == 0 ? 0.0 : (double) bytes / runs);
+            r.put("avgAllocatedBytes", runs == 0 ? 0.0 : (double) allocatedBytes / runs);
+            r.put("avgExchanges", runs == 0 ? 0.0 : (double) exchanges / runs);
+            return r;
+        }
+
+        static Map<String, Object> latencySummary(List<Long> values) {
+            List<Long> sorted = new ArrayList<>(values);
+            sorted.sort(null);
+            Map<String, Object> r = new LinkedHashMap<>();
+            r.put("p50", percentile(sorted, 0.50));
+            r.put("p95", percentile(sorted, 0.95));
+            r.put("avg", sorted.isEmpty() ? 0 : sorted.stream().mapToLong(Long::longValue).sum() / sorted.size());
+            r.put("max", sorted.isEmpty() ? 0 : sorted.get(sorted.size() - 1));
+            return r;
+        }
+
+        private static long percentile(List<Long> sorted, double p) {
+            if (sorted.isEmpty()) {
+                return 0;
+            }
+            int idx = (int) Math.ceil(p * sorted.size()) - 1;
+            return sorted.get(Math.max(0, Math.min(idx, sorted.size() - 1)));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.fireworks.extract.bench;
+
+import com.fireworks.enums.VideoExtractStage;
+import com.fireworks.extract.fixture.ExchangeListener;
+import com.fireworks.extract.fixture.RecordedExchange;
+import com.fireworks.util.ExtractDeadline;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 单次提取的分阶段统计
+ * <p>
+ * 通过 {@link ExtractDeadline.StageListener} 感知阶段切换，在提取线程上记录每个阶段的
+ * 墙钟耗时与内存分配量（{@code ThreadMXBean#getThreadAllocatedBytes}）；
+ * 通过 {@link ExchangeListener} 把每次 HTTP 交互的响应体字节数计入当时所处的阶段。
+ * <p>
+ * 分配量为提取线程与参与提取的辅助线程（如 HtmlUnit 跟随页面线程，由 {@code helperThreadIds} 提供）之和，
+ * 按阶段起止时的差值计入该阶段，因此要求同一时间只有一次提取在使用这些辅助线程（基准测试顺序执行）。
+ * HtmlUnit 后台 JS 线程上的内存分配不计入，字节数统计包含这些线程发起的请求。
+ */
+public class StageStatsCollector implements ExtractDeadline.StageListener, ExchangeListener {
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final Map<VideoExtractStage, StageSample> samples = new EnumMap<>(VideoExtractStage.class);
+
+    /** 参与提取的辅助线程 ID（每次采样时重新获取，线程可能按需创建或空闲回收） */
+    private final Supplier<long[]> helperThreadIds;
+
+    private volatile VideoExtractStage current;
+    private long segmentStartNanos;
+    private long segmentStartAllocated;
+    private Map<Long, Long> segmentStartHelperAllocated = Map.of();
+
+    public StageStatsCollector() {
+        this(() -> new long[0]);
+    }
+
+    /**
+     * @param helperThreadIds 参与提取的辅助线程 ID（其分配量计入当时所处的阶段）
+     */
+    public StageStatsCollector(Supplier<long[]> helperThreadIds) {
+        this.helperThreadIds = helperThreadIds;
+    }
+
+    @Override
+    public void onStageEnter(VideoExtractStage previous, VideoExtractStage stage) {
+        long now = System.nanoTime();
+        long allocated = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+        Map<Long, Long> helperAllocated = helperAllocated();
+        closeSegment(now, allocated, helperAllocated);
+        current = stage;
+        segmentStartNanos = now;
+        segmentStartAllocated = allocated;
+        segmentStartHelperAllocated = helperAllocated;
+    }
+
+    @Override
+    public void onExchange(RecordedExchange exchange) {
+        VideoExtractStage stage = current;
+        if (stage == null) {
+            return;
+        }
+        synchronized (samples) {
+            sample(stage).bytes += exchange.getBody() != null ? exchange.getBody().length : 0;
+            sample(stage).exchanges++;
+        }
+    }
+
+    /**
+     * 结束统计（提取返回后在提取线程上调用）
+     *
+     * @return 各阶段统计
+     */
+    public Map<VideoExtractStage, StageSample> finish() {
+        closeSegment(System.nanoTime(), THREAD_MX_BEAN.getCurrentThreadAllocatedBytes(), helperAllocated());
+        current = null;
+        synchronized (samples) {
+            return new EnumMap<>(samples);
+        }
+    }
+
+    private void closeSegment(long now, long allocated, Map<Long, Long> helperAllocated) {
+        VideoExtractStage stage = current;
+        if (stage == null) {
+            return;
+        }
+        long helperDelta = 0;
+        for (Map.Entry<Long, Long> e : helperAllocated.entrySet()) {
+            // 阶段开始后才创建的线程从 0 计起；期间结束的线程无法读取，不计入
+            helperDelta += e.getValue() - segmentStartHelperAllocated.getOrDefault(e.getKey(), 0L);
+        }
+        synchronized (samples) {
+            StageSample sample = sample(stage);
+            sample.nanos += now - segmentStartNanos;
+            sample.allocatedBytes += allocated - segmentStartAllocated + helperDelta;
+        }
+    }
+
+    /**
+     * 读取辅助线程当前的累计分配量（已结束的线程返回 -1，跳过）
+     */
+    private Map<Long, Long> helperAllocated() {
+        long[] ids = helperThreadIds.get();
+        if (ids.length == 0) {
+            return Map.of();
+        }
+        long[] bytes = THREAD_MX_BEAN.getThreadAllocatedBytes(ids);
+        Map<Long, Long> result = new HashMap<>(ids.length * 2);
+        for (int i = 0; i < ids.length; i++) {
+            if (bytes[i] >= 0) {
+                result.put(ids[i], bytes[i]);
+            }
+        }
+        return result;
+    }
+
+    private StageSample sample(VideoExtractStage stage) {
+        return samples.computeIfAbsent(stage, s -> new StageSample());
+    }
+
+    /**
+     * 单个阶段在一次提取中的统计（同一阶段多次进入时累加）
+     */
+    public static class StageSample {
+        long nanos;
+        long allocatedBytes;
+        long bytes;
+        int exchanges;
+    }
+}
@@ -0,0 +1,161 @@
+package com.fireworks.extract.fixture;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * 磁盘上的 HTTP 交互档案
+ * <p>
+ * 目录结构：每次交互两个文件，{@code <key>.json}（元数据）与 {@code <key>.body}（响应体）。
+ * 键为 {@code 方法 + 归一化 URL + 请求体} 的 SHA-256；归一化会按参数名去掉已知的防缓存参数
+ * （如 {@code _=1700000000000}、{@code t=...}），否则页面脚本每次生成的随机参数会导致回放无法命中。
+ * 不按参数值判断：10/13 位数字也常是商品或页面 ID，去掉后不同页面会落到同一个键。
+ * <p>
+ * 线程安全：写入串行化，读取无锁。
+ */
+public class ExchangeArchive {
+
+    private static final String META_SUFFIX = ".json";
+    private static final String BODY_SUFFIX = ".body";
+
+    /** 视为防缓存参数的参数名 */
+    private static final Set<String> CACHE_BUSTER_PARAMS = Set.of("_", "_t", "t", "ts", "_ts", "timestamp", "time",
+            "_dc", "cb", "cachebuster", "rand", "random", "nonce");
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Path dir;
+
+    private ExchangeArchive(Path dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * 打开（不存在则创建）档案目录
+     *
+     * @param dir 档案目录
+     * @return 档案
+     * @throws IOException 目录无法创建
+     */
+    public static ExchangeArchive open(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        return new ExchangeArchive(dir);
+    }
+
+    /**
+     * 计算档案键
+     *
+     * @param method      请求方法
+     * @param url         请求 URL
+     * @param requestBody 请求体（GET 为 null）
+     * @return 档案键
+     */
+    public static String key(String method, String url, String requestBody) {
+        String material = method.toUpperCase(Locale.ROOT) + ' ' + normalizeUrl(url)
+                + (requestBody != null && !requestBody.isEmpty() ? '\n' + requestBody : "");
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(material.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 去掉 URL 中的片段与防缓存参数
+     */
+    static String normalizeUrl(String url) {
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (Exception e) {
+            return url;
+        }
+        String query = uri.getRawQuery();
+        String base = url;
+        int cut = indexOfAny(url, '?', '#');
+        if (cut >= 0) {
+            base = url.substring(0, cut);
+        }
+        if (query == null || query.isEmpty()) {
+            return base;
+        }
+        List<String> kept = new ArrayList<>();
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = eq >= 0 ? pair.substring(0, eq) : pair;
+            if (CACHE_BUSTER_PARAMS.contains(name.toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            kept.add(pair);
+        }
+        return kept.isEmpty() ? base : base + '?' + String.join("&", kept);
+    }
+
+    private static int indexOfAny(String s, char a, char b) {
+        int ia = s.indexOf(a);
+        int ib = s.indexOf(b);
+        if (ia < 0) {
+            return ib;
+        }
+        return ib < 0 ? ia : Math.min(ia, ib);
+    }
+
+    /**
+     * 保存一次交互（同键覆盖）
+     *
+     * @param exchange 交互元数据与响应体
+     * @throws IOException 写入失败
+     */
+    public synchronized void save(RecordedExchange exchange) throws IOException {
+        byte[] body = exchange.getBody() != null ? exchange.getBody() : new byte[0];
+        exchange.setBodyBytes(body.length);
+        Files.write(dir.resolve(exchange.getKey() + BODY_SUFFIX), body);
+        OBJECT_MAPPER.writeValue(dir.resolve(exchange.getKey() + META_SUFFIX).toFile(), exchange);
+    }
+
+    /**
+     * 按键查找交互
+     *
+     * @param key 档案键
+     * @return 交互（含响应体），不存在返回 null
+     * @throws IOException 读取失败
+     */
+    public RecordedExchange find(String key) throws IOException {
+        Path meta = dir.resolve(key + META_SUFFIX);
+        if (!Files.exists(meta)) {
+            return null;
+        }
+        RecordedExchange exchange = OBJECT_MAPPER.readValue(meta.toFile(), RecordedExchange.class);
+        Path body = dir.resolve(key + BODY_SUFFIX);
+        exchange.setBody(Files.exists(body) ? Files.readAllBytes(body) : new byte[0]);
+        return exchange;
+    }
+
+    /**
+     * @return 档案中的交互数量
+     * @throws IOException 目录读取失败
+     */
+    public long size() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(META_SUFFIX)).count();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.fireworks.extract.fixture;
+
+/**
+ * 交互监听：录制或回放每完成一次交互回调一次（基准测试据此按阶段累计字节数）
+ */
+@FunctionalInterface
+public interface ExchangeListener {
+
+    ExchangeListener NONE = exchange -> {
+    };
+
+    /**
+     * @param exchange 完成的交互（含响应体）
+     */
+    void onExchange(RecordedExchange exchange);
+}
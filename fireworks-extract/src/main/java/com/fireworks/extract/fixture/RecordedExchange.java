@@ -0,0 +1,99 @@
+package com.fireworks.extract.fixture;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 录制的一次 HTTP 交互（元数据存为 JSON，响应体单独存为二进制文件）
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordedExchange {
+
+    /**
+     * 档案键（见 {@link ExchangeArchive#key}）
+     */
+    private String key;
+
+    /**
+     * 来源：transport（图片下载/平台 API）或 htmlunit（渲染子请求）
+     */
+    private String source;
+
+    /**
+     * 请求方法
+     */
+    private String method;
+
+    /**
+     * 请求 URL（原始值，未做键归一化）
+     */
+    private String url;
+
+    /**
+     * HTTP 状态码
+     */
+    private int status;
+
+    /**
+     * HTTP 状态描述
+     */
+    private String statusMessage;
+
+    /**
+     * 响应头（不含 Content-Encoding / Content-Length，响应体已解码）
+     */
+    private List<Header> headers;
+
+    /**
+     * 录制时的响应耗时（毫秒）
+     */
+    private long latencyMs;
+
+    /**
+     * 响应体字节数
+     */
+    private long bodyBytes;
+
+    /**
+     * 响应体（单独存储，不写入元数据 JSON）
+     */
+    @JsonIgnore
+    private byte[] body;
+
+    /**
+     * 返回第一个同名响应头的值（忽略大小写）
+     *
+     * @param name 响应头名称
+     * @return 响应头值或 null
+     */
+    public String header(String name) {
+        if (headers == null) {
+            return null;
+        }
+        for (Header h : headers) {
+            if (h.getName() != null && h.getName().equalsIgnoreCase(name)) {
+                return h.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 响应头
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Header {
+        private String name;
+        private String value;
+    }
+}
@@ -0,0 +1,50 @@
+package com.fireworks.extract.fixture;
+
+import com.fireworks.extract.http.ExtractHttpResponse;
+import com.fireworks.extract.http.ExtractHttpTransport;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 录制传输：请求交给真实传输执行，并把每次响应写入档案
+ */
+public class RecordingHttpTransport implements ExtractHttpTransport {
+
+    private final ExtractHttpTransport delegate;
+    private final ExchangeArchive archive;
+    private final ExchangeListener listener;
+
+    public RecordingHttpTransport(ExtractHttpTransport delegate, ExchangeArchive archive, ExchangeListener listener) {
+        this.delegate = delegate;
+        this.archive = archive;
+        this.listener = listener;
+    }
+
+    @Override
+    public ExtractHttpResponse get(String url, int timeoutMs) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        ExtractHttpResponse response = delegate.get(url, timeoutMs);
+        long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        List<RecordedExchange.Header> headers = new ArrayList<>();
+        if (response.getContentType() != null) {
+            headers.add(new RecordedExchange.Header("Content-Type", response.getContentType()));
+        }
+        RecordedExchange exchange = RecordedExchange.builder()
+                .key(ExchangeArchive.key("GET", url, null))
+                .source("transport")
+                .method("GET")
+                .url(url)
+                .status(response.getStatus())
+                .headers(headers)
+                .latencyMs(latencyMs)
+                .body(response.getBody())
+                .build();
+        archive.save(exchange);
+        listener.onExchange(exchange);
+        return response;
+    }
+}
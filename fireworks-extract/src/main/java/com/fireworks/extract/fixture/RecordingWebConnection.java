@@ -0,0 +1,73 @@
+package com.fireworks.extract.fixture;
+
+import lombok.extern.slf4j.Slf4j;
+import org.htmlunit.WebConnection;
+import org.htmlunit.WebRequest;
+import org.htmlunit.WebResponse;
+import org.htmlunit.util.NameValuePair;
+import org.htmlunit.util.WebConnectionWrapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HtmlUnit 录制连接：页面、脚本、XHR 等全部子请求在真实连接上执行后写入档案
+ */
+@Slf4j
+public class RecordingWebConnection extends WebConnectionWrapper {
+
+    private final ExchangeArchive archive;
+    private final ExchangeListener listener;
+
+    public RecordingWebConnection(WebConnection delegate, ExchangeArchive archive, ExchangeListener listener) {
+        super(delegate);
+        this.archive = archive;
+        this.listener = listener;
+    }
+
+    @Override
+    public WebResponse getResponse(WebRequest request) throws IOException {
+        WebResponse response = super.getResponse(request);
+
+        byte[] body;
+        try (InputStream in = response.getContentAsStream()) {
+            body = in.readAllBytes();
+        }
+        RecordedExchange exchange = RecordedExchange.builder()
+                .key(ExchangeArchive.key(request.getHttpMethod().name(), request.getUrl().toString(), request.getRequestBody()))
+                .source("htmlunit")
+                .method(request.getHttpMethod().name())
+                .url(request.getUrl().toString())
+                .status(response.getStatusCode())
+                .statusMessage(response.getStatusMessage())
+                .headers(toHeaders(response.getResponseHeaders()))
+                .latencyMs(response.getLoadTime())
+                .body(body)
+                .build();
+        try {
+            archive.save(exchange);
+        } catch (IOException e) {
+            log.warn("[录制] 写入档案失败: {}", exchange.getUrl(), e);
+        }
+        listener.onExchange(exchange);
+        return response;
+    }
+
+    /**
+     * 响应体已被解码，去掉编码与长度相关的响应头，避免回放时重复解码
+     */
+    private static List<RecordedExchange.Header> toHeaders(List<NameValuePair> pairs) {
+        List<RecordedExchange.Header> headers = new ArrayList<>();
+        for (NameValuePair pair : pairs) {
+            String name = pair.getName();
+            if ("Content-Encoding".equalsIgnoreCase(name) || "Content-Length".equalsIgnoreCase(name)
+                    || "Transfer-Encoding".equalsIgnoreCase(name)) {
+                continue;
+            }
+            headers.add(new RecordedExchange.Header(name, pair.getValue()));
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,40 @@
+package com.fireworks.extract.fixture;
+
+import com.fireworks.extract.http.ExtractHttpResponse;
+import com.fireworks.extract.http.ExtractHttpTransport;
+
+import java.io.IOException;
+
+/**
+ * 回放传输：只从档案读取响应，不访问网络；档案中没有的请求按网络异常处理
+ */
+public class ReplayHttpTransport implements ExtractHttpTransport {
+
+    private final ExchangeArchive archive;
+    private final ExchangeListener listener;
+    /** 是否按录制耗时模拟网络延迟 */
+    private final boolean simulateLatency;
+
+    public ReplayHttpTransport(ExchangeArchive archive, ExchangeListener listener, boolean simulateLatency) {
+        this.archive = archive;
+        this.listener = listener;
+        this.simulateLatency = simulateLatency;
+    }
+
+    @Override
+    public ExtractHttpResponse get(String url, int timeoutMs) throws IOException, InterruptedException {
+        RecordedExchange exchange = archive.find(ExchangeArchive.key("GET", url, null));
+        if (exchange == null) {
+            throw new IOException("回放档案中不存在该请求: " + url);
+        }
+        if (simulateLatency && exchange.getLatencyMs() > 0) {
+            Thread.sleep(Math.min(exchange.getLatencyMs(), timeoutMs));
+        }
+        listener.onExchange(exchange);
+        return ExtractHttpResponse.builder()
+                .status(exchange.getStatus())
+                .contentType(exchange.header("Content-Type"))
+                .body(exchange.getBody())
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.fireworks.extract.fixture;
+
+import lombok.extern.slf4j.Slf4j;
+import org.htmlunit.WebConnection;
+import org.htmlunit.WebRequest;
+import org.htmlunit.WebResponse;
+import org.htmlunit.WebResponseData;
+import org.htmlunit.util.NameValuePair;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HtmlUnit 回放连接：替代真实网络连接，从档案返回响应；未录制的请求返回 404，并计入未命中数
+ */
+@Slf4j
+public class ReplayWebConnection implements WebConnection {
+
+    private final ExchangeArchive archive;
+    private final ExchangeListener listener;
+    private final AtomicLong misses;
+
+    /**
+     * @param archive  档案
+     * @param listener 交互监听
+     * @param misses   未命中计数（可在多个连接间共享）
+     */
+    public ReplayWebConnection(ExchangeArchive archive, ExchangeListener listener, AtomicLong misses) {
+        this.archive = archive;
+        this.listener = listener;
+        this.misses = misses;
+    }
+
+    @Override
+    public WebResponse getResponse(WebRequest request) throws IOException {
+        String method = request.getHttpMethod().name();
+        String url = request.getUrl().toString();
+        RecordedExchange exchange = archive.find(ExchangeArchive.key(method, url, request.getRequestBody()));
+        if (exchange == null) {
+            misses.incrementAndGet();
+            log.debug("[回放] 档案未命中: {} {}", method, url);
+            return new WebResponse(new WebResponseData(new byte[0], 404, "Not Recorded", List.of()), request, 0);
+        }
+
+        listener.onExchange(exchange);
+        List<NameValuePair> headers = new ArrayList<>();
+        if (exchange.getHeaders() != null) {
+            for (RecordedExchange.Header h : exchange.getHeaders()) {
+                headers.add(new NameValuePair(h.getName(), h.getValue()));
+            }
+        }
+        WebResponseData data = new WebResponseData(exchange.getBody(), exchange.getStatus(),
+                exchange.getStatusMessage() != null ? exchange.getStatusMessage() : "", headers);
+        return new WebResponse(data, request, exchange.getLatencyMs());
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,63 @@
+package com.fireworks.extract.http;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * 提取引擎的 HTTP 响应（状态码、Content-Type 与完整响应体）
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExtractHttpResponse {
+
+    /**
+     * HTTP 状态码
+     */
+    private int status;
+
+    /**
+     * Content-Type 响应头（可能为 null）
+     */
+    private String contentType;
+
+    /**
+     * 响应体
+     */
+    private byte[] body;
+
+    /**
+     * 按 Content-Type 中的 charset 解码响应体，未声明时使用 UTF-8
+     *
+     * @return 响应体文本
+     */
+    public String bodyAsString() {
+        if (body == null) {
+            return "";
+        }
+        return new String(body, charset());
+    }
+
+    private Charset charset() {
+        if (contentType != null) {
+            for (String part : contentType.split(";")) {
+                String p = part.trim();
+                if (p.toLowerCase(Locale.ROOT).startsWith("charset=")) {
+                    try {
+                        return Charset.forName(p.substring("charset=".length()).replace("\"", "").trim());
+                    } catch (Exception ignored) {
+                        break;
+                    }
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+}
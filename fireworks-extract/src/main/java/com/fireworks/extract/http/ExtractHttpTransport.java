@@ -0,0 +1,23 @@
+package com.fireworks.extract.http;
+
+import java.io.IOException;
+
+/**
+ * 提取引擎的 HTTP 传输层
+ * <p>
+ * 图片下载与已知平台 API 调用都经由此接口，便于录制真实交互并在离线环境回放
+ * （见 {@code com.fireworks.extract.fixture}）。HtmlUnit 的请求走自身的 WebConnection，不经过此接口。
+ */
+public interface ExtractHttpTransport {
+
+    /**
+     * 发送 GET 请求（跟随重定向）
+     *
+     * @param url       请求 URL
+     * @param timeoutMs 超时时间（毫秒）
+     * @return 响应
+     * @throws IOException          网络异常
+     * @throws InterruptedException 线程被中断
+     */
+    ExtractHttpResponse get(String url, int timeoutMs) throws IOException, InterruptedException;
+}
@@ -0,0 +1,41 @@
+package com.fireworks.extract.http;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * 基于 JDK HttpClient 的传输实现（默认）
+ */
+public class JdkHttpTransport implements ExtractHttpTransport {
+
+    /** 连接超时时间（毫秒） */
+    private static final int CONNECT_TIMEOUT_MS = 10000;
+    /** HTTP 请求 User-Agent */
+    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36";
+
+    /** 共享的 HTTP 客户端实例（线程安全、支持重定向） */
+    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(Duration.ofMillis(CONNECT_TIMEOUT_MS))
+            .build();
+
+    @Override
+    public ExtractHttpResponse get(String url, int timeoutMs) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(Duration.ofMillis(timeoutMs))
+                .header("User-Agent", USER_AGENT)
+                .GET()
+                .build();
+        HttpResponse<byte[]> resp = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        return ExtractHttpResponse.builder()
+                .status(resp.statusCode())
+                .contentType(resp.headers().firstValue("Content-Type").orElse(null))
+                .body(resp.body())
+                .build();
+    }
+}
@@ -0,0 +1,534 @@
+package com.fireworks.render;
+
+import com.fireworks.dto.VideoExtractResult;
+import com.fireworks.enums.VideoExtractStage;
+import com.fireworks.enums.VideoExtractStatus;
+import com.fireworks.exception.ExtractTimeoutException;
+import com.fireworks.util.ExtractDeadline;
+import com.fireworks.util.VideoUrlTextUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.htmlunit.BrowserVersion;
+import org.htmlunit.FailingHttpStatusCodeException;
+import org.htmlunit.Page;
+import org.htmlunit.WebClient;
+import org.htmlunit.WebConnection;
+import org.htmlunit.WebRequest;
+import org.htmlunit.WebResponse;
+import org.htmlunit.html.HtmlPage;
+import org.htmlunit.util.Cookie;
+import org.htmlunit.util.UrlUtils;
+import org.htmlunit.util.WebConnectionWrapper;
+import org.springframework.util.StringUtils;
+
+import java.io.Closeable;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * HtmlUnit 页面渲染器
+ * <p>
+ * 使用无头浏览器渲染 SPA/JS 动态页面并嗅探视频地址。不依赖 Spring 容器，
+ * 既可以在当前进程内直接调用，也可以由 {@link RenderWorkerMain} 在独立的渲染子进程中调用。
+ * <p>
+ * 线程安全：每次渲染使用独立的 WebClient；跟随页面在实例自有的有界线程池中并发渲染，
+ * 各分支从实例的 WebClient 池借用独立的客户端（复用 HtmlUnit 缓存，归还前清理页面与 Cookie）。
+ * 线程数与池中空闲客户端数均不超过 {@code followUpThreads}；线程池任务队列满时由调用线程直接渲染，
+ * 因此同时存在的跟随页面客户端不超过 {@code followUpThreads} 加上并发调用 {@link #render} 的线程数。
+ * <p>
+ * 可通过 {@code connectionDecorator} 包装底层 WebConnection（如录制/回放全部子请求），嗅探器始终位于最外层。
+ * 使用方负责在不再使用时调用 {@link #close()} 结束线程池并关闭空闲客户端。
+ */
+@Slf4j
+public class HtmlUnitRenderer implements PageRenderer, Closeable {
+
+    /** 单次请求超时上限（毫秒） */
+    private static final int HTTP_TIMEOUT_MS = 10000;
+    /** HtmlUnit JS 执行等待时间（毫秒） */
+    private static final int HTMLUNIT_JS_WAIT_MS = 8000;
+    /** HtmlUnit 后台 JS 等待时间（毫秒） */
+    private static final int HTMLUNIT_BACKGROUND_JS_WAIT_MS = 3000;
+    /** HtmlUnit 最多跟随的跳转页面数（并发渲染） */
+    private static final int HTMLUNIT_MAX_FOLLOW_UP_PAGES = 2;
+    /** 跟随页面分片等待 JS 的时长（每片结束检查是否已取消） */
+    private static final int FOLLOW_UP_JS_WAIT_SLICE_MS = 200;
+    /** 默认跟随页面线程数（同时也是空闲 WebClient 池容量） */
+    public static final int DEFAULT_FOLLOW_UP_THREADS = 4;
+    /** 跟随页面线程空闲回收时间（秒） */
+    private static final long FOLLOW_UP_KEEP_ALIVE_SECONDS = 60;
+
+    private static final AtomicInteger FOLLOW_UP_THREAD_SEQ = new AtomicInteger();
+
+    /** 底层 WebConnection 包装（默认不包装） */
+    private final UnaryOperator<WebConnection> connectionDecorator;
+
+    /** 跟随页面渲染线程池（守护线程，有界，空闲回收；队列满时由调用线程执行） */
+    private final ThreadPoolExecutor followUpExecutor;
+
+    /** 跟随页面线程（供基准测试统计这些线程上的内存分配） */
+    private final Set<Thread> followUpThreads = ConcurrentHashMap.newKeySet();
+
+    /** 空闲的跟随页面 WebClient */
+    private final BlockingQueue<SniffingClient> idleClients;
+
+    private volatile boolean closed;
+
+    public HtmlUnitRenderer() {
+        this(DEFAULT_FOLLOW_UP_THREADS, UnaryOperator.identity());
+    }
+
+    /**
+     * @param connectionDecorator 底层 WebConnection 包装，每个 WebClient 调用一次
+     */
+    public HtmlUnitRenderer(UnaryOperator<WebConnection> connectionDecorator) {
+        this(DEFAULT_FOLLOW_UP_THREADS, connectionDecorator);
+    }
+
+    /**
+     * @param followUpThreads     跟随页面线程数与空闲 WebClient 池容量
+     * @param connectionDecorator 底层 WebConnection 包装，每个 WebClient 调用一次
+     */
+    public HtmlUnitRenderer(int followUpThreads, UnaryOperator<WebConnection> connectionDecorator) {
+        int threads = Math.max(1, followUpThreads);
+        this.connectionDecorator = connectionDecorator;
+        this.idleClients = new ArrayBlockingQueue<>(threads);
+        this.followUpExecutor = new ThreadPoolExecutor(threads, threads,
+                FOLLOW_UP_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(threads * HTMLUNIT_MAX_FOLLOW_UP_PAGES),
+                r -> {
+                    Thread t = new Thread(r, "htmlunit-follow-up-" + FOLLOW_UP_THREAD_SEQ.incrementAndGet());
+                    t.setDaemon(true);
+                    this.followUpThreads.add(t);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.followUpExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 使用 HtmlUnit 无头浏览器渲染页面并提取视频
+     * <p>
+     * 这是最强大也是最耗资源的提取策略，用于处理 SPA/JS 动态加载的页面。
+     * <p>
+     * 工作流程：
+     * <ol>
+     *   <li>构建 HtmlUnit WebClient，配置 JS 执行、重定向、超时</li>
+     *   <li>注册网络嗅探器，监听所有网络请求中的视频 URL</li>
+     *   <li>加载页面并等待 JS 执行完成</li>
+     *   <li>优先使用嗅探器捕获的视频 URL</li>
+     *   <li>若嗅探器未捕获，则从渲染后的 DOM 中正则匹配</li>
+     *   <li>检测 JS 跳转（window.location），并发渲染跟随页面，任一找到视频即停止其余分支</li>
+     * </ol>
+     * <p>
+     * 页面加载超时与 JS 等待时间均取自剩余预算；跟随页面共享剩余预算。
+     *
+     * @param pageUrl  目标页面 URL
+     * @param deadline 端到端截止时间
+     * @return 提取结果
+     * @throws ExtractTimeoutException 总预算耗尽
+     */
+    @Override
+    public VideoExtractResult render(String pageUrl, ExtractDeadline deadline) {
+        HtmlUnitVideoSniffer sniffer = new HtmlUnitVideoSniffer();
+        int renderTimeoutMs = deadline.timeoutFor(VideoExtractStage.HTMLUNIT_RENDER, HTTP_TIMEOUT_MS);
+
+        try (WebClient webClient = buildHtmlUnitClient(sniffer, connectionDecorator)) {
+            webClient.getOptions().setTimeout(renderTimeoutMs);
+            HtmlPage page = webClient.getPage(pageUrl);
+            waitForJs(webClient, deadline);
+
+            int status = page.getWebResponse().getStatusCode();
+            if (status < 200 || status >= 300) {
+                return VideoExtractResult.builder()
+                        .status(VideoExtractStatus.FAILED)
+                        .targetUrl(pageUrl)
+                        .message("页面访问失败: HTTP " + status)
+                        .build();
+            }
+
+            String finalUrl = page.getUrl() != null ? page.getUrl().toString() : pageUrl;
+
+            // DOM 只序列化一次：嗅探未命中时既用于正则匹配，也用于查找跟随页面
+            String videoUrl = sniffer.bestVideoUrl;
+            String xml = null;
+            if (!StringUtils.hasText(videoUrl)) {
+                xml = page.asXml();
+                videoUrl = VideoUrlTextUtils.extractVideoFromText(xml, finalUrl);
+            }
+            if (StringUtils.hasText(videoUrl)) {
+                return VideoExtractResult.builder()
+                        .status(VideoExtractStatus.SUCCESS)
+                        .videoUrl(videoUrl)
+                        .targetUrl(finalUrl)
+                        .message("HtmlUnit渲染提取成功")
+                        .build();
+            }
+
+            List<String> followUps = VideoUrlTextUtils.extractFollowUpPageUrls(xml, finalUrl);
+            VideoExtractResult followUpResult = renderFollowUps(followUps,
+                    webClient.getCookieManager().getCookies(), deadline);
+            if (followUpResult != null) {
+                return followUpResult;
+            }
+
+            return VideoExtractResult.builder()
+                    .status(VideoExtractStatus.NEED_DYNAMIC_RENDER)
+                    .targetUrl(finalUrl)
+                    .message("HtmlUnit渲染后仍未找到视频URL")
+                    .build();
+
+        } catch (FailingHttpStatusCodeException e) {
+            return VideoExtractResult.builder()
+                    .status(VideoExtractStatus.FAILED)
+                    .targetUrl(pageUrl)
+                    .message("页面访问失败: HTTP " + e.getStatusCode())
+                    .build();
+        } catch (ExtractTimeoutException e) {
+            throw e;
+        } catch (Exception e) {
+            if (deadline.isExpired()) {
+                throw new ExtractTimeoutException(deadline.getCurrentStage());
+            }
+            log.warn("HtmlUnit渲染访问异常: {}", pageUrl, e);
+            return VideoExtractResult.builder()
+                    .status(VideoExtractStatus.NEED_DYNAMIC_RENDER)
+                    .targetUrl(pageUrl)
+                    .message("HtmlUnit渲染访问异常")
+                    .build();
+        }
+    }
+
+    /**
+     * 并发渲染跟随页面，任一分支找到视频即返回并停止其余分支
+     * <p>
+     * 每个跟随页面从客户端池借用独立的 WebClient（带入主页面的 Cookie），在 {@link #followUpExecutor} 中执行；
+     * 主线程在剩余预算内按完成顺序收取结果。返回或超时后只设置取消标记并中断分支线程，
+     * WebClient 始终由使用它的分支线程在退出时关闭（不再归还），不会在其仍处于 getPage / 等待 JS 时被其他线程关闭。
+     *
+     * @param candidates 跟随页面候选（按优先级）
+     * @param cookies    主页面的 Cookie
+     * @param deadline   端到端截止时间
+     * @return 首个成功结果，全部未找到返回 null
+     * @throws ExtractTimeoutException 总预算耗尽
+     */
+    private VideoExtractResult renderFollowUps(List<String> candidates, Set<Cookie> cookies, ExtractDeadline deadline) {
+        List<String> targets = candidates.stream().limit(HTMLUNIT_MAX_FOLLOW_UP_PAGES).toList();
+        if (targets.isEmpty()) {
+            return null;
+        }
+        // 在调用线程上进入阶段（阶段监听非线程安全），各分支只读取剩余预算
+        deadline.timeoutFor(VideoExtractStage.FOLLOW_UP_PAGE, HTTP_TIMEOUT_MS);
+
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+        CompletionService<VideoExtractResult> completion = new ExecutorCompletionService<>(followUpExecutor);
+        List<Future<VideoExtractResult>> futures = new ArrayList<>(targets.size());
+        for (String next : targets) {
+            futures.add(completion.submit(() -> renderFollowUp(next, cookies, deadline, cancelled)));
+        }
+
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                Future<VideoExtractResult> done = completion.poll(deadline.remainingMs(), TimeUnit.MILLISECONDS);
+                if (done == null) {
+                    throw new ExtractTimeoutException(VideoExtractStage.FOLLOW_UP_PAGE);
+                }
+                VideoExtractResult result;
+                try {
+                    result = done.get();
+                } catch (ExecutionException e) {
+                    // renderFollowUp 自行捕获异常，不应到达此处；继续收取其余分支
+                    log.debug("HtmlUnit跟随页面异常", e.getCause());
+                    continue;
+                }
+                if (result != null) {
+                    return result;
+                }
+            }
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            cancelled.set(true);
+            futures.forEach(f -> f.cancel(true));
+        }
+    }
+
+    /**
+     * 借用池中的 WebClient 渲染单个跟随页面
+     * <p>
+     * 正常结束时清理后归还；已取消（其他分支已成功或超时）时在本线程关闭客户端，不再归还。
+     *
+     * @param pageUrl   跟随页面 URL
+     * @param cookies   主页面的 Cookie
+     * @param deadline  端到端截止时间（只读取剩余预算）
+     * @param cancelled 取消标记，由主线程在返回或超时时设置
+     * @return 成功结果，未找到、失败或已取消返回 null
+     */
+    private VideoExtractResult renderFollowUp(String pageUrl, Set<Cookie> cookies, ExtractDeadline deadline,
+                                              AtomicBoolean cancelled) {
+        if (cancelled.get()) {
+            return null;
+        }
+        SniffingClient client = acquireClient();
+        WebClient webClient = client.webClient();
+        try {
+            webClient.getOptions().setTimeout((int) Math.min(HTTP_TIMEOUT_MS, deadline.remainingMs()));
+            cookies.forEach(webClient.getCookieManager()::addCookie);
+
+            Page page = webClient.getPage(pageUrl);
+            if (cancelled.get()) {
+                return null;
+            }
+            waitForJs(webClient, deadline, cancelled);
+
+            String finalUrl = page.getUrl() != null ? page.getUrl().toString() : pageUrl;
+            String videoUrl = client.sniffer().bestVideoUrl;
+            if (!StringUtils.hasText(videoUrl) && page instanceof HtmlPage html) {
+                videoUrl = VideoUrlTextUtils.extractVideoFromText(html.asXml(), finalUrl);
+            }
+            if (StringUtils.hasText(videoUrl)) {
+                return VideoExtractResult.builder()
+                        .status(VideoExtractStatus.SUCCESS)
+                        .videoUrl(videoUrl)
+                        .targetUrl(finalUrl)
+                        .message("HtmlUnit跟随页面提取成功")
+                        .build();
+            }
+        } catch (Exception e) {
+            log.debug("HtmlUnit跟随页面失败: {}", pageUrl, e);
+        } finally {
+            if (cancelled.get()) {
+                webClient.close();
+            } else {
+                releaseClient(client);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 从池中取空闲客户端，没有时新建
+     */
+    private SniffingClient acquireClient() {
+        SniffingClient client = idleClients.poll();
+        if (client != null) {
+            return client;
+        }
+        HtmlUnitVideoSniffer sniffer = new HtmlUnitVideoSniffer();
+        return new SniffingClient(buildHtmlUnitClient(sniffer, connectionDecorator), sniffer);
+    }
+
+    /**
+     * 清理后归还客户端：停止后台 JS、切换到空白页、清空 Cookie 与嗅探结果（保留 HtmlUnit 缓存）；
+     * 渲染器已关闭、打开了额外窗口、清理失败或池已满时直接关闭
+     */
+    private void releaseClient(SniffingClient client) {
+        WebClient webClient = client.webClient();
+        boolean reusable = !closed && webClient.getTopLevelWindows().size() == 1;
+        if (reusable) {
+            try {
+                webClient.getCurrentWindow().getJobManager().removeAllJobs();
+                webClient.getPage(UrlUtils.URL_ABOUT_BLANK);
+                webClient.getCookieManager().clearCookies();
+                client.sniffer().bestVideoUrl = null;
+            } catch (Exception e) {
+                reusable = false;
+            }
+        }
+        if (!reusable || !idleClients.offer(client)) {
+            webClient.close();
+        }
+    }
+
+    /**
+     * 构建配置好的 HtmlUnit WebClient
+     * <p>
+     * 配置项：
+     * <ul>
+     *   <li>启用 JavaScript 执行</li>
+     *   <li>禁用 CSS（提升性能）</li>
+     *   <li>禁用脚本错误异常（容错）</li>
+     *   <li>启用重定向跟随</li>
+     *   <li>注册网络请求拦截器（视频 URL 嗅探）</li>
+     * </ul>
+     *
+     * 单次请求超时由调用方按剩余预算设置。
+     *
+     * @param sniffer   视频 URL 嗅探器，用于拦截网络请求
+     * @param decorator 底层 WebConnection 包装
+     * @return 配置好的 WebClient 实例
+     */
+    private static WebClient buildHtmlUnitClient(HtmlUnitVideoSniffer sniffer,
+                                                 UnaryOperator<WebConnection> decorator) {
+        WebClient webClient = new WebClient(BrowserVersion.CHROME);
+        webClient.getOptions().setJavaScriptEnabled(true);
+        webClient.getOptions().setCssEnabled(false);
+        webClient.getOptions().setThrowExceptionOnScriptError(false);
+        webClient.getOptions().setThrowExceptionOnFailingStatusCode(false);
+        webClient.getOptions().setRedirectEnabled(true);
+
+        webClient.setWebConnection(new WebConnectionWrapper(decorator.apply(webClient.getWebConnection())) {
+            @Override
+            public WebResponse getResponse(WebRequest request) throws java.io.IOException {
+                URL requestUrl = request.getUrl();
+                WebResponse response = super.getResponse(request);
+                sniffer.tryAccept(requestUrl, response);
+                return response;
+            }
+        });
+
+        return webClient;
+    }
+
+    /**
+     * 当前存活的跟随页面线程 ID
+     *
+     * @return 线程 ID
+     */
+    public long[] followUpThreadIds() {
+        followUpThreads.removeIf(t -> t.getState() == Thread.State.TERMINATED);
+        return followUpThreads.stream().mapToLong(Thread::getId).toArray();
+    }
+
+    /**
+     * 结束跟随页面线程池并关闭空闲客户端
+     */
+    @Override
+    public void close() {
+        closed = true;
+        followUpExecutor.shutdownNow();
+        SniffingClient client;
+        while ((client = idleClients.poll()) != null) {
+            client.webClient().close();
+        }
+    }
+
+    /**
+     * 等待 HtmlUnit 中的 JavaScript 执行完成
+     * <p>
+     * 分两阶段等待：
+     * <ol>
+     *   <li>等待启动前的 JS（如 DOMContentLoaded 回调）</li>
+     *   <li>等待后台异步 JS（如 AJAX、setTimeout）</li>
+     * </ol>
+     * 两阶段等待时间均不超过剩余预算；预算耗尽时跳过等待，由调用方统一判定超时。
+     *
+     * @param webClient HtmlUnit 客户端
+     * @param deadline  端到端截止时间
+     */
+    private static void waitForJs(WebClient webClient, ExtractDeadline deadline) {
+        webClient.waitForBackgroundJavaScriptStartingBefore(Math.min(HTMLUNIT_JS_WAIT_MS, deadline.remainingMs()));
+        webClient.waitForBackgroundJavaScript(Math.min(HTMLUNIT_BACKGROUND_JS_WAIT_MS, deadline.remainingMs()));
+    }
+
+    /**
+     * 跟随页面等待 JavaScript：与 {@link #waitForJs(WebClient, ExtractDeadline)} 相同的两阶段与时长，
+     * 按 {@value #FOLLOW_UP_JS_WAIT_SLICE_MS}ms 分片等待，每片结束检查取消标记，已取消时尽快返回由分支线程关闭客户端
+     *
+     * @param webClient HtmlUnit 客户端
+     * @param deadline  端到端截止时间
+     * @param cancelled 取消标记
+     */
+    private static void waitForJs(WebClient webClient, ExtractDeadline deadline, AtomicBoolean cancelled) {
+        long startingBeforeUntil = System.currentTimeMillis() + Math.min(HTMLUNIT_JS_WAIT_MS, deadline.remainingMs());
+        while (!cancelled.get()) {
+            long slice = Math.min(FOLLOW_UP_JS_WAIT_SLICE_MS, startingBeforeUntil - System.currentTimeMillis());
+            if (slice <= 0 || webClient.waitForBackgroundJavaScriptStartingBefore(slice) == 0) {
+                break;
+            }
+        }
+        long backgroundUntil = System.currentTimeMillis()
+                + Math.min(HTMLUNIT_BACKGROUND_JS_WAIT_MS, deadline.remainingMs());
+        while (!cancelled.get()) {
+            long slice = Math.min(FOLLOW_UP_JS_WAIT_SLICE_MS, backgroundUntil - System.currentTimeMillis());
+            if (slice <= 0 || webClient.waitForBackgroundJavaScript(slice) == 0) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * 带专属嗅探器的 WebClient（嗅探器在创建时接入 WebConnection，随客户端一起复用）
+     */
+    private record SniffingClient(WebClient webClient, HtmlUnitVideoSniffer sniffer) {
+    }
+
+    /**
+     * HtmlUnit 网络请求视频嗅探器
+     * <p>
+     * 通过拦截 WebClient 的所有网络请求，从请求 URL 和响应体中提取视频地址。
+     * 这种方式可以捕获 AJAX 动态加载的视频，比 DOM 解析更可靠。
+     * <p>
+     * 线程安全：使用 volatile 保证可见性。
+     */
+    private static final class HtmlUnitVideoSniffer {
+        /** 捕获到的最佳视频 URL */
+        private volatile String bestVideoUrl;
+
+        /**
+         * 尝试从网络请求/响应中提取视频 URL
+         * <p>
+         * 检测策略：
+         * <ol>
+         *   <li>请求 URL 本身是视频直链（.mp4/.m3u8）</li>
+         *   <li>响应体为文本类型时，正则匹配视频 URL</li>
+         * </ol>
+         *
+         * @param requestUrl 请求 URL
+         * @param response   响应对象
+         */
+        void tryAccept(URL requestUrl, WebResponse response) {
+            if (requestUrl == null || response == null) {
+                return;
+            }
+
+            String url = requestUrl.toString();
+            if (VideoUrlTextUtils.DIRECT_VIDEO_URL_PATTERN.matcher(url).matches()) {
+                bestVideoUrl = url;
+                return;
+            }
+
+            String contentType;
+            try {
+                contentType = response.getContentType();
+            } catch (Exception ignored) {
+                contentType = null;
+            }
+
+            boolean maybeText = true;
+            if (contentType != null) {
+                String ct = contentType.toLowerCase(Locale.ROOT);
+                maybeText = ct.contains("json") || ct.contains("text") || ct.contains("javascript") || ct.contains("xml") || ct.contains("html");
+            }
+            if (!maybeText) {
+                return;
+            }
+
+            try {
+                String found = VideoUrlTextUtils.findRawVideoUrl(response.getContentAsString());
+                if (StringUtils.hasText(found)) {
+                    String candidate = VideoUrlTextUtils.unescapeUrlCandidate(found);
+                    String normalized = VideoUrlTextUtils.normalizeUrl(candidate, requestUrl.toString());
+                    bestVideoUrl = StringUtils.hasText(normalized) ? normalized : candidate;
+                }
+            } catch (Exception ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.fireworks.render;
+
+import com.fireworks.dto.VideoExtractResult;
+import com.fireworks.exception.ExtractTimeoutException;
+import com.fireworks.util.ExtractDeadline;
+
+/**
+ * 动态页面渲染器
+ * <p>
+ * 视频提取的 HtmlUnit 渲染阶段，两种实现：
+ * <ul>
+ *   <li>{@link HtmlUnitRenderer}：在当前进程内渲染</li>
+ *   <li>{@link RenderWorkerPool}：在独立的渲染子进程池中渲染，与调用方进程的堆、GC 和线程隔离</li>
+ * </ul>
+ */
+public interface PageRenderer {
+
+    /**
+     * 渲染页面并提取视频地址
+     *
+     * @param pageUrl  目标页面 URL
+     * @param deadline 端到端截止时间
+     * @return 提取结果
+     * @throws ExtractTimeoutException 总预算耗尽
+     */
+    VideoExtractResult render(String pageUrl, ExtractDeadline deadline);
+}
@@ -0,0 +1,31 @@
+package com.fireworks.render;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 渲染请求（API 进程 → 渲染子进程，一行一个 JSON）
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RenderRequest {
+
+    /**
+     * 请求序号，用于校验响应与请求一一对应
+     */
+    private long seq;
+
+    /**
+     * 待渲染页面 URL
+     */
+    private String pageUrl;
+
+    /**
+     * 剩余提取预算（毫秒），子进程据此重建截止时间
+     */
+    private long budgetMs;
+}
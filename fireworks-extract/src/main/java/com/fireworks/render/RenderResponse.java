@@ -0,0 +1,27 @@
+package com.fireworks.render;
+
+import com.fireworks.dto.VideoExtractResult;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 渲染响应（渲染子进程 → API 进程，一行一个 JSON）
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RenderResponse {
+
+    /**
+     * 对应的请求序号
+     */
+    private long seq;
+
+    /**
+     * 渲染提取结果；预算耗尽时 status 为 FAILED 且 timeoutStage 有值
+     */
+    private VideoExtractResult result;
+}
@@ -0,0 +1,77 @@
+package com.fireworks.render;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fireworks.dto.VideoExtractResult;
+import com.fireworks.enums.VideoExtractStatus;
+import com.fireworks.exception.ExtractTimeoutException;
+import com.fireworks.util.ExtractDeadline;
+
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 渲染子进程入口
+ * <p>
+ * 由 API 进程以独立 JVM 启动（同一个 jar，独立 -Xmx），不启动 Spring 容器。
+ * 通信协议：stdin 每行一个 {@link RenderRequest} JSON，stdout 每行返回一个 {@link RenderResponse} JSON，
+ * 串行处理；stdin 关闭（父进程退出）时子进程随之退出。
+ * <p>
+ * stdout 专用于协议输出，日志与 HtmlUnit 的控制台输出全部重定向到 stderr。
+ */
+public final class RenderWorkerMain {
+
+    private RenderWorkerMain() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        PrintStream protocolOut = new PrintStream(new FileOutputStream(FileDescriptor.out), true, StandardCharsets.UTF_8);
+        System.setOut(System.err);
+
+        ObjectMapper objectMapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        HtmlUnitRenderer renderer = new HtmlUnitRenderer();
+
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            RenderRequest request = objectMapper.readValue(line, RenderRequest.class);
+            VideoExtractResult result = renderSafely(renderer, request);
+            protocolOut.println(objectMapper.writeValueAsString(RenderResponse.builder()
+                    .seq(request.getSeq())
+                    .result(result)
+                    .build()));
+        }
+    }
+
+    /**
+     * 执行渲染，异常一律转换为结果返回，保证每个请求都有一行响应
+     */
+    private static VideoExtractResult renderSafely(HtmlUnitRenderer renderer, RenderRequest request) {
+        try {
+            return renderer.render(request.getPageUrl(), ExtractDeadline.after(request.getBudgetMs()));
+        } catch (ExtractTimeoutException e) {
+            return VideoExtractResult.builder()
+                    .status(VideoExtractStatus.FAILED)
+                    .targetUrl(request.getPageUrl())
+                    .timeoutStage(e.getStage())
+                    .message("渲染超时")
+                    .build();
+        } catch (Exception e) {
+            System.err.println("渲染子进程处理异常: " + request.getPageUrl() + " - " + e);
+            return VideoExtractResult.builder()
+                    .status(VideoExtractStatus.NEED_DYNAMIC_RENDER)
+                    .targetUrl(request.getPageUrl())
+                    .message("HtmlUnit渲染访问异常")
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.fireworks.render;
+
+import com.fireworks.dto.VideoExtractResult;
+import com.fireworks.enums.VideoExtractStage;
+import com.fireworks.enums.VideoExtractStatus;
+import com.fireworks.exception.ExtractTimeoutException;
+import com.fireworks.util.ExtractDeadline;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 渲染子进程池
+ * <p>
+ * HtmlUnit 渲染在独立 JVM 中执行，异常页面导致的堆膨胀、JS 死循环、线程泄漏不再影响调用方进程的延迟与 GC：
+ * <ul>
+ *   <li>子进程从同一个 jar 启动，使用独立的 {@code -Xmx} 与 SerialGC，OOM 时直接退出</li>
+ *   <li>看门狗：单次渲染超过剩余预算 + 宽限时间未返回，强制结束子进程并按超时处理</li>
+ *   <li>回收：每个子进程渲染 N 次后退出重建，避免长期运行积累的内存碎片与泄漏</li>
+ *   <li>池大小即渲染并发上限，空闲子进程复用以摊薄 JVM 启动开销</li>
+ * </ul>
+ * 使用方负责在进程退出前调用 {@link #close()} 结束空闲子进程。
+ */
+@Slf4j
+public class RenderWorkerPool implements PageRenderer, Closeable {
+
+    /** Spring Boot 可执行 jar 的 PropertiesLauncher，可通过 loader.main 指定任意入口类 */
+    private static final String BOOT_PROPERTIES_LAUNCHER = "org.springframework.boot.loader.launch.PropertiesLauncher";
+    /** 子进程日志配置（全部输出到 stderr） */
+    private static final String WORKER_LOGBACK_CONFIG = "logback-render-worker.xml";
+
+    /** 最大子进程数（即渲染并发上限） */
+    private final int poolSize;
+    /** 子进程最大堆 */
+    private final String workerXmx;
+    /** 子进程渲染多少次后回收 */
+    private final int maxRendersPerWorker;
+    /** 看门狗在剩余预算之外的宽限时间（覆盖 JVM 启动与 IPC 开销） */
+    private final long watchdogGraceMs;
+
+    private final Semaphore slots;
+    private final ConcurrentLinkedDeque<RenderWorkerProcess> idleWorkers = new ConcurrentLinkedDeque<>();
+    private final AtomicLong seq = new AtomicLong();
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "render-watchdog");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile List<String> workerCommand;
+
+    /**
+     * @param poolSize            最大子进程数（即渲染并发上限）
+     * @param workerXmx           子进程最大堆（如 256m）
+     * @param maxRendersPerWorker 子进程渲染多少次后回收
+     * @param watchdogGraceMs     看门狗在剩余预算之外的宽限时间（毫秒）
+     */
+    public RenderWorkerPool(int poolSize, String workerXmx, int maxRendersPerWorker, long watchdogGraceMs) {
+        this.poolSize = Math.max(1, poolSize);
+        this.workerXmx = workerXmx;
+        this.maxRendersPerWorker = Math.max(1, maxRendersPerWorker);
+        this.watchdogGraceMs = Math.max(0, watchdogGraceMs);
+        this.slots = new Semaphore(this.poolSize);
+    }
+
+    @Override
+    public VideoExtractResult render(String pageUrl, ExtractDeadline deadline) {
+        deadline.check(VideoExtractStage.HTMLUNIT_RENDER);
+        boolean acquired;
+        try {
+            acquired = slots.tryAcquire(deadline.remainingMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExtractTimeoutException(VideoExtractStage.HTMLUNIT_RENDER);
+        }
+        if (!acquired) {
+            throw new ExtractTimeoutException(VideoExtractStage.HTMLUNIT_RENDER);
+        }
+
+        RenderWorkerProcess worker = null;
+        boolean reusable = false;
+        try {
+            worker = borrowWorker();
+            RenderRequest request = RenderRequest.builder()
+                    .seq(seq.incrementAndGet())
+                    .pageUrl(pageUrl)
+                    .budgetMs(deadline.remainingMs())
+                    .build();
+            RenderResponse response = worker.render(request, request.getBudgetMs() + watchdogGraceMs, watchdog);
+            reusable = worker.getRenderCount() < maxRendersPerWorker;
+
+            VideoExtractResult result = response.getResult();
+            if (result.getTimeoutStage() != null) {
+                throw new ExtractTimeoutException(result.getTimeoutStage());
+            }
+            return result;
+        } catch (TimeoutException e) {
+            throw new ExtractTimeoutException(VideoExtractStage.HTMLUNIT_RENDER);
+        } catch (IOException e) {
+            log.warn("[渲染子进程] 渲染失败: pageUrl={}", pageUrl, e);
+            return VideoExtractResult.builder()
+                    .status(VideoExtractStatus.NEED_DYNAMIC_RENDER)
+                    .targetUrl(pageUrl)
+                    .message("渲染子进程异常")
+                    .build();
+        } finally {
+            if (worker != null) {
+                if (reusable && worker.isAlive()) {
+                    idleWorkers.push(worker);
+                } else {
+                    worker.close();
+                }
+            }
+            slots.release();
+        }
+    }
+
+    /**
+     * 取一个存活的空闲子进程，没有则新建
+     */
+    private RenderWorkerProcess borrowWorker() throws IOException {
+        RenderWorkerProcess worker;
+        while ((worker = idleWorkers.poll()) != null) {
+            if (worker.isAlive()) {
+                return worker;
+            }
+            worker.close();
+        }
+        return RenderWorkerProcess.start(workerCommand());
+    }
+
+    /**
+     * 构建子进程启动命令
+     * <p>
+     * 以可执行 jar 运行时（classpath 只有一个 jar），类位于 BOOT-INF 下无法直接加载，
+     * 通过 PropertiesLauncher + {@code loader.main} 启动；IDE/mvn 运行时直接使用当前 classpath。
+     */
+    private List<String> workerCommand() {
+        List<String> command = workerCommand;
+        if (command != null) {
+            return command;
+        }
+        String javaBin = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        String classPath = System.getProperty("java.class.path");
+
+        command = new ArrayList<>(List.of(
+                javaBin,
+                "-Xmx" + workerXmx,
+                "-XX:+UseSerialGC",
+                "-XX:+ExitOnOutOfMemoryError",
+                "-Djava.awt.headless=true",
+                "-Dfile.encoding=UTF-8",
+                "-Dlogback.configurationFile=" + WORKER_LOGBACK_CONFIG,
+                "-cp", classPath));
+        boolean executableJar = classPath.endsWith(".jar") && !classPath.contains(File.pathSeparator);
+        if (executableJar) {
+            command.add("-Dloader.main=" + RenderWorkerMain.class.getName());
+            command.add(BOOT_PROPERTIES_LAUNCHER);
+        } else {
+            command.add(RenderWorkerMain.class.getName());
+        }
+        workerCommand = List.copyOf(command);
+        return workerCommand;
+    }
+
+    @Override
+    public void close() {
+        watchdog.shutdownNow();
+        RenderWorkerProcess worker;
+        while ((worker = idleWorkers.poll()) != null) {
+            worker.close();
+        }
+    }
+}
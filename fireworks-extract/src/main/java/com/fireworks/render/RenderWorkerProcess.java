@@ -0,0 +1,136 @@
+package com.fireworks.render;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 单个渲染子进程句柄
+ * <p>
+ * 负责启动子进程、按行收发 JSON，以及超时看门狗：单次渲染超过给定时间未返回时强制结束子进程，
+ * 子进程内失控的 JS、死循环或泄漏的线程随进程一起回收。
+ * <p>
+ * 非线程安全：同一时刻只能由一个调用方持有（由进程池保证）。
+ */
+@Slf4j
+public class RenderWorkerProcess implements Closeable {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final Process process;
+    private final BufferedWriter writer;
+    private final BufferedReader reader;
+
+    /** 已完成的渲染次数 */
+    private int renderCount;
+
+    private RenderWorkerProcess(Process process) {
+        this.process = process;
+        this.writer = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        this.reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 启动渲染子进程（stderr 继承父进程，便于统一收集日志）
+     *
+     * @param command 完整启动命令
+     * @return 子进程句柄
+     * @throws IOException 启动失败
+     */
+    public static RenderWorkerProcess start(List<String> command) throws IOException {
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        log.info("[渲染子进程] 已启动: pid={}", process.pid());
+        return new RenderWorkerProcess(process);
+    }
+
+    /**
+     * 发送一次渲染请求并等待响应
+     *
+     * @param request   渲染请求
+     * @param timeoutMs 看门狗超时（毫秒），超时后强制结束子进程
+     * @param watchdog  看门狗调度器
+     * @return 渲染响应
+     * @throws TimeoutException 超时，子进程已被结束
+     * @throws IOException      子进程异常退出或协议错误
+     */
+    public RenderResponse render(RenderRequest request, long timeoutMs, ScheduledExecutorService watchdog)
+            throws IOException, TimeoutException {
+        AtomicBoolean killed = new AtomicBoolean(false);
+        ScheduledFuture<?> kill = watchdog.schedule(() -> {
+            killed.set(true);
+            log.warn("[渲染子进程] 渲染超时，强制结束: pid={}, pageUrl={}", process.pid(), request.getPageUrl());
+            process.destroyForcibly();
+        }, timeoutMs, TimeUnit.MILLISECONDS);
+
+        try {
+            writer.write(OBJECT_MAPPER.writeValueAsString(request));
+            writer.newLine();
+            writer.flush();
+
+            String line = reader.readLine();
+            if (line == null) {
+                if (killed.get()) {
+                    throw new TimeoutException("渲染超时: " + timeoutMs + "ms");
+                }
+                throw new IOException("渲染子进程意外退出: pid=" + process.pid());
+            }
+            RenderResponse response = OBJECT_MAPPER.readValue(line, RenderResponse.class);
+            if (response.getSeq() != request.getSeq() || response.getResult() == null) {
+                throw new IOException("渲染子进程响应不匹配: expected seq=" + request.getSeq() + ", got " + response.getSeq());
+            }
+            renderCount++;
+            return response;
+        } catch (IOException e) {
+            if (killed.get()) {
+                throw new TimeoutException("渲染超时: " + timeoutMs + "ms");
+            }
+            throw e;
+        } finally {
+            kill.cancel(false);
+        }
+    }
+
+    /**
+     * @return 子进程是否存活
+     */
+    public boolean isAlive() {
+        return process.isAlive();
+    }
+
+    /**
+     * @return 已完成的渲染次数
+     */
+    public int getRenderCount() {
+        return renderCount;
+    }
+
+    /**
+     * 结束子进程（先关闭 stdin 让其自然退出，再强制结束兜底）
+     */
+    @Override
+    public void close() {
+        try {
+            writer.close();
+        } catch (IOException ignored) {
+        }
+        process.destroyForcibly();
+        log.info("[渲染子进程] 已结束: pid={}, renders={}", process.pid(), renderCount);
+    }
+}
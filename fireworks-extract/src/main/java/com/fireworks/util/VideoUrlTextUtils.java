@@ -0,0 +1,264 @@
+package com.fireworks.util;
+
+import org.springframework.util.StringUtils;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 视频 URL 文本匹配工具
+ * <p>
+ * 从 HTML/JSON/JS 文本中匹配视频直链与 JS 跳转地址。
+ * 提取引擎与 HtmlUnit 渲染器（可能运行在独立的渲染子进程中）共用，因此不依赖任何 Spring Bean。
+ */
+public final class VideoUrlTextUtils {
+
+    /** 视频直链 URL 模式：匹配 .mp4 或 .m3u8 结尾的 URL */
+    public static final Pattern DIRECT_VIDEO_URL_PATTERN =
+            Pattern.compile("^https?://[^\\s]+\\.(?:mp4|m3u8)(?:\\?[^\\s]*)?$", Pattern.CASE_INSENSITIVE);
+
+    /** JS 跳转模式：匹配 window.location = "url" 或 window.location.href = "url" */
+    private static final Pattern JS_LOCATION_ASSIGN_PATTERN =
+            Pattern.compile("(?i)window\\.location(?:\\.href)?\\s*=\\s*['\"]([^'\"]+)['\"]");
+
+    /** URL 参数提取模板：支持 query 及 hash 路由中的 query（如 #/pages/xxx?store_id=1&id=2） */
+    private static final String QUERY_PARAM_REGEX_TEMPLATE = "(^|[?&])%s=([^&#]+)";
+
+    /** 按参数名缓存已编译的参数提取正则（参数名来自代码常量，数量有限） */
+    private static final Map<String, Pattern> QUERY_PARAM_PATTERNS = new ConcurrentHashMap<>();
+
+    /**
+     * 视频 URL 提取正则模式列表（按优先级排序）
+     * <p>
+     * 优先级：
+     * <ol>
+     *   <li>DATA.video 变量赋值</li>
+     *   <li>JSON/对象字面量中的 video 字段</li>
+     *   <li>&lt;source src="..."&gt; 标签</li>
+     *   <li>&lt;video src="..."&gt; 标签</li>
+     *   <li>通用 .mp4/.m3u8 URL（兜底）</li>
+     * </ol>
+     */
+    private static final List<Pattern> VIDEO_URL_PATTERNS = List.of(
+            // 模式1: 变量直取（如 DATA.video = "url"）
+            Pattern.compile("\\bDATA\\b\\s*\\.\\s*video\\s*[:=]\\s*[\"']([^\"']+\\.(?:mp4|m3u8)(?:\\?[^\"']*)?)[\"']",
+                    Pattern.CASE_INSENSITIVE),
+
+            // 模式2: JSON/对象字面量字段（如 \"video\":\"https:\\/\\/...mp4\"）
+            Pattern.compile("(?:var\\s+)?\\bDATA\\b\\s*=\\s*\\{[\\s\\S]*?[\"']video[\"']\\s*[:=]\\s*[\"']([^\"']+\\.(?:mp4|m3u8)(?:\\?[^\"']*)?)[\"']",
+                    Pattern.CASE_INSENSITIVE),
+            Pattern.compile("[\"']video[\"']\\s*[:=]\\s*[\"']([^\"']+\\.(?:mp4|m3u8)(?:\\?[^\"']*)?)[\"']",
+                    Pattern.CASE_INSENSITIVE),
+
+            // 模式2: <source src="...">
+            Pattern.compile("<source[^>]*src=[\"']([^\"']+\\.(?:mp4|m3u8)(?:\\?[^\"']*)?)[\"'][^>]*>",
+                    Pattern.CASE_INSENSITIVE),
+
+            // 模式3: <video src="...">
+            Pattern.compile("<video[^>]*src=[\"']([^\"']+\\.(?:mp4|m3u8)(?:\\?[^\"']*)?)[\"'][^>]*>",
+                    Pattern.CASE_INSENSITIVE),
+
+            // 模式4: 通用URL（兜底）
+            Pattern.compile("(https?://[^\\s\"'<>]+\\.(?:mp4|m3u8)(?:\\?[^\\s\"'<>]*)?)", Pattern.CASE_INSENSITIVE),
+            Pattern.compile("(//[^\\s\"'<>]+\\.(?:mp4|m3u8)(?:\\?[^\\s\"'<>]*)?)", Pattern.CASE_INSENSITIVE)
+    );
+
+    private VideoUrlTextUtils() {
+    }
+
+    /**
+     * 从任意文本中提取视频 URL（核心正则匹配逻辑）
+     * <p>
+     * 按优先级依次尝试 {@link #VIDEO_URL_PATTERNS} 中的正则模式，
+     * 找到的第一个匹配即返回。
+     * <p>
+     * 处理流程：
+     * <ol>
+     *   <li>遍历正则模式列表</li>
+     *   <li>匹配成功后进行 URL 反转义（JSON 转义、HTML 实体）</li>
+     *   <li>规范化 URL（补全协议、解析相对路径）</li>
+     * </ol>
+     * <p>
+     * 不在此处同步校验可访问性：校验由 {@code VideoUrlProbeService} 在提取结果落库后异步完成，
+     * 避免每次匹配都阻塞一次 HEAD 往返。
+     *
+     * @param text    待匹配的文本（HTML、JSON、JS 等）
+     * @param baseUrl 基础 URL（用于相对路径解析）
+     * @return 视频 URL 或 null
+     */
+    public static String extractVideoFromText(String text, String baseUrl) {
+        if (!StringUtils.hasText(text)) {
+            return null;
+        }
+
+        for (Pattern pattern : VIDEO_URL_PATTERNS) {
+            Matcher matcher = pattern.matcher(text);
+            if (matcher.find()) {
+                String candidate = unescapeUrlCandidate(matcher.group(1));
+                String normalized = normalizeUrl(candidate, baseUrl);
+                if (StringUtils.hasText(normalized)) {
+                    return normalized;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 返回文本中第一个匹配的原始视频 URL 片段（未反转义、未规范化）
+     *
+     * @param text 待匹配的文本
+     * @return 原始匹配片段或 null
+     */
+    public static String findRawVideoUrl(String text) {
+        if (!StringUtils.hasText(text)) {
+            return null;
+        }
+        for (Pattern p : VIDEO_URL_PATTERNS) {
+            Matcher matcher = p.matcher(text);
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 从 HTML 中提取 JS 跳转目标 URL
+     * <p>
+     * 匹配 {@code window.location = "url"} 或 {@code window.location.href = "url"} 模式，
+     * 用于处理 JS 中的页面跳转逻辑。
+     *
+     * @param html    HTML/JS 文本
+     * @param baseUrl 基础 URL（用于相对路径解析）
+     * @return 跳转目标 URL 列表（去重）
+     */
+    public static List<String> extractFollowUpPageUrls(String html, String baseUrl) {
+        if (!StringUtils.hasText(html)) {
+            return List.of();
+        }
+
+        LinkedHashSet<String> urls = new LinkedHashSet<>();
+        Matcher m = JS_LOCATION_ASSIGN_PATTERN.matcher(html);
+        while (m.find()) {
+            String candidate = m.group(1);
+            String normalized = normalizeUrl(candidate, baseUrl);
+            if (StringUtils.hasText(normalized)) {
+                urls.add(normalized);
+            }
+        }
+        return new ArrayList<>(urls);
+    }
+
+    /**
+     * 对候选 URL 进行反转义处理
+     * <p>
+     * 处理常见的转义形式：
+     * <ul>
+     *   <li>JSON 转义：{@code \/} → {@code /}，{@code \u002f} → {@code /}</li>
+     *   <li>HTML 实体：{@code &amp;} → {@code &}</li>
+     * </ul>
+     *
+     * @param candidate 原始候选 URL
+     * @return 反转义后的 URL
+     */
+    public static String unescapeUrlCandidate(String candidate) {
+        if (!StringUtils.hasText(candidate)) {
+            return candidate;
+        }
+
+        String url = candidate.trim();
+
+        // 常见JSON转义
+        url = url.replace("\\/", "/");
+        url = url.replace("\\u002f", "/")
+                .replace("\\u002F", "/");
+        url = url.replace("\\u0026", "&")
+                .replace("\\u003d", "=")
+                .replace("\\u003f", "?")
+                .replace("\\u0025", "%");
+
+        // 常见HTML实体
+        url = url.replace("&amp;", "&");
+        return url;
+    }
+
+    /**
+     * 规范化 URL
+     * <p>
+     * 处理以下情况：
+     * <ul>
+     *   <li>协议相对 URL（{@code //example.com}）：补全协议</li>
+     *   <li>相对路径：基于 baseUrl 解析为绝对路径</li>
+     *   <li>绝对 URL：直接返回</li>
+     * </ul>
+     *
+     * @param candidate 候选 URL
+     * @param baseUrl   基础 URL（用于解析相对路径）
+     * @return 规范化后的绝对 URL
+     */
+    public static String normalizeUrl(String candidate, String baseUrl) {
+        if (!StringUtils.hasText(candidate)) {
+            return null;
+        }
+        String url = candidate.trim();
+
+        if (url.startsWith("//")) {
+            String scheme = "https:";
+            if (StringUtils.hasText(baseUrl)) {
+                try {
+                    URI base = URI.create(baseUrl);
+                    if (StringUtils.hasText(base.getScheme())) {
+                        scheme = base.getScheme() + ":";
+                    }
+                } catch (Exception ignored) {
+                }
+            }
+            return scheme + url;
+        }
+
+        if (url.startsWith("http://") || url.startsWith("https://")) {
+            return url;
+        }
+
+        if (!StringUtils.hasText(baseUrl)) {
+            return url;
+        }
+
+        try {
+            URI base = URI.create(baseUrl);
+            return base.resolve(url).toString();
+        } catch (Exception e) {
+            return url;
+        }
+    }
+
+    /**
+     * 从 URL 中提取查询参数值
+     * <p>
+     * 支持标准查询字符串和 hash 路由中的参数（如 Vue Router 的 {@code #/pages/xxx?id=123}）。
+     * 每个参数名的正则只编译一次。
+     *
+     * @param url URL 字符串
+     * @param key 参数名
+     * @return 参数值，未找到返回 null
+     */
+    public static String extractQueryParam(String url, String key) {
+        if (!StringUtils.hasText(url) || !StringUtils.hasText(key)) {
+            return null;
+        }
+        Pattern pattern = QUERY_PARAM_PATTERNS.computeIfAbsent(key, k ->
+                Pattern.compile(String.format(QUERY_PARAM_REGEX_TEMPLATE, Pattern.quote(k)), Pattern.CASE_INSENSITIVE));
+        Matcher matcher = pattern.matcher(url);
+        if (matcher.find()) {
+            return matcher.group(2);
+        }
+        return null;
+    }
+}
@@ -1,26 +0,0 @@
-package com.fireworks.config;
-
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
-
-import java.util.concurrent.Executor;
-
-/**
- * 异步任务线程池配置
- */
-@Configuration
-public class AsyncConfig {
-
-    @Bean(name = "videoExtractExecutor")
-    public Executor videoExtractExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(4);
-        executor.setQueueCapacity(200);
-        executor.setThreadNamePrefix("video-extract-");
-        executor.initialize();
-        return executor;
-    }
-}
-
@@ -1,32 +0,0 @@
-package com.fireworks.util;
-
-import com.google.zxing.BarcodeFormat;
-import com.google.zxing.WriterException;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
-import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.QRCodeWriter;
-
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-
-/**
- * 二维码生成工具（本地兜底用）
- */
-public class QrCodeUtil {
-
-    private QrCodeUtil() {
-    }
-
-    public static byte[] generatePng(String content, int size) {
-        try {
-            QRCodeWriter writer = new QRCodeWriter();
-            BitMatrix matrix = writer.encode(content, BarcodeFormat.QR_CODE, size, size);
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            MatrixToImageWriter.writeToStream(matrix, "PNG", out);
-            return out.toByteArray();
-        } catch (WriterException | IOException e) {
-            throw new IllegalStateException("生成二维码失败", e);
-        }
-    }
-}
-